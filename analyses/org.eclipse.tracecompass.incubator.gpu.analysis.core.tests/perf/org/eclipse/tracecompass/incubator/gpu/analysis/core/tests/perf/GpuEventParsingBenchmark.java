@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.gpu.analysis.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.analysis.os.linux.core.trace.DefaultEventLayout;
+import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuStateProvider;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.PhyGpuModel;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.handlers.I915GemRequestAddHandler;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.handlers.I915GemRequestInHandler;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.handlers.I915GemRequestOutHandler;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.handlers.I915GemRequestSubmitHandler;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.IStateHistoryBackend;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.statesystem.core.exceptions.AttributeNotFoundException;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventType;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
+import org.junit.Test;
+
+/**
+ * Benchmarks the GPU event handlers, parsing and request lookups included,
+ * over a synthetic stream of i915 request events. Each request goes through
+ * the add, submit, in and out events, on a few contexts and all the engines.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuEventParsingBenchmark {
+
+    /**
+     * Test test ID for GPU analysis benchmarks
+     */
+    public static final String TEST_ID = "org.eclipse.tracecompass.incubator#GPU#";
+    private static final String TEST_EVENT_HANDLING = "i915 event handling (%d requests)";
+
+    private static final int NB_REQUESTS = 500000;
+    private static final int NB_CONTEXTS = 16;
+    private static final int NB_RINGS = 5;
+    private static final int GPU_ID = 0;
+
+    private static final int LOOP_COUNT = 10;
+
+    /**
+     * Run the benchmark
+     *
+     * @throws AttributeNotFoundException
+     *             Exceptions thrown by the handlers
+     */
+    @Test
+    public void runEventHandlingBenchmark() throws AttributeNotFoundException {
+        Performance perf = Performance.getDefault();
+        String name = String.format(TEST_EVENT_HANDLING, NB_REQUESTS);
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        IKernelAnalysisEventLayout layout = DefaultEventLayout.getInstance();
+        ITmfTrace trace = new TmfTraceStub();
+        try {
+            List<ITmfEvent> events = createEvents(trace, layout);
+
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                IStateHistoryBackend backend = StateHistoryBackendFactory.createNullBackend("GpuBenchmark"); //$NON-NLS-1$
+                ITmfStateSystemBuilder ss = StateSystemFactory.newStateSystem(backend);
+                GpuStateProvider provider = new GpuStateProvider(trace, layout);
+                provider.assignTargetStateSystem(ss);
+
+                Map<String, GpuKernelEventHandler> handlers = new HashMap<>();
+                handlers.put(layout.eventI915GemRequestAdd(), new I915GemRequestAddHandler(layout, provider));
+                handlers.put(layout.eventI915GemRequestSubmit(), new I915GemRequestSubmitHandler(layout, provider));
+                handlers.put(layout.eventI915GemRequestIn(), new I915GemRequestInHandler(layout, provider));
+                handlers.put(layout.eventI915GemRequestOut(), new I915GemRequestOutHandler(layout, provider));
+
+                pm.start();
+                for (ITmfEvent event : events) {
+                    GpuKernelEventHandler handler = handlers.get(event.getName());
+                    if (handler != null) {
+                        handler.handleEvent(ss, event);
+                    }
+                }
+                pm.stop();
+
+                /* Every request should have been retired */
+                PhyGpuModel gpu = provider.getPhyGpu(GPU_ID, false);
+                assertNotNull(gpu);
+                assertEquals(0, gpu.getDriverWaitingQueueSize());
+                assertEquals(0, gpu.getNumberOfRunningRequests());
+
+                provider.dispose();
+                ss.dispose();
+            }
+            pm.commit();
+        } finally {
+            trace.dispose();
+        }
+    }
+
+    /**
+     * Create the synthetic event stream. Requests are added in batches of
+     * NB_CONTEXTS, then each is submitted, executed and retired.
+     */
+    private static List<ITmfEvent> createEvents(ITmfTrace trace, IKernelAnalysisEventLayout layout) {
+        List<ITmfEvent> events = new ArrayList<>(NB_REQUESTS * 4);
+        long ts = 1;
+        long globalSeqno = 1;
+        for (int batch = 0; batch < NB_REQUESTS / NB_CONTEXTS; batch++) {
+            long seqno = batch + 1;
+            for (int ctx = 0; ctx < NB_CONTEXTS; ctx++) {
+                events.add(createRequestEvent(trace, layout, layout.eventI915GemRequestAdd(), ts++, ctx, seqno, -1));
+            }
+            for (int ctx = 0; ctx < NB_CONTEXTS; ctx++) {
+                events.add(createRequestEvent(trace, layout, layout.eventI915GemRequestSubmit(), ts++, ctx, seqno, -1));
+            }
+            for (int ctx = 0; ctx < NB_CONTEXTS; ctx++) {
+                events.add(createRequestEvent(trace, layout, layout.eventI915GemRequestIn(), ts++, ctx, seqno, globalSeqno + ctx));
+                events.add(createRequestEvent(trace, layout, layout.eventI915GemRequestOut(), ts++, ctx, seqno, globalSeqno + ctx));
+            }
+            globalSeqno += NB_CONTEXTS;
+        }
+        return events;
+    }
+
+    private static ITmfEvent createRequestEvent(ITmfTrace trace, IKernelAnalysisEventLayout layout, String name, long ts, int ctx, long seqno, long globalSeqno) {
+        List<ITmfEventField> fields = new ArrayList<>();
+        fields.add(new TmfEventField(layout.fieldGpuDeviceId(), (long) GPU_ID, null));
+        fields.add(new TmfEventField(layout.fieldGpuRingId(), (long) (ctx % NB_RINGS), null));
+        fields.add(new TmfEventField(layout.fieldGpuCtxId(), (long) ctx, null));
+        fields.add(new TmfEventField(layout.fieldGpuSeqno(), seqno, null));
+        if (name.equals(layout.eventI915GemRequestAdd())) {
+            /* The process context, used to find the thread issuing the request */
+            fields.add(new TmfEventField("context._tid", (long) (ctx + 100), null)); //$NON-NLS-1$
+            fields.add(new TmfEventField("context._ppid", 1L, null)); //$NON-NLS-1$
+            fields.add(new TmfEventField("context._procname", "proc" + ctx, null)); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        if (globalSeqno >= 0) {
+            fields.add(new TmfEventField(layout.fieldGpuPortId(), 0L, null));
+            fields.add(new TmfEventField(layout.fieldGpuGlobalSeqno(), globalSeqno, null));
+        }
+        ITmfEventField content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null, fields.toArray(new ITmfEventField[fields.size()]));
+        return new TmfEvent(trace, ITmfContext.UNKNOWN_RANK, TmfTimestamp.fromNanos(ts), new TmfEventType(name, null), content);
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.gpu.analysis.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.tracecompass.analysis.timing.core.statistics.IStatistics;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Gpu;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestLatencyStatistics;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestSegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
+import org.eclipse.tracecompass.segmentstore.core.SegmentStoreFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link GpuRequestLatencyStatistics} computed over a small segment
+ * store
+ *
+ * @author agent
+ */
+public class GpuRequestLatencyStatisticsTest {
+
+    private static final int RCS = 0;
+    private static final int BCS = 1;
+
+    private final ISegmentStore<ISegment> fSegments = SegmentStoreFactory.createSegmentStore();
+
+    private static GpuRequestSegment createSegment(int ring, long queued, long running, long end) {
+        GpuRequest req = new GpuRequest(0, 1L, 1, ring);
+        req.setQueuedTs(queued);
+        req.setRunningTs(running);
+        return new GpuRequestSegment(req, end);
+    }
+
+    /**
+     * Fill the segment store
+     */
+    @Before
+    public void setUp() {
+        /* Queue wait 10, execution 20 */
+        fSegments.add(createSegment(RCS, 0, 10, 30));
+        /* Queue wait 30, execution 40 */
+        fSegments.add(createSegment(RCS, 20, 50, 90));
+        /* Queue wait 5, execution 5 */
+        fSegments.add(createSegment(BCS, 100, 105, 110));
+    }
+
+    /**
+     * Test the statistics of all the requests
+     */
+    @Test
+    public void testFullRange() {
+        GpuRequestLatencyStatistics stats = GpuRequestLatencyStatistics.compute(fSegments, 0, 200, null);
+        assertNotNull(stats);
+
+        IStatistics<GpuRequestSegment> queueWait = stats.getQueueWait();
+        assertEquals(3, queueWait.getNbElements());
+        assertEquals(5, queueWait.getMin());
+        assertEquals(30, queueWait.getMax());
+        assertEquals(45, queueWait.getTotal(), 0.001);
+        assertEquals(15, queueWait.getMean(), 0.001);
+
+        IStatistics<GpuRequestSegment> execution = stats.getExecution();
+        assertEquals(3, execution.getNbElements());
+        assertEquals(5, execution.getMin());
+        assertEquals(40, execution.getMax());
+        assertEquals(65, execution.getTotal(), 0.001);
+
+        Map<String, IStatistics<GpuRequestSegment>> queueWaitPerEngine = stats.getQueueWaitPerEngine();
+        assertEquals(2, queueWaitPerEngine.size());
+        IStatistics<GpuRequestSegment> rcs = queueWaitPerEngine.get(Gpu.getEngineName(RCS));
+        assertNotNull(rcs);
+        assertEquals(2, rcs.getNbElements());
+        assertEquals(40, rcs.getTotal(), 0.001);
+
+        IStatistics<GpuRequestSegment> bcs = stats.getExecutionPerEngine().get(Gpu.getEngineName(BCS));
+        assertNotNull(bcs);
+        assertEquals(1, bcs.getNbElements());
+        assertEquals(5, bcs.getTotal(), 0.001);
+    }
+
+    /**
+     * Test that only the requests which intersect the time range are counted
+     */
+    @Test
+    public void testPartialRange() {
+        GpuRequestLatencyStatistics stats = GpuRequestLatencyStatistics.compute(fSegments, 95, 200, null);
+        assertNotNull(stats);
+        assertEquals(1, stats.getQueueWait().getNbElements());
+        assertEquals(1, stats.getQueueWaitPerEngine().size());
+        assertTrue(stats.getExecutionPerEngine().containsKey(Gpu.getEngineName(BCS)));
+
+        stats = GpuRequestLatencyStatistics.compute(fSegments, 300, 400, null);
+        assertNotNull(stats);
+        assertEquals(0, stats.getQueueWait().getNbElements());
+        assertTrue(stats.getQueueWaitPerEngine().isEmpty());
+    }
+
+    /**
+     * Test that a cancelled computation returns null
+     */
+    @Test
+    public void testCancelled() {
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        assertNull(GpuRequestLatencyStatistics.compute(fSegments, 0, 200, monitor));
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.gpu.analysis.core.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.tracecompass.datastore.core.serialization.SafeByteBufferFactory;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestSegment;
+import org.junit.Test;
+
+/**
+ * Test the {@link GpuRequestSegment}
+ *
+ * @author agent
+ */
+public class GpuRequestSegmentTest {
+
+    private static GpuRequest createRequest(long queued, long submitted, long running) {
+        GpuRequest req = new GpuRequest(1, 2, 42L, 7, 3);
+        req.setQueuedTs(queued);
+        req.setSubmittedTs(submitted);
+        req.setRunningTs(running);
+        req.setTid(1234);
+        return req;
+    }
+
+    /**
+     * Test the segment of a request whose whole life is known
+     */
+    @Test
+    public void testCompleteRequest() {
+        GpuRequestSegment segment = new GpuRequestSegment(createRequest(10, 15, 25), 100);
+        assertEquals(10, segment.getStart());
+        assertEquals(100, segment.getEnd());
+        assertEquals(90, segment.getLength());
+        assertEquals(15, segment.getSubmittedTime());
+        assertEquals(25, segment.getRunningTime());
+        assertEquals(15, segment.getQueueWaitTime());
+        assertEquals(75, segment.getExecutionTime());
+        assertEquals(1, segment.getDevID());
+        assertEquals(2, segment.getVirtGpuID());
+        assertEquals(42L, segment.getSeqno());
+        assertEquals(7, segment.getCtx());
+        assertEquals(3, segment.getRing());
+        assertEquals(1234, segment.getTid());
+    }
+
+    /**
+     * Test the segment of a request that was not seen being queued: it starts
+     * when it completes
+     */
+    @Test
+    public void testUnknownQueuedTime() {
+        GpuRequestSegment segment = new GpuRequestSegment(createRequest(-1, -1, -1), 100);
+        assertEquals(100, segment.getStart());
+        assertEquals(100, segment.getEnd());
+        assertEquals(0, segment.getQueueWaitTime());
+        assertEquals(0, segment.getExecutionTime());
+    }
+
+    /**
+     * Test the segment of a request that was not seen starting to run: all
+     * its time is spent waiting
+     */
+    @Test
+    public void testUnknownRunningTime() {
+        GpuRequestSegment segment = new GpuRequestSegment(createRequest(10, 15, -1), 100);
+        assertEquals(90, segment.getQueueWaitTime());
+        assertEquals(0, segment.getExecutionTime());
+    }
+
+    /**
+     * Test that the segments read from disk are the same as the ones written
+     */
+    @Test
+    public void testSerialization() {
+        GpuRequestSegment segment = new GpuRequestSegment(createRequest(10, 15, 25), 100);
+        ByteBuffer buffer = ByteBuffer.allocate(segment.getSizeOnDisk());
+        segment.writeSegment(SafeByteBufferFactory.wrapWriter(buffer, segment.getSizeOnDisk()));
+        buffer.flip();
+        GpuRequestSegment read = GpuRequestSegment.READER.readInterval(SafeByteBufferFactory.wrapReader(buffer, segment.getSizeOnDisk()));
+        assertEquals(segment.getStart(), read.getStart());
+        assertEquals(segment.getEnd(), read.getEnd());
+        assertEquals(segment.getSubmittedTime(), read.getSubmittedTime());
+        assertEquals(segment.getRunningTime(), read.getRunningTime());
+        assertEquals(segment.getDevID(), read.getDevID());
+        assertEquals(segment.getVirtGpuID(), read.getVirtGpuID());
+        assertEquals(segment.getSeqno(), read.getSeqno());
+        assertEquals(segment.getCtx(), read.getCtx());
+        assertEquals(segment.getRing(), read.getRing());
+        assertEquals(segment.getTid(), read.getTid());
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.gpu.analysis.core.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuThreadsDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.filters.TimeQueryFilter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+import org.eclipse.tracecompass.statesystem.core.interval.TmfStateInterval;
+import org.junit.Test;
+
+/**
+ * Test the states of the rows of the {@link GpuThreadsDataProvider}
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuThreadsDataProviderTest {
+
+    private static final int IDLE = Integer.MIN_VALUE;
+    private static final int RCS = GpuRequestStatus.IS_RUNNING_RCS.ordinal();
+    private static final int BCS = GpuRequestStatus.IS_RUNNING_BCS.ordinal();
+
+    /* One state per nanosecond, nothing is merged */
+    private static final TimeQueryFilter FINE = new TimeQueryFilter(0, 1000, 1001);
+    /* One state per 100 ns */
+    private static final TimeQueryFilter COARSE = new TimeQueryFilter(0, 1000, 11);
+
+    /**
+     * Test the states of a thread with overlapping requests
+     */
+    @Test
+    public void testOverlappingRequests() {
+        List<ITmfStateInterval> intervals = Arrays.asList(
+                createInterval(0, 99, 1, GpuRequestStatus.IS_QUEUED),
+                createInterval(50, 149, 2, GpuRequestStatus.IS_RUNNING_RCS),
+                createInterval(100, 199, 3, GpuRequestStatus.IS_RUNNING_BCS),
+                createInterval(120, 299, 4, GpuRequestStatus.IS_WAITING),
+                createInterval(400, 499, 5, null));
+
+        List<ITimeGraphState> states = GpuThreadsDataProvider.compressStates(intervals, FINE);
+        assertEquals(Arrays.asList(
+                Arrays.asList(0L, 50L, IDLE),
+                Arrays.asList(50L, 50L, RCS),
+                Arrays.asList(100L, 100L, BCS),
+                Arrays.asList(200L, 100L, IDLE),
+                Arrays.asList(400L, 100L, IDLE)), toList(states));
+    }
+
+    /**
+     * Test that the states shorter than the resolution of a coarse filter are
+     * merged, keeping the running states
+     */
+    @Test
+    public void testCoarseFilter() {
+        List<ITmfStateInterval> intervals = new ArrayList<>();
+        intervals.add(createInterval(0, 299, 1, GpuRequestStatus.IS_RUNNING_RCS));
+        /* 10 ns requests, alternating between waiting and running */
+        for (int i = 0; i < 20; i++) {
+            long start = 300 + 10 * i;
+            intervals.add(createInterval(start, start + 9, i + 2, (i % 2 == 0) ? GpuRequestStatus.IS_WAITING : GpuRequestStatus.IS_RUNNING_RCS));
+        }
+        intervals.add(createInterval(500, 999, 22, GpuRequestStatus.IS_QUEUED));
+        /* A short running request alone between long idle states */
+        intervals.add(createInterval(1000, 1004, 23, GpuRequestStatus.IS_RUNNING_BCS));
+        intervals.add(createInterval(1005, 1999, 24, GpuRequestStatus.IS_QUEUED));
+
+        List<ITimeGraphState> fine = GpuThreadsDataProvider.compressStates(intervals, FINE);
+        assertEquals(1 + 20 + 3, fine.size());
+
+        List<ITimeGraphState> coarse = GpuThreadsDataProvider.compressStates(intervals, COARSE);
+        assertEquals(Arrays.asList(
+                Arrays.asList(0L, 500L, RCS),
+                Arrays.asList(500L, 500L, IDLE),
+                Arrays.asList(1000L, 5L, BCS),
+                Arrays.asList(1005L, 995L, IDLE)), toList(coarse));
+    }
+
+    private static ITmfStateInterval createInterval(long start, long end, int quark, GpuRequestStatus status) {
+        return new TmfStateInterval(start, end, quark, (status == null) ? null : status.name());
+    }
+
+    private static List<List<Object>> toList(List<ITimeGraphState> states) {
+        List<List<Object>> list = new ArrayList<>();
+        for (ITimeGraphState state : states) {
+            list.add(Arrays.asList(state.getStartTime(), state.getDuration(), state.getValue()));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.gpu.analysis.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuAttributes;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuTreeNodes;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.TmfTreeDataModel;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateValueTypeException;
+import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the {@link GpuTreeNodes} of the GPU data providers
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuTreeNodesTest {
+
+    private static final long TRACE_ID = -2;
+
+    private final ITmfStateSystemBuilder fSs = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createNullBackend("GpuTreeNodesTest")); //$NON-NLS-1$
+    private final List<Integer> fVisited = new ArrayList<>();
+
+    /**
+     * Dispose the state system
+     */
+    @After
+    public void tearDown() {
+        fSs.dispose();
+    }
+
+    /**
+     * Test the physical and virtual GPU attributes
+     */
+    @Test
+    public void testIsGpu() {
+        int gpu = fSs.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, "0"); //$NON-NLS-1$
+        int engine = fSs.getQuarkRelativeAndAdd(gpu, GpuAttributes.ENGINES, GpuAttributes.ENGINE_RCS);
+        int vGpu = fSs.getQuarkRelativeAndAdd(gpu, GpuAttributes.vGPUS, "1"); //$NON-NLS-1$
+        int vGpuEngine = fSs.getQuarkRelativeAndAdd(vGpu, GpuAttributes.ENGINES, GpuAttributes.ENGINE_RCS);
+        /* A GPUS attribute which is not at the root */
+        int other = fSs.getQuarkAbsoluteAndAdd("Other", GpuAttributes.GPUS, "2"); //$NON-NLS-1$ //$NON-NLS-2$
+        int otherVGpu = fSs.getQuarkRelativeAndAdd(other, GpuAttributes.vGPUS, "3"); //$NON-NLS-1$
+
+        assertTrue(GpuTreeNodes.isGpu(fSs, gpu));
+        assertFalse(GpuTreeNodes.isGpu(fSs, fSs.getParentAttributeQuark(gpu)));
+        assertFalse(GpuTreeNodes.isGpu(fSs, engine));
+        assertFalse(GpuTreeNodes.isGpu(fSs, vGpu));
+        assertFalse(GpuTreeNodes.isGpu(fSs, other));
+        assertFalse(GpuTreeNodes.isGpu(fSs, ITmfStateSystem.ROOT_ATTRIBUTE));
+
+        assertTrue(GpuTreeNodes.isVirtGpu(fSs, vGpu));
+        assertFalse(GpuTreeNodes.isVirtGpu(fSs, gpu));
+        assertFalse(GpuTreeNodes.isVirtGpu(fSs, vGpuEngine));
+        assertFalse(GpuTreeNodes.isVirtGpu(fSs, otherVGpu));
+        assertFalse(GpuTreeNodes.isVirtGpu(fSs, ITmfStateSystem.ROOT_ATTRIBUTE));
+
+        assertEquals(fSs.getParentAttributeQuark(engine), GpuTreeNodes.getParentNamed(fSs, engine, GpuAttributes.ENGINES));
+        assertEquals(ITmfStateSystem.INVALID_ATTRIBUTE, GpuTreeNodes.getParentNamed(fSs, engine, GpuAttributes.GPUS));
+        assertNull(GpuTreeNodes.getEngineLabel("Unknown")); //$NON-NLS-1$
+    }
+
+    /**
+     * Test that each update only looks at the attributes added since the
+     * previous one, and that the nodes are kept in order
+     */
+    @Test
+    public void testIncrementalUpdate() {
+        GpuTreeNodes nodes = new GpuTreeNodes(new TmfTreeDataModel(TRACE_ID, -1, "trace")); //$NON-NLS-1$
+        nodes.update(fSs, this::createNode);
+        assertEquals(1, nodes.getNodes().size());
+        assertTrue(fVisited.isEmpty());
+
+        int gpu0 = fSs.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, "0"); //$NON-NLS-1$
+        fSs.getQuarkRelativeAndAdd(gpu0, GpuAttributes.ENGINES, GpuAttributes.ENGINE_RCS);
+        nodes.update(fSs, this::createNode);
+        assertEquals(Arrays.asList(0, 1, 2, 3), fVisited);
+        List<TmfTreeDataModel> first = nodes.getNodes();
+        assertEquals(2, first.size());
+        assertEquals(gpu0, first.get(1).getId());
+
+        /* Nothing new, nothing visited */
+        fVisited.clear();
+        nodes.update(fSs, this::createNode);
+        assertTrue(fVisited.isEmpty());
+        assertEquals(first, nodes.getNodes());
+
+        int gpu1 = fSs.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, "1"); //$NON-NLS-1$
+        nodes.update(fSs, this::createNode);
+        assertEquals(Arrays.asList(gpu1), fVisited);
+        List<TmfTreeDataModel> second = nodes.getNodes();
+        assertEquals(3, second.size());
+        assertEquals(first, second.subList(0, 2));
+        assertEquals(gpu1, second.get(2).getId());
+
+        /* The returned lists are copies */
+        assertEquals(2, first.size());
+    }
+
+    /**
+     * Test the versions of the tree and the nodes added since a version, while
+     * the state system is still being built
+     *
+     * @throws StateValueTypeException
+     *             Exceptions thrown by the state changes
+     */
+    @Test
+    public void testNodesSinceWhileBuilding() throws StateValueTypeException {
+        GpuTreeNodes nodes = new GpuTreeNodes(new TmfTreeDataModel(TRACE_ID, -1, "trace")); //$NON-NLS-1$
+        nodes.update(fSs, this::createNode);
+        assertEquals(0, nodes.getVersion());
+        GpuTreeNodes.Delta delta = nodes.getNodesSince(-1);
+        assertEquals(0, delta.getVersion());
+        assertEquals(nodes.getNodes(), delta.getNodes());
+        assertTrue(nodes.getNodesSince(0).getNodes().isEmpty());
+
+        long ts = 1;
+        int gpu0 = fSs.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, "0"); //$NON-NLS-1$
+        int engine = fSs.getQuarkRelativeAndAdd(gpu0, GpuAttributes.ENGINES, GpuAttributes.ENGINE_RCS);
+        fSs.modifyAttribute(ts++, TmfStateValue.newValueInt(1), engine);
+        assertFalse(fSs.waitUntilBuilt(0));
+        nodes.update(fSs, this::createNode);
+        assertEquals(1, nodes.getVersion());
+        delta = nodes.getNodesSince(0);
+        assertEquals(1, delta.getVersion());
+        assertEquals(Arrays.asList(gpu0), getIds(delta));
+
+        /* Only state changes, the version does not change */
+        fSs.modifyAttribute(ts++, TmfStateValue.nullValue(), engine);
+        nodes.update(fSs, this::createNode);
+        assertEquals(1, nodes.getVersion());
+        delta = nodes.getNodesSince(1);
+        assertEquals(1, delta.getVersion());
+        assertTrue(delta.getNodes().isEmpty());
+
+        int gpu1 = fSs.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, "1"); //$NON-NLS-1$
+        int gpu2 = fSs.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, "2"); //$NON-NLS-1$
+        fSs.modifyAttribute(ts++, TmfStateValue.newValueInt(1), gpu1);
+        assertFalse(fSs.waitUntilBuilt(0));
+        nodes.update(fSs, this::createNode);
+        assertEquals(2, nodes.getVersion());
+        assertEquals(Arrays.asList(gpu1, gpu2), getIds(nodes.getNodesSince(1)));
+        assertEquals(Arrays.asList(gpu0, gpu1, gpu2), getIds(nodes.getNodesSince(0)));
+        assertEquals(4, nodes.getNodesSince(-1).getNodes().size());
+
+        /* A version the tree does not have yet */
+        delta = nodes.getNodesSince(5);
+        assertEquals(2, delta.getVersion());
+        assertTrue(delta.getNodes().isEmpty());
+    }
+
+    private static List<Integer> getIds(GpuTreeNodes.Delta delta) {
+        List<Integer> ids = new ArrayList<>();
+        delta.getNodes().forEach(node -> ids.add((int) node.getId()));
+        return ids;
+    }
+
+    private TmfTreeDataModel createNode(ITmfStateSystem ss, int quark) {
+        fVisited.add(quark);
+        return GpuTreeNodes.isGpu(ss, quark) ? new TmfTreeDataModel(quark, TRACE_ID, ss.getAttributeName(quark)) : null;
+    }
+}
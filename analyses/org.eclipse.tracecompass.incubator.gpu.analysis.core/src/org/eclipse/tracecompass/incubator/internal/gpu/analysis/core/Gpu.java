@@ -1,14 +1,20 @@
 package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.statesystem.core.exceptions.AttributeNotFoundException;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
 import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
 import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
-import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
 //import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
 //import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
 
@@ -26,6 +32,21 @@ public class Gpu {
 
     IntelEngineTypes fRingIDs [] = IntelEngineTypes.values();
 
+    /* Names of the engine attributes, indexed by ring */
+    private static final String[] ENGINE_NAMES = {
+            GpuAttributes.ENGINE_RCS,
+            GpuAttributes.ENGINE_BCS,
+            GpuAttributes.ENGINE_VCS,
+            GpuAttributes.ENGINE_VCS2,
+            GpuAttributes.ENGINE_VECS
+    };
+
+    /* Quarks of the engines, indexed by ring, resolved once */
+    private final int[] fEngineQuarks = new int[ENGINE_NAMES.length];
+
+    /* Busy time summaries of the engines, indexed by ring, filled while building */
+    private final GpuEngineBusySummary[] fBusySummaries = new GpuEngineBusySummary[ENGINE_NAMES.length];
+
 
     /**
      *
@@ -42,6 +63,86 @@ public class Gpu {
         fDevID = gpuId;
         fStateSys = ss;
         fGpuQuark = gpuQuark;
+        Arrays.fill(fEngineQuarks, ITmfStateSystem.INVALID_ATTRIBUTE);
+    }
+
+    /**
+     * Create the attributes of the engines of this Gpu, all idle at first
+     *
+     * @param ss : State System builder
+     */
+    protected void createEngines(ITmfStateSystemBuilder ss) {
+        int enginesQuark = ss.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.ENGINES);
+        for (int ring = 0; ring < ENGINE_NAMES.length; ring++) {
+            int engineQuark = ss.getQuarkRelativeAndAdd(enginesQuark, ENGINE_NAMES[ring]);
+            ss.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, engineQuark);
+            fEngineQuarks[ring] = engineQuark;
+            fBusySummaries[ring] = new GpuEngineBusySummary();
+        }
+    }
+
+    /**
+     * Get the name of the engine of a ring, as it appears in the state system
+     *
+     * @param ring : The ring of the engine
+     * @return The name of the engine
+     */
+    public static String getEngineName(int ring) {
+        if (ring >= 0 && ring < ENGINE_NAMES.length) {
+            return ENGINE_NAMES[ring];
+        }
+        return String.valueOf(ring);
+    }
+
+    /**
+     * Set an engine of this Gpu to the running state
+     *
+     * @param ss : State System builder
+     * @param ts : The timestamp
+     * @param ring : The ring of the engine
+     */
+    protected void setEngineRunning(ITmfStateSystemBuilder ss, long ts, int ring) {
+        ss.modifyAttribute(ts, GpuEngineState.ENGINE_RUNNING_VALUE, getEngineQuark(ring));
+        GpuEngineBusySummary summary = getBusySummary(ring);
+        if (summary != null) {
+            summary.setRunning(ts);
+        }
+    }
+
+    /**
+     * Set an engine of this Gpu to the idle state
+     *
+     * @param ss : State System builder
+     * @param ts : The timestamp
+     * @param ring : The ring of the engine
+     */
+    protected void setEngineIdle(ITmfStateSystemBuilder ss, long ts, int ring) {
+        ss.modifyAttribute(ts, GpuEngineState.ENGINE_IDLE_VALUE, getEngineQuark(ring));
+        GpuEngineBusySummary summary = getBusySummary(ring);
+        if (summary != null) {
+            summary.setIdle(ts);
+        }
+    }
+
+    private @Nullable GpuEngineBusySummary getBusySummary(int ring) {
+        return (ring >= 0 && ring < ENGINE_NAMES.length) ? fBusySummaries[ring] : null;
+    }
+
+    /**
+     * Close the busy time summaries of the engines of this Gpu and add them
+     * to the summaries of the trace
+     *
+     * @param summaries : The summaries of the trace
+     * @param endTime : The end time of the state system
+     */
+    public void addBusySummaries(GpuBusySummary summaries, long endTime) {
+        for (int ring = 0; ring < ENGINE_NAMES.length; ring++) {
+            GpuEngineBusySummary summary = fBusySummaries[ring];
+            if (summary != null && fEngineQuarks[ring] != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                summary.close(endTime);
+                summaries.put(fStateSys.getFullAttributePath(fEngineQuarks[ring]), summary);
+            }
+        }
     }
 
     /**
@@ -97,36 +198,93 @@ public class Gpu {
     }
 
 
-    protected static double extractCount(int engineQuark, ITmfStateSystem ss, long startQuery, long endQuery) throws StateSystemDisposedException {
+    /**
+     * Compute the time each engine spent in the running state for consecutive
+     * time buckets. Bucket i covers [times[i-1], times[i]], so bucket 0 is
+     * always empty. All the engine quarks are swept in a single 2D query over
+     * the whole requested range, instead of one query per bucket and engine.
+     * Engines with a busy time summary fine enough for the requested times
+     * are read from the summary instead, in time bounded by the number of
+     * buckets.
+     *
+     * @param engineQuarks : The quarks of the engines to compute
+     * @param ss : State System
+     * @param times : The sorted bucket boundaries
+     * @param summaries : The busy time summaries of the engines, may be null
+     * @param monitor : Progress monitor, may be null
+     * @return The busy time per bucket for each engine quark, or null if the
+     *         monitor was cancelled
+     * @throws StateSystemDisposedException
+     */
+    protected static @Nullable Map<Integer, long[]> extractBusyTimes(Collection<Integer> engineQuarks, ITmfStateSystem ss, long[] times, @Nullable GpuBusySummary summaries, @Nullable IProgressMonitor monitor) throws StateSystemDisposedException {
+
+        Map<Integer, long[]> busyTimes = new HashMap<>();
+        for (Integer quark : engineQuarks) {
+            busyTimes.put(quark, new long[times.length]);
+        }
+
+        if (times.length < 2 || engineQuarks.isEmpty()) {
+            return busyTimes;
+        }
+
+        /* Use the summaries where they are precise enough */
+        Collection<Integer> toQuery = new ArrayList<>();
+        for (Integer quark : engineQuarks) {
+            GpuEngineBusySummary summary = (summaries == null) ? null : summaries.getSummary(ss, quark, times);
+            if (summary == null) {
+                toQuery.add(quark);
+                continue;
+            }
+            long[] busy = Objects.requireNonNull(busyTimes.get(quark));
+            for (int i = 1; i < times.length; i++) {
+                busy[i] = summary.getBusyTime(times[i - 1], times[i]);
+            }
+        }
+        if (toQuery.isEmpty()) {
+            return busyTimes;
+        }
+
         /*
          * Make sure the start/end times are within the state history, so we
          * don't get TimeRange exceptions.
          */
-        Collection <Integer> x = new ArrayList<>();
-        x.add(engineQuark);
-
-        double execDuration = 0;
-        double totalDuration = 0;
+        long startQuery = Math.max(times[0], ss.getStartTime());
+        long endQuery = Math.min(times[times.length - 1], ss.getCurrentEndTime());
+        if (startQuery > endQuery) {
+            return busyTimes;
+        }
 
-        /* Query full states at start and end times */
-        for (ITmfStateInterval engineInterval : ss.query2D(x, startQuery, endQuery)) {
-            totalDuration += engineInterval.getEndTime() - engineInterval.getStartTime();
+        for (ITmfStateInterval engineInterval : ss.query2D(toQuery, startQuery, endQuery)) {
+            if (monitor != null && monitor.isCanceled()) {
+                return null;
+            }
 
             ITmfStateValue stateEngine = engineInterval.getStateValue();
-            if(stateEngine != TmfStateValue.nullValue()) {
+            if (stateEngine.isNull() || stateEngine.compareTo(GpuEngineState.ENGINE_RUNNING_VALUE) != 0) {
+                continue;
+            }
+
+            long[] busy = busyTimes.get(engineInterval.getAttribute());
+            if (busy == null) {
+                continue;
+            }
 
-                if(stateEngine.compareTo(GpuEngineState.ENGINE_RUNNING_VALUE) == 0) {
+            long beginInterval = Math.max(engineInterval.getStartTime(), startQuery);
+            long endInterval = Math.min(engineInterval.getEndTime(), endQuery);
 
-                    long beginInterval = engineInterval.getStartTime();
-                    long endIntervall = engineInterval.getEndTime();
+            /* First bucket whose end is after the beginning of this interval */
+            int pos = Arrays.binarySearch(times, beginInterval);
+            pos = Math.max(1, pos < 0 ? -pos - 1 : pos);
 
-                    execDuration += endIntervall - beginInterval;
+            for (int i = pos; i < times.length && times[i - 1] < endInterval; i++) {
+                long overlap = Math.min(endInterval, times[i]) - Math.max(beginInterval, times[i - 1]);
+                if (overlap > 0) {
+                    busy[i] += overlap;
                 }
             }
-       }
-
+        }
 
-            return (execDuration / totalDuration);
+        return busyTimes;
     }
 
     /**
@@ -137,32 +295,24 @@ public class Gpu {
      */
     protected int getEngineQuark(int ring) {
 
-            try {
-
-                    int enginesQuark = fStateSys.getQuarkRelative(getGpuQuark(), GpuAttributes.ENGINES);
-
-                    switch (ring) {
-
-                        case 0 :
-                            return fStateSys.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_RCS);
-                        case 1 :
-                            return fStateSys.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_BCS);
-                        case 2 :
-                            return fStateSys.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_VCS);
-                        case 3 :
-                            return fStateSys.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_VCS2);
-                        case 4 :
-                            return fStateSys.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_VECS);
+        if (ring < 0 || ring >= ENGINE_NAMES.length) {
+            return -1;
+        }
 
-                        default :
-                            return -1;
-                    }
-                }
-                catch (AttributeNotFoundException e) {
-                    e.printStackTrace();
-                    return -1;
-                }
+        int engineQuark = fEngineQuarks[ring];
+        if (engineQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return engineQuark;
+        }
 
+        try {
+            int enginesQuark = fStateSys.getQuarkRelative(getGpuQuark(), GpuAttributes.ENGINES);
+            engineQuark = fStateSys.getQuarkRelative(enginesQuark, ENGINE_NAMES[ring]);
+            fEngineQuarks[ring] = engineQuark;
+            return engineQuark;
+        } catch (AttributeNotFoundException e) {
+            e.printStackTrace();
+            return -1;
+        }
     }
 
 }
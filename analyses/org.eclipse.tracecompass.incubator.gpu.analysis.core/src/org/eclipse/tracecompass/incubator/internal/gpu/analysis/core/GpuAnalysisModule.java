@@ -2,28 +2,61 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
 import static org.eclipse.tracecompass.common.core.NonNullUtils.checkNotNull;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.tid.TidAnalysisModule;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.DefaultEventLayout;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelTrace;
+import org.eclipse.tracecompass.analysis.timing.core.segmentstore.IAnalysisProgressListener;
+import org.eclipse.tracecompass.analysis.timing.core.segmentstore.ISegmentStoreProvider;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
+import org.eclipse.tracecompass.segmentstore.core.SegmentStoreFactory;
 import org.eclipse.tracecompass.tmf.core.analysis.IAnalysisModule;
+import org.eclipse.tracecompass.tmf.core.segment.ISegmentAspect;
 import org.eclipse.tracecompass.tmf.core.statesystem.ITmfStateProvider;
 import org.eclipse.tracecompass.tmf.core.statesystem.TmfStateSystemAnalysisModule;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 
+import com.google.common.collect.ImmutableList;
+
 /**
+ * The GPU analysis. Besides the state system, it saves the latency of every
+ * GPU request in an on-disk segment store ({@link GpuRequestSegment}), which
+ * is built by the same event handlers.
+ *
  * @author Adel Belkhiri
  *
  */
-public class GpuAnalysisModule extends TmfStateSystemAnalysisModule {
+public class GpuAnalysisModule extends TmfStateSystemAnalysisModule implements ISegmentStoreProvider {
 
     /** The ID of this analysis module */
     public static final String ID = "org.eclipse.tracecompass.incubator.internal.gpu.analysis.core"; //$NON-NLS-1$
 
+    private static final String REQUESTS_SUFFIX = ".requests.ht"; //$NON-NLS-1$
+
+    private static final Iterable<ISegmentAspect> ASPECTS = ImmutableList.of(
+            GpuRequestSegment.EngineAspect.INSTANCE,
+            GpuRequestSegment.ContextAspect.INSTANCE,
+            GpuRequestSegment.TidAspect.INSTANCE,
+            GpuRequestSegment.QueueWaitAspect.INSTANCE,
+            GpuRequestSegment.ExecutionAspect.INSTANCE);
+
+    private final ListenerList fListeners = new ListenerList(ListenerList.IDENTITY);
+
+    private @Nullable ISegmentStore<GpuRequestSegment> fRequestSegments = null;
+
     @Override
     protected ITmfStateProvider createStateProvider() {
         ITmfTrace trace = checkNotNull(getTrace());
@@ -36,7 +69,116 @@ public class GpuAnalysisModule extends TmfStateSystemAnalysisModule {
             layout = DefaultEventLayout.getInstance();
         }
 
-        return new GpuStateProvider(trace, layout);
+        return new GpuStateProvider(trace, layout, this::createRequestSegments);
+    }
+
+    /**
+     * Create a new store for the request segments, replacing the one of a
+     * previous build, if any. Called when the state system is built.
+     */
+    private synchronized @Nullable ISegmentStore<GpuRequestSegment> createRequestSegments() {
+        Path file = getRequestSegmentsFile();
+        if (file == null) {
+            return null;
+        }
+        ISegmentStore<GpuRequestSegment> segments = fRequestSegments;
+        if (segments != null) {
+            segments.dispose();
+            fRequestSegments = null;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Could not delete the previous GPU request segments", e); //$NON-NLS-1$
+        }
+        segments = openRequestSegments(file);
+        fRequestSegments = segments;
+        return segments;
+    }
+
+    private @Nullable Path getRequestSegmentsFile() {
+        ITmfTrace trace = getTrace();
+        if (trace == null) {
+            return null;
+        }
+        return Paths.get(TmfTraceManager.getSupplementaryFileDir(trace), getId() + REQUESTS_SUFFIX);
+    }
+
+    private static @Nullable ISegmentStore<GpuRequestSegment> openRequestSegments(Path file) {
+        try {
+            return SegmentStoreFactory.createOnDiskSegmentStore(file, GpuRequestSegment.READER);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e1) {
+                // Ignore
+            }
+            Activator.getInstance().logError("Error creating the GPU request segment store", e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    @Override
+    protected boolean executeAnalysis(@Nullable IProgressMonitor monitor) {
+        boolean ret = super.executeAnalysis(monitor);
+        if (!ret) {
+            return ret;
+        }
+        ISegmentStore<ISegment> segments = getSegmentStore();
+        if (segments != null) {
+            for (Object listener : fListeners.getListeners()) {
+                ((IAnalysisProgressListener) listener).onComplete(this, segments);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the latency segments of the GPU requests. If the state system was
+     * built by a previous session, they are read from the supplementary files.
+     *
+     * @return The segment store, or null if the analysis has not run yet
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized @Nullable ISegmentStore<ISegment> getSegmentStore() {
+        ISegmentStore<GpuRequestSegment> segments = fRequestSegments;
+        if (segments == null) {
+            Path file = getRequestSegmentsFile();
+            if (file == null || !Files.exists(file)) {
+                return null;
+            }
+            segments = openRequestSegments(file);
+            fRequestSegments = segments;
+        }
+        return (ISegmentStore<ISegment>) (ISegmentStore<?>) segments;
+    }
+
+    @Override
+    public void addListener(IAnalysisProgressListener listener) {
+        fListeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(IAnalysisProgressListener listener) {
+        fListeners.remove(listener);
+    }
+
+    @Override
+    public Iterable<ISegmentAspect> getSegmentAspects() {
+        return ASPECTS;
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        synchronized (this) {
+            ISegmentStore<GpuRequestSegment> segments = fRequestSegments;
+            if (segments != null) {
+                segments.dispose();
+                fRequestSegments = null;
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+
+/**
+ * The busy time summaries of all the GPU and vGPU engines of a trace, keyed
+ * by the full attribute path of the engine. They are filled while the state
+ * system is built and saved in a supplementary file next to it, so the
+ * utilization of a long range can be computed without reading all its
+ * intervals.
+ *
+ * @author agent
+ */
+public class GpuBusySummary {
+
+    private static final String FILE_NAME = GpuAnalysisModule.ID + ".busy.dat"; //$NON-NLS-1$
+    private static final int MAGIC = 0x47505542;
+    private static final int VERSION = 1;
+
+    /**
+     * Minimum number of buckets per requested time interval to use a
+     * summary. Below that, the error at the ends of the interval would be
+     * visible, so the state system is queried instead.
+     */
+    private static final int MIN_BUCKETS_PER_INTERVAL = 64;
+
+    private final long fStartTime;
+    private final long fEndTime;
+    private final Map<String, GpuEngineBusySummary> fEngines = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param startTime : Start time of the state system
+     * @param endTime : End time of the state system
+     */
+    public GpuBusySummary(long startTime, long endTime) {
+        fStartTime = startTime;
+        fEndTime = endTime;
+    }
+
+    /**
+     * Add the summary of an engine
+     *
+     * @param attributePath : Full attribute path of the engine
+     * @param summary : The summary of the engine
+     */
+    public void put(String attributePath, GpuEngineBusySummary summary) {
+        fEngines.put(attributePath, summary);
+    }
+
+    /**
+     * Get the summary of an engine, if it is fine enough for the requested
+     * times
+     *
+     * @param ss : The state system
+     * @param engineQuark : The quark of the engine
+     * @param times : The sorted bucket boundaries that are requested
+     * @return The summary, or null if there is none or it is too coarse
+     */
+    public @Nullable GpuEngineBusySummary getSummary(ITmfStateSystem ss, int engineQuark, long[] times) {
+        GpuEngineBusySummary summary = fEngines.get(ss.getFullAttributePath(engineQuark));
+        if (summary == null || times.length < 2) {
+            return null;
+        }
+        long minInterval = Long.MAX_VALUE;
+        for (int i = 1; i < times.length; i++) {
+            minInterval = Math.min(minInterval, times[i] - times[i - 1]);
+        }
+        return (minInterval >= MIN_BUCKETS_PER_INTERVAL * summary.getBucketWidth()) ? summary : null;
+    }
+
+    /**
+     * @param trace : The trace
+     * @return The supplementary file of the summaries of this trace
+     */
+    public static Path getFile(ITmfTrace trace) {
+        return Paths.get(TmfTraceManager.getSupplementaryFileDir(trace), FILE_NAME);
+    }
+
+    /**
+     * Save the summaries
+     *
+     * @param file : The file to write to
+     * @throws IOException
+     *             If the file could not be written
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fStartTime);
+            out.writeLong(fEndTime);
+            out.writeInt(fEngines.size());
+            for (Entry<String, GpuEngineBusySummary> entry : fEngines.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().write(out);
+            }
+        }
+    }
+
+    /**
+     * Read the summaries saved for a state system
+     *
+     * @param file : The file to read
+     * @param ss : The state system the summaries were built with. It must be
+     *            completely built.
+     * @return The summaries, or null if there are no summaries or they do not
+     *         match the state system
+     */
+    public static @Nullable GpuBusySummary read(Path file, ITmfStateSystem ss) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            GpuBusySummary summary = new GpuBusySummary(in.readLong(), in.readLong());
+            if (summary.fStartTime != ss.getStartTime() || summary.fEndTime > ss.getCurrentEndTime()) {
+                /* Left over from another build of the state system */
+                return null;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                summary.put(path, GpuEngineBusySummary.read(in));
+            }
+            return summary;
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Could not read the GPU busy summary " + file, e); //$NON-NLS-1$
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -31,9 +32,7 @@ import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelR
 import org.eclipse.tracecompass.internal.tmf.core.model.YModel;
 
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
-import org.eclipse.tracecompass.statesystem.core.exceptions.AttributeNotFoundException;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
-import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
 
 /**
  * @author Adel Belkhiri
@@ -58,6 +57,12 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
 
     private final GpuAnalysisModule fModule;
     private @Nullable TmfModelResponse<List<TmfTreeDataModel>> fCached = null;
+    /* The tree nodes found so far, updated while the state system is built */
+    private final GpuTreeNodes fTreeNodes;
+
+    /* Busy time summaries saved by the state provider, read once the state system is built */
+    private @Nullable GpuBusySummary fBusySummary = null;
+    private boolean fBusySummaryRead = false;
 
 
             private static final class GpuBuilder {
@@ -69,8 +74,6 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
                 public final int fEngineQuark;
                 private final String fName;
                 private final double[] fValues;
-                private long fPrevCount;
-                private long fPrevTime;
 
                 /**
                  * Constructor
@@ -88,31 +91,30 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
                     fValues = new double[length];
                 }
 
-                private void setPrevCount(long prevCount, long prevTime) {
-                    fPrevCount = prevCount;
-                    fPrevTime = prevTime;
-                }
-
-
-                private static double normalize(long prevTime, long time, long value) {
-                    long duration = time - prevTime ;
-                    return (value *100 / duration);
-                }
-
-
                 /**
-                 * Update the value for the counter at the desired index. Use in increasing
-                 * order of position
+                 * Fill the series with the engine utilization of each bucket, in
+                 * percent. Bucket i covers [times[i-1], times[i]].
+                 *
+                 * @param busy
+                 *            busy time of the engine per bucket
+                 * @param times
+                 *            the requested times
+                 * @param startTime
+                 *            start time of the state system
+                 * @param currentEnd
+                 *            current end time of the state system
                  */
-                private void updateValue(int pos, long prevTime, long time, long newCount) {
-                    /**
-                     * Linear interpolation
-                     *
-                     */
-                        fValues[pos] =   (newCount); //normalize(prevTime, time, newCount);
-
-                        fPrevCount = newCount;
-
+                private void setValues(long[] busy, long[] times, long startTime, long currentEnd) {
+                    for (int i = 1; i < times.length; i++) {
+                        long time = times[i];
+                        if (time > currentEnd) {
+                            break;
+                        }
+                        long prevTime = Math.max(times[i - 1], startTime);
+                        if (time > prevTime) {
+                            fValues[i] = 100.0 * busy[i] / (time - prevTime);
+                        }
+                    }
                 }
 
                 private IYModel build() {
@@ -131,6 +133,7 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
     public GpuDataProvider(ITmfTrace trace, GpuAnalysisModule module) {
         super(trace);
         fModule = module;
+        fTreeNodes = new GpuTreeNodes(new TmfTreeDataModel(fTraceId, -1, trace.getName()));
     }
 
 
@@ -193,56 +196,9 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
         }
         boolean complete = ss.waitUntilBuilt(0);
 
-        List<TmfTreeDataModel> nodes = new ArrayList<>();
-        nodes.add(new TmfTreeDataModel(fTraceId, -1, getTrace().getName()));
-
-        String execPerRCS = Objects.requireNonNull(Messages.GpuDataProvider_ExecPeriodPerEngine_RCS);
-        String execPerBCS = Objects.requireNonNull(Messages.GpuDataProvider_ExecPeriodPerEngine_BCS);
-        String execPerVCS = Objects.requireNonNull(Messages.GpuDataProvider_ExecPeriodPerEngine_VCS);
-        String execPerVCS2 = Objects.requireNonNull(Messages.GpuDataProvider_ExecPeriodPerEngine_VCS2);
-        String execPerVCES = Objects.requireNonNull(Messages.GpuDataProvider_ExecPeriodPerEngine_VCES);
-
-        try {
-
-                for (Integer gpuQuark : ss.getQuarks(GpuAttributes.GPUS, "*")) { //$NON-NLS-1$
-
-                        long gpuId = getId(gpuQuark);
-                        String gpuName = "GPU "+ ss.getAttributeName(gpuQuark); //$NON-NLS-1$
-                        nodes.add(new TmfTreeDataModel(gpuId, fTraceId, gpuName));
-
-                        int enginesQuark =  ss.getQuarkRelative(gpuQuark, GpuAttributes.ENGINES);
-
-                        int execPeriodEngineQuark = ss.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_RCS);
-                        if (execPeriodEngineQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                            nodes.add(new TmfTreeDataModel(getId(execPeriodEngineQuark), gpuId, execPerRCS));
-                        }
-
-                        execPeriodEngineQuark = ss.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_BCS);
-                        if (execPeriodEngineQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                            nodes.add(new TmfTreeDataModel(getId(execPeriodEngineQuark), gpuId, execPerBCS));
-                        }
-
-
-                        execPeriodEngineQuark = ss.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_VCS);
-                        if (execPeriodEngineQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                            nodes.add(new TmfTreeDataModel(getId(execPeriodEngineQuark), gpuId, execPerVCS));
-                        }
-
-
-                        execPeriodEngineQuark = ss.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_VCS2);
-                        if (execPeriodEngineQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                            nodes.add(new TmfTreeDataModel(getId(execPeriodEngineQuark), gpuId, execPerVCS2));
-                        }
-
-                        execPeriodEngineQuark = ss.getQuarkRelative(enginesQuark, GpuAttributes.ENGINE_VECS);
-                        if (execPeriodEngineQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                            nodes.add(new TmfTreeDataModel(getId(execPeriodEngineQuark), gpuId, execPerVCES));
-                        }
-
-                }
-        } catch (AttributeNotFoundException e) {
-            e.printStackTrace();
-        }
+        /* Only the attributes added since the previous call are looked at */
+        fTreeNodes.update(ss, this::createNode);
+        List<TmfTreeDataModel> nodes = fTreeNodes.getNodes();
 
         if (complete) {
             TmfModelResponse<List<TmfTreeDataModel>> response = new TmfModelResponse<>(nodes, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
@@ -252,6 +208,55 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
         return new TmfModelResponse<>(nodes, ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
     }
 
+    /**
+     * Fetch only the tree nodes found since a version of the tree known by the
+     * caller, to update a tree while the state system is being built without
+     * fetching it all again
+     *
+     * @param version
+     *            The version of the tree known by the caller, or -1 for the
+     *            whole tree
+     * @param monitor
+     *            Progress monitor
+     * @return The nodes added since that version, with the version of the
+     *         tree to give to the next call
+     */
+    public TmfModelResponse<GpuTreeNodes.Delta> fetchTreeDelta(long version, @Nullable IProgressMonitor monitor) {
+        fModule.waitForInitialization();
+        ITmfStateSystem ss = fModule.getStateSystem();
+        if (ss == null) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.STATE_SYSTEM_FAILED);
+        }
+        boolean complete = ss.waitUntilBuilt(0);
+
+        fTreeNodes.update(ss, this::createNode);
+        GpuTreeNodes.Delta delta = fTreeNodes.getNodesSince(version);
+
+        if (complete) {
+            return new TmfModelResponse<>(delta, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+        return new TmfModelResponse<>(delta, ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
+    }
+
+    /**
+     * Create the tree node of an attribute : a GPU, or one of its engines
+     */
+    private @Nullable TmfTreeDataModel createNode(ITmfStateSystem ss, int quark) {
+        String name = ss.getAttributeName(quark);
+        if (GpuTreeNodes.isGpu(ss, quark)) {
+            return new TmfTreeDataModel(getId(quark), fTraceId, "GPU " + name); //$NON-NLS-1$
+        }
+        int enginesQuark = GpuTreeNodes.getParentNamed(ss, quark, GpuAttributes.ENGINES);
+        if (enginesQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return null;
+        }
+        int gpuQuark = ss.getParentAttributeQuark(enginesQuark);
+        String label = GpuTreeNodes.getEngineLabel(name);
+        if (label == null || !GpuTreeNodes.isGpu(ss, gpuQuark)) {
+            return null;
+        }
+        return new TmfTreeDataModel(getId(quark), getId(gpuQuark), label);
+    }
 
     @Override
     public TmfModelResponse<ITmfXyModel> fetchXY(TimeQueryFilter filter, @Nullable IProgressMonitor monitor) {
@@ -271,40 +276,23 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
             return TmfXyResponseFactory.create(PROVIDER_TITLE, xValues, Collections.emptyMap(), true);
         }
 
-         long currentEnd = ss.getCurrentEndTime();
+        long currentEnd = ss.getCurrentEndTime();
         try {
-
-                  long prevTime = Math.max(filter.getStart(), ss.getStartTime());
-
-                  if (prevTime >= ss.getStartTime() && prevTime <= currentEnd) {
-                      // reuse the results from the full query
-                      List<ITmfStateInterval> states = ss.queryFullState(prevTime);
-
-                      for (GpuBuilder entry : builders) {
-                          Double val = 100 * Gpu.extractCount(entry.fEngineQuark, ss, prevTime, prevTime);
-                          entry.setPrevCount(val.longValue(), prevTime);
-                      }
-                   }
-
-                  for (int i = 1; i < xValues.length; i++) {
-                        if (monitor != null && monitor.isCanceled()) {
-                            return TmfXyResponseFactory.createCancelledResponse(CommonStatusMessage.TASK_CANCELLED);
-                        }
-
-                        long time = xValues[i];
-                        if (time > currentEnd) {
-                            break;
-                        } else if (time >= ss.getStartTime()) {
-                                        // reuse the results from the full query
-                                        // List<ITmfStateInterval> states = ss.queryFullState(time);
-
-                                    for (GpuBuilder entry : builders) {
-                                        Double val = 100 * Gpu.extractCount(entry.fEngineQuark, ss, prevTime, time);
-                                        entry.updateValue(i, prevTime, time, val.longValue());
-                                    }
-                                }
-                        prevTime = time;
-                   }
+                  /* Sweep all the selected engines at once over the whole requested range */
+                  Collection<Integer> quarks = new ArrayList<>();
+                  for (GpuBuilder entry : builders) {
+                      quarks.add(entry.fEngineQuark);
+                  }
+
+                  Map<Integer, long[]> busyTimes = Gpu.extractBusyTimes(quarks, ss, xValues, getBusySummary(ss), monitor);
+                  if (busyTimes == null) {
+                      return TmfXyResponseFactory.createCancelledResponse(CommonStatusMessage.TASK_CANCELLED);
+                  }
+
+                  for (GpuBuilder entry : builders) {
+                      long[] busy = Objects.requireNonNull(busyTimes.get(entry.fEngineQuark));
+                      entry.setValues(busy, xValues, ss.getStartTime(), currentEnd);
+                  }
 
                    ImmutableMap.Builder<String, IYModel> ySeries = ImmutableMap.builder();
                    for (GpuBuilder entry : builders) {
@@ -318,6 +306,18 @@ public class GpuDataProvider extends AbstractStateSystemAnalysisDataProvider  im
         }
     }
 
+    /**
+     * Get the busy time summaries of the engines, once the state system is
+     * completely built
+     */
+    private synchronized @Nullable GpuBusySummary getBusySummary(ITmfStateSystem ss) {
+        if (!fBusySummaryRead && ss.waitUntilBuilt(0)) {
+            fBusySummary = GpuBusySummary.read(GpuBusySummary.getFile(getTrace()), ss);
+            fBusySummaryRead = true;
+        }
+        return fBusySummary;
+    }
+
     /**
      * initBuilders
      *
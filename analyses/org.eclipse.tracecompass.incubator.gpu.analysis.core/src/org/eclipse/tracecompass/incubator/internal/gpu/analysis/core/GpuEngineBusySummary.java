@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Busy time of one GPU engine, summed in buckets of equal width.
+ *
+ * The buckets start at a fine resolution. When the trace gets too long for
+ * the maximum number of buckets, adjacent buckets are merged two by two and
+ * the width doubles, like the levels of a mip-map. The summary therefore
+ * always holds the finest resolution that fits in {@link #MAX_BUCKETS}.
+ *
+ * The busy time of any range is then read from the cumulative busy time, in
+ * constant time. Within a bucket, the busy time is assumed to be evenly
+ * spread, so the error is at most the width of a bucket at each end of the
+ * range.
+ *
+ * @author agent
+ */
+public class GpuEngineBusySummary {
+
+    /** Maximum number of buckets of a summary */
+    public static final int MAX_BUCKETS = 1 << 16;
+
+    private static final long INITIAL_BUCKET_WIDTH = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long fStart = Long.MIN_VALUE;
+    private long fBucketWidth = INITIAL_BUCKET_WIDTH;
+    private long[] fBusy = new long[INITIAL_CAPACITY];
+    private int fSize = 0;
+
+    /* Start of the current running period, if the engine is running */
+    private long fRunningSince = Long.MIN_VALUE;
+
+    /* Cumulative busy time at the start of each bucket, computed on demand */
+    private long[] fCumulative = new long[0];
+
+    /**
+     * Mark the engine as running from a time
+     *
+     * @param ts : The time at which the engine starts running
+     */
+    public void setRunning(long ts) {
+        if (fRunningSince == Long.MIN_VALUE) {
+            fRunningSince = ts;
+        }
+    }
+
+    /**
+     * Mark the engine as idle from a time
+     *
+     * @param ts : The time at which the engine becomes idle
+     */
+    public void setIdle(long ts) {
+        if (fRunningSince != Long.MIN_VALUE) {
+            /* Same measure as the state interval, which ends at ts - 1 */
+            addBusy(fRunningSince, ts - 1);
+            fRunningSince = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Close the summary at the end of the trace
+     *
+     * @param endTime : The end time of the state system
+     */
+    public void close(long endTime) {
+        if (fRunningSince != Long.MIN_VALUE) {
+            addBusy(fRunningSince, endTime);
+            fRunningSince = Long.MIN_VALUE;
+        }
+        fCumulative = new long[0];
+    }
+
+    /**
+     * @return The width of the buckets of this summary
+     */
+    public long getBucketWidth() {
+        return fBucketWidth;
+    }
+
+    /**
+     * Get the time the engine was busy in a range
+     *
+     * @param from : Start of the range
+     * @param to : End of the range
+     * @return The busy time in the range
+     */
+    public long getBusyTime(long from, long to) {
+        if (to <= from || fSize == 0) {
+            return 0;
+        }
+        return Math.max(0, getCumulativeBusyTime(to) - getCumulativeBusyTime(from));
+    }
+
+    private long getCumulativeBusyTime(long ts) {
+        long[] cumulative = fCumulative;
+        if (cumulative.length != fSize + 1) {
+            cumulative = new long[fSize + 1];
+            for (int i = 0; i < fSize; i++) {
+                cumulative[i + 1] = cumulative[i] + fBusy[i];
+            }
+            fCumulative = cumulative;
+        }
+        if (ts <= fStart) {
+            return 0;
+        }
+        long offset = ts - fStart;
+        long index = offset / fBucketWidth;
+        if (index >= fSize) {
+            return cumulative[fSize];
+        }
+        int i = (int) index;
+        long inBucket = offset - index * fBucketWidth;
+        return cumulative[i] + Math.round((double) fBusy[i] * inBucket / fBucketWidth);
+    }
+
+    private void addBusy(long start, long end) {
+        if (end <= start) {
+            return;
+        }
+        if (fStart == Long.MIN_VALUE) {
+            fStart = start - Math.floorMod(start, INITIAL_BUCKET_WIDTH);
+        }
+        long from = Math.max(start, fStart);
+        ensureBucket(end);
+        int first = (int) ((from - fStart) / fBucketWidth);
+        int last = (int) ((end - fStart) / fBucketWidth);
+        for (int i = first; i <= last; i++) {
+            long bucketStart = fStart + i * fBucketWidth;
+            long overlap = Math.min(end, bucketStart + fBucketWidth) - Math.max(from, bucketStart);
+            if (overlap > 0) {
+                fBusy[i] += overlap;
+            }
+        }
+        fSize = Math.max(fSize, last + 1);
+    }
+
+    /*
+     * Make room for the bucket of a time, coarsening the buckets if there
+     * would be too many of them.
+     */
+    private void ensureBucket(long ts) {
+        while ((ts - fStart) / fBucketWidth >= MAX_BUCKETS) {
+            int size = (fSize + 1) / 2;
+            for (int i = 0; i < size; i++) {
+                long second = (2 * i + 1 < fSize) ? fBusy[2 * i + 1] : 0;
+                fBusy[i] = fBusy[2 * i] + second;
+            }
+            Arrays.fill(fBusy, size, fBusy.length, 0);
+            fSize = size;
+            fBucketWidth *= 2;
+        }
+        int index = (int) ((ts - fStart) / fBucketWidth);
+        if (index >= fBusy.length) {
+            int capacity = fBusy.length;
+            while (index >= capacity) {
+                capacity *= 2;
+            }
+            fBusy = Arrays.copyOf(fBusy, Math.min(capacity, MAX_BUCKETS));
+        }
+    }
+
+    /**
+     * Write this summary
+     *
+     * @param out : The stream to write to
+     * @throws IOException
+     *             If the summary could not be written
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeLong(fStart);
+        out.writeLong(fBucketWidth);
+        out.writeInt(fSize);
+        for (int i = 0; i < fSize; i++) {
+            out.writeLong(fBusy[i]);
+        }
+    }
+
+    /**
+     * Read a summary written by {@link #write(DataOutputStream)}
+     *
+     * @param in : The stream to read from
+     * @return The summary
+     * @throws IOException
+     *             If the summary could not be read
+     */
+    public static GpuEngineBusySummary read(DataInputStream in) throws IOException {
+        GpuEngineBusySummary summary = new GpuEngineBusySummary();
+        summary.fStart = in.readLong();
+        summary.fBucketWidth = in.readLong();
+        int size = in.readInt();
+        if (size < 0 || size > MAX_BUCKETS || summary.fBucketWidth <= 0) {
+            throw new IOException("Invalid GPU busy summary"); //$NON-NLS-1$
+        }
+        summary.fSize = size;
+        summary.fBusy = new long[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            summary.fBusy[i] = in.readLong();
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,126 @@
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+/**
+ * The fields of an i915 or GVT event, parsed into primitives. Each event
+ * handler owns one instance and reuses it for every event it parses, so
+ * parsing an event does not allocate a temporary {@link GpuRequest}.
+ *
+ * @author agent
+ */
+public class GpuEventFields {
+
+    int fDevId;
+    int fVirtGpuId;
+    int fRing;
+    int fCtx;
+    int fPort;
+    long fSeqno;
+    long fSeqnoGlobal;
+    long fWorkloadId;
+
+    /**
+     * Reset all the fields to their default values
+     */
+    void reset() {
+        fDevId = -1;
+        fVirtGpuId = 0;
+        fRing = -1;
+        fCtx = -1;
+        fPort = -1;
+        fSeqno = -1;
+        fSeqnoGlobal = 0;
+        fWorkloadId = -1;
+    }
+
+    /**
+     * @return The physical GPU device ID
+     */
+    public int getDevID() {
+        return fDevId;
+    }
+
+    /**
+     * @return The virtual GPU ID
+     */
+    public int getVirtGpuID() {
+        return fVirtGpuId;
+    }
+
+    /**
+     * @return The ring ID
+     */
+    public int getRing() {
+        return fRing;
+    }
+
+    /**
+     * @return The context ID
+     */
+    public int getCtx() {
+        return fCtx;
+    }
+
+    /**
+     * @return The execlist port
+     */
+    public int getPort() {
+        return fPort;
+    }
+
+    /**
+     * @param port : The execlist port
+     */
+    public void setPort(int port) {
+        fPort = port;
+    }
+
+    /**
+     * @return The sequence number
+     */
+    public long getSeqno() {
+        return fSeqno;
+    }
+
+    /**
+     * @param seqno : The sequence number
+     */
+    public void setSeqno(long seqno) {
+        fSeqno = seqno;
+    }
+
+    /**
+     * @return The global sequence number
+     */
+    public long getSeqnoGlobal() {
+        return fSeqnoGlobal;
+    }
+
+    /**
+     * @param seqnoGlobal : The global sequence number
+     */
+    public void setSeqnoGlobal(long seqnoGlobal) {
+        fSeqnoGlobal = seqnoGlobal;
+    }
+
+    /**
+     * @return The GVT workload ID
+     */
+    public long getWorkloadID() {
+        return fWorkloadId;
+    }
+
+    /**
+     * @return The packed (ctx, seqno) key of the request, see
+     *         {@link GpuRequest#packKey(int, long)}
+     */
+    public long getKey() {
+        return GpuRequest.packKey(fCtx, fSeqno);
+    }
+
+    /**
+     * @return The (ctx, seqno) key of the request, as a string
+     */
+    public String getKeyString() {
+        return String.valueOf(fCtx) + " / " + String.valueOf(fSeqno); //$NON-NLS-1$
+    }
+}
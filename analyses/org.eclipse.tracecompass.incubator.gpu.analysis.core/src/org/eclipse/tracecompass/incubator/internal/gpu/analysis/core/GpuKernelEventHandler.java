@@ -1,5 +1,6 @@
 package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.internal.analysis.os.linux.core.kernel.handlers.KernelEventHandler;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -15,6 +16,8 @@ public abstract class GpuKernelEventHandler extends KernelEventHandler {
 
     protected GpuStateProvider fStateProvider;
 
+    /* Reused for every event parsed by this handler */
+    private final GpuEventFields fFields = new GpuEventFields();
 
 
     /**
@@ -28,80 +31,83 @@ public abstract class GpuKernelEventHandler extends KernelEventHandler {
 
 
     /**
-     *  parse a GPU event
+     * Parse the fields common to the i915 request events : device, ring,
+     * seqno and ctx. Event specific fields (port, global seqno) are read by the
+     * handlers themselves.
      *
-     * @param event : ITmfEventField
-     * @return GpuRequest
+     * @param event : ITmfEvent
+     * @param hasCtx : whether this event type has a ctx field
+     * @return The parsed fields. The instance is reused by the next call.
      */
-    public GpuRequest parseGpuEvent(ITmfEvent event) {
-        /* setting default values for these fields*/
-        Integer ctx = -1;
-        int port = -1;
-        long globalSeqno = 0;
-
+    protected GpuEventFields parseGpuEvent(ITmfEvent event, boolean hasCtx) {
+        GpuEventFields fields = fFields;
+        fields.reset();
 
+        IKernelAnalysisEventLayout layout = getLayout();
         ITmfEventField content = event.getContent();
-        /* Parse the content of this event  */
-        Integer phyGpuId = ((Long) content.getField(getLayout().fieldGpuDeviceId()).getValue()).intValue();
-        Integer ring = ((Long) content.getField(getLayout().fieldGpuRingId()).getValue()).intValue();
-        Long seqno = ((Long) content.getField(getLayout().fieldGpuSeqno()).getValue()).longValue();
-
-        if (!event.getName().equals(getLayout().eventIntelEngineNotify())) {
-            ctx = ((Long) content.getField(getLayout().fieldGpuCtxId()).getValue()).intValue();
-        }
-
-
-        GpuRequest tmp = new GpuRequest(phyGpuId, seqno, ctx, ring);
+        fields.fDevId = (int) getLongField(content, layout.fieldGpuDeviceId());
+        fields.fRing = (int) getLongField(content, layout.fieldGpuRingId());
+        fields.fSeqno = getLongField(content, layout.fieldGpuSeqno());
 
-        if ((event.getName().equals(getLayout().eventI915GemRequestIn() ))) {
-
-            port = ((Long) content.getField(getLayout().fieldGpuPortId()).getValue()).intValue();
-            tmp.setPort(port);
+        if (hasCtx) {
+            fields.fCtx = (int) getLongField(content, layout.fieldGpuCtxId());
         }
-
-        /* Global Seqno is named differently in many events : in, out, notify */
-        if (event.getName().equals(getLayout().eventI915GemRequestOut())) {
-            globalSeqno = ((Long) content.getField(getLayout().fieldGpuGlobal() /* global seqno */).getValue()).longValue();
-        } else
-            if (event.getName().equals(getLayout().eventI915GemRequestIn())) {
-                    globalSeqno = ((Long) content.getField(getLayout().fieldGpuGlobalSeqno() /* global seqno */).getValue()).longValue();
-             } else
-                    if (event.getName().equals(getLayout().eventIntelEngineNotify())) {
-                            globalSeqno = ((Long) content.getField(getLayout().fieldGpuSeqno() /* global seqno */).getValue()).longValue();
-                            tmp.setSeqno(-1); //seqno doesn't exist in this event
-                      }
-
-
-        tmp.setSeqnoGlobal(globalSeqno);
-
-        return (tmp);
+        return fields;
     }
 
 
     /**
+     * Parse the fields of a GVT workload event
+     *
      * @param event : ITmfEvent
-     * @return GpuRequest : VirtGpuRequest
+     * @param isSubmitted : whether the event carries the seqno and ctx of the
+     *            workload, which is known only once it is submitted
+     * @return The parsed fields. The instance is reused by the next call.
      */
-    public VirtGpuRequest parseVirtGpuEvent(ITmfEvent event) {
-        int ctx = -1;
-        long seqno = -1L;
+    protected GpuEventFields parseVirtGpuEvent(ITmfEvent event, boolean isSubmitted) {
+        GpuEventFields fields = fFields;
+        fields.reset();
 
+        IKernelAnalysisEventLayout layout = getLayout();
+        ITmfEventField content = event.getContent();
+        fields.fWorkloadId = getLongField(content, layout.fieldWorkloadId());
+        fields.fVirtGpuId = (int) getLongField(content, layout.fieldVirtDeviceId());
+        fields.fRing = (int) getLongField(content, layout.fieldGpuRing__Id());
+        fields.fDevId = (int) getLongField(content, layout.fieldGpuDeviceId());
+
+        if (isSubmitted) {
+            fields.fSeqno = getLongField(content, layout.fieldGpuSeqno());
+            fields.fCtx = (int) getLongField(content, layout.fieldGpuCtxId());
+        }
+        return fields;
+    }
 
 
-        ITmfEventField content = event.getContent();
+    /**
+     * Record the latency segment of a request whose execution is complete
+     *
+     * @param ts : The time at which the execution of the request completed
+     * @param req : The request
+     */
+    protected void addRequestSegment(long ts, GpuRequest req) {
+        fStateProvider.addRequestSegment(new GpuRequestSegment(req, ts));
+    }
 
-        /* Parse the content of this event  */
-        Long wrkld = ((Long) content.getField(getLayout().fieldWorkloadId()).getValue()).longValue();
-        int vgpu_id = ((Long) content.getField(getLayout().fieldVirtDeviceId()).getValue()).intValue();
-        int ring = ((Long) content.getField(getLayout().fieldGpuRing__Id()).getValue()).intValue();
-        int dev = ((Long) content.getField(getLayout().fieldGpuDeviceId()).getValue()).intValue();
 
-        if (event.getName().equals(getLayout().eventGvtWorkloadSubmit())) {
-            seqno = ((Long) content.getField(getLayout().fieldGpuSeqno()).getValue()).longValue();
-            ctx = ((Long) content.getField(getLayout().fieldGpuCtxId()).getValue()).intValue();
+    /**
+     * Read an integer field without going through intermediate boxed locals
+     *
+     * @param content : The content of the event
+     * @param fieldName : The name of the field
+     * @return The value of the field, or -1 if the field is missing
+     */
+    protected static long getLongField(@Nullable ITmfEventField content, String fieldName) {
+        if (content == null) {
+            return -1;
         }
-
-        return (new VirtGpuRequest(dev, vgpu_id, wrkld, seqno, ctx, ring));
+        ITmfEventField field = content.getField(fieldName);
+        Object value = (field == null) ? null : field.getValue();
+        return (value instanceof Number) ? ((Number) value).longValue() : -1;
     }
 
 }
@@ -2,7 +2,6 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
 import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
 import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
-import org.eclipse.tracecompass.tmf.core.util.Pair;
 
 @SuppressWarnings("javadoc")
 public class GpuRequest {
@@ -15,10 +14,18 @@ public class GpuRequest {
     private int fPort;
 
     private long fSeqnoGlobal;
-    private Pair <Integer,Long> fMergedWith;
+    private long fMergedWith;
 
     private GpuRequestStatus fReqCurrStatus;
 
+    /* Timestamps of the life of this request, -1 until they are known */
+    private long fQueuedTs = -1;
+    private long fSubmittedTs = -1;
+    private long fRunningTs = -1;
+
+    /* The thread that issued this request, if the trace has the process context */
+    private int fTid = -1;
+
     /** GpuRequest Constructor
      * @param seqNo :
      * @param seqNoGlobal :
@@ -33,7 +40,7 @@ public class GpuRequest {
         fRingId = ringId;
 
         fReqCurrStatus = GpuRequestStatus.IS_UNKNOWN;
-        fMergedWith = new Pair<>(0,0L); //By default not merged with any other request //
+        fMergedWith = packKey(0, 0L); //By default not merged with any other request //
     }
 
     public GpuRequest(int gpu, int vgpu, long seqNo, int ctx, int ringId ) {
@@ -45,7 +52,7 @@ public class GpuRequest {
         fRingId = ringId;
 
         fReqCurrStatus = GpuRequestStatus.IS_UNKNOWN;
-        fMergedWith = new Pair<>(0,0L); //By default not merged with any other request //
+        fMergedWith = packKey(0, 0L); //By default not merged with any other request //
     }
 
     public void setSeqnoGlobal(long seqNoGlobal ) {
@@ -57,7 +64,7 @@ public class GpuRequest {
         fPort = port;
     }
 
-    public void setMergedWith(Pair <Integer, Long> key ) {
+    public void setMergedWith(long key ) {
         fMergedWith = key;
     }
 
@@ -81,8 +88,49 @@ public class GpuRequest {
         return String.valueOf(fCtx)+" / " + String.valueOf(fSeqno); //$NON-NLS-1$
     }
 
-    public Pair<Integer, Long> getKey() {
-        return (new Pair <>(fCtx, fSeqno));
+    /**
+     * Get the key identifying this request : its (ctx, seqno) packed in a long
+     *
+     * @return The packed key
+     */
+    public long getKey() {
+        return packKey(fCtx, fSeqno);
+    }
+
+    /**
+     * Pack a pair of 32 bits identifiers in a long key. The i915 tracepoints
+     * report the ctx and the seqno as 32 bits values.
+     *
+     * @param high : The high order value (ctx, or ring)
+     * @param low : The low order value (seqno, or global seqno)
+     * @return The packed key
+     */
+    public static long packKey(int high, long low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param key : A key packed by {@link #packKey(int, long)}
+     * @return The ctx of the key
+     */
+    public static int keyCtx(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * @param key : A key packed by {@link #packKey(int, long)}
+     * @return The seqno of the key
+     */
+    public static long keySeqno(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @param key : A key packed by {@link #packKey(int, long)}
+     * @return The key formatted like {@link #getKeyString()}
+     */
+    public static String keyString(long key) {
+        return String.valueOf(keyCtx(key)) + " / " + String.valueOf(keySeqno(key)); //$NON-NLS-1$
     }
 
     public int getCtx() {
@@ -116,7 +164,7 @@ public class GpuRequest {
     }
 
     public ITmfStateValue getMergedWith() {
-        return TmfStateValue.newValueString(String.valueOf(fMergedWith.getFirst()+ " / "+ String.valueOf(fMergedWith.getSecond()))); //$NON-NLS-1$
+        return TmfStateValue.newValueString(keyString(fMergedWith));
     }
 
 
@@ -124,4 +172,60 @@ public class GpuRequest {
         fSeqno = seqno;
     }
 
+    /**
+     * @param ts : The time at which this request was added to the driver queue
+     */
+    public void setQueuedTs(long ts) {
+        fQueuedTs = ts;
+    }
+
+    /**
+     * @return The time at which this request was added to the driver queue, or -1
+     */
+    public long getQueuedTs() {
+        return fQueuedTs;
+    }
+
+    /**
+     * @param ts : The time at which this request was submitted to the hardware
+     */
+    public void setSubmittedTs(long ts) {
+        fSubmittedTs = ts;
+    }
+
+    /**
+     * @return The time at which this request was submitted to the hardware, or -1
+     */
+    public long getSubmittedTs() {
+        return fSubmittedTs;
+    }
+
+    /**
+     * @param ts : The time at which this request started running on its engine
+     */
+    public void setRunningTs(long ts) {
+        fRunningTs = ts;
+    }
+
+    /**
+     * @return The time at which this request started running on its engine, or -1
+     */
+    public long getRunningTs() {
+        return fRunningTs;
+    }
+
+    /**
+     * @param tid : The thread that issued this request
+     */
+    public void setTid(int tid) {
+        fTid = tid;
+    }
+
+    /**
+     * @return The thread that issued this request, or -1 if it is unknown
+     */
+    public int getTid() {
+        return fTid;
+    }
+
 }
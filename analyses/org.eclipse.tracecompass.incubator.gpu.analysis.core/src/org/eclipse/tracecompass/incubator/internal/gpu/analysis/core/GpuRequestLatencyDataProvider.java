@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.timing.core.statistics.IStatistics;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.AbstractTmfTraceDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.filters.TimeQueryFilter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.ITmfTreeDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Data provider of the latency statistics of the GPU requests of a time range.
+ * There is a row for the queue wait times and one for the execution times,
+ * each with a child row per engine.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuRequestLatencyDataProvider extends AbstractTmfTraceDataProvider implements ITmfTreeDataProvider<GpuRequestLatencyModel> {
+
+    /**
+     * Extension point ID.
+     */
+    public static final String ID = "org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestLatencyDataProvider"; //$NON-NLS-1$
+
+    private static final String QUEUE_WAIT = "Queue Wait"; //$NON-NLS-1$
+    private static final String EXECUTION = "Execution"; //$NON-NLS-1$
+
+    /** Atomic Long so that every {@link GpuRequestLatencyModel} has a unique ID. */
+    private static final AtomicLong fAtomicLong = new AtomicLong();
+
+    private final GpuAnalysisModule fModule;
+
+    /** The IDs of the rows, so that they are the same from one query to the other */
+    private final Map<String, Long> fIds = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            The trace for which this provider will be built.
+     * @param module
+     *            the {@link GpuAnalysisModule} to access the segments of the
+     *            requests
+     */
+    public GpuRequestLatencyDataProvider(ITmfTrace trace, GpuAnalysisModule module) {
+        super(trace);
+        fModule = module;
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public TmfModelResponse<List<GpuRequestLatencyModel>> fetchTree(TimeQueryFilter filter, @Nullable IProgressMonitor monitor) {
+        fModule.waitForInitialization();
+        ITmfStateSystem ss = fModule.getStateSystem();
+        if (ss == null) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.ANALYSIS_INITIALIZATION_FAILED);
+        }
+
+        boolean complete = ss.waitUntilBuilt(0);
+        ISegmentStore<ISegment> segments = fModule.getSegmentStore();
+        if (segments == null) {
+            /* The segment store is created when the analysis starts */
+            return complete ? new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.ANALYSIS_INITIALIZATION_FAILED)
+                    : new TmfModelResponse<>(null, ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
+        }
+        GpuRequestLatencyStatistics statistics = GpuRequestLatencyStatistics.compute(segments, filter.getStart(), filter.getEnd(), monitor);
+        if (statistics == null) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+        }
+
+        List<GpuRequestLatencyModel> list = new ArrayList<>();
+        addRows(list, QUEUE_WAIT, statistics.getQueueWait(), statistics.getQueueWaitPerEngine());
+        addRows(list, EXECUTION, statistics.getExecution(), statistics.getExecutionPerEngine());
+        if (complete) {
+            return new TmfModelResponse<>(list, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+        return new TmfModelResponse<>(list, ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING);
+    }
+
+    private void addRows(List<GpuRequestLatencyModel> list, String name, IStatistics<GpuRequestSegment> total, Map<String, IStatistics<GpuRequestSegment>> perEngine) {
+        long parentId = getEntryId(name);
+        list.add(new GpuRequestLatencyModel(parentId, -1, name, total));
+        for (Entry<String, IStatistics<GpuRequestSegment>> entry : perEngine.entrySet()) {
+            String engine = entry.getKey();
+            list.add(new GpuRequestLatencyModel(getEntryId(name + '/' + engine), parentId, engine, entry.getValue()));
+        }
+    }
+
+    private synchronized long getEntryId(String key) {
+        return fIds.computeIfAbsent(key, k -> fAtomicLong.getAndIncrement());
+    }
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.ITmfTreeDataModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.ITmfTreeDataProvider;
+import org.eclipse.tracecompass.tmf.core.dataprovider.IDataProviderFactory;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+
+/**
+ * Factory for the {@link GpuRequestLatencyDataProvider}
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuRequestLatencyDataProviderFactory implements IDataProviderFactory {
+    @Override
+    public @Nullable ITmfTreeDataProvider<? extends ITmfTreeDataModel> createProvider(@NonNull ITmfTrace trace) {
+        GpuAnalysisModule module = TmfTraceUtils.getAnalysisModuleOfClass(trace, GpuAnalysisModule.class, GpuAnalysisModule.ID);
+        if (module != null) {
+            module.schedule();
+            return new GpuRequestLatencyDataProvider(trace, module);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import org.eclipse.tracecompass.analysis.timing.core.statistics.IStatistics;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.TmfTreeDataModel;
+
+/**
+ * A row of the GPU request latency statistics: the statistics of the queue
+ * wait or execution times of the requests, for all the engines or for one of
+ * them.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuRequestLatencyModel extends TmfTreeDataModel {
+
+    private final long fNbElements;
+    private final long fMin;
+    private final long fMax;
+    private final double fMean;
+    private final double fStdDev;
+    private final double fTotal;
+
+    /**
+     * Constructor
+     *
+     * @param id
+     *            The ID of this row
+     * @param parentId
+     *            The ID of the parent row, -1 for a root row
+     * @param name
+     *            The name of this row
+     * @param statistics
+     *            The statistics of this row
+     */
+    public GpuRequestLatencyModel(long id, long parentId, String name, IStatistics<GpuRequestSegment> statistics) {
+        super(id, parentId, name);
+        fNbElements = statistics.getNbElements();
+        fMin = statistics.getMin();
+        fMax = statistics.getMax();
+        fMean = statistics.getMean();
+        fStdDev = statistics.getStdDev();
+        fTotal = statistics.getTotal();
+    }
+
+    /**
+     * @return The number of requests
+     */
+    public long getNbElements() {
+        return fNbElements;
+    }
+
+    /**
+     * @return The minimum time, in ns
+     */
+    public long getMin() {
+        return fMin;
+    }
+
+    /**
+     * @return The maximum time, in ns
+     */
+    public long getMax() {
+        return fMax;
+    }
+
+    /**
+     * @return The average time, in ns
+     */
+    public double getMean() {
+        return fMean;
+    }
+
+    /**
+     * @return The standard deviation of the times, in ns
+     */
+    public double getStdDev() {
+        return fStdDev;
+    }
+
+    /**
+     * @return The sum of the times, in ns
+     */
+    public double getTotal() {
+        return fTotal;
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.timing.core.statistics.IStatistics;
+import org.eclipse.tracecompass.analysis.timing.core.statistics.Statistics;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
+
+/**
+ * Statistics of the latency of the GPU requests: the time they waited in the
+ * queues and the time they ran on their engine, for all the requests and per
+ * engine. They are computed in one pass over the segments of a time range.
+ *
+ * @author agent
+ */
+public class GpuRequestLatencyStatistics {
+
+    private final IStatistics<GpuRequestSegment> fQueueWait = new Statistics<>(GpuRequestSegment::getQueueWaitTime);
+    private final IStatistics<GpuRequestSegment> fExecution = new Statistics<>(GpuRequestSegment::getExecutionTime);
+    private final Map<String, IStatistics<GpuRequestSegment>> fQueueWaitPerEngine = new TreeMap<>();
+    private final Map<String, IStatistics<GpuRequestSegment>> fExecutionPerEngine = new TreeMap<>();
+
+    private GpuRequestLatencyStatistics() {
+        // Use compute()
+    }
+
+    /**
+     * Compute the statistics of the requests that intersect a time range
+     *
+     * @param segments
+     *            The segments of the requests, see
+     *            {@link GpuAnalysisModule#getSegmentStore()}
+     * @param start
+     *            The start of the time range
+     * @param end
+     *            The end of the time range
+     * @param monitor
+     *            The progress monitor, may be null
+     * @return The statistics, or null if the computation was cancelled
+     */
+    public static @Nullable GpuRequestLatencyStatistics compute(ISegmentStore<ISegment> segments, long start, long end, @Nullable IProgressMonitor monitor) {
+        GpuRequestLatencyStatistics stats = new GpuRequestLatencyStatistics();
+        for (ISegment segment : segments.getIntersectingElements(start, end)) {
+            if (monitor != null && monitor.isCanceled()) {
+                return null;
+            }
+            if (segment instanceof GpuRequestSegment) {
+                stats.update((GpuRequestSegment) segment);
+            }
+        }
+        return stats;
+    }
+
+    private void update(GpuRequestSegment segment) {
+        String engine = Gpu.getEngineName(segment.getRing());
+        fQueueWait.update(segment);
+        fExecution.update(segment);
+        fQueueWaitPerEngine.computeIfAbsent(engine, e -> new Statistics<>(GpuRequestSegment::getQueueWaitTime)).update(segment);
+        fExecutionPerEngine.computeIfAbsent(engine, e -> new Statistics<>(GpuRequestSegment::getExecutionTime)).update(segment);
+    }
+
+    /**
+     * @return The statistics of the time the requests waited in the queues
+     */
+    public IStatistics<GpuRequestSegment> getQueueWait() {
+        return fQueueWait;
+    }
+
+    /**
+     * @return The statistics of the time the requests ran on their engine
+     */
+    public IStatistics<GpuRequestSegment> getExecution() {
+        return fExecution;
+    }
+
+    /**
+     * @return The statistics of the queue wait times, keyed by engine name
+     */
+    public Map<String, IStatistics<GpuRequestSegment>> getQueueWaitPerEngine() {
+        return Collections.unmodifiableMap(fQueueWaitPerEngine);
+    }
+
+    /**
+     * @return The statistics of the execution times, keyed by engine name
+     */
+    public Map<String, IStatistics<GpuRequestSegment>> getExecutionPerEngine() {
+        return Collections.unmodifiableMap(fExecutionPerEngine);
+    }
+}
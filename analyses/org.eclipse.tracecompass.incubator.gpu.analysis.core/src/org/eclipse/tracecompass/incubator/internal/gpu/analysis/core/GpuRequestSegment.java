@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.util.Comparator;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.datastore.core.interval.IHTIntervalReader;
+import org.eclipse.tracecompass.datastore.core.serialization.ISafeByteBufferWriter;
+import org.eclipse.tracecompass.segmentstore.core.ISegment;
+import org.eclipse.tracecompass.tmf.core.segment.ISegmentAspect;
+
+/**
+ * The life of a GPU request, from the time it is added to the driver queue to
+ * the time its execution completes. The time spent waiting in the queues and
+ * the time spent running on the engine are kept separately.
+ *
+ * @author agent
+ */
+public final class GpuRequestSegment implements ISegment {
+
+    private static final long serialVersionUID = 5466432512916283174L;
+
+    /**
+     * Size taken on disk
+     */
+    public static final int BASE_SIZE = Long.BYTES * 5 + Integer.BYTES * 5;
+
+    /**
+     * Factory helper, to read the segments from an on-disk segment store
+     */
+    public static final IHTIntervalReader<GpuRequestSegment> READER = bb -> {
+        long start = bb.getLong();
+        long end = bb.getLong();
+        long submitted = bb.getLong();
+        long running = bb.getLong();
+        long seqno = bb.getLong();
+        int devId = bb.getInt();
+        int vGpuId = bb.getInt();
+        int ring = bb.getInt();
+        int ctx = bb.getInt();
+        int tid = bb.getInt();
+        return new GpuRequestSegment(start, end, submitted, running, devId, vGpuId, ring, ctx, seqno, tid);
+    };
+
+    private static final String EMPTY_STRING = ""; //$NON-NLS-1$
+
+    private final long fStart;
+    private final long fEnd;
+    private final long fSubmitted;
+    private final long fRunning;
+    private final int fDevId;
+    private final int fVirtGpuId;
+    private final int fRing;
+    private final int fCtx;
+    private final long fSeqno;
+    private final int fTid;
+
+    /**
+     * Create the segment of a request whose execution is complete
+     *
+     * @param req
+     *            The request
+     * @param end
+     *            The time at which the execution of the request completed
+     */
+    public GpuRequestSegment(GpuRequest req, long end) {
+        this(req.getQueuedTs() == -1 ? end : req.getQueuedTs(), end, req.getSubmittedTs(), req.getRunningTs(),
+                req.getDevID(), req.getVirtGpuID(), req.getRing(), req.getCtx(), req.getSeqno(), req.getTid());
+    }
+
+    private GpuRequestSegment(long start, long end, long submitted, long running, int devId, int vGpuId, int ring, int ctx, long seqno, int tid) {
+        fStart = start;
+        fEnd = end;
+        fSubmitted = submitted;
+        fRunning = running;
+        fDevId = devId;
+        fVirtGpuId = vGpuId;
+        fRing = ring;
+        fCtx = ctx;
+        fSeqno = seqno;
+        fTid = tid;
+    }
+
+    @Override
+    public long getStart() {
+        return fStart;
+    }
+
+    @Override
+    public long getEnd() {
+        return fEnd;
+    }
+
+    /**
+     * @return The time at which the request was submitted to the hardware, or
+     *         -1 if it is unknown
+     */
+    public long getSubmittedTime() {
+        return fSubmitted;
+    }
+
+    /**
+     * @return The time at which the request started running, or -1 if it is
+     *         unknown
+     */
+    public long getRunningTime() {
+        return fRunning;
+    }
+
+    /**
+     * @return The time the request spent in the queues before it started
+     *         running. If the start of its execution is unknown, the whole
+     *         duration of the request.
+     */
+    public long getQueueWaitTime() {
+        return (fRunning == -1) ? getLength() : fRunning - fStart;
+    }
+
+    /**
+     * @return The time the request spent running on its engine, or 0 if the
+     *         start of its execution is unknown
+     */
+    public long getExecutionTime() {
+        return (fRunning == -1) ? 0 : fEnd - fRunning;
+    }
+
+    /**
+     * @return The physical GPU device ID
+     */
+    public int getDevID() {
+        return fDevId;
+    }
+
+    /**
+     * @return The vGPU which issued the request, 0 if it was not a vGPU
+     */
+    public int getVirtGpuID() {
+        return fVirtGpuId;
+    }
+
+    /**
+     * @return The ring of the engine that executed the request
+     */
+    public int getRing() {
+        return fRing;
+    }
+
+    /**
+     * @return The context of the request
+     */
+    public int getCtx() {
+        return fCtx;
+    }
+
+    /**
+     * @return The sequence number of the request
+     */
+    public long getSeqno() {
+        return fSeqno;
+    }
+
+    /**
+     * @return The thread that issued the request, or -1 if it is unknown
+     */
+    public int getTid() {
+        return fTid;
+    }
+
+    @Override
+    public void writeSegment(ISafeByteBufferWriter bb) {
+        bb.putLong(fStart);
+        bb.putLong(fEnd);
+        bb.putLong(fSubmitted);
+        bb.putLong(fRunning);
+        bb.putLong(fSeqno);
+        bb.putInt(fDevId);
+        bb.putInt(fVirtGpuId);
+        bb.putInt(fRing);
+        bb.putInt(fCtx);
+        bb.putInt(fTid);
+    }
+
+    @Override
+    public int getSizeOnDisk() {
+        return BASE_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "GPU request " + fCtx + " / " + fSeqno + //$NON-NLS-1$ //$NON-NLS-2$
+                " [" + fStart + ", " + fEnd + "]" + //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                " engine = " + Gpu.getEngineName(fRing); //$NON-NLS-1$
+    }
+
+    /**
+     * Aspect for the engine which executed the request
+     */
+    public static final class EngineAspect implements ISegmentAspect {
+        /**
+         * Instance of that aspect
+         */
+        public static final ISegmentAspect INSTANCE = new EngineAspect();
+
+        private EngineAspect() { }
+
+        @Override
+        public String getHelpText() {
+            return "The engine which executed the request"; //$NON-NLS-1$
+        }
+        @Override
+        public String getName() {
+            return "Engine"; //$NON-NLS-1$
+        }
+        @Override
+        public @Nullable Comparator<?> getComparator() {
+            return null;
+        }
+        @Override
+        public @Nullable String resolve(ISegment segment) {
+            if (segment instanceof GpuRequestSegment) {
+                return Gpu.getEngineName(((GpuRequestSegment) segment).getRing());
+            }
+            return EMPTY_STRING;
+        }
+    }
+
+    /**
+     * Aspect for the context of the request
+     */
+    public static final class ContextAspect implements ISegmentAspect {
+        /**
+         * Instance of that aspect
+         */
+        public static final ISegmentAspect INSTANCE = new ContextAspect();
+
+        private ContextAspect() { }
+
+        @Override
+        public String getHelpText() {
+            return "The context of the request"; //$NON-NLS-1$
+        }
+        @Override
+        public String getName() {
+            return "Context"; //$NON-NLS-1$
+        }
+        @Override
+        public @Nullable Comparator<?> getComparator() {
+            return null;
+        }
+        @Override
+        public @Nullable String resolve(ISegment segment) {
+            if (segment instanceof GpuRequestSegment) {
+                return Integer.toString(((GpuRequestSegment) segment).getCtx());
+            }
+            return EMPTY_STRING;
+        }
+    }
+
+    /**
+     * Aspect for the thread which issued the request
+     */
+    public static final class TidAspect implements ISegmentAspect {
+        /**
+         * Instance of that aspect
+         */
+        public static final ISegmentAspect INSTANCE = new TidAspect();
+
+        private TidAspect() { }
+
+        @Override
+        public String getHelpText() {
+            return "The thread which issued the request"; //$NON-NLS-1$
+        }
+        @Override
+        public String getName() {
+            return "TID"; //$NON-NLS-1$
+        }
+        @Override
+        public @Nullable Comparator<?> getComparator() {
+            return null;
+        }
+        @Override
+        public @Nullable String resolve(ISegment segment) {
+            if (segment instanceof GpuRequestSegment) {
+                int tid = ((GpuRequestSegment) segment).getTid();
+                return (tid == -1) ? EMPTY_STRING : Integer.toString(tid);
+            }
+            return EMPTY_STRING;
+        }
+    }
+
+    /**
+     * Aspect for the time the request waited in the queues
+     */
+    public static final class QueueWaitAspect implements ISegmentAspect {
+        /**
+         * Instance of that aspect
+         */
+        public static final ISegmentAspect INSTANCE = new QueueWaitAspect();
+
+        private QueueWaitAspect() { }
+
+        @Override
+        public String getHelpText() {
+            return "The time the request waited before running, in ns"; //$NON-NLS-1$
+        }
+        @Override
+        public String getName() {
+            return "Queue Wait"; //$NON-NLS-1$
+        }
+        @Override
+        public @Nullable Comparator<?> getComparator() {
+            return null;
+        }
+        @Override
+        public @Nullable String resolve(ISegment segment) {
+            if (segment instanceof GpuRequestSegment) {
+                return Long.toString(((GpuRequestSegment) segment).getQueueWaitTime());
+            }
+            return EMPTY_STRING;
+        }
+    }
+
+    /**
+     * Aspect for the time the request ran on its engine
+     */
+    public static final class ExecutionAspect implements ISegmentAspect {
+        /**
+         * Instance of that aspect
+         */
+        public static final ISegmentAspect INSTANCE = new ExecutionAspect();
+
+        private ExecutionAspect() { }
+
+        @Override
+        public String getHelpText() {
+            return "The time the request ran on its engine, in ns"; //$NON-NLS-1$
+        }
+        @Override
+        public String getName() {
+            return "Execution"; //$NON-NLS-1$
+        }
+        @Override
+        public @Nullable Comparator<?> getComparator() {
+            return null;
+        }
+        @Override
+        public @Nullable String resolve(ISegment segment) {
+            if (segment instanceof GpuRequestSegment) {
+                return Long.toString(((GpuRequestSegment) segment).getExecutionTime());
+            }
+            return EMPTY_STRING;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.util.Arrays;
+
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+
+/**
+ * Cache of the sub-attribute quarks of the request slots of an attribute
+ * pool. The slots of a pool are recycled from one request to the next, so once
+ * a slot has been used, its sub-attributes are found without walking the
+ * attribute tree again. Sub-attributes are only created the first time they
+ * are asked for, so the attribute tree is the same as without the cache.
+ *
+ * @author agent
+ */
+public class GpuRequestSlotQuarks {
+
+    /** Index of the {@link GpuAttributes#SEQNO} sub-attribute */
+    public static final int SEQNO = 0;
+    /** Index of the {@link GpuAttributes#CTX} sub-attribute */
+    public static final int CTX = 1;
+    /** Index of the {@link GpuAttributes#ENGINE} sub-attribute */
+    public static final int ENGINE = 2;
+    /** Index of the {@link GpuAttributes#REQUEST_STATUS} sub-attribute */
+    public static final int REQUEST_STATUS = 3;
+    /** Index of the {@link GpuAttributes#MERGED_WITH} sub-attribute */
+    public static final int MERGED_WITH = 4;
+
+    private static final String[] ATTRIBUTES = {
+            GpuAttributes.SEQNO,
+            GpuAttributes.CTX,
+            GpuAttributes.ENGINE,
+            GpuAttributes.REQUEST_STATUS,
+            GpuAttributes.MERGED_WITH
+    };
+
+    private final ITmfStateSystemBuilder fStateSysBuilder;
+
+    /* Keyed by the quark of the slot */
+    private final LongHashMap<int[]> fSlots = new LongHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param ss : The state system builder in which the slots are
+     */
+    public GpuRequestSlotQuarks(ITmfStateSystemBuilder ss) {
+        fStateSysBuilder = ss;
+    }
+
+    /**
+     * Get the quark of a sub-attribute of a slot, creating it if needed
+     *
+     * @param slotQuark : The quark of the slot
+     * @param attribute : The index of the sub-attribute, one of the constants
+     *            of this class
+     * @return The quark of the sub-attribute
+     */
+    public int getQuark(int slotQuark, int attribute) {
+        int[] quarks = fSlots.get(slotQuark);
+        if (quarks == null) {
+            quarks = new int[ATTRIBUTES.length];
+            Arrays.fill(quarks, ITmfStateSystem.INVALID_ATTRIBUTE);
+            fSlots.put(slotQuark, quarks);
+        }
+        int quark = quarks[attribute];
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quark = fStateSysBuilder.getQuarkRelativeAndAdd(slotQuark, ATTRIBUTES[attribute]);
+            quarks[attribute] = quark;
+        }
+        return quark;
+    }
+}
@@ -11,14 +11,17 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
 import static org.eclipse.tracecompass.common.core.NonNullUtils.checkNotNull;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.common.core.NonNullUtils;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.handlers.*;
 import org.eclipse.tracecompass.internal.analysis.os.linux.core.kernel.handlers.KernelEventHandler;
+import org.eclipse.tracecompass.segmentstore.core.ISegmentStore;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.statesystem.core.exceptions.AttributeNotFoundException;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateValueTypeException;
@@ -27,7 +30,6 @@ import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.statesystem.AbstractTmfStateProvider;
 import org.eclipse.tracecompass.tmf.core.statesystem.ITmfStateProvider;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
-import org.eclipse.tracecompass.tmf.core.util.Pair;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -64,6 +66,9 @@ import com.google.common.collect.ImmutableMap;
  * |  |  |- CURRENT_RUNNING_REQUESTS_NUMBER
  * </pre>
  *
+ * When a request completes, its latency segment ({@link GpuRequestSegment}) is
+ * added to the segment store of the analysis, if it has one.
+ *
  * @author Adel Belkhiri
  * @since 2.0
  */
@@ -72,13 +77,21 @@ public class GpuStateProvider extends AbstractTmfStateProvider {
 
 
 
-    private static final int VERSION = 1;
+    private static final int VERSION = 2;
 
     private final Map<Integer, PhyGpuModel> fPhyGpus = new HashMap<>();
     private final Map<Integer, ThreadGpuModel> fGpuThreads = new HashMap<>();
+    /* Which thread has issued a request : <ctx,seqno> -> thread, maintained by the threads themselves */
+    private final LongHashMap<ThreadGpuModel> fRequestToThread = new LongHashMap<>();
 
     private final Map<String, KernelEventHandler> fGpuEventsMap;
     private final IKernelAnalysisEventLayout fLayout;
+    private long fLastTimestamp = Long.MIN_VALUE;
+
+    /* Creates the store of the request segments, when the state system is built */
+    private final @Nullable Supplier<@Nullable ISegmentStore<GpuRequestSegment>> fSegmentStoreSupplier;
+    private @Nullable ISegmentStore<GpuRequestSegment> fRequestSegments = null;
+    private boolean fSegmentStoreCreated = false;
 
     /**
      * Instantiate a new state provider plugin.
@@ -88,10 +101,23 @@ public class GpuStateProvider extends AbstractTmfStateProvider {
      */
 
     public GpuStateProvider(ITmfTrace trace, IKernelAnalysisEventLayout layout) {
+        this(trace, layout, null);
+    }
+
+    /**
+     * Instantiate a new state provider plugin which also saves the latency
+     * segments of the requests.
+     *
+     * @param trace : The kernel trace to apply this state provider to
+     * @param layout : The event layout to use for this state provider.
+     * @param segmentStoreSupplier : Creates the segment store of the requests,
+     *            it is called only if the state system is built
+     */
+    public GpuStateProvider(ITmfTrace trace, IKernelAnalysisEventLayout layout, @Nullable Supplier<@Nullable ISegmentStore<GpuRequestSegment>> segmentStoreSupplier) {
         super(trace, "GPU Analysis"); //$NON-NLS-1$
         fLayout = layout;
         fGpuEventsMap = buildGpuEventNames(layout);
-
+        fSegmentStoreSupplier = segmentStoreSupplier;
     }
 
 
@@ -125,6 +151,15 @@ public class GpuStateProvider extends AbstractTmfStateProvider {
             return;
         }
 
+        fLastTimestamp = event.getTimestamp().getValue();
+
+        if (!fSegmentStoreCreated) {
+            /* The state system is being built, so are the request segments */
+            Supplier<@Nullable ISegmentStore<GpuRequestSegment>> supplier = fSegmentStoreSupplier;
+            fRequestSegments = (supplier == null) ? null : supplier.get();
+            fSegmentStoreCreated = true;
+        }
+
         String eventName = event.getName();
         try {
                 final ITmfStateSystemBuilder ss = NonNullUtils.checkNotNull(getStateSystemBuilder());
@@ -138,7 +173,50 @@ public class GpuStateProvider extends AbstractTmfStateProvider {
         } catch (TimeRangeException | StateValueTypeException | AttributeNotFoundException e) {
             Activator.getInstance().logError("Exception while building the GPU state system", e); //$NON-NLS-1$
         }
+    }
+
+    @Override
+    public void done() {
+        saveBusySummaries();
+        ISegmentStore<GpuRequestSegment> segments = fRequestSegments;
+        if (segments != null) {
+            segments.close(false);
+        }
+        super.done();
+    }
+
+    /**
+     * Save the busy time summaries of all the engines next to the state
+     * history, for the data providers to use on large time ranges
+     */
+    private void saveBusySummaries() {
+        ITmfStateSystemBuilder ss = getStateSystemBuilder();
+        if (ss == null || fLastTimestamp == Long.MIN_VALUE) {
+            return;
+        }
+        long endTime = Math.max(ss.getStartTime(), fLastTimestamp);
+        GpuBusySummary summaries = new GpuBusySummary(ss.getStartTime(), endTime);
+        for (PhyGpuModel gpu : fPhyGpus.values()) {
+            gpu.addBusySummaries(summaries, endTime);
+        }
+        try {
+            summaries.write(GpuBusySummary.getFile(getTrace()));
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Could not save the GPU busy summary", e); //$NON-NLS-1$
+        }
+    }
 
+    /**
+     * Add the latency segment of a completed request to the segment store of
+     * the analysis. The segments are added in the order of the events.
+     *
+     * @param segment : The segment of the request
+     */
+    public void addRequestSegment(GpuRequestSegment segment) {
+        ISegmentStore<GpuRequestSegment> segments = fRequestSegments;
+        if (segments != null) {
+            segments.add(segment);
+        }
     }
 
     /**
@@ -172,30 +250,21 @@ public class GpuStateProvider extends AbstractTmfStateProvider {
 
         ThreadGpuModel thread = fGpuThreads.get(tid);
         if (create == true && execName != null && thread == null) {
-            thread = new ThreadGpuModel(tid, ppid, execName, checkNotNull(getStateSystemBuilder()));
+            thread = new ThreadGpuModel(tid, ppid, execName, checkNotNull(getStateSystemBuilder()), fRequestToThread);
             fGpuThreads.put(tid, thread);
         }
         return thread;
     }
 
     /**
-     * Get a Thread identified by a tid or Create a new one
+     * Get the Thread which has issued a request
      *
-     * @param tid
-     *            Thread ID
-     * @param execName
-     *            Thread executable name. If execName == null dont add a gpu Thread
-     * @return The Gpu corresponding to the device ID
+     * @param requestKey
+     *            The packed key (ctx,seqno) of the request
+     * @return The thread that issued this request, or null if none did
      */
-    public @Nullable ThreadGpuModel getGpuThread(Pair<Integer, Long > requestKey) {
-
-        for(ThreadGpuModel thread : fGpuThreads.values()) {
-
-            if (thread.hasIssuedThisRequest(requestKey)) {
-                return thread;
-            }
-        }
-        return null;
+    public @Nullable ThreadGpuModel getGpuThread(long requestKey) {
+        return fRequestToThread.get(requestKey);
     }
     /**
      * Get a new instance of this State Provider
@@ -205,7 +274,7 @@ public class GpuStateProvider extends AbstractTmfStateProvider {
 
     @Override
     public ITmfStateProvider getNewInstance() {
-        return new GpuStateProvider(this.getTrace(), this.fLayout);
+        return new GpuStateProvider(this.getTrace(), this.fLayout, this.fSegmentStoreSupplier);
     }
 
 }
@@ -9,6 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -30,7 +31,6 @@ import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.Ti
 import org.eclipse.tracecompass.internal.provisional.tmf.core.response.ITmfResponse;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
-import org.eclipse.tracecompass.statesystem.core.exceptions.AttributeNotFoundException;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
 import org.eclipse.tracecompass.statesystem.core.exceptions.TimeRangeException;
 import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
@@ -262,71 +262,170 @@ public class GpuThreadsDataProvider extends AbstractTmfTraceDataProvider impleme
             return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.ANALYSIS_INITIALIZATION_FAILED);
         }
 
-        TreeMultimap<Integer, ITmfStateInterval> intervals = TreeMultimap.create(Comparator.naturalOrder(),
-                Comparator.comparing(ITmfStateInterval::getStartTime));
-
-        /*threads quark <-> id*/
+        /*
+         * Gather the request status quarks of all the selected threads, so
+         * that a single 2D query is done for all the rows on screen.
+         */
         Map<Long, Integer> selectedIdsToQuarks = getSelectedIdsToQuarks(filter);
-        Collection<Long> times = getTimes(ss, filter);
-        List<ITimeGraphRowModel> rows = new ArrayList<>();
-
-
+        Map<Integer, Long> statusQuarkToId = new HashMap<>();
         for (Entry<Long, Integer> entry : selectedIdsToQuarks.entrySet()) {
+            int issuedRequestsQuark = ss.optQuarkRelative(entry.getValue(), GpuAttributes.ISSUED_GPU_REQUESTS);
+            if (issuedRequestsQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                continue;
+            }
+            for (int requestQuark : ss.getSubAttributes(issuedRequestsQuark, false)) {
+                int requestStatusQuark = ss.optQuarkRelative(requestQuark, GpuAttributes.REQUEST_STATUS);
+                if (requestStatusQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                    statusQuarkToId.put(requestStatusQuark, entry.getKey());
+                }
+            }
+        }
 
-            int quark = entry.getValue();
-            int issuedRequestsQuark = ss.optQuarkRelative(quark, GpuAttributes.ISSUED_GPU_REQUESTS);
-            List<Integer> requestsQuarks = ss.getQuarks(issuedRequestsQuark, WILDCARD);
-
-            for(int requestQuark : requestsQuarks) {
-
-                try {
-
-                        int requestStatusQuark = ss.getQuarkRelative(requestQuark, GpuAttributes.REQUEST_STATUS);
+        /* Intervals of each row, sorted by start time */
+        TreeMultimap<Long, ITmfStateInterval> intervals = TreeMultimap.create(Comparator.naturalOrder(),
+                Comparator.comparingLong(ITmfStateInterval::getStartTime).thenComparingInt(ITmfStateInterval::getAttribute));
+        Collection<Long> times = getTimes(ss, filter);
+        try {
+            /* Only the intervals under a requested time, one per pixel at most, are returned */
+            for (ITmfStateInterval interval : ss.query2D(statusQuarkToId.keySet(), times)) {
+                if (monitor != null && monitor.isCanceled()) {
+                    return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+                }
+                Long id = statusQuarkToId.get(interval.getAttribute());
+                if (id != null) {
+                    intervals.put(id, interval);
+                }
+            }
+        } catch (TimeRangeException | StateSystemDisposedException e) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, String.valueOf(e.getMessage()));
+        }
 
-                        /* Query about thread status by querying requests status over the time*/
-                        for (ITmfStateInterval interval : ss.query2D(Collections.singleton(requestStatusQuark), times)) {
-                            if (monitor != null && monitor.isCanceled()) {
-                                return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
-                            }
-                            intervals.put(requestQuark, interval);
-                        }
+        List<ITimeGraphRowModel> rows = new ArrayList<>();
+        for (Long id : selectedIdsToQuarks.keySet()) {
+            /* Get the GraphState related to each request sent by this thread */
+            rows.add(new TimeGraphRowModel(id, compressStates(intervals.get(id), filter)));
+        }
 
-                } catch ( AttributeNotFoundException | TimeRangeException | StateSystemDisposedException e) {
-                    return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, String.valueOf(e.getMessage()));
-                }
+        return new TmfModelResponse<>(rows, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+    }
 
+    /**
+     * Create the states of a row from the intervals of the requests of its
+     * thread. The requests of a thread can overlap, the state of the row is
+     * then the highest value of its requests, so that a running request is not
+     * hidden by a waiting one. Consecutive states shorter than the resolution
+     * of the query are merged in a state with the highest of their values,
+     * there is then about one state per pixel and a short running state is
+     * still drawn.
+     *
+     * @param intervals
+     *            the intervals of the requests of the thread
+     * @param filter
+     *            the query filter, for its resolution
+     * @return the states of the row, sorted and without overlap
+     */
+    public static List<ITimeGraphState> compressStates(Collection<ITmfStateInterval> intervals, TimeQueryFilter filter) {
+        /* Sweep the bounds of the intervals, counting the requests of each value */
+        List<long[]> bounds = new ArrayList<>(2 * intervals.size());
+        for (ITmfStateInterval interval : intervals) {
+            int value = getStateValue(interval);
+            bounds.add(new long[] { interval.getStartTime(), value, 1 });
+            bounds.add(new long[] { interval.getEndTime() + 1, value, -1 });
+        }
+        bounds.sort(Comparator.comparingLong(bound -> bound[0]));
+
+        RowStates states = new RowStates(getResolution(filter));
+        TreeMap<Integer, Integer> active = new TreeMap<>();
+        long segmentStart = 0;
+        int i = 0;
+        while (i < bounds.size()) {
+            long time = bounds.get(i)[0];
+            if (!active.isEmpty()) {
+                states.add(segmentStart, time, active.lastKey());
             }
-
-            if (monitor != null && monitor.isCanceled()) {
-                return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+            while (i < bounds.size() && bounds.get(i)[0] == time) {
+                long[] bound = bounds.get(i++);
+                active.merge((int) bound[1], (int) bound[2], (count, delta) -> (count + delta == 0) ? null : count + delta);
             }
+            segmentStart = time;
+        }
+        return states.getStates();
+    }
+
+    /**
+     * Get the duration of a pixel of a query
+     */
+    private static long getResolution(TimeQueryFilter filter) {
+        int nbTimes = filter.getTimesRequested().length;
+        if (nbTimes < 2) {
+            return 1;
+        }
+        return Long.max(1, (filter.getEnd() - filter.getStart()) / (nbTimes - 1));
+    }
 
-            Collection<ITmfStateInterval> states = intervals.values();
-            List<ITimeGraphState> eventList = new ArrayList<>();
+    /**
+     * States of a row, built from consecutive segments without overlap
+     */
+    private static final class RowStates {
+        private final long fResolution;
+        private final List<ITimeGraphState> fStates = new ArrayList<>();
+        /* The last state, which can still be extended */
+        private long fStart;
+        private long fEnd;
+        private int fValue;
+        private boolean fHasState = false;
+
+        public RowStates(long resolution) {
+            fResolution = resolution;
+        }
 
-            /*Get the GraphState related to each request sent by this thread*/
-            for(ITmfStateInterval state : states) {
-                eventList.add(createTimeGraphState(state));
+        public void add(long start, long end, int value) {
+            if (fHasState && fEnd == start) {
+                boolean subPixel = fEnd - fStart < fResolution && end - start < fResolution;
+                if (value == fValue || subPixel) {
+                    fEnd = end;
+                    fValue = Integer.max(fValue, value);
+                    return;
+                }
             }
+            flush();
+            fStart = start;
+            fEnd = end;
+            fValue = value;
+            fHasState = true;
+        }
 
-            rows.add(new TimeGraphRowModel(entry.getKey(), eventList));
-            intervals.clear();
+        public List<ITimeGraphState> getStates() {
+            flush();
+            fHasState = false;
+            return fStates;
         }
 
-        return new TmfModelResponse<>(rows, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        private void flush() {
+            if (!fHasState) {
+                return;
+            }
+            /* Merged short states can take the value of the state before them */
+            int last = fStates.size() - 1;
+            if (last >= 0) {
+                ITimeGraphState previous = fStates.get(last);
+                if (previous.getStartTime() + previous.getDuration() == fStart && previous.getValue() == fValue) {
+                    fStates.set(last, new TimeGraphState(previous.getStartTime(), fEnd - previous.getStartTime(), fValue));
+                    return;
+                }
+            }
+            fStates.add(new TimeGraphState(fStart, fEnd - fStart, fValue));
+        }
     }
 
-
     /**
-     * create a TimeGraphState based on the value of a ITmfStateInterval
+     * Get the value of the state of a thread from the interval of one of its
+     * requests
      * @param interval
      *                  current time interval
-     * @return the corresponding TimeGraphState
+     * @return the value of the corresponding TimeGraphState
      */
-    private static ITimeGraphState createTimeGraphState(ITmfStateInterval interval) {
-
-        long startTime = interval.getStartTime();
-        long duration = interval.getEndTime() - startTime + 1;
+    private static int getStateValue(ITmfStateInterval interval) {
 
         /* If a GPUrequest status is Running than the thread is in running mode*/
         if (interval.getValue() != null) {
@@ -335,10 +434,10 @@ public class GpuThreadsDataProvider extends AbstractTmfTraceDataProvider impleme
 
             /*At the moment, we will consider any other state than running*/
             if(GpuRequestStatus.isRunningState(s)) {
-                return new TimeGraphState(startTime, duration, s.ordinal());
+                return s.ordinal();
             }
         }
-        return new TimeGraphState(startTime, duration, Integer.MIN_VALUE);
+        return Integer.MIN_VALUE;
     }
 
 
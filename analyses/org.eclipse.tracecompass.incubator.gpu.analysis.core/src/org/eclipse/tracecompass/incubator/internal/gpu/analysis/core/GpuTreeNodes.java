@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.TmfTreeDataModel;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The tree nodes of a GPU data provider, discovered incrementally while the
+ * state system is being built. Attributes are never removed from a state
+ * system and their quarks are given in increasing order, so each update only
+ * looks at the attributes added since the previous one.
+ *
+ * Each update that finds new nodes makes a new version of the tree, so a
+ * client can poll for the nodes added since the version it knows.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class GpuTreeNodes {
+
+    /**
+     * Creates the tree node of an attribute
+     */
+    @FunctionalInterface
+    public interface NodeFactory {
+        /**
+         * @param ss
+         *            The state system
+         * @param quark
+         *            The quark of an attribute
+         * @return The node of the attribute, or null if the attribute is not
+         *         a node of the tree. The parent of the node must have been
+         *         created by a previous call.
+         */
+        @Nullable TmfTreeDataModel createNode(ITmfStateSystem ss, int quark);
+    }
+
+    /**
+     * The nodes added to the tree since a version, and the version of the tree
+     * that includes them
+     */
+    public static final class Delta {
+        private final long fVersion;
+        private final List<TmfTreeDataModel> fNodes;
+
+        private Delta(long version, List<TmfTreeDataModel> nodes) {
+            fVersion = version;
+            fNodes = nodes;
+        }
+
+        /**
+         * @return The version of the tree, to give to the next request
+         */
+        public long getVersion() {
+            return fVersion;
+        }
+
+        /**
+         * @return The nodes added since the version of the request
+         */
+        public List<TmfTreeDataModel> getNodes() {
+            return fNodes;
+        }
+    }
+
+    private final List<TmfTreeDataModel> fNodes = new ArrayList<>();
+    /* Index in fNodes of the first node of each version */
+    private final List<Integer> fVersionStarts = new ArrayList<>();
+    /* Number of attributes already looked at */
+    private int fNbAttributes = 0;
+
+    /**
+     * Constructor
+     *
+     * @param traceNode
+     *            The root node of the tree
+     */
+    public GpuTreeNodes(TmfTreeDataModel traceNode) {
+        fNodes.add(traceNode);
+        fVersionStarts.add(0);
+    }
+
+    /**
+     * Look for the nodes of the attributes added since the last update
+     *
+     * @param ss
+     *            The state system
+     * @param factory
+     *            Creates the nodes
+     */
+    public synchronized void update(ITmfStateSystem ss, NodeFactory factory) {
+        int nbAttributes = ss.getNbAttributes();
+        int firstNew = fNodes.size();
+        for (int quark = fNbAttributes; quark < nbAttributes; quark++) {
+            TmfTreeDataModel node = factory.createNode(ss, quark);
+            if (node != null) {
+                fNodes.add(node);
+            }
+        }
+        fNbAttributes = nbAttributes;
+        if (fNodes.size() > firstNew) {
+            fVersionStarts.add(firstNew);
+        }
+    }
+
+    /**
+     * @return All the nodes found so far
+     */
+    public synchronized List<TmfTreeDataModel> getNodes() {
+        return ImmutableList.copyOf(fNodes);
+    }
+
+    /**
+     * @return The version of the tree, it changes each time nodes are added
+     */
+    public synchronized long getVersion() {
+        return fVersionStarts.size() - 1;
+    }
+
+    /**
+     * Get the nodes added since a version of the tree
+     *
+     * @param version
+     *            A version returned by {@link #getVersion()} or by a previous
+     *            delta, or -1 for all the nodes
+     * @return The nodes added after that version, with the current version
+     */
+    public synchronized Delta getNodesSince(long version) {
+        long current = fVersionStarts.size() - 1;
+        if (version < 0) {
+            return new Delta(current, getNodes());
+        }
+        if (version >= current) {
+            return new Delta(current, ImmutableList.of());
+        }
+        int from = fVersionStarts.get((int) version + 1);
+        return new Delta(current, ImmutableList.copyOf(fNodes.subList(from, fNodes.size())));
+    }
+
+    /**
+     * Get the label of the tree node of an engine
+     *
+     * @param engineName
+     *            The name of the engine attribute
+     * @return The label, or null if the attribute is not a known engine
+     */
+    public static @Nullable String getEngineLabel(String engineName) {
+        switch (engineName) {
+        case GpuAttributes.ENGINE_RCS:
+            return Messages.GpuDataProvider_ExecPeriodPerEngine_RCS;
+        case GpuAttributes.ENGINE_BCS:
+            return Messages.GpuDataProvider_ExecPeriodPerEngine_BCS;
+        case GpuAttributes.ENGINE_VCS:
+            return Messages.GpuDataProvider_ExecPeriodPerEngine_VCS;
+        case GpuAttributes.ENGINE_VCS2:
+            return Messages.GpuDataProvider_ExecPeriodPerEngine_VCS2;
+        case GpuAttributes.ENGINE_VECS:
+            return Messages.GpuDataProvider_ExecPeriodPerEngine_VCES;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Whether an attribute is a physical GPU : GPUS/{devId}
+     *
+     * @param ss
+     *            The state system
+     * @param quark
+     *            The quark of the attribute
+     * @return Whether the attribute is a physical GPU
+     */
+    public static boolean isGpu(ITmfStateSystem ss, int quark) {
+        int gpusQuark = getParentNamed(ss, quark, GpuAttributes.GPUS);
+        return gpusQuark != ITmfStateSystem.INVALID_ATTRIBUTE && ss.getParentAttributeQuark(gpusQuark) == ITmfStateSystem.ROOT_ATTRIBUTE;
+    }
+
+    /**
+     * Whether an attribute is a virtual GPU : GPUS/{devId}/vGPUS/{devId}
+     *
+     * @param ss
+     *            The state system
+     * @param quark
+     *            The quark of the attribute
+     * @return Whether the attribute is a virtual GPU
+     */
+    public static boolean isVirtGpu(ITmfStateSystem ss, int quark) {
+        int vGpusQuark = getParentNamed(ss, quark, GpuAttributes.vGPUS);
+        return vGpusQuark != ITmfStateSystem.INVALID_ATTRIBUTE && isGpu(ss, ss.getParentAttributeQuark(vGpusQuark));
+    }
+
+    /**
+     * Whether an attribute is the child of a given attribute, by name
+     *
+     * @param ss
+     *            The state system
+     * @param quark
+     *            The quark of the attribute
+     * @param parentName
+     *            The name of the expected parent
+     * @return The quark of the parent, or
+     *         {@link ITmfStateSystem#INVALID_ATTRIBUTE} if the parent has
+     *         another name
+     */
+    public static int getParentNamed(ITmfStateSystem ss, int quark, String parentName) {
+        if (quark < 0) {
+            return ITmfStateSystem.INVALID_ATTRIBUTE;
+        }
+        int parent = ss.getParentAttributeQuark(quark);
+        if (parent < 0 || !parentName.equals(ss.getAttributeName(parent))) {
+            return ITmfStateSystem.INVALID_ATTRIBUTE;
+        }
+        return parent;
+    }
+}
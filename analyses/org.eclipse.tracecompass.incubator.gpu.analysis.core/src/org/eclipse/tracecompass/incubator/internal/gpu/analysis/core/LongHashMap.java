@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A small open addressing hash map with primitive long keys, used to look up
+ * GPU requests by their packed keys (see {@link GpuRequest#packKey(int, long)})
+ * without boxing a key object for every event.
+ *
+ * This map is not thread safe.
+ *
+ * @author agent
+ * @param <V>
+ *            The type of the values
+ */
+public class LongHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] fKeys;
+    private @Nullable Object[] fValues;
+    private int fSize = 0;
+    private int fMask;
+
+    /**
+     * Constructor
+     */
+    public LongHashMap() {
+        fKeys = new long[DEFAULT_CAPACITY];
+        fValues = new Object[DEFAULT_CAPACITY];
+        fMask = DEFAULT_CAPACITY - 1;
+    }
+
+    /**
+     * @return The number of entries in this map
+     */
+    public int size() {
+        return fSize;
+    }
+
+    /**
+     * @return Whether this map is empty
+     */
+    public boolean isEmpty() {
+        return fSize == 0;
+    }
+
+    /**
+     * Get the value associated with a key
+     *
+     * @param key
+     *            The key
+     * @return The value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long key) {
+        int pos = find(key);
+        return (pos < 0) ? null : (V) fValues[pos];
+    }
+
+    /**
+     * @param key
+     *            The key
+     * @return Whether there is a value for this key
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Associate a value with a key
+     *
+     * @param key
+     *            The key
+     * @param value
+     *            The value
+     * @return The value previously associated with this key, or null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(long key, V value) {
+        int pos = slot(key);
+        while (fValues[pos] != null) {
+            if (fKeys[pos] == key) {
+                V previous = (V) fValues[pos];
+                fValues[pos] = value;
+                return previous;
+            }
+            pos = (pos + 1) & fMask;
+        }
+        fKeys[pos] = key;
+        fValues[pos] = value;
+        fSize++;
+        if (fSize * 2 > fValues.length) {
+            resize(fValues.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Remove the value associated with a key
+     *
+     * @param key
+     *            The key
+     * @return The removed value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(long key) {
+        int pos = find(key);
+        if (pos < 0) {
+            return null;
+        }
+        V previous = (V) fValues[pos];
+        delete(pos);
+        return previous;
+    }
+
+    /**
+     * Remove the entry for a key only if it is currently mapped to the given
+     * value
+     *
+     * @param key
+     *            The key
+     * @param value
+     *            The expected value
+     * @return Whether the entry was removed
+     */
+    public boolean remove(long key, Object value) {
+        int pos = find(key);
+        if (pos < 0 || fValues[pos] != value) {
+            return false;
+        }
+        delete(pos);
+        return true;
+    }
+
+    /**
+     * Remove all the entries of this map
+     */
+    public void clear() {
+        Arrays.fill(fValues, null);
+        fSize = 0;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & fMask;
+    }
+
+    private int find(long key) {
+        int pos = slot(key);
+        while (fValues[pos] != null) {
+            if (fKeys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & fMask;
+        }
+        return -1;
+    }
+
+    /*
+     * Backward shift deletion, so that lookups never need tombstones
+     */
+    private void delete(int pos) {
+        int hole = pos;
+        int next = (hole + 1) & fMask;
+        while (fValues[next] != null) {
+            int ideal = slot(fKeys[next]);
+            /* Move the entry if its ideal slot is not between the hole and itself */
+            if (((next - ideal) & fMask) >= ((next - hole) & fMask)) {
+                fKeys[hole] = fKeys[next];
+                fValues[hole] = fValues[next];
+                hole = next;
+            }
+            next = (next + 1) & fMask;
+        }
+        fValues[hole] = null;
+        fSize--;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        long[] oldKeys = fKeys;
+        @Nullable Object[] oldValues = fValues;
+        fKeys = new long[capacity];
+        fValues = new Object[capacity];
+        fMask = capacity - 1;
+        fSize = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                put(oldKeys[i], (V) value);
+            }
+        }
+    }
+}
@@ -6,7 +6,6 @@ import static org.eclipse.tracecompass.common.core.NonNullUtils.checkNotNull;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.analysis.os.linux.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
@@ -25,34 +24,52 @@ public class PhyGpuModel extends Gpu {
 
     private final ITmfStateSystemBuilder fStateSysBuilder;
 
-    private final Map<Pair<Integer, Long> /*key*/, Pair<GpuRequest, Integer>> fDriverWaitingQueue = new HashMap<>();
-    private final Map<Pair< Integer/*ctx*/, Long/*seqno*/> , Pair<GpuRequest, Integer>> fCurrentRunningList = new HashMap<>();
+    /* Both keyed by the packed <ctx,seqno> key of the request */
+    private final LongHashMap<Pair<GpuRequest, Integer>> fDriverWaitingQueue = new LongHashMap<>();
+    private final LongHashMap<Pair<GpuRequest, Integer>> fCurrentRunningList = new LongHashMap<>();
+
+    /* Secondary index of the running list : packed <ring, global seqno> -> request, kept in step with fCurrentRunningList */
+    private final LongHashMap<GpuRequest> fRunningByGlobalSeqno = new LongHashMap<>();
 
     private final TmfAttributePool fDriverWaitingQueuePool;
     private final TmfAttributePool fCurrentlyRunningPool;
 
+    /* Sub-attributes of the slots of both pools */
+    private final GpuRequestSlotQuarks fSlotQuarks;
+
+    /* Quarks of the attributes of this Gpu, resolved once */
+    private final int fTotalQueuedReqQuark;
+    private final int fWaitingQueueLengthQuark;
+    private final int fLastQueuedReqQuark;
+    private final int fRunningReqNumberQuark;
+    private final int fTotalExecutedReqQuark;
+
     /* This physical gpu may have Virtual vGPUS*/
     private final Map<Integer, VirtGpuModel> fVirtGpuList = new HashMap<>();
 
+    /* Index of the vGPUs by the seqno of their GVT queued requests, kept in step by each vGPU */
+    private final LongHashMap<VirtGpuModel> fVirtGpuBySeqno = new LongHashMap<>();
+
     /* Class Methods */
 
     public PhyGpuModel(int devID, ITmfStateSystemBuilder ss) {
         super(devID, ss, ss.getQuarkAbsoluteAndAdd(GpuAttributes.GPUS, String.valueOf(devID)));
         fStateSysBuilder = ss;
+        fSlotQuarks = new GpuRequestSlotQuarks(ss);
 
         /* Create a quark for the total queued Requests Number */
-        int totQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.TOTAL_QUEUED_REQUESTS_NUMBER);
-        fStateSysBuilder.modifyAttribute(-1, TmfStateValue.newValueLong(0), totQueuedReqQuark);
+        fTotalQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.TOTAL_QUEUED_REQUESTS_NUMBER);
+        fStateSysBuilder.modifyAttribute(-1, TmfStateValue.newValueLong(0), fTotalQueuedReqQuark);
 
         /* Create the quark for the driver waiting queue */
         int waitingQueueQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.DRIVER_WAITING_QUEUE);
         fDriverWaitingQueuePool = new TmfAttributePool(fStateSysBuilder, waitingQueueQuark, QueueType.PRIORITY);
 
         /* Create the quark for the driver Waiting_Queue_Length */
-        fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.DRIVER_WAITING_QUEUE_LENGTH);
+        fWaitingQueueLengthQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.DRIVER_WAITING_QUEUE_LENGTH);
 
         /* Create a quark for the Current Queued Request */
-        fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.LAST_QUEUED_REQUEST);
+        fLastQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.LAST_QUEUED_REQUEST);
 
 
         /* Create the quark for the Current Running Requests */
@@ -60,30 +77,16 @@ public class PhyGpuModel extends Gpu {
         fCurrentlyRunningPool = new TmfAttributePool(fStateSysBuilder, runningReqListQuark, QueueType.PRIORITY);
 
         /* Create a quark for the Current Running Requests Number */
-        fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.CURRENT_RUNNING_REQUESTS_NUMBER);
+        fRunningReqNumberQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.CURRENT_RUNNING_REQUESTS_NUMBER);
 
 
         /* Create a quark for the total Running Requests Number */
-        int totExReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.TOTAL_EXECUTED_REQUESTS_NUMBER);
-        fStateSysBuilder.modifyAttribute(-1, TmfStateValue.newValueLong(0), totExReqQuark);
-
-
-        /* Create a quark for the total Running Requests Number */
-        int enginesQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.ENGINES);
-        int posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_RCS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
-
-        posQuark =  fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_BCS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
-
-        posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_VCS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
+        fTotalExecutedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.TOTAL_EXECUTED_REQUESTS_NUMBER);
+        fStateSysBuilder.modifyAttribute(-1, TmfStateValue.newValueLong(0), fTotalExecutedReqQuark);
 
-        posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_VCS2);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
 
-        posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_VECS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
+        /* Create the quarks of the engines */
+        createEngines(fStateSysBuilder);
 
     }
 
@@ -136,29 +139,27 @@ public class PhyGpuModel extends Gpu {
         try {
 
                 /* Add a new quark in DRIVER_WAITING_QUEUE ..  and then populate with relevant request information*/
-                int posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.SEQNO);
+                int posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.SEQNO);
                 fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueString(req.getKeyString()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.CTX);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.CTX);
                 fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueLong(req.getCtx()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.ENGINE);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.ENGINE);
                 fStateSysBuilder.modifyAttribute(ts, GpuRequestTmfEngine.getValue(req.getRing()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.REQUEST_STATUS);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.REQUEST_STATUS);
                 fStateSysBuilder.modifyAttribute(ts, req.getTmfStatus(), posAttribQuark);
 
                 //posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.MERGED_IN);
 
 
                 /* Modify the value of Current Queued Request */
-                int currQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.LAST_QUEUED_REQUEST);
-                fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueString(req.getKeyString()), currQueuedReqQuark);
+                fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueString(req.getKeyString()), fLastQueuedReqQuark);
 
 
                 /* Increment the total number of the queued Requests */
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.TOTAL_QUEUED_REQUESTS_NUMBER);
-                StateSystemBuilderUtils.incrementAttributeLong(fStateSysBuilder, ts, posAttribQuark, 1);
+                StateSystemBuilderUtils.incrementAttributeLong(fStateSysBuilder, ts, fTotalQueuedReqQuark, 1);
 
 
         } catch (StateValueTypeException | AttributeNotFoundException e) {
@@ -178,8 +179,7 @@ public class PhyGpuModel extends Gpu {
     private void updateDriverWaitingQueueLength(long ts) {
 
         try {
-                int drvWaitingQueueLengthQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.DRIVER_WAITING_QUEUE_LENGTH);
-                fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueInt(fDriverWaitingQueue.size()), drvWaitingQueueLengthQuark);
+                fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueInt(fDriverWaitingQueue.size()), fWaitingQueueLengthQuark);
 
         } catch (StateValueTypeException e) {
             Activator.getDefault().logError("Error updating Driver Waiting Queue length", e); //$NON-NLS-1$
@@ -197,7 +197,7 @@ public class PhyGpuModel extends Gpu {
      */
 
     @SuppressWarnings("null")
-    private int removeFromDriverWaitingQueue(long ts, Pair<Integer, Long> key) {
+    private int removeFromDriverWaitingQueue(long ts, long key) {
         Pair<GpuRequest, Integer> reqQuark ;
         int slotQuark ;
 
@@ -226,7 +226,7 @@ public class PhyGpuModel extends Gpu {
      * @return The quark of the request if it exists or null otherwise
      */
     @SuppressWarnings("null")
-    public @Nullable GpuRequest getRequestFromDriverWaitingQueue(@NonNull Pair<Integer, Long> key) {
+    public @Nullable GpuRequest getRequestFromDriverWaitingQueue(long key) {
         Pair<GpuRequest, Integer> reqQuark ;
 
         reqQuark = fDriverWaitingQueue.get(key);
@@ -244,7 +244,7 @@ public class PhyGpuModel extends Gpu {
      * @return The Gpu request if it exists or null otherwise
      */
     @SuppressWarnings("null")
-    public @Nullable GpuRequest getRequestFromCurrentRunningList(@NonNull Pair<Integer, Long> key) {
+    public @Nullable GpuRequest getRequestFromCurrentRunningList(long key) {
         Pair<GpuRequest, Integer> reqQuark ;
 
         reqQuark = fCurrentRunningList.get(key);
@@ -262,53 +262,63 @@ public class PhyGpuModel extends Gpu {
      * @return The Gpu request if it exists or null otherwise
      */
 
-    public @Nullable GpuRequest getRequestFromCurrentRunningList(long globalSeqno) {
+    public @Nullable GpuRequest getRequestFromCurrentRunningListByGlobalSeqno(long globalSeqno) {
 
-        for (Pair<GpuRequest, Integer> pairReqQuark : fCurrentRunningList.values()) {
-
-            GpuRequest req = pairReqQuark.getFirst();
-             if(req.getSeqnoGlobal() == globalSeqno) {
-                 return req ;
-             }
+        /* The global seqno is not tied to a ring in this event, so try each engine */
+        for (IntelEngineTypes engine : fRingIDs) {
+            GpuRequest req = getRequestFromCurrentRunningListByGlobalSeqno(engine.ordinal(), globalSeqno);
+            if (req != null) {
+                return req;
+            }
         }
 
         return null;
     }
 
+    /**
+     * Get a running gpu request by its ring and global sequence number
+     * @param ring : ring id of the request
+     * @param globalSeqno : global sequence number
+     * @return The Gpu request if it exists or null otherwise
+     */
+    public @Nullable GpuRequest getRequestFromCurrentRunningListByGlobalSeqno(int ring, long globalSeqno) {
+
+        return fRunningByGlobalSeqno.get(GpuRequest.packKey(ring, globalSeqno));
+    }
+
     /**
      * Merge subordinate requests
      *
      * @param ts : The timestamp
      * @param req : The main request
+     * @return The request that was merged with the main request, or null
      */
-    public @Nullable Pair<Integer, Long> mergeRequests(long ts, GpuRequest currReq) {
-
-        for (Pair<Integer, Long> keyIterator : fCurrentRunningList.keySet()) {
-            Pair<GpuRequest, Integer> pairReqQuark = fCurrentRunningList.get(keyIterator);
-            GpuRequest req = pairReqQuark.getFirst();
+    public @Nullable GpuRequest mergeRequests(long ts, GpuRequest currReq) {
 
-            /* if requests are sequential and are both in running state then ..*/
-            if ( (req.getSeqnoGlobal() == (currReq.getSeqnoGlobal() - 1) )  &&  (req.getRing() == currReq.getRing()) ) {
+        /* if requests are sequential on the same ring and are both in running state then ..*/
+        GpuRequest prevReq = fRunningByGlobalSeqno.get(GpuRequest.packKey(currReq.getRing(), currReq.getSeqnoGlobal() - 1));
+        Pair<GpuRequest, Integer> pairReqQuark = (prevReq == null) ? null : fCurrentRunningList.get(prevReq.getKey());
 
-                /* if both of the two requests belong to the same context or the current request is sent to the second port then ..*/
-                if( ( req.getCtx() == currReq.getCtx()) || (currReq.getPort() > 0) ) {
+        if (pairReqQuark != null) {
+            GpuRequest req = pairReqQuark.getFirst();
 
-                    req.setMergedWith(currReq.getKey());
+            /* if both of the two requests belong to the same context or the current request is sent to the second port then ..*/
+            if( ( req.getCtx() == currReq.getCtx()) || (currReq.getPort() > 0) ) {
 
-                    int keyAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(pairReqQuark.getSecond(), GpuAttributes.SEQNO);
-                    long prevTimeStamp = fStateSysBuilder.getOngoingStartTime(keyAttribQuark);
+                req.setMergedWith(currReq.getKey());
 
-                    int mergeAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(pairReqQuark.getSecond(), GpuAttributes.MERGED_WITH);
-                    fStateSysBuilder.modifyAttribute(prevTimeStamp, req.getMergedWith(), mergeAttribQuark);
+                int keyAttribQuark = fSlotQuarks.getQuark(pairReqQuark.getSecond(), GpuRequestSlotQuarks.SEQNO);
+                long prevTimeStamp = fStateSysBuilder.getOngoingStartTime(keyAttribQuark);
 
-                    /*
-                     * This request was merged with another .. so we should remove it from the Running Queue
-                     */
-                    req.setStatus(GpuRequestStatus.ITS_EXEC_COMPLETE);
-                    removeFromCurrentRunningList(ts, req.getKey());
-                    return req.getKey();
+                int mergeAttribQuark = fSlotQuarks.getQuark(pairReqQuark.getSecond(), GpuRequestSlotQuarks.MERGED_WITH);
+                fStateSysBuilder.modifyAttribute(prevTimeStamp, req.getMergedWith(), mergeAttribQuark);
 
-                }
+                /*
+                 * This request was merged with another .. so we should remove it from the Running Queue
+                 */
+                req.setStatus(GpuRequestStatus.ITS_EXEC_COMPLETE);
+                removeFromCurrentRunningList(ts, req.getKey());
+                return req;
             }
         }
         /*this request isn't merged with any other request*/
@@ -351,27 +361,26 @@ public class PhyGpuModel extends Gpu {
         int freeSlotQuark = fCurrentlyRunningPool.getAvailable();
 
         try {
-                int posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.SEQNO);
+                int posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.SEQNO);
                 fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueString(req.getKeyString()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.CTX);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.CTX);
                 fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueLong(req.getCtx()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.ENGINE);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.ENGINE);
                 fStateSysBuilder.modifyAttribute(ts, GpuRequestTmfEngine.getValue(req.getRing()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.REQUEST_STATUS);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.REQUEST_STATUS);
                 fStateSysBuilder.modifyAttribute(ts, req.getTmfStatus(), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.MERGED_WITH);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.MERGED_WITH);
                 fStateSysBuilder.modifyAttribute(ts, TmfStateValue.nullValue(), posAttribQuark);
 
                 /* set the GPU Engine to Running state */
-                fStateSysBuilder.modifyAttribute(ts, GpuEngineState.ENGINE_RUNNING_VALUE, getEngineQuark(req.getRing()));
+                setEngineRunning(fStateSysBuilder, ts, req.getRing());
 
                 /* increment the total number of the executed Requests */
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.TOTAL_EXECUTED_REQUESTS_NUMBER);
-                StateSystemBuilderUtils.incrementAttributeLong(fStateSysBuilder, ts, posAttribQuark, 1);
+                StateSystemBuilderUtils.incrementAttributeLong(fStateSysBuilder, ts, fTotalExecutedReqQuark, 1);
 
 
 
@@ -381,6 +390,7 @@ public class PhyGpuModel extends Gpu {
 
         /* Add the request to the running list*/
         fCurrentRunningList.put(req.getKey(), new Pair<>(req, freeSlotQuark));
+        fRunningByGlobalSeqno.put(GpuRequest.packKey(req.getRing(), req.getSeqnoGlobal()), req);
 
         return freeSlotQuark;
     }
@@ -391,10 +401,8 @@ public class PhyGpuModel extends Gpu {
      * @return The waiting queue size
      */
     private void updateRunningRequestListLength(long ts) {
-        int runReqListLengthQuark;
         try {
-            runReqListLengthQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.CURRENT_RUNNING_REQUESTS_NUMBER);
-            fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueInt(getNumberOfRunningRequests()), runReqListLengthQuark);
+            fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueInt(getNumberOfRunningRequests()), fRunningReqNumberQuark);
 
         } catch (StateValueTypeException e) {
             Activator.getDefault().logError("Error updating the running requests number", e); //$NON-NLS-1$
@@ -409,7 +417,7 @@ public class PhyGpuModel extends Gpu {
      * @return The quark of the request that was removed or if the request was not present
      */
     @SuppressWarnings("null")
-    public int removeFromCurrentRunningList(long ts, @NonNull Pair<Integer, Long> key) {
+    public int removeFromCurrentRunningList(long ts, long key) {
 
         Pair<GpuRequest, Integer>  pairReqQuark = fCurrentRunningList.remove(key);
         if (pairReqQuark == null) {
@@ -418,13 +426,14 @@ public class PhyGpuModel extends Gpu {
 
         GpuRequest runRequest = pairReqQuark.getFirst();
         int runRequestQuark = pairReqQuark.getSecond();
+        fRunningByGlobalSeqno.remove(GpuRequest.packKey(runRequest.getRing(), runRequest.getSeqnoGlobal()), runRequest);
 
 
         /**
          * update the total execution period for the specific engine
          */
         try {
-                fStateSysBuilder.modifyAttribute(ts, GpuEngineState.ENGINE_IDLE_VALUE, getEngineQuark(runRequest.getRing()));
+                setEngineIdle(fStateSysBuilder, ts, runRequest.getRing());
 
             } catch (StateValueTypeException e) {
                 Activator.getDefault().logError("Error updating the running period for a request", e); //$NON-NLS-1$
@@ -448,7 +457,7 @@ public class PhyGpuModel extends Gpu {
      * param seqno : The seqno of the request
      * @return The quark of the engine
      */
-    public int changeWaitingRequestStatus(long ts, Pair<Integer, Long> key) {
+    public int changeWaitingRequestStatus(long ts, long key) {
 
         Pair<GpuRequest, Integer>  pairReqQuark;
 
@@ -462,7 +471,7 @@ public class PhyGpuModel extends Gpu {
 
 
         int thisReqSlotQuark = pairReqQuark.getSecond();
-        int statusPosQuark = fStateSysBuilder.getQuarkRelativeAndAdd(thisReqSlotQuark, GpuAttributes.REQUEST_STATUS);
+        int statusPosQuark = fSlotQuarks.getQuark(thisReqSlotQuark, GpuRequestSlotQuarks.REQUEST_STATUS);
 
         fStateSysBuilder.modifyAttribute(ts, pairReqQuark.getFirst().getTmfStatus(), statusPosQuark);
 
@@ -470,6 +479,14 @@ public class PhyGpuModel extends Gpu {
     }
 
 
+    @Override
+    public void addBusySummaries(GpuBusySummary summaries, long endTime) {
+        super.addBusySummaries(summaries, endTime);
+        for (VirtGpuModel vGpu : fVirtGpuList.values()) {
+            vGpu.addBusySummaries(summaries, endTime);
+        }
+    }
+
     //------------------ Virtual Layer -----------------------------//
     /**
      * Get a vGPU identified by a device ID or Create a new one
@@ -481,7 +498,7 @@ public class PhyGpuModel extends Gpu {
 
         VirtGpuModel vGpu = fVirtGpuList.get(vGpuID);
         if (vGpu == null && create == true) {
-            vGpu = new VirtGpuModel(getGpuQuark(), vGpuID, checkNotNull(fStateSysBuilder));
+            vGpu = new VirtGpuModel(getGpuQuark(), vGpuID, checkNotNull(fStateSysBuilder), fVirtGpuBySeqno);
             fVirtGpuList.put(vGpuID, vGpu);
         }
         return vGpu;
@@ -489,19 +506,12 @@ public class PhyGpuModel extends Gpu {
 
     //------------------ Virtual Layer -----------------------------//
     /**
-     * Get a vGPU identified by a device ID or Create a new one
+     * Get the vGPU which has a request with this seqno in its GVT waiting queue
      *
-     * @param vDev : Device ID of the vGPU
-     * @return The vGPU corresponding to the device ID
+     * @param seqno : The seqno of the request
+     * @return The vGPU of the request, or null if no vGPU has it
      */
     public @Nullable VirtGpuModel getVirtGpuBySeqno(long seqno) {
-
-        for( VirtGpuModel vGpu : fVirtGpuList.values()) {
-            if(vGpu.getRequestFromGvtWaitingQueueBySeqno(seqno) != null ) {
-                return vGpu;
-            }
-        }
-
-        return null;
+        return fVirtGpuBySeqno.get(seqno);
     }
 }
@@ -1,9 +1,5 @@
 package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.analysis.os.linux.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
@@ -28,16 +24,22 @@ public class ThreadGpuModel {
     private String execName;
 
     /*key to look for a specific GpuRequest : <ctx,seqno>*/
-    private final Map<Pair< Integer, Long> , Pair<GpuRequest, Integer>> fIssuedGpuRequestsList = new HashMap<>();
+    private final LongHashMap<Pair<GpuRequest, Integer>> fIssuedGpuRequestsList = new LongHashMap<>();
     private final TmfAttributePool fIssuedGpuRequestsPool;
+    private final GpuRequestSlotQuarks fSlotQuarks;
+
+    /*index shared by all the threads of the state provider : <ctx,seqno> -> issuing thread*/
+    private final LongHashMap<ThreadGpuModel> fRequestOwners;
 
 
     /*
-     * Constructor of ThreadGpuModel
+     * Constructor of ThreadGpuModel. The requestOwners map is shared by all the
+     * threads and is kept up to date with the requests issued by this one.
      */
-    public ThreadGpuModel(int threadID, int threadParentID, String execName, ITmfStateSystemBuilder ss) {
+    public ThreadGpuModel(int threadID, int threadParentID, String execName, ITmfStateSystemBuilder ss, LongHashMap<ThreadGpuModel> requestOwners) {
 
         this.fSsBuiler = ss;
+        this.fRequestOwners = requestOwners;
         this.tid = threadID;
         this.execName = execName;
         this.ppid = threadParentID;
@@ -60,6 +62,7 @@ public class ThreadGpuModel {
 
         int issuedGpuRequestsListQuark = fSsBuiler.getQuarkRelativeAndAdd(fThreadQuark, GpuAttributes.ISSUED_GPU_REQUESTS);
         fIssuedGpuRequestsPool = new TmfAttributePool(fSsBuiler, issuedGpuRequestsListQuark, QueueType.PRIORITY);
+        fSlotQuarks = new GpuRequestSlotQuarks(fSsBuiler);
     }
 
     public String getExecName() {
@@ -95,6 +98,7 @@ public class ThreadGpuModel {
         }
 
         fIssuedGpuRequestsList.put(req.getKey(), new Pair<>(req, freeSlotQuark));
+        fRequestOwners.put(req.getKey(), this);
 
         return freeSlotQuark;
     }
@@ -109,7 +113,7 @@ public class ThreadGpuModel {
      */
 
     @SuppressWarnings("null")
-    public int removeFromIssuedRequestsList(long ts, Pair<Integer, Long> requestKey) {
+    public int removeFromIssuedRequestsList(long ts, long requestKey) {
         Pair<GpuRequest, Integer> reqQuark ;
         int slotQuark ;
 
@@ -121,6 +125,8 @@ public class ThreadGpuModel {
             return ITmfStateSystem.INVALID_ATTRIBUTE;
         }
 
+        fRequestOwners.remove(requestKey, this);
+
         /* Reuse the Quark corresponding to this request */
         fIssuedGpuRequestsPool.recycle(slotQuark, ts);
 
@@ -133,7 +139,7 @@ public class ThreadGpuModel {
      * @return The Gpu request if it exists or null otherwise
      */
     @SuppressWarnings("null")
-    public @Nullable GpuRequest getIssuedRequest(@NonNull Pair<Integer, Long> requestKey) {
+    public @Nullable GpuRequest getIssuedRequest(long requestKey) {
 
          @Nullable Pair<GpuRequest, Integer> reqQuark = fIssuedGpuRequestsList.get(requestKey);
 
@@ -149,23 +155,24 @@ public class ThreadGpuModel {
      *
      * @return The waiting queue size
      */
-    public void updateGpuRequestStatus(long ts, @NonNull Pair<Integer, Long> requestKey) {
+    public void updateGpuRequestStatus(long ts, long requestKey) {
 
-        if(fIssuedGpuRequestsList.containsKey(requestKey)) {
-            GpuRequest req = fIssuedGpuRequestsList.get(requestKey).getFirst();
-            int reqQuark = fIssuedGpuRequestsList.get(requestKey).getSecond();
+        Pair<GpuRequest, Integer> issuedRequest = fIssuedGpuRequestsList.get(requestKey);
+        if(issuedRequest != null) {
+            GpuRequest req = issuedRequest.getFirst();
+            int reqQuark = issuedRequest.getSecond();
 
             try {
-                    int posAttribQuark = fSsBuiler.getQuarkRelativeAndAdd(reqQuark, GpuAttributes.SEQNO);
+                    int posAttribQuark = fSlotQuarks.getQuark(reqQuark, GpuRequestSlotQuarks.SEQNO);
                     fSsBuiler.modifyAttribute(ts, TmfStateValue.newValueString(req.getKeyString()), posAttribQuark);
 
-                    posAttribQuark = fSsBuiler.getQuarkRelativeAndAdd(reqQuark, GpuAttributes.CTX);
+                    posAttribQuark = fSlotQuarks.getQuark(reqQuark, GpuRequestSlotQuarks.CTX);
                     fSsBuiler.modifyAttribute(ts, TmfStateValue.newValueLong(req.getCtx()), posAttribQuark);
 
-                    posAttribQuark = fSsBuiler.getQuarkRelativeAndAdd(reqQuark, GpuAttributes.ENGINE);
+                    posAttribQuark = fSlotQuarks.getQuark(reqQuark, GpuRequestSlotQuarks.ENGINE);
                     fSsBuiler.modifyAttribute(ts, GpuRequestTmfEngine.getValue(req.getRing()), posAttribQuark);
 
-                    int reqStatusQuark = fSsBuiler.getQuarkRelativeAndAdd(reqQuark, GpuAttributes.REQUEST_STATUS);
+                    int reqStatusQuark = fSlotQuarks.getQuark(reqQuark, GpuRequestSlotQuarks.REQUEST_STATUS);
                     fSsBuiler.modifyAttribute(ts, req.getTmfStatus(), reqStatusQuark);
 
             } catch (StateValueTypeException e) {
@@ -178,7 +185,7 @@ public class ThreadGpuModel {
      * Check if this thread has issued the gpu request identified by the key requestKey
      *
      */
-    public boolean hasIssuedThisRequest(Pair<Integer, Long> requestKey) {
+    public boolean hasIssuedThisRequest(long requestKey) {
         return fIssuedGpuRequestsList.containsKey(requestKey);
     }
 
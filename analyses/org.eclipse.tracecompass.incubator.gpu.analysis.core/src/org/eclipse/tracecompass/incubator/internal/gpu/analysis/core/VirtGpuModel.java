@@ -1,9 +1,6 @@
 package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core;
 
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.internal.analysis.os.linux.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
@@ -20,42 +17,44 @@ public class VirtGpuModel extends Gpu {
 
     private final ITmfStateSystemBuilder fStateSysBuilder;
 
-    private final Map<Long, Pair<VirtGpuRequest, Integer>> fGvtWaitingQueue = new HashMap<>();
+    /* Keyed by workload ID */
+    private final LongHashMap<Pair<VirtGpuRequest, Integer>> fGvtWaitingQueue = new LongHashMap<>();
+
+    /* Secondary index of the GVT waiting queue : seqno -> request, kept in step with fGvtWaitingQueue */
+    private final LongHashMap<VirtGpuRequest> fGvtWaitingQueueBySeqno = new LongHashMap<>();
+
+    /* Index of the physical GPU : seqno -> vGPU, shared by all its vGPUs */
+    private final LongHashMap<VirtGpuModel> fVirtGpuBySeqno;
     private final TmfAttributePool fGvtWaitingQueuePool;
 
+    /* Sub-attributes of the slots of the GVT waiting queue */
+    private final GpuRequestSlotQuarks fSlotQuarks;
+
+    /* Quarks of the attributes of this vGPU, resolved once */
+    private final int fWaitingQueueLengthQuark;
+    private final int fLastQueuedReqQuark;
+
 
     /* Class Methods */
 
-    public VirtGpuModel(int PhyGpuQuark, int devID, ITmfStateSystemBuilder ss) {
+    public VirtGpuModel(int PhyGpuQuark, int devID, ITmfStateSystemBuilder ss, LongHashMap<VirtGpuModel> virtGpuBySeqno) {
         super(devID, ss, ss.getQuarkRelativeAndAdd(PhyGpuQuark, GpuAttributes.vGPUS, String.valueOf(devID)));
         fStateSysBuilder = ss;
+        fVirtGpuBySeqno = virtGpuBySeqno;
+        fSlotQuarks = new GpuRequestSlotQuarks(ss);
 
         /* Create the quark for the driver waiting queue */
         int waitingQueueQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_WAITING_QUEUE);
         fGvtWaitingQueuePool = new TmfAttributePool(fStateSysBuilder, waitingQueueQuark, QueueType.PRIORITY);
 
         /* Create the quark for the driver Waiting_Queue_Length */
-        fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_WAITING_QUEUE_LENGTH);
+        fWaitingQueueLengthQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_WAITING_QUEUE_LENGTH);
 
         /* Create a quark for the Current Queued Request */
-        fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_LAST_QUEUED_REQUEST);
+        fLastQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_LAST_QUEUED_REQUEST);
 
         /* Create a quark for engines running current requests */
-        int enginesQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.ENGINES);
-        int posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_RCS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
-
-        posQuark =  fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_BCS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
-
-        posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_VCS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
-
-        posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_VCS2);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
-
-        posQuark = fStateSysBuilder.getQuarkRelativeAndAdd(enginesQuark, GpuAttributes.ENGINE_VECS);
-        fStateSysBuilder.modifyAttribute(-1, GpuEngineState.ENGINE_IDLE_VALUE, posQuark);
+        createEngines(fStateSysBuilder);
 
     }
 
@@ -91,18 +90,17 @@ public class VirtGpuModel extends Gpu {
         try {
 
                 /* Add a new quark in DRIVER_WAITING_QUEUE ..  and then populate with relevant request information*/
-                int posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.SEQNO);
+                int posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.SEQNO);
                 //fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueLong(req.getWorkloadID()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.ENGINE);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.ENGINE);
                 fStateSysBuilder.modifyAttribute(ts, GpuRequestTmfEngine.getValue(req.getRing()), posAttribQuark);
 
-                posAttribQuark = fStateSysBuilder.getQuarkRelativeAndAdd(freeSlotQuark, GpuAttributes.REQUEST_STATUS);
+                posAttribQuark = fSlotQuarks.getQuark(freeSlotQuark, GpuRequestSlotQuarks.REQUEST_STATUS);
                 fStateSysBuilder.modifyAttribute(ts, req.getTmfStatus(), posAttribQuark);
 
                 /* Modify the value of Current Queued Request */
-                int currQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_LAST_QUEUED_REQUEST);
-                //fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueLong(req.getWorkloadID()), currQueuedReqQuark);
+                //fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueLong(req.getWorkloadID()), fLastQueuedReqQuark);
 
 
         } catch (StateValueTypeException e) {
@@ -110,6 +108,7 @@ public class VirtGpuModel extends Gpu {
         }
 
         fGvtWaitingQueue.put(req.getWorkloadID(), new Pair<>(req, freeSlotQuark));
+        indexSeqno(req);
 
         return freeSlotQuark;
     }
@@ -122,8 +121,7 @@ public class VirtGpuModel extends Gpu {
     private void updateGvtWaitingQueueLength(long ts) {
 
         try {
-                int drvWaitingQueueLengthQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_WAITING_QUEUE_LENGTH);
-                fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueInt(fGvtWaitingQueue.size()), drvWaitingQueueLengthQuark);
+                fStateSysBuilder.modifyAttribute(ts, TmfStateValue.newValueInt(fGvtWaitingQueue.size()), fWaitingQueueLengthQuark);
 
         } catch (StateValueTypeException e) {
             Activator.getDefault().logError("Error updating Driver Waiting Queue length", e); //$NON-NLS-1$
@@ -155,6 +153,8 @@ public class VirtGpuModel extends Gpu {
 
         try {
             reqQuark = fGvtWaitingQueue.remove(v.getWorkloadID());
+            fGvtWaitingQueueBySeqno.remove(seqno, v);
+            fVirtGpuBySeqno.remove(seqno, this);
         }
         catch (NullPointerException e) {
             return ITmfStateSystem.INVALID_ATTRIBUTE;
@@ -209,39 +209,47 @@ public class VirtGpuModel extends Gpu {
         VirtGpuRequest request = pairReqQuark.getFirst();
         int thisReqSlotQuark = pairReqQuark.getSecond();
 
-        int statusPosQuark = fStateSysBuilder.getQuarkRelativeAndAdd(thisReqSlotQuark, GpuAttributes.REQUEST_STATUS);
+        /* The seqno is only known once the workload is submitted */
+        indexSeqno(request);
+
+        int statusPosQuark = fSlotQuarks.getQuark(thisReqSlotQuark, GpuRequestSlotQuarks.REQUEST_STATUS);
         fStateSysBuilder.modifyAttribute(ts, request.getTmfStatus(), statusPosQuark);
 
-        int seqnoPosQuark = fStateSysBuilder.getQuarkRelativeAndAdd(thisReqSlotQuark, GpuAttributes.SEQNO);
+        int seqnoPosQuark = fSlotQuarks.getQuark(thisReqSlotQuark, GpuRequestSlotQuarks.SEQNO);
         long prevTimestamp = fStateSysBuilder.getOngoingStartTime(seqnoPosQuark);
         fStateSysBuilder.modifyAttribute(prevTimestamp, TmfStateValue.newValueString(request.getKeyString()), seqnoPosQuark);
 
         /* Return the quark previously corresponding to this request */
-        int lastQueuedReqQuark = fStateSysBuilder.getQuarkRelativeAndAdd(getGpuQuark(), GpuAttributes.KVMGT_LAST_QUEUED_REQUEST);
-        fStateSysBuilder.modifyAttribute(prevTimestamp, TmfStateValue.newValueString(request.getKeyString()), lastQueuedReqQuark);
+        fStateSysBuilder.modifyAttribute(prevTimestamp, TmfStateValue.newValueString(request.getKeyString()), fLastQueuedReqQuark);
 
         return thisReqSlotQuark;
     }
 
     public @Nullable VirtGpuRequest getRequestFromGvtWaitingQueueBySeqno(long seqno) {
-        // TODO Auto-generated method stub
-        for (Pair<VirtGpuRequest,Integer> vReqPair : fGvtWaitingQueue.values()) {
-            if(vReqPair.getFirst().getSeqno() == seqno) {
-                return vReqPair.getFirst();
-            }
-        }
 
-        return null;
+        return fGvtWaitingQueueBySeqno.get(seqno);
+    }
+
+    /**
+     * Index a request of the GVT waiting queue by its seqno, if it has one
+     *
+     * @param req : The request to index
+     */
+    private void indexSeqno(VirtGpuRequest req) {
+        if (req.getSeqno() != -1) {
+            fGvtWaitingQueueBySeqno.put(req.getSeqno(), req);
+            fVirtGpuBySeqno.put(req.getSeqno(), this);
+        }
     }
 
     public void setToRunningState(long ts, int ring) {
         /* set the GPU Engine to Running state */
-        fStateSysBuilder.modifyAttribute(ts, GpuEngineState.ENGINE_RUNNING_VALUE, getEngineQuark(ring));
+        setEngineRunning(fStateSysBuilder, ts, ring);
     }
 
     public void setToIdleState(long ts, int ring) {
         /* set the GPU Engine to Running state */
-        fStateSysBuilder.modifyAttribute(ts, GpuEngineState.ENGINE_IDLE_VALUE, getEngineQuark(ring));
+        setEngineIdle(fStateSysBuilder, ts, ring);
     }
 
 }
@@ -2,6 +2,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuStateProvider;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.PhyGpuModel;
@@ -27,8 +28,8 @@ public class GvtWorkloadQueueHandler extends GpuKernelEventHandler {
     @Override
     public void handleEvent(ITmfStateSystemBuilder ss, ITmfEvent event) throws AttributeNotFoundException {
 
-        /* Parse the content of this event and create a temporary GpuRequest object */
-        VirtGpuRequest tmpReq = parseVirtGpuEvent(event);
+        /* Parse the content of this event */
+        GpuEventFields tmpReq = parseVirtGpuEvent(event, false);
         long ts = event.getTimestamp().getValue();
 
         PhyGpuModel phyGpu = fStateProvider.getPhyGpu(tmpReq.getDevID(), true);
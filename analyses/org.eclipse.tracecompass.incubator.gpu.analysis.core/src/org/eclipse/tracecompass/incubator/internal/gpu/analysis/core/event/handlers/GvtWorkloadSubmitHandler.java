@@ -3,6 +3,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuStateProvider;
@@ -35,8 +36,8 @@ public class GvtWorkloadSubmitHandler extends GpuKernelEventHandler {
     @Override
     public void handleEvent(@NonNull ITmfStateSystemBuilder ss, @NonNull ITmfEvent event) throws AttributeNotFoundException {
 
-        /* Parse the content of this event and create a temporary GpuRequest object */
-        VirtGpuRequest tmpReq = parseVirtGpuEvent(event);
+        /* Parse the content of this event */
+        GpuEventFields tmpReq = parseVirtGpuEvent(event, true);
         long ts = event.getTimestamp().getValue();
 
         PhyGpuModel phyGpu = fStateProvider.getPhyGpu(tmpReq.getDevID(), false);
@@ -2,6 +2,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
@@ -30,8 +31,8 @@ public class I915GemRequestAddHandler extends GpuKernelEventHandler {
     @Override
     public void handleEvent(ITmfStateSystemBuilder ss, ITmfEvent event) throws AttributeNotFoundException {
 
-        /* Parse the content of this event and create a temporary GpuRequest object */
-        GpuRequest tmpReq = parseGpuEvent(event);
+        /* Parse the content of this event */
+        GpuEventFields tmpReq = parseGpuEvent(event, true);
         long ts = event.getTimestamp().getValue();
         int vGpu = 0; // by default, we suppose that the request is not sent by a vGPU
 
@@ -57,6 +58,7 @@ public class I915GemRequestAddHandler extends GpuKernelEventHandler {
           */
         req = new GpuRequest(tmpReq.getDevID(), vGpu, tmpReq.getSeqno(), tmpReq.getCtx(), tmpReq.getRing());
         req.setStatus(GpuRequestStatus.IS_QUEUED);
+        req.setQueuedTs(ts);
         phyGpu.addToDriverWaitingQueue(ts, req);
 
         /*
@@ -70,6 +72,7 @@ public class I915GemRequestAddHandler extends GpuKernelEventHandler {
             Integer tid = ((Long) content.getField("context._tid").getValue()).intValue();
             Integer ppid = ((Long) content.getField("context._ppid").getValue()).intValue();
             String execName = (String) content.getField("context._procname").getValue();
+            req.setTid(tid);
 
             ThreadGpuModel thread = fStateProvider.getGpuThread(tid, ppid, execName, true);
             if(thread != null) {
@@ -3,6 +3,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
@@ -14,7 +15,6 @@ import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.statesystem.core.exceptions.AttributeNotFoundException;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
-import org.eclipse.tracecompass.tmf.core.util.Pair;
 
 /**
  * @author Adel Belkhiri
@@ -38,8 +38,11 @@ public class I915GemRequestInHandler extends GpuKernelEventHandler {
     @Override
     public void handleEvent(@NonNull ITmfStateSystemBuilder ss, @NonNull ITmfEvent event) throws AttributeNotFoundException {
 
-        /* Parse the content of this event and create a temporary GpuRequest object */
-        GpuRequest reqDetails = parseGpuEvent(event);
+        /* Parse the content of this event */
+        GpuEventFields reqDetails = parseGpuEvent(event, true);
+        ITmfEventField content = event.getContent();
+        reqDetails.setPort((int) getLongField(content, getLayout().fieldGpuPortId()));
+        reqDetails.setSeqnoGlobal(getLongField(content, getLayout().fieldGpuGlobalSeqno()));
         long ts = event.getTimestamp().getValue();
 
         /* Get the instance of the concerned GPU */
@@ -54,9 +57,14 @@ public class I915GemRequestInHandler extends GpuKernelEventHandler {
                 req.setStatus(GpuRequestStatus.getRunningState(req.getRing()));
                 req.setSeqnoGlobal(reqDetails.getSeqnoGlobal());
                 req.setPort(reqDetails.getPort());
+                req.setRunningTs(ts);
 
                 /* if there are any subordinate requests, so merge them with this one */
-                Pair<Integer, Long > mergedWithReqKey = phyGpu.mergeRequests(ts, req);
+                GpuRequest mergedWithReq = phyGpu.mergeRequests(ts, req);
+                if (mergedWithReq != null) {
+                    /* The merged request is complete */
+                    addRequestSegment(ts, mergedWithReq);
+                }
                 phyGpu.addToRunningRequestList(ts, req);
 
                 /*If this request was sent by Virtual Machine, then we need to set its vGPU in running state*/
@@ -69,7 +77,6 @@ public class I915GemRequestInHandler extends GpuKernelEventHandler {
                  * Check whether tracing was made with process context enabled.If so, handle
                  * the process which has issued this request.
                  */
-                ITmfEventField content = event.getContent();
                 if(content != null && content.getField("context._tid") != null &&
                     content.getField("context._ppid") != null &&
                         content.getField("context._procname") != null) {
@@ -79,9 +86,11 @@ public class I915GemRequestInHandler extends GpuKernelEventHandler {
                         thread.updateGpuRequestStatus(ts, req.getKey());
 
                         /*this request was merged with a previous one .. so delete it from the thread requests list*/
-                        if(mergedWithReqKey != null) {
-                            ThreadGpuModel mayBeOtherthread = fStateProvider.getGpuThread(mergedWithReqKey);
-                            mayBeOtherthread.removeFromIssuedRequestsList(ts, mergedWithReqKey);
+                        if(mergedWithReq != null) {
+                            ThreadGpuModel mayBeOtherthread = fStateProvider.getGpuThread(mergedWithReq.getKey());
+                            if(mayBeOtherthread != null) {
+                                mayBeOtherthread.removeFromIssuedRequestsList(ts, mergedWithReq.getKey());
+                            }
                         }
                     }
                 }
@@ -2,6 +2,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
@@ -32,8 +33,8 @@ public class I915GemRequestOutHandler extends GpuKernelEventHandler {
 
     @Override
     public void handleEvent(@NonNull ITmfStateSystemBuilder ss, @NonNull ITmfEvent event) throws AttributeNotFoundException {
-        /* Parse the content of this event and create a temporary GpuRequest object */
-        GpuRequest tmpReq = parseGpuEvent(event);
+        /* Parse the content of this event. The global seqno is not needed to find the request */
+        GpuEventFields tmpReq = parseGpuEvent(event, true);
         long ts = event.getTimestamp().getValue();
 
         /* Get the instance of the concerned GPU */
@@ -47,6 +48,7 @@ public class I915GemRequestOutHandler extends GpuKernelEventHandler {
 	            /* This event cause a change in the status of a request  */
 	            req.setStatus(GpuRequestStatus.ITS_EXEC_COMPLETE);
 	            phyGpu.removeFromCurrentRunningList(ts, tmpReq.getKey());
+	            addRequestSegment(ts, req);
 
 	            /*If this request was sent by Virtual Machine, then we need to set its vGPU in running state*/
 	            VirtGpuModel virtGpu = phyGpu.getVirtGpu(req.getVirtGpuID(), false);
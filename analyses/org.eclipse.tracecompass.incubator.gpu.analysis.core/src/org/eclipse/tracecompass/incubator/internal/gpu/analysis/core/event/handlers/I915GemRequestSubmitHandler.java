@@ -3,6 +3,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
@@ -18,8 +19,8 @@ public class I915GemRequestSubmitHandler extends GpuKernelEventHandler {
     @Override
     public void handleEvent(ITmfStateSystemBuilder ss, ITmfEvent event) throws AttributeNotFoundException {
 
-        /* Parse the content of this event and create a temporary GpuRequest object */
-        GpuRequest tmpReq = parseGpuEvent(event);
+        /* Parse the content of this event */
+        GpuEventFields tmpReq = parseGpuEvent(event, true);
 
         /* Get the instance of the concerned GPU */
         PhyGpuModel phyGpu = fStateProvider.getPhyGpu(tmpReq.getDevID(), false);
@@ -36,6 +37,7 @@ public class I915GemRequestSubmitHandler extends GpuKernelEventHandler {
 
             /* This event cause a change in the status of a request*/
             req.setStatus(GpuRequestStatus.IS_SUBMITTED);
+            req.setSubmittedTs(ts);
             phyGpu.changeWaitingRequestStatus(ts,req.getKey());
         }
     }
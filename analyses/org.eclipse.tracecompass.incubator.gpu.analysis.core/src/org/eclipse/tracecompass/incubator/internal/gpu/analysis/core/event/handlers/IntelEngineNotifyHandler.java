@@ -3,6 +3,7 @@ package org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.event.hand
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 //import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuEventFields;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuKernelEventHandler;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequest;
 import org.eclipse.tracecompass.incubator.internal.gpu.analysis.core.GpuRequestStatus;
@@ -30,20 +31,21 @@ public class IntelEngineNotifyHandler extends GpuKernelEventHandler {
     @Override
     public void handleEvent(@NonNull ITmfStateSystemBuilder ss, @NonNull ITmfEvent event) throws AttributeNotFoundException {
 
-        /* Parse this event and create a temporary GpuRequest object */
-        GpuRequest tmpReq = parseGpuEvent(event);
+        /* Parse this event : it has no ctx and its seqno field is the global seqno */
+        GpuEventFields tmpReq = parseGpuEvent(event, false);
         long ts = event.getTimestamp().getValue();
 
         /* Get the instance of the concerned GPU */
         PhyGpuModel phyGpu = fStateProvider.getPhyGpu(tmpReq.getDevID(), false);
         if(phyGpu != null) {
 
-            GpuRequest  req = phyGpu.getRequestFromCurrentRunningList(tmpReq.getSeqnoGlobal());
+            GpuRequest  req = phyGpu.getRequestFromCurrentRunningListByGlobalSeqno(tmpReq.getSeqno());
             if (req != null) {
 
                 /* This event cause a change in the status of a request */
                 req.setStatus(GpuRequestStatus.ITS_EXEC_COMPLETE);
                 phyGpu.removeFromCurrentRunningList(ts, req.getKey());
+                addRequestSegment(ts, req);
 
                 /* If this request was sent by Virtual Machine, then we need to set its vGPU in running state */
                 VirtGpuModel virtGpu = phyGpu.getVirtGpu(req.getVirtGpuID(), false);
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.gpu.analysis.ui.views;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.tracecompass.analysis.timing.ui.views.segmentstore.density.AbstractSegmentStoreDensityView;
+import org.eclipse.tracecompass.analysis.timing.ui.views.segmentstore.density.AbstractSegmentStoreDensityViewer;
+import org.eclipse.tracecompass.analysis.timing.ui.views.segmentstore.table.AbstractSegmentStoreTableViewer;
+import org.eclipse.tracecompass.common.core.NonNullUtils;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.ui.viewers.GpuRequestDensityViewer;
+import org.eclipse.tracecompass.incubator.internal.gpu.analysis.ui.viewers.GpuRequestTableViewer;
+
+/**
+ * Density view of the latency of the GPU requests, from the time they are
+ * queued to the end of their execution, with the table of the requests.
+ *
+ * @author agent
+ */
+public class GpuRequestDensityView extends AbstractSegmentStoreDensityView {
+
+    /** The view's ID */
+    public static final @NonNull String ID = GpuRequestDensityView.class.getPackage().getName() + ".gpuRequestDensity"; //$NON-NLS-1$
+
+    /**
+     * Constructs a new density view.
+     */
+    public GpuRequestDensityView() {
+        super(ID);
+    }
+
+    @Override
+    protected AbstractSegmentStoreTableViewer createSegmentStoreTableViewer(Composite parent) {
+        return new GpuRequestTableViewer(new TableViewer(parent, SWT.FULL_SELECTION | SWT.VIRTUAL));
+    }
+
+    @Override
+    protected AbstractSegmentStoreDensityViewer createSegmentStoreDensityViewer(Composite parent) {
+        return new GpuRequestDensityViewer(NonNullUtils.checkNotNull(parent));
+    }
+}
@@ -9,9 +9,11 @@
 
 package org.eclipse.tracecompass.incubator.internal.analysis.core.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
@@ -37,6 +39,7 @@ import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 
 /**
  * Operating system model based on analyses who implement certain interfaces to
@@ -49,10 +52,15 @@ import com.google.common.collect.Multimap;
  */
 public class CompositeHostModel implements IHostModel {
 
-    private final Multimap<ITmfTrace, Object> fTraceObjectMap = HashMultimap.create();
-    private final Set<ICpuTimeProvider> fCpuTimeProviders = NonNullUtils.checkNotNull(Collections.newSetFromMap(new WeakHashMap<ICpuTimeProvider, Boolean>()));
-    private final Set<IThreadOnCpuProvider> fThreadOnCpuProviders = NonNullUtils.checkNotNull(Collections.newSetFromMap(new WeakHashMap<IThreadOnCpuProvider, Boolean>()));
-    private final Set<ISamplingDataProvider> fSamplingDataProviders = NonNullUtils.checkNotNull(Collections.newSetFromMap(new WeakHashMap<ISamplingDataProvider, Boolean>()));
+    /*
+     * The model is shared by the analyses of the host, which may query it from
+     * many threads. Even reading the weak sets modifies them, so they are
+     * synchronized and iterated over copies.
+     */
+    private final Multimap<ITmfTrace, Object> fTraceObjectMap = Multimaps.synchronizedSetMultimap(HashMultimap.create());
+    private final Set<ICpuTimeProvider> fCpuTimeProviders = NonNullUtils.checkNotNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<ICpuTimeProvider, Boolean>())));
+    private final Set<IThreadOnCpuProvider> fThreadOnCpuProviders = NonNullUtils.checkNotNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<IThreadOnCpuProvider, Boolean>())));
+    private final Set<ISamplingDataProvider> fSamplingDataProviders = NonNullUtils.checkNotNull(Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<ISamplingDataProvider, Boolean>())));
     private final String fHostId;
 
     /**
@@ -68,7 +76,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public int getThreadOnCpu(int cpu, long t, boolean block) {
-        for (IThreadOnCpuProvider provider : fThreadOnCpuProviders) {
+        for (IThreadOnCpuProvider provider : getProviders(fThreadOnCpuProviders)) {
             Integer tid = provider.getThreadOnCpuAtTime(cpu, t, block);
             if (tid != null && tid != IHostModel.UNKNOWN_TID) {
                 return tid;
@@ -79,7 +87,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public long getCpuTime(int tid, long start, long end) {
-        for (ICpuTimeProvider provider : fCpuTimeProviders) {
+        for (ICpuTimeProvider provider : getProviders(fCpuTimeProviders)) {
             long cpuTime = provider.getCpuTime(tid, start, end);
             if (cpuTime != IHostModel.TIME_UNKNOWN) {
                 return cpuTime;
@@ -90,7 +98,7 @@ public class CompositeHostModel implements IHostModel {
 
     @Override
     public Collection<AggregatedCallSite> getSamplingData(int tid, long start, long end) {
-        for (ISamplingDataProvider provider : fSamplingDataProviders) {
+        for (ISamplingDataProvider provider : getProviders(fSamplingDataProviders)) {
             Collection<AggregatedCallSite> samples = provider.getSamplingData(tid, start, end);
             if (!samples.isEmpty()) {
                 return samples;
@@ -99,6 +107,12 @@ public class CompositeHostModel implements IHostModel {
         return Collections.emptyList();
     }
 
+    private static <T> List<T> getProviders(Set<T> providers) {
+        synchronized (providers) {
+            return new ArrayList<>(providers);
+        }
+    }
+
     /**
      * Set a CPU time provider for this host model
      *
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.callstack.core.tests.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.analysis.core.concepts.AggregatedCallSite;
+import org.eclipse.tracecompass.incubator.callstack.core.base.CallStackElement;
+import org.eclipse.tracecompass.incubator.callstack.core.base.ICallStackElement;
+import org.eclipse.tracecompass.incubator.callstack.core.callgraph.AllGroupDescriptor;
+import org.eclipse.tracecompass.incubator.callstack.core.callgraph.CallGraph;
+import org.eclipse.tracecompass.incubator.callstack.core.sampled.callgraph.AggregatedStackTraces;
+import org.eclipse.tracecompass.incubator.callstack.core.symbol.CallStackSymbolFactory;
+import org.eclipse.tracecompass.incubator.internal.callstack.core.callgraph.CallGraphBuckets;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.junit.Test;
+
+/**
+ * Test the merge of the partial call graphs of time buckets
+ *
+ * @author agent
+ */
+public class CallGraphBucketsTest {
+
+    private static final int NB_SAMPLES = 2000;
+    private static final int MAX_BUCKETS = 16;
+
+    private final @NonNull ICallStackElement fElement = new CallStackElement("test", AllGroupDescriptor.getInstance());
+
+    /**
+     * Test that the call graph of any range is the same when it is computed
+     * from the buckets as when all the samples of the range are aggregated
+     */
+    @Test
+    public void testRanges() {
+        Random random = new Random(42);
+        long[] times = new long[NB_SAMPLES];
+        long[][] stacks = new long[NB_SAMPLES][];
+        CallGraphBuckets buckets = new CallGraphBuckets(MAX_BUCKETS);
+        long time = 1000;
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            time += random.nextInt(10);
+            times[i] = time;
+            long[] stack = new long[1 + random.nextInt(4)];
+            for (int j = 0; j < stack.length; j++) {
+                stack[j] = random.nextInt(3);
+            }
+            stacks[i] = stack;
+            buckets.add(time, fElement, createCallSite(stack, time));
+        }
+        assertTrue(buckets.size() <= MAX_BUCKETS);
+        assertTrue(buckets.size() > MAX_BUCKETS / 2);
+
+        // The full range
+        assertEquals(aggregate(times, stacks, Long.MIN_VALUE, Long.MAX_VALUE), flatten(buckets.getCallGraph()));
+
+        for (int i = 0; i < 200; i++) {
+            long start = times[0] - 10 + random.nextInt((int) (time - times[0]) + 20);
+            long end = start + random.nextInt((int) (time - times[0]) + 20);
+            CallGraph callgraph = new CallGraph();
+            TmfTimeRange covered = buckets.addBuckets(callgraph, start, end);
+            if (covered == null) {
+                addSamples(callgraph, times, stacks, start, end);
+            } else {
+                long coveredStart = covered.getStartTime().toNanos();
+                long coveredEnd = covered.getEndTime().toNanos();
+                assertTrue(coveredStart >= start && coveredEnd <= end);
+                addSamples(callgraph, times, stacks, start, coveredStart - 1);
+                addSamples(callgraph, times, stacks, coveredEnd + 1, end);
+            }
+            assertEquals("Range [" + start + ", " + end + ']', aggregate(times, stacks, start, end), flatten(callgraph));
+        }
+
+        // The buckets are not modified by the merges
+        assertEquals(aggregate(times, stacks, Long.MIN_VALUE, Long.MAX_VALUE), flatten(buckets.getCallGraph()));
+    }
+
+    /**
+     * Test ranges outside of the samples and empty buckets
+     */
+    @Test
+    public void testEmpty() {
+        CallGraphBuckets buckets = new CallGraphBuckets(MAX_BUCKETS);
+        assertNull(buckets.addBuckets(new CallGraph(), 0, 100));
+
+        buckets.add(10, fElement, createCallSite(new long[] { 1 }, 10));
+        buckets.add(100, fElement, createCallSite(new long[] { 1, 2 }, 100));
+        assertNull(buckets.addBuckets(new CallGraph(), 0, 5));
+        assertNull(buckets.addBuckets(new CallGraph(), 101, 200));
+
+        CallGraph callgraph = new CallGraph();
+        TmfTimeRange covered = buckets.addBuckets(callgraph, 0, 200);
+        assertNotNull(covered);
+        assertEquals(0, covered.getStartTime().toNanos());
+        assertEquals(200, covered.getEndTime().toNanos());
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("/0x1", 2L);
+        expected.put("/0x1/0x2", 1L);
+        assertEquals(expected, flatten(callgraph));
+    }
+
+    private AggregatedCallSite createCallSite(long[] stack, long ts) {
+        AggregatedCallSite callsite = new AggregatedStackTraces(CallStackSymbolFactory.createSymbol(stack[stack.length - 1], fElement, ts));
+        for (int i = stack.length - 2; i >= 0; i--) {
+            AggregatedCallSite caller = new AggregatedStackTraces(CallStackSymbolFactory.createSymbol(stack[i], fElement, ts));
+            caller.addCallee(callsite);
+            callsite = caller;
+        }
+        return callsite;
+    }
+
+    private void addSamples(CallGraph callgraph, long[] times, long[][] stacks, long start, long end) {
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] >= start && times[i] <= end) {
+                callgraph.addAggregatedCallSite(fElement, createCallSite(stacks[i], times[i]));
+            }
+        }
+    }
+
+    private Map<String, Long> aggregate(long[] times, long[][] stacks, long start, long end) {
+        CallGraph callgraph = new CallGraph();
+        addSamples(callgraph, times, stacks, start, end);
+        return flatten(callgraph);
+    }
+
+    private Map<String, Long> flatten(CallGraph callgraph) {
+        Map<String, Long> lengths = new HashMap<>();
+        for (AggregatedCallSite callsite : callgraph.getCallingContextTree(fElement)) {
+            flatten(callsite, "", lengths);
+        }
+        return lengths;
+    }
+
+    private static void flatten(AggregatedCallSite callsite, String prefix, Map<String, Long> lengths) {
+        String path = prefix + '/' + callsite.getSymbol().resolve(Collections.emptySet());
+        assertNull(lengths.put(path, callsite.getLength()));
+        for (AggregatedCallSite callee : callsite.getCallees()) {
+            flatten(callee, path, lengths);
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.callstack.core.tests.flamechart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.callstack.core.base.ICallStackElement;
+import org.eclipse.tracecompass.incubator.callstack.core.flamechart.CallStack;
+import org.eclipse.tracecompass.incubator.callstack.core.instrumented.ICalledFunction;
+import org.eclipse.tracecompass.incubator.callstack.core.instrumented.statesystem.CallStackHostUtils;
+import org.eclipse.tracecompass.incubator.callstack.core.instrumented.statesystem.CallStackHostUtils.IHostIdProvider;
+import org.eclipse.tracecompass.incubator.callstack.core.instrumented.statesystem.CallStackSeries;
+import org.eclipse.tracecompass.incubator.callstack.core.instrumented.statesystem.CallStackSeries.IThreadIdProvider;
+import org.eclipse.tracecompass.incubator.internal.callstack.core.instrumented.InstrumentedCallStackElement;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test the iteration over a callstack with windowed 2D queries, and the
+ * resolution of the thread ID and symbol key from the intervals of their
+ * attributes. The symbol key and the thread ID change during the callstack,
+ * and there are more calls than fit in the first windows of the iteration.
+ *
+ * @author agent
+ */
+public class CallStackIterationTest {
+
+    private static final String PROCESSES = "Processes";
+    private static final String PROCESS = "10";
+    private static final String THREAD = "7";
+    private static final int NB_CALLS = 100;
+    private static final long CALL_INTERVAL = 10;
+    private static final long END = NB_CALLS * CALL_INTERVAL;
+
+    private ITmfStateSystemBuilder fSs;
+    private int fProcessQuark;
+    private int fThreadQuark;
+    private InstrumentedCallStackElement fThread;
+
+    /**
+     * Build the state system of a process with one thread:
+     *
+     * <pre>
+     * process value: null     [0, 300), 20 [300, 600), 30 [600, END]
+     * thread value:  7        [0, 400), "8" [400, 700), 9L [700, END]
+     * depth 1:       call i   [10i, 10i + 8)
+     * depth 2:       call i   [10i + 2, 10i + 6)
+     * </pre>
+     */
+    @Before
+    public void setUp() {
+        ITmfStateSystemBuilder ss = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend("Test", 0L));
+        fSs = ss;
+        fProcessQuark = ss.getQuarkAbsoluteAndAdd(PROCESSES, PROCESS);
+        fThreadQuark = ss.getQuarkRelativeAndAdd(fProcessQuark, THREAD);
+        int stackQuark = ss.getQuarkRelativeAndAdd(fThreadQuark, "CallStack");
+        int depth1 = ss.getQuarkRelativeAndAdd(stackQuark, "1");
+        int depth2 = ss.getQuarkRelativeAndAdd(stackQuark, "2");
+
+        ss.modifyAttribute(0, TmfStateValue.newValueInt(7), fThreadQuark);
+        for (int i = 0; i < NB_CALLS; i++) {
+            long time = i * CALL_INTERVAL;
+            if (time == 300) {
+                ss.modifyAttribute(time, TmfStateValue.newValueInt(20), fProcessQuark);
+            } else if (time == 400) {
+                ss.modifyAttribute(time, TmfStateValue.newValueString("8"), fThreadQuark);
+            } else if (time == 600) {
+                ss.modifyAttribute(time, TmfStateValue.newValueInt(30), fProcessQuark);
+            } else if (time == 700) {
+                ss.modifyAttribute(time, TmfStateValue.newValueLong(9), fThreadQuark);
+            }
+            ss.modifyAttribute(time, TmfStateValue.newValueLong(i), depth1);
+            ss.modifyAttribute(time + 2, TmfStateValue.newValueLong(NB_CALLS + i), depth2);
+            ss.modifyAttribute(time + 6, TmfStateValue.nullValue(), depth2);
+            ss.modifyAttribute(time + 8, TmfStateValue.nullValue(), depth1);
+        }
+        ss.closeHistory(END);
+
+        CallStackSeries series = new CallStackSeries(ss, ImmutableList.of(new String[] { PROCESSES, "*" }, new String[] { "*" }), 0, "",
+                new CallStackHostUtils.TraceHostIdResolver(null), new CallStackSeries.AttributeValueThreadResolver(1));
+        Collection<ICallStackElement> processes = series.getRootElements();
+        assertEquals(1, processes.size());
+        Collection<ICallStackElement> threads = processes.iterator().next().getChildren();
+        assertEquals(1, threads.size());
+        fThread = (InstrumentedCallStackElement) threads.iterator().next();
+    }
+
+    /**
+     * Dispose the state system
+     */
+    @After
+    public void tearDown() {
+        fSs.dispose();
+    }
+
+    /**
+     * Test the symbol key read from the intervals of its attribute
+     *
+     * @throws StateSystemDisposedException
+     *             Exceptions thrown by the state system
+     */
+    @Test
+    public void testSymbolKeyOfInterval() throws StateSystemDisposedException {
+        ICallStackElement process = fThread.getParentElement();
+        assertNotNull(process);
+        assertEquals(fProcessQuark, fThread.getSymbolKeyQuark());
+        assertEquals(fProcessQuark, process.getSymbolKeyQuark());
+
+        /* A null value falls back to the name of the attribute */
+        assertEquals(10, fThread.getSymbolKey(fSs.querySingleState(0, fProcessQuark)));
+        assertEquals(20, fThread.getSymbolKey(fSs.querySingleState(350, fProcessQuark)));
+        assertEquals(30, fThread.getSymbolKey(fSs.querySingleState(END, fProcessQuark)));
+        for (long time : new long[] { 0, 299, 300, 599, 600, END }) {
+            assertEquals(fThread.getSymbolKeyAt(time), fThread.getSymbolKey(fSs.querySingleState(time, fProcessQuark)));
+        }
+    }
+
+    /**
+     * Test that the symbol key is read at the requested time, clamped to the
+     * range of the state system
+     */
+    @Test
+    public void testSymbolKeyClamp() {
+        assertEquals(10, fThread.getSymbolKeyAt(Long.MIN_VALUE));
+        assertEquals(10, fThread.getSymbolKeyAt(-5));
+        assertEquals(10, fThread.getSymbolKeyAt(0));
+        assertEquals(20, fThread.getSymbolKeyAt(350));
+        assertEquals(30, fThread.getSymbolKeyAt(END));
+        assertEquals(30, fThread.getSymbolKeyAt(END + 100));
+        assertEquals(30, fThread.getSymbolKeyAt(Long.MAX_VALUE));
+    }
+
+    /**
+     * Test the thread ID read from the intervals of its attribute
+     *
+     * @throws StateSystemDisposedException
+     *             Exceptions thrown by the state system
+     */
+    @Test
+    public void testThreadIdOfInterval() throws StateSystemDisposedException {
+        IHostIdProvider hostProvider = new CallStackHostUtils.TraceHostIdResolver(null).apply(fThread);
+        IThreadIdProvider provider = new CallStackSeries.AttributeValueThreadResolver(1).resolve(hostProvider, fThread);
+        assertNotNull(provider);
+        assertEquals(fThreadQuark, provider.getThreadIdQuark());
+
+        /* Integer, string and long values */
+        assertEquals(7, provider.getThreadId(fSs.querySingleState(0, fThreadQuark)));
+        assertEquals(8, provider.getThreadId(fSs.querySingleState(450, fThreadQuark)));
+        assertEquals(9, provider.getThreadId(fSs.querySingleState(END, fThreadQuark)));
+        for (long time : new long[] { 0, 399, 400, 699, 700, END }) {
+            assertEquals(provider.getThreadId(time), provider.getThreadId(fSs.querySingleState(time, fThreadQuark)));
+        }
+    }
+
+    /**
+     * Test that the calls of the windowed iteration have the same thread IDs
+     * and symbol keys as the calls resolved one by one
+     */
+    @Test
+    public void testWindowedResolution() {
+        CallStack callStack = fThread.getCallStack();
+        List<ICalledFunction> functions = new ArrayList<>();
+        callStack.iterateOverCallStack(0, END, functions::add);
+        assertEquals(2 * NB_CALLS, functions.size());
+
+        for (int i = 0; i < NB_CALLS; i++) {
+            long time = i * CALL_INTERVAL;
+            ICalledFunction function = functions.get(2 * i);
+            ICalledFunction child = functions.get(2 * i + 1);
+            assertEquals(time, function.getStart());
+            assertEquals(time + 8, function.getEnd());
+            assertEquals(1, function.getDepth());
+            assertNull(function.getParent());
+            assertEquals(time + 2, child.getStart());
+            assertEquals(time + 6, child.getEnd());
+            assertEquals(2, child.getDepth());
+            assertSame(function, child.getParent());
+
+            for (ICalledFunction call : new ICalledFunction[] { function, child }) {
+                assertEquals(callStack.getSymbolKeyAt(call.getStart()), call.getProcessId());
+                assertEquals(callStack.getThreadId(call.getStart()), call.getThreadId());
+            }
+            assertEquals(getSymbolKey(time), function.getProcessId());
+            assertEquals(getThreadId(time), function.getThreadId());
+        }
+    }
+
+    /**
+     * Test a windowed iteration on part of the callstack, the calls crossing
+     * the bounds are truncated
+     */
+    @Test
+    public void testPartialIteration() {
+        CallStack callStack = fThread.getCallStack();
+        List<ICalledFunction> functions = new ArrayList<>();
+        callStack.iterateOverCallStack(395, 705, functions::add);
+        assertFalse(functions.isEmpty());
+
+        ICalledFunction first = functions.get(0);
+        assertEquals(395, first.getStart());
+        assertEquals(398, first.getEnd());
+        ICalledFunction last = functions.get(functions.size() - 1);
+        assertEquals(702, last.getStart());
+        assertEquals(705, last.getEnd());
+        for (ICalledFunction function : functions) {
+            assertEquals(callStack.getSymbolKeyAt(function.getStart()), function.getProcessId());
+            assertEquals(callStack.getThreadId(function.getStart()), function.getThreadId());
+        }
+    }
+
+    private static int getSymbolKey(long time) {
+        return (time < 300) ? 10 : (time < 600) ? 20 : 30;
+    }
+
+    private static int getThreadId(long time) {
+        return (time < 400) ? 7 : (time < 700) ? 8 : 9;
+    }
+}
@@ -12,9 +12,11 @@ package org.eclipse.tracecompass.incubator.callstack.core.tests.flamechart;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -22,6 +24,7 @@ import java.util.List;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.model.HostThread;
 import org.eclipse.tracecompass.incubator.analysis.core.model.IHostModel;
 import org.eclipse.tracecompass.incubator.analysis.core.model.ModelManager;
@@ -337,4 +340,52 @@ public class CallStackTest extends CallStackTestBase {
         assertNull(function);
 
     }
+
+    /**
+     * Test the
+     * {@link CallStack#iterateOverCallStack(long, long, java.util.function.Consumer)}
+     * method
+     */
+    @Test
+    public void testIterateOverCallStack() {
+        CallStack element = getElementToTest();
+
+        /**
+         * <pre>Function calls for this element:
+         * depth 1: (1, 20)
+         * depth 2: (2, 6), (9, 13), (15, 19)
+         * depth 3: (10, 11)
+         * </pre>
+         */
+        List<ICalledFunction> functions = new ArrayList<>();
+        element.iterateOverCallStack(START_TIME, END_TIME, functions::add);
+        assertEquals(5, functions.size());
+        verifyFunction(functions.get(0), 1L, 20L, 1, "op5", null);
+        verifyFunction(functions.get(1), 2L, 6L, 2, "op2", functions.get(0));
+        verifyFunction(functions.get(2), 9L, 13L, 2, "op2", functions.get(0));
+        verifyFunction(functions.get(3), 10L, 11L, 3, "op3", functions.get(2));
+        verifyFunction(functions.get(4), 15L, 19L, 2, "op2", functions.get(0));
+        assertEquals(19L - 4L - 4L - 4L, functions.get(0).getSelfTime());
+
+        // Test a range cutting function calls, they are truncated to the range
+        functions.clear();
+        element.iterateOverCallStack(5L, 10L, functions::add);
+        assertEquals(3, functions.size());
+        verifyFunction(functions.get(0), 5L, 10L, 1, "op5", null);
+        verifyFunction(functions.get(1), 5L, 6L, 2, "op2", functions.get(0));
+        verifyFunction(functions.get(2), 9L, 10L, 2, "op2", functions.get(0));
+
+        // Test a range outside the trace range
+        functions.clear();
+        element.iterateOverCallStack(END_TIME + 1, END_TIME + 3, functions::add);
+        assertEquals(0, functions.size());
+    }
+
+    private static void verifyFunction(ICalledFunction function, long start, long end, int depth, String symbol, @Nullable ICalledFunction parent) {
+        assertEquals(start, function.getStart());
+        assertEquals(end, function.getEnd());
+        assertEquals(depth, function.getDepth());
+        assertEquals(symbol, function.getSymbol());
+        assertSame(parent, function.getParent());
+    }
 }
@@ -13,6 +13,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
 
 /**
  * A basic callstack element implementing the methods of the interface.
@@ -121,6 +123,57 @@ public class CallStackElement implements ICallStackElement {
         return symbolKeyElement.getSymbolKeyAt(startTime);
     }
 
+    @Override
+    public final int getSymbolKeyQuark() {
+        if (isSymbolKeyElement()) {
+            return retrieveSymbolKeyQuark();
+        }
+        ICallStackElement symbolKeyElement = fSymbolKeyElement;
+        if (symbolKeyElement == null) {
+            return ITmfStateSystem.INVALID_ATTRIBUTE;
+        }
+        return symbolKeyElement.getSymbolKeyQuark();
+    }
+
+    @Override
+    public final int getSymbolKey(ITmfStateInterval interval) {
+        if (isSymbolKeyElement()) {
+            return retrieveSymbolKey(interval);
+        }
+        ICallStackElement symbolKeyElement = fSymbolKeyElement;
+        if (symbolKeyElement == null) {
+            return DEFAULT_SYMBOL_KEY;
+        }
+        return symbolKeyElement.getSymbolKey(interval);
+    }
+
+    /**
+     * Retrieve the quark of the attribute containing the symbol key of this
+     * element. This method is called by {@link #getSymbolKeyQuark()} when the
+     * current element is the symbol key.
+     *
+     * @return The quark of the symbol key attribute, or
+     *         {@link ITmfStateSystem#INVALID_ATTRIBUTE} if there is none
+     */
+    protected int retrieveSymbolKeyQuark() {
+        return ITmfStateSystem.INVALID_ATTRIBUTE;
+    }
+
+    /**
+     * Retrieve the symbol key for this element from an interval of its symbol
+     * key attribute. This method is called by
+     * {@link #getSymbolKey(ITmfStateInterval)} when the current element is the
+     * symbol key.
+     *
+     * @param interval
+     *            The interval of the attribute returned by
+     *            {@link #retrieveSymbolKeyQuark()}
+     * @return The symbol key during this interval
+     */
+    protected int retrieveSymbolKey(ITmfStateInterval interval) {
+        return retrieveSymbolKeyAt(interval.getStartTime());
+    }
+
     /**
      * Retrieve the symbol key for this element. This method is called by
      * {@link #getSymbolKeyAt(long)} when the current element is the symbol key. So
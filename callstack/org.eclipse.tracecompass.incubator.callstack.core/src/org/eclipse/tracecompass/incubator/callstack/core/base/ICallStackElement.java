@@ -12,6 +12,8 @@ package org.eclipse.tracecompass.incubator.callstack.core.base;
 import java.util.Collection;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
 
 /**
  * Interface that classes representing a single element in the callstack
@@ -72,6 +74,30 @@ public interface ICallStackElement {
      */
     int getSymbolKeyAt(long time);
 
+    /**
+     * Get the quark of the attribute from which the symbol key is read, so that
+     * it can be queried along with the callstack attributes
+     *
+     * @return The quark of the attribute, or
+     *         {@link ITmfStateSystem#INVALID_ATTRIBUTE} if the symbol key does
+     *         not come from a single attribute
+     */
+    default int getSymbolKeyQuark() {
+        return ITmfStateSystem.INVALID_ATTRIBUTE;
+    }
+
+    /**
+     * Get the key for symbol resolution from an interval of the attribute
+     * returned by {@link #getSymbolKeyQuark()}
+     *
+     * @param interval
+     *            The interval of the symbol key attribute
+     * @return The symbol key during this interval
+     */
+    default int getSymbolKey(ITmfStateInterval interval) {
+        return getSymbolKeyAt(interval.getStartTime());
+    }
+
     /**
      * Set the symbol key element to use for this hierarchy
      *
@@ -11,6 +11,7 @@ package org.eclipse.tracecompass.incubator.callstack.core.callgraph;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.tracecompass.incubator.analysis.core.concepts.AggregatedCallSite;
@@ -85,6 +86,20 @@ public class CallGraph {
         fCcts.put(dstGroup, callsite);
     }
 
+    /**
+     * Add all the callsites of another call graph to this one. The callsites
+     * are copied, so the other call graph is not modified and can be merged
+     * again in other call graphs.
+     *
+     * @param other
+     *            the call graph to add to this one
+     */
+    public void addCallGraph(CallGraph other) {
+        for (Entry<ICallStackElement, AggregatedCallSite> entry : other.fCcts.entries()) {
+            addAggregatedCallSite(entry.getKey(), entry.getValue().copyOf());
+        }
+    }
+
     /**
      * Get the root elements containing the call graph data. If a group by
      * descriptor was set using {@link #setGroupBy(ICallStackGroupDescriptor)}, the
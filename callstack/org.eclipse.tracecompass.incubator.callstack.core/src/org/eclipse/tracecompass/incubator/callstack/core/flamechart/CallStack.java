@@ -10,10 +10,16 @@
 package org.eclipse.tracecompass.incubator.callstack.core.flamechart;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.LongToIntFunction;
+import java.util.function.ToIntFunction;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
@@ -46,6 +52,11 @@ import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
  */
 public class CallStack {
 
+    /** Number of intervals to read with each 2D query of an iteration */
+    private static final int WINDOW_INTERVALS = 4096;
+    /** Maximal growth of a window compared to the previous one */
+    private static final int MAX_WINDOW_GROWTH = 4;
+
     private final @Nullable ICallStackElement fSymbolKeyElement;
     private final @Nullable IThreadIdProvider fThreadIdProvider;
     private final ITmfStateSystem fStateSystem;
@@ -242,7 +253,9 @@ public class CallStack {
     }
 
     /**
-     * Iterate over the callstack in a depth-first manner
+     * Iterate over the callstack in a depth-first manner. The function calls
+     * are sent to the consumer by start time, each call before its children,
+     * and with its parent set, so that the callstack can be rebuilt.
      *
      * @param startTime
      *            The start time of the iteration
@@ -252,7 +265,173 @@ public class CallStack {
      *            The consumer to consume the function calls
      */
     public void iterateOverCallStack(long startTime, long endTime, Consumer<ICalledFunction> consumer) {
-        // TODO Do we need this? If so, implement me!
+        iterateOverCallStack(startTime, endTime, ModelManager.getModelFor(getHostId(Math.max(startTime, getStartTime()))), consumer);
+    }
+
+    /**
+     * Iterate over the callstack in a depth-first manner. The function calls
+     * are sent to the consumer by start time, each call before its children,
+     * and with its parent set, so that the callstack can be rebuilt. Function
+     * calls that cross the boundaries of the iteration are truncated to the
+     * time range.
+     *
+     * The intervals of all depths are read with 2D queries on consecutive
+     * time windows, so that each interval is read once and only the calls of
+     * the current window are in memory. The first window is one nanosecond
+     * long, and each next window is sized from the number of intervals read
+     * in the previous one, so that about the same number of intervals is read
+     * by each query whatever the density of the callstack. The attributes of
+     * the thread ID and the symbol key, when available, are read by the same
+     * queries and resolved once per interval instead of once per call.
+     *
+     * @param startTime
+     *            The start time of the iteration
+     * @param endTime
+     *            The end time of the iteration
+     * @param model
+     *            The operating system model to retrieve extra information
+     * @param consumer
+     *            The consumer to consume the function calls
+     */
+    public void iterateOverCallStack(long startTime, long endTime, IHostModel model, Consumer<ICalledFunction> consumer) {
+        long start = Math.max(fStateSystem.getStartTime(), startTime);
+        long end = Math.min(fStateSystem.getCurrentEndTime(), endTime);
+        if (start > end) {
+            return;
+        }
+        int maxDepth = getMaxDepth();
+        Map<Integer, Integer> depths = new HashMap<>();
+        for (int i = 0; i < maxDepth; i++) {
+            depths.put(fQuarks.get(i), i + 1);
+        }
+        IThreadIdProvider threadIdProvider = fThreadIdProvider;
+        ICallStackElement symbolKeyElement = fSymbolKeyElement;
+        WindowValues threadIds = new WindowValues(threadIdProvider == null ? ITmfStateSystem.INVALID_ATTRIBUTE : threadIdProvider.getThreadIdQuark(),
+                threadIdProvider == null ? interval -> -1 : threadIdProvider::getThreadId, this::getThreadId);
+        WindowValues symbolKeys = new WindowValues(symbolKeyElement == null ? ITmfStateSystem.INVALID_ATTRIBUTE : symbolKeyElement.getSymbolKeyQuark(),
+                symbolKeyElement == null ? interval -> CallStackElement.DEFAULT_SYMBOL_KEY : symbolKeyElement::getSymbolKey, this::getSymbolKeyAt);
+        List<Integer> quarks = new ArrayList<>(fQuarks);
+        for (WindowValues values : Arrays.asList(threadIds, symbolKeys)) {
+            if (values.fQuark != ITmfStateSystem.INVALID_ATTRIBUTE && !depths.containsKey(values.fQuark)) {
+                quarks.add(values.fQuark);
+            }
+        }
+        /* The call being iterated at each depth, and the end of its interval */
+        ICalledFunction[] stack = new ICalledFunction[maxDepth + 1];
+        long[] stackEnds = new long[maxDepth + 1];
+        /* Intervals are returned by each window they intersect */
+        long[] lastStarts = new long[maxDepth + 1];
+        Arrays.fill(lastStarts, Long.MIN_VALUE);
+        long windowSize = 1;
+        long windowStart = start;
+        try {
+            while (true) {
+                long windowEnd = (end - windowStart < windowSize) ? end : windowStart + windowSize - 1;
+                List<ITmfStateInterval> intervals = new ArrayList<>();
+                threadIds.clear();
+                symbolKeys.clear();
+                int nbIntervals = 0;
+                for (ITmfStateInterval interval : fStateSystem.query2D(quarks, windowStart, windowEnd)) {
+                    nbIntervals++;
+                    threadIds.add(interval);
+                    symbolKeys.add(interval);
+                    Integer depth = depths.get(interval.getAttribute());
+                    if (depth != null && !interval.getStateValue().isNull() && interval.getStartTime() > lastStarts[depth] && interval.getStartTime() < endTime) {
+                        intervals.add(interval);
+                    }
+                }
+                intervals.sort(Comparator.comparingLong(ITmfStateInterval::getStartTime).thenComparing(interval -> depths.get(interval.getAttribute())));
+                threadIds.sort();
+                symbolKeys.sort();
+                for (ITmfStateInterval interval : intervals) {
+                    int depth = depths.get(interval.getAttribute());
+                    long intervalStart = interval.getStartTime();
+                    lastStarts[depth] = intervalStart;
+                    ICalledFunction parent = (depth > 1) ? stack[depth - 1] : null;
+                    if (depth > 1 && (parent == null || stackEnds[depth - 1] < intervalStart)) {
+                        /* No caller at the previous depth, ignore the call and its children */
+                        stack[depth] = null;
+                        continue;
+                    }
+                    ICalledFunction function = CalledFunctionFactory.create(Math.max(startTime, intervalStart), Math.min(endTime, interval.getEndTime() + 1), depth, interval.getStateValue(),
+                            symbolKeys.get(intervalStart), threadIds.get(intervalStart), parent, model);
+                    stack[depth] = function;
+                    stackEnds[depth] = interval.getEndTime();
+                    consumer.accept(function);
+                }
+                if (windowEnd == end) {
+                    break;
+                }
+                windowStart = windowEnd + 1;
+                windowSize = getNextWindowSize(windowSize, nbIntervals);
+            }
+        } catch (StateSystemDisposedException e) {
+            // The iteration stops here
+        }
+    }
+
+    /**
+     * Size the next window of an iteration from the number of intervals read
+     * in the previous one, assuming the callstack has about the same density
+     * of intervals. A window grows by at most {@link #MAX_WINDOW_GROWTH} times,
+     * since the intervals which span many windows are read by each of them.
+     */
+    private static long getNextWindowSize(long windowSize, int nbIntervals) {
+        double size = Math.min((double) windowSize * WINDOW_INTERVALS / Math.max(1, nbIntervals), (double) windowSize * MAX_WINDOW_GROWTH);
+        return Math.max(1L, (long) size);
+    }
+
+    /**
+     * The intervals of an attribute returned by the 2D query of a time window,
+     * to resolve a value once per interval. The values are requested in
+     * increasing time order within a window.
+     */
+    private static final class WindowValues {
+
+        private final int fQuark;
+        private final ToIntFunction<ITmfStateInterval> fResolver;
+        private final LongToIntFunction fFallback;
+        private final List<ITmfStateInterval> fIntervals = new ArrayList<>();
+        private int fIndex = 0;
+        private @Nullable ITmfStateInterval fInterval = null;
+        private int fValue;
+
+        public WindowValues(int quark, ToIntFunction<ITmfStateInterval> resolver, LongToIntFunction fallback) {
+            fQuark = quark;
+            fResolver = resolver;
+            fFallback = fallback;
+        }
+
+        public void clear() {
+            fIntervals.clear();
+            fIndex = 0;
+            fInterval = null;
+        }
+
+        public void add(ITmfStateInterval interval) {
+            if (fQuark != ITmfStateSystem.INVALID_ATTRIBUTE && interval.getAttribute() == fQuark) {
+                fIntervals.add(interval);
+            }
+        }
+
+        public void sort() {
+            fIntervals.sort(Comparator.comparingLong(ITmfStateInterval::getStartTime));
+        }
+
+        public int get(long time) {
+            while (fIndex < fIntervals.size() && fIntervals.get(fIndex).getEndTime() < time) {
+                fIndex++;
+            }
+            if (fIndex >= fIntervals.size() || !fIntervals.get(fIndex).intersects(time)) {
+                return fFallback.applyAsInt(time);
+            }
+            ITmfStateInterval interval = fIntervals.get(fIndex);
+            if (interval != fInterval) {
+                fInterval = interval;
+                fValue = fResolver.applyAsInt(interval);
+            }
+            return fValue;
+        }
     }
 
     /**
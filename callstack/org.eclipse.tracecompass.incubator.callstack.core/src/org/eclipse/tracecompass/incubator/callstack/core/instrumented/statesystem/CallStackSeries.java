@@ -107,6 +107,31 @@ public class CallStackSeries implements ISegmentStore<ISegment> {
          */
         int getThreadId(long time);
 
+        /**
+         * Get the quark of the attribute from which the thread ID is read, so
+         * that it can be queried along with the callstack attributes
+         *
+         * @return The quark of the attribute, or
+         *         {@link ITmfStateSystem#INVALID_ATTRIBUTE} if the thread ID
+         *         does not come from a single attribute
+         */
+        default int getThreadIdQuark() {
+            return ITmfStateSystem.INVALID_ATTRIBUTE;
+        }
+
+        /**
+         * Get the ID of the callstack thread from an interval of the attribute
+         * returned by {@link #getThreadIdQuark()}
+         *
+         * @param interval
+         *            The interval of the thread ID attribute
+         * @return The ID of the thread, or {@link IHostModel#UNKNOWN_TID} if
+         *         unavailable
+         */
+        default int getThreadId(ITmfStateInterval interval) {
+            return getThreadId(interval.getStartTime());
+        }
+
     }
 
     /**
@@ -127,42 +152,47 @@ public class CallStackSeries implements ISegmentStore<ISegment> {
         @Override
         public int getThreadId(long time) {
             ITmfStateInterval interval = fInterval;
-            int tid = fLastThreadId;
             if (interval != null && interval.intersects(time)) {
                 return fLastThreadId;
             }
+            int tid = IHostModel.UNKNOWN_TID;
             try {
                 interval = fSs.querySingleState(time, fQuark);
-                switch (interval.getStateValue().getType()) {
-                case INTEGER:
-                    tid = interval.getStateValue().unboxInt();
-                    break;
-                case LONG:
-                    tid = (int) interval.getStateValue().unboxLong();
-                    break;
-                case STRING:
-                    try {
-                        Integer.valueOf(interval.getStateValue().unboxStr());
-                    } catch (NumberFormatException e) {
-                        tid = IHostModel.UNKNOWN_TID;
-                    }
-                    break;
-                case NULL: /* Fallthrough cases */
-                case DOUBLE: /* Fallthrough cases */
-                case CUSTOM: /* Fallthrough cases */
-                default:
-                    break;
-
-                }
+                tid = getThreadId(interval);
             } catch (StateSystemDisposedException e) {
                 interval = null;
-                tid = IHostModel.UNKNOWN_TID;
             }
             fInterval = interval;
             fLastThreadId = tid;
             return tid;
         }
 
+        @Override
+        public int getThreadIdQuark() {
+            return fQuark;
+        }
+
+        @Override
+        public int getThreadId(ITmfStateInterval interval) {
+            switch (interval.getStateValue().getType()) {
+            case INTEGER:
+                return interval.getStateValue().unboxInt();
+            case LONG:
+                return (int) interval.getStateValue().unboxLong();
+            case STRING:
+                try {
+                    return Integer.parseInt(interval.getStateValue().unboxStr());
+                } catch (NumberFormatException e) {
+                    return IHostModel.UNKNOWN_TID;
+                }
+            case NULL: /* Fallthrough cases */
+            case DOUBLE: /* Fallthrough cases */
+            case CUSTOM: /* Fallthrough cases */
+            default:
+                return IHostModel.UNKNOWN_TID;
+            }
+        }
+
     }
 
     /**
@@ -214,22 +244,30 @@ public class CallStackSeries implements ISegmentStore<ISegment> {
             }
             // Get the CPU
             try {
-                ITmfStateInterval querySingleState = fSs.querySingleState(time, fCpuQuark);
-
-                if (querySingleState.getStateValue().isNull()) {
-                    return IHostModel.UNKNOWN_TID;
-                }
-                int cpu = querySingleState.getStateValue().unboxInt();
-                // The thread running is the one on the CPU at the beginning of this interval
-                long startTime = querySingleState.getStartTime();
-                IHostModel model = ModelManager.getModelFor(fHostProvider.apply(startTime));
-                return model.getThreadOnCpu(cpu, startTime);
+                return getThreadId(fSs.querySingleState(time, fCpuQuark));
             } catch (StateSystemDisposedException e) {
 
             }
             return IHostModel.UNKNOWN_TID;
         }
 
+        @Override
+        public int getThreadIdQuark() {
+            return fCpuQuark;
+        }
+
+        @Override
+        public int getThreadId(ITmfStateInterval interval) {
+            if (interval.getStateValue().isNull()) {
+                return IHostModel.UNKNOWN_TID;
+            }
+            int cpu = interval.getStateValue().unboxInt();
+            // The thread running is the one on the CPU at the beginning of this interval
+            long startTime = interval.getStartTime();
+            IHostModel model = ModelManager.getModelFor(fHostProvider.apply(startTime));
+            return model.getThreadOnCpu(cpu, startTime);
+        }
+
     }
 
     /**
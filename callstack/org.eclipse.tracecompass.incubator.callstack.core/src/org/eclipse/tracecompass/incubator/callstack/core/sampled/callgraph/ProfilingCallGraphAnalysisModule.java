@@ -12,6 +12,7 @@ package org.eclipse.tracecompass.incubator.callstack.core.sampled.callgraph;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
@@ -24,6 +25,7 @@ import org.eclipse.tracecompass.incubator.callstack.core.callgraph.ICallGraphPro
 import org.eclipse.tracecompass.incubator.callstack.core.flamechart.IEventCallStackProvider;
 import org.eclipse.tracecompass.incubator.callstack.core.symbol.CallStackSymbolFactory;
 import org.eclipse.tracecompass.incubator.internal.callstack.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.callstack.core.callgraph.CallGraphBuckets;
 import org.eclipse.tracecompass.tmf.core.analysis.TmfAbstractAnalysisModule;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
@@ -36,17 +38,33 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 import org.eclipse.tracecompass.tmf.core.util.Pair;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * The callgraph analysis module
  *
+ * While reading the trace, the stack traces are also aggregated in partial
+ * call graphs of time buckets. The call graph of a time range is then the
+ * merge of the buckets inside the range, and only the events of the parts of
+ * the range which cover a bucket partially are read again. The call graphs of
+ * the last ranges are kept in a cache.
+ *
  * @author Geneviève Bastien
  */
 public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalysisModule implements ICallGraphProvider, IEventCallStackProvider {
 
+    private static final int MAX_BUCKETS = 128;
+    private static final int RANGE_CACHE_SIZE = 16;
+
     private @Nullable ITmfEventRequest fRequest;
     private final Set<ICallStackElement> fRootElements = new HashSet<>();
 
     private @Nullable CallGraph fFullRangeCallGraph;
+    private volatile @Nullable CallGraphBuckets fBuckets;
+    private final Cache<TmfTimeRange, CallGraph> fRangeCallGraphs = CacheBuilder.newBuilder()
+            .maximumSize(RANGE_CACHE_SIZE)
+            .build();
 
     /**
      * Get the root elements from this call graph hierarchy
@@ -69,10 +87,34 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
 
     @Override
     public CallGraph getCallGraph(ITmfTimestamp start, ITmfTimestamp end) {
-        CallGraph cg = executeForRange(new TmfTimeRange(start, end));
-        if (cg == null) {
+        TmfTimeRange range = new TmfTimeRange(start, end);
+        CallGraph cg = fRangeCallGraphs.getIfPresent(range);
+        if (cg != null) {
+            return cg;
+        }
+        CallGraphBuckets buckets = fBuckets;
+        cg = new CallGraph();
+        if (buckets == null) {
+            // The analysis is not done, read the whole range
+            return executeForRange(range, cg) ? cg : CallGraph.EMPTY_GRAPH;
+        }
+        long startTime = start.toNanos();
+        long endTime = end.toNanos();
+        TmfTimeRange covered = buckets.addBuckets(cg, startTime, endTime);
+        boolean completed;
+        if (covered == null) {
+            completed = executeForRange(range, cg);
+        } else {
+            // Read the parts of the range outside the buckets
+            long coveredStart = covered.getStartTime().toNanos();
+            long coveredEnd = covered.getEndTime().toNanos();
+            completed = (startTime >= coveredStart || executeForRange(new TmfTimeRange(start, TmfTimestamp.fromNanos(coveredStart - 1)), cg))
+                    && (endTime <= coveredEnd || executeForRange(new TmfTimeRange(TmfTimestamp.fromNanos(coveredEnd + 1), end), cg));
+        }
+        if (!completed) {
             return CallGraph.EMPTY_GRAPH;
         }
+        fRangeCallGraphs.put(range, cg);
         return cg;
     }
 
@@ -132,15 +174,22 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
 
     @Override
     protected boolean executeAnalysis(@NonNull IProgressMonitor monitor) throws TmfAnalysisException {
-        CallGraph callgraph = executeForRange(TmfTimeRange.ETERNITY);
-        if (callgraph == null) {
+        fBuckets = null;
+        fRangeCallGraphs.invalidateAll();
+        CallGraphBuckets buckets = new CallGraphBuckets(MAX_BUCKETS);
+        if (!executeForRange(TmfTimeRange.ETERNITY, (event, callsite) -> buckets.add(event.getTimestamp().toNanos(), callsite.getFirst(), callsite.getSecond()))) {
             return false;
         }
-        fFullRangeCallGraph = callgraph;
+        fFullRangeCallGraph = buckets.getCallGraph();
+        fBuckets = buckets;
         return true;
     }
 
-    private @Nullable CallGraph executeForRange(TmfTimeRange range) {
+    private boolean executeForRange(TmfTimeRange range, CallGraph callGraph) {
+        return executeForRange(range, (event, callsite) -> callGraph.addAggregatedCallSite(callsite.getFirst(), callsite.getSecond()));
+    }
+
+    private boolean executeForRange(TmfTimeRange range, BiConsumer<ITmfEvent, Pair<ICallStackElement, AggregatedCallSite>> consumer) {
         ITmfTrace trace = getTrace();
         if (trace == null) {
             throw new NullPointerException("Trace has not been set, yet the analysis is being run!"); //$NON-NLS-1$
@@ -152,20 +201,16 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
         }
 
         try {
-            CallGraph callGraph = new CallGraph();
-            request = new ProfilingEventRequest(trace, callGraph, range);
+            request = new ProfilingEventRequest(trace, consumer, range);
             fRequest = request;
             trace.sendRequest(request);
 
             request.waitForCompletion();
-            if (!request.isCompleted()) {
-                return null;
-            }
-            return callGraph;
+            return request.isCompleted() && !request.isCancelled();
         } catch (InterruptedException e) {
             Activator.getInstance().logError("Request interrupted", e); //$NON-NLS-1$
         }
-        return null;
+        return false;
     }
 
     @Override
@@ -179,26 +224,26 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
     private class ProfilingEventRequest extends TmfEventRequest {
 
         private final ITmfTrace fTrace;
-        private final CallGraph fCallGraph;
+        private final BiConsumer<ITmfEvent, Pair<ICallStackElement, AggregatedCallSite>> fConsumer;
 
         /**
          * Constructor
          *
          * @param trace
          *            The trace
-         * @param callgraph
-         *            The callgraph to fill
+         * @param consumer
+         *            The consumer of the stack traces of the events
          * @param range
          *            The time range of this request
          */
-        public ProfilingEventRequest(ITmfTrace trace, CallGraph callgraph, TmfTimeRange range) {
+        public ProfilingEventRequest(ITmfTrace trace, BiConsumer<ITmfEvent, Pair<ICallStackElement, AggregatedCallSite>> consumer, TmfTimeRange range) {
             super(TmfEvent.class,
                     range,
                     0,
                     ITmfEventRequest.ALL_DATA,
                     ITmfEventRequest.ExecutionType.BACKGROUND);
             fTrace = trace;
-            fCallGraph = callgraph;
+            fConsumer = consumer;
         }
 
         @Override
@@ -224,7 +269,7 @@ public abstract class ProfilingCallGraphAnalysisModule extends TmfAbstractAnalys
             if (perfCallSite == null) {
                 return;
             }
-            fCallGraph.addAggregatedCallSite(perfCallSite.getFirst(), perfCallSite.getSecond());
+            fConsumer.accept(event, perfCallSite);
         }
     }
 
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 École Polytechnique de Montréal
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.callstack.core.callgraph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.analysis.core.concepts.AggregatedCallSite;
+import org.eclipse.tracecompass.incubator.callstack.core.base.ICallStackElement;
+import org.eclipse.tracecompass.incubator.callstack.core.callgraph.CallGraph;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+
+/**
+ * Partial call graphs of consecutive time buckets of equal duration. The
+ * callsites are added in time order, each in the bucket of its timestamp. The
+ * call graphs of callsites which are counted once, like sampled stack traces,
+ * can be merged in any order, so the call graph of a range is the merge of
+ * the buckets it contains plus the callsites of the parts of the range which
+ * only cover a bucket partially.
+ *
+ * The duration of the buckets is not known in advance: it starts at 1 and
+ * doubles, by merging the buckets two by two, every time there would be more
+ * than the maximum number of buckets.
+ *
+ * @author agent
+ */
+public class CallGraphBuckets {
+
+    private final int fMaxBuckets;
+    private final List<CallGraph> fBuckets = new ArrayList<>();
+    private long fOrigin;
+    private long fLast;
+    private long fDuration = 1;
+
+    /**
+     * Constructor
+     *
+     * @param maxBuckets
+     *            the maximum number of buckets, at least 2
+     */
+    public CallGraphBuckets(int maxBuckets) {
+        if (maxBuckets < 2) {
+            throw new IllegalArgumentException("There should be at least 2 buckets"); //$NON-NLS-1$
+        }
+        fMaxBuckets = maxBuckets;
+    }
+
+    /**
+     * Add a callsite at a timestamp. The timestamps must be added in
+     * increasing order.
+     *
+     * @param ts
+     *            the timestamp of the callsite, in nanoseconds
+     * @param element
+     *            the element to which to add the callsite
+     * @param callsite
+     *            the callsite, it now belongs to the buckets
+     */
+    public void add(long ts, ICallStackElement element, AggregatedCallSite callsite) {
+        if (fBuckets.isEmpty()) {
+            fOrigin = ts;
+        } else if (ts < fLast) {
+            throw new IllegalArgumentException("Callsites should be added in time order"); //$NON-NLS-1$
+        }
+        fLast = ts;
+        /* Unsigned, if the distance to the origin overflows a long */
+        long index = Long.divideUnsigned(ts - fOrigin, fDuration);
+        while (Long.compareUnsigned(index, fMaxBuckets) >= 0) {
+            coarsen();
+            index = Long.divideUnsigned(ts - fOrigin, fDuration);
+        }
+        while (fBuckets.size() <= index) {
+            fBuckets.add(new CallGraph());
+        }
+        fBuckets.get((int) index).addAggregatedCallSite(element, callsite);
+    }
+
+    /**
+     * Double the duration of the buckets, by merging them two by two
+     */
+    private void coarsen() {
+        List<CallGraph> buckets = new ArrayList<>();
+        for (int i = 0; i < fBuckets.size(); i += 2) {
+            CallGraph bucket = fBuckets.get(i);
+            if (i + 1 < fBuckets.size()) {
+                bucket.addCallGraph(fBuckets.get(i + 1));
+            }
+            buckets.add(bucket);
+        }
+        fBuckets.clear();
+        fBuckets.addAll(buckets);
+        fDuration *= 2;
+    }
+
+    /**
+     * Get the number of buckets
+     *
+     * @return the number of buckets
+     */
+    public int size() {
+        return fBuckets.size();
+    }
+
+    /**
+     * Get the duration of the buckets
+     *
+     * @return the duration of each bucket, in nanoseconds
+     */
+    public long getBucketDuration() {
+        return fDuration;
+    }
+
+    /**
+     * Get the call graph of all the buckets
+     *
+     * @return a new call graph with copies of all the callsites
+     */
+    public CallGraph getCallGraph() {
+        CallGraph callgraph = new CallGraph();
+        fBuckets.forEach(callgraph::addCallGraph);
+        return callgraph;
+    }
+
+    /**
+     * Add the buckets which are completely inside a time range to a call
+     * graph. The first bucket starts before all the callsites and the last
+     * one ends after all of them, so they are inside any range which includes
+     * all their callsites. The callsites of the rest of the range, before and
+     * after the returned range, must be added by the caller.
+     *
+     * @param callgraph
+     *            the call graph to which to add copies of the callsites of the
+     *            buckets
+     * @param start
+     *            the start of the range, in nanoseconds
+     * @param end
+     *            the end of the range, inclusive, in nanoseconds
+     * @return the part of the range covered by the buckets, or null if no
+     *         bucket is completely inside the range
+     */
+    public @Nullable TmfTimeRange addBuckets(CallGraph callgraph, long start, long end) {
+        int size = fBuckets.size();
+        if (size == 0 || end < start || start > fLast || end < fOrigin) {
+            return null;
+        }
+        int first = (start <= fOrigin) ? 0 : (int) Long.divideUnsigned(start - fOrigin + fDuration - 1, fDuration);
+        int last = (end >= fLast) ? size - 1 : (int) Long.divideUnsigned(end - fOrigin + 1, fDuration) - 1;
+        if (first > last) {
+            return null;
+        }
+        for (int i = first; i <= last; i++) {
+            callgraph.addCallGraph(fBuckets.get(i));
+        }
+        long coveredStart = (first == 0) ? start : fOrigin + first * fDuration;
+        long coveredEnd = (last == size - 1) ? end : fOrigin + (last + 1) * fDuration - 1;
+        return new TmfTimeRange(TmfTimestamp.fromNanos(coveredStart), TmfTimestamp.fromNanos(coveredEnd));
+    }
+
+}
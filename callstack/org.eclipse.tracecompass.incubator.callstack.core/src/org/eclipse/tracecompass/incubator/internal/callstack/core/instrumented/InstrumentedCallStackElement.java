@@ -164,33 +164,46 @@ public class InstrumentedCallStackElement extends CallStackElement {
 
     @Override
     public int retrieveSymbolKeyAt(long startTime) {
-        int processId = CallStackElement.DEFAULT_SYMBOL_KEY;
         if (fQuark != ITmfStateSystem.ROOT_ATTRIBUTE) {
             try {
                 // Query a time that is within the bounds of the state system
                 long start = Math.max(fStateSystem.getStartTime(), startTime);
-                start = Math.max(start, fStateSystem.getCurrentEndTime());
+                start = Math.min(start, fStateSystem.getCurrentEndTime());
 
                 // Query the value of the quark at the requested time
-                ITmfStateInterval interval = fStateSystem.querySingleState(start, fQuark);
-                ITmfStateValue processStateValue = interval.getStateValue();
-                // If the state value is an integer, assume it is the symbol we
-                // are looking for
-                if (processStateValue.getType() == Type.INTEGER) {
-                    processId = processStateValue.unboxInt();
-                } else {
-                    try {
-                        // Otherwise, try to take the attribute name as the key
-                        String processName = fStateSystem.getAttributeName(fQuark);
-                        processId = Integer.parseInt(processName);
-                    } catch (NumberFormatException e) {
-                        /* use default processId */
-                    }
-                }
+                return retrieveSymbolKey(fStateSystem.querySingleState(start, fQuark));
             } catch (StateSystemDisposedException e) {
                 // ignore
             }
         }
+        return CallStackElement.DEFAULT_SYMBOL_KEY;
+    }
+
+    @Override
+    protected int retrieveSymbolKeyQuark() {
+        if (fQuark == ITmfStateSystem.ROOT_ATTRIBUTE) {
+            return ITmfStateSystem.INVALID_ATTRIBUTE;
+        }
+        return fQuark;
+    }
+
+    @Override
+    protected int retrieveSymbolKey(ITmfStateInterval interval) {
+        int processId = CallStackElement.DEFAULT_SYMBOL_KEY;
+        ITmfStateValue processStateValue = interval.getStateValue();
+        // If the state value is an integer, assume it is the symbol we are
+        // looking for
+        if (processStateValue.getType() == Type.INTEGER) {
+            processId = processStateValue.unboxInt();
+        } else {
+            try {
+                // Otherwise, try to take the attribute name as the key
+                String processName = fStateSystem.getAttributeName(fQuark);
+                processId = Integer.parseInt(processName);
+            } catch (NumberFormatException e) {
+                /* use default processId */
+            }
+        }
         return processId;
     }
 
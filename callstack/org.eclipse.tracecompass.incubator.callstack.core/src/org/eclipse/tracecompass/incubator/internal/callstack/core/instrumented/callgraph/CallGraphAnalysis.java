@@ -14,6 +14,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -44,6 +45,8 @@ import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * Call stack analysis used to create a segment for each call function from an
@@ -70,12 +73,23 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
      */
     public static final String ID = "org.eclipse.tracecompass.incubator.callstack.callgraph"; //$NON-NLS-1$
 
+    private static final int RANGE_CACHE_SIZE = 16;
+
     // ------------------------------------------------------------------------
     // Attributes
     // ------------------------------------------------------------------------
 
     private final IFlameChartProvider fCsProvider;
     private final CallGraph fCallGraph = new CallGraph();
+    /*
+     * The call graphs of the last ranges. The function calls crossing the
+     * bounds of a range are cut, so the call graph of a range cannot be merged
+     * from call graphs of smaller ranges without changing the number of calls
+     * and their durations
+     */
+    private final Cache<TmfTimeRange, CallGraph> fRangeCallGraphs = CacheBuilder.newBuilder()
+            .maximumSize(RANGE_CACHE_SIZE)
+            .build();
 
     /**
      * Constructor
@@ -151,8 +165,12 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
     }
 
     /**
-     * Iterate over a callstack series. It will do a depth-first search to create
-     * the callgraph
+     * Iterate over a callstack series. The callstack of each leaf element is
+     * read once in a depth-first manner to create its part of the callgraph.
+     * The leaf elements are independent, so they are aggregated in parallel.
+     * The sampling data providers of the host model are not meant to be
+     * queried concurrently, so the sampling data is queried at the end, leaf
+     * by leaf, before their callgraphs are added to the callgraph.
      *
      * @param callstackSerie
      *            The series to iterate over
@@ -171,75 +189,198 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
     @VisibleForTesting
     protected boolean iterateOverCallstackSerie(CallStackSeries callstackSerie, IHostModel model, CallGraph callgraph, long start, long end, IProgressMonitor monitor) {
         // The root elements are the same as the one from the callstack series
-        Collection<ICallStackElement> rootElements = callstackSerie.getRootElements();
-        for (ICallStackElement element : rootElements) {
-            if (monitor.isCanceled()) {
+        List<ICallStackElement> leaves = new ArrayList<>();
+        for (ICallStackElement element : callstackSerie.getRootElements()) {
+            addLeafElements(element, leaves);
+        }
+        boolean sampling = model.isSamplingDataAvailable();
+        List<@Nullable LeafAggregator> aggregators = leaves.parallelStream()
+                .map(element -> monitor.isCanceled() ? null : iterateOverLeafElement(element, model, sampling, start, end))
+                .collect(Collectors.toList());
+        for (LeafAggregator aggregator : aggregators) {
+            if (monitor.isCanceled() || aggregator == null) {
                 return false;
             }
-            iterateOverElement(element, model, callgraph, start, end, monitor);
+            aggregator.addSamplingData();
+            aggregator.fCallsites.forEach(callsite -> callgraph.addAggregatedCallSite(aggregator.fElement, callsite));
         }
         return true;
     }
 
-    private void iterateOverElement(ICallStackElement element, IHostModel model, CallGraph callgraph, long start, long end, IProgressMonitor monitor) {
+    private static void addLeafElements(ICallStackElement element, List<ICallStackElement> leaves) {
         // Iterator over the children of the element until we reach the leaves
         if (element.isLeaf()) {
-            iterateOverLeafElement(element, model, callgraph, start, end, monitor);
+            leaves.add(element);
             return;
         }
         for (ICallStackElement child : element.getChildren()) {
-            iterateOverElement(child, model, callgraph, start, end, monitor);
+            addLeafElements(child, leaves);
         }
     }
 
-    private void iterateOverLeafElement(ICallStackElement element, IHostModel model, CallGraph callgraph, long start, long end, IProgressMonitor monitor) {
+    private LeafAggregator iterateOverLeafElement(ICallStackElement element, IHostModel model, boolean sampling, long start, long end) {
         if (!(element instanceof InstrumentedCallStackElement)) {
             throw new IllegalStateException("Call Graph Analysis: The element does not have the right type"); //$NON-NLS-1$
         }
         InstrumentedCallStackElement insElement = (InstrumentedCallStackElement) element;
         CallStack callStack = insElement.getCallStack();
+        LeafAggregator aggregator = new LeafAggregator(element, callStack, model, sampling, start);
+        callStack.iterateOverCallStack(start, end, model, aggregator);
+        aggregator.done();
+        return aggregator;
+    }
 
-        // Create a root segment
+    /**
+     * A query of sampling data for a callsite of a leaf. The callsite is found
+     * by its path from its root callsite once the leaf is aggregated, as the
+     * callsites being aggregated may be merged in their parent.
+     */
+    private static final class SamplingRequest {
+        private final int fRoot;
+        private final ICallStackSymbol[] fPath;
+        private final int fThreadId;
+        private final long fStart;
+        private final long fEnd;
+
+        public SamplingRequest(int root, ICallStackSymbol[] path, int threadId, long start, long end) {
+            fRoot = root;
+            fPath = path;
+            fThreadId = threadId;
+            fStart = start;
+            fEnd = end;
+        }
+    }
 
-        AbstractCalledFunction nextFunction = (AbstractCalledFunction) callStack.getNextFunction(callStack.getStartTime(), 1, null, model, start, end);
-        while (nextFunction != null) {
-            AggregatedCalledFunction aggregatedChild = createCallSite(CallStackSymbolFactory.createSymbol(nextFunction.getSymbol(), element, nextFunction.getStart()));
-            iterateOverCallstack(element, callStack, nextFunction, 2, aggregatedChild, model, start, end, monitor);
-            aggregatedChild.addFunctionCall(nextFunction);
-            // Add the kernel statuses if available
-            Iterator<ProcessStatusInterval> kernelStatuses = callStack.getKernelStatuses(nextFunction, -1);
-            kernelStatuses.forEachRemaining(aggregatedChild::addKernelStatus);
+    /**
+     * Rebuilds the callstack of a leaf element from its function calls, in
+     * depth-first order, and aggregates each call when all its children were
+     * received.
+     */
+    private class LeafAggregator implements Consumer<ICalledFunction> {
+
+        private final ICallStackElement fElement;
+        private final CallStack fCallStack;
+        private final IHostModel fModel;
+        private final boolean fSampling;
+        private final int fMaxDepth;
+        /* The calls that are not done yet, by depth */
+        private final AbstractCalledFunction[] fFunctions;
+        private final AggregatedCalledFunction[] fAggregated;
+        private final long[] fLastSampleEnds;
+        private final long fStart;
+        private int fDepth = 0;
+        private final List<AggregatedCalledFunction> fCallsites = new ArrayList<>();
+        private final List<SamplingRequest> fSamplingRequests = new ArrayList<>();
+
+        LeafAggregator(ICallStackElement element, CallStack callStack, IHostModel model, boolean sampling, long start) {
+            fElement = element;
+            fCallStack = callStack;
+            fModel = model;
+            fSampling = sampling;
+            fStart = start;
+            fMaxDepth = callStack.getMaxDepth();
+            fFunctions = new AbstractCalledFunction[fMaxDepth + 1];
+            fAggregated = new AggregatedCalledFunction[fMaxDepth + 1];
+            fLastSampleEnds = new long[fMaxDepth + 1];
+        }
 
-            callgraph.addAggregatedCallSite(element, aggregatedChild);
-            nextFunction = (AbstractCalledFunction) callStack.getNextFunction(nextFunction.getEnd(), 1, null, model, start, end);
+        @Override
+        public void accept(ICalledFunction call) {
+            AbstractCalledFunction function = (AbstractCalledFunction) call;
+            int depth = function.getDepth();
+            // The calls at this depth and deeper have no more children
+            while (fDepth >= depth) {
+                pop();
+            }
+            if (depth > 1) {
+                // Add sampling data of the time between next function and
+                // beginning of next level
+                AbstractCalledFunction parent = fFunctions[depth - 1];
+                int threadId = parent.getThreadId();
+                if (threadId > 0) {
+                    requestSamplingData(depth - 1, threadId, fLastSampleEnds[depth - 1], function.getStart());
+                    fLastSampleEnds[depth - 1] = function.getEnd();
+                }
+            }
+            fFunctions[depth] = function;
+            fAggregated[depth] = createCallSite(CallStackSymbolFactory.createSymbol(function.getSymbol(), fElement, function.getStart()));
+            fLastSampleEnds[depth] = fStart;
+            fDepth = depth;
         }
-    }
 
-    private void iterateOverCallstack(ICallStackElement element, CallStack callstack, ICalledFunction function, int nextLevel, AggregatedCalledFunction aggregatedCall, IHostModel model, long start, long end, IProgressMonitor monitor) {
-        if (nextLevel > callstack.getMaxDepth()) {
-            return;
+        void done() {
+            while (fDepth > 0) {
+                pop();
+            }
+        }
+
+        private void pop() {
+            int depth = fDepth;
+            AbstractCalledFunction function = fFunctions[depth];
+            AggregatedCalledFunction aggregated = fAggregated[depth];
+            // Get the sampling to the end of the function
+            int threadId = function.getThreadId();
+            if (depth < fMaxDepth && threadId > 0) {
+                long lastSampleEnd = fLastSampleEnds[depth];
+                requestSamplingData(depth, threadId, lastSampleEnd, function.getEnd() - lastSampleEnd);
+            }
+            fFunctions[depth] = null;
+            fAggregated[depth] = null;
+            fDepth--;
+            if (depth > 1) {
+                fAggregated[depth - 1].addChild(function, aggregated);
+                return;
+            }
+            aggregated.addFunctionCall(function);
+            // Add the kernel statuses if available
+            Iterator<ProcessStatusInterval> kernelStatuses = fCallStack.getKernelStatuses(function, -1);
+            kernelStatuses.forEachRemaining(aggregated::addKernelStatus);
+            fCallsites.add(aggregated);
+        }
+
+        /**
+         * Save a sampling data query for the callsite being aggregated at a
+         * depth, it will be done by {@link #addSamplingData()}
+         */
+        private void requestSamplingData(int depth, int threadId, long start, long end) {
+            if (!fSampling) {
+                return;
+            }
+            ICallStackSymbol[] path = new ICallStackSymbol[depth - 1];
+            for (int i = 2; i <= depth; i++) {
+                path[i - 2] = fAggregated[i].getSymbol();
+            }
+            // The root callsite being aggregated is the next one to be added
+            fSamplingRequests.add(new SamplingRequest(fCallsites.size(), path, threadId, start, end));
         }
-        int threadId = function.getThreadId();
-        long lastSampleEnd = start;
-
-        AbstractCalledFunction nextFunction = (AbstractCalledFunction) callstack.getNextFunction(function.getStart(), nextLevel, function, model, Math.max(function.getStart(), start), Math.min(function.getEnd(), end));
-        while (nextFunction != null) {
-            // Add sampling data of the time between next function and beginning of next
-            // level
-            if (threadId > 0) {
-                Collection<AggregatedCallSite> samplingData = model.getSamplingData(threadId, lastSampleEnd, nextFunction.getStart());
-                samplingData.forEach(aggregatedCall::addCallee);
-                lastSampleEnd = nextFunction.getEnd();
+
+        /**
+         * Query the sampling data of the requests saved during the aggregation
+         * and add it to the callsites. This should be called after
+         * {@link #done()}, and before the callsites are added to a call graph.
+         */
+        void addSamplingData() {
+            for (SamplingRequest request : fSamplingRequests) {
+                Collection<AggregatedCallSite> samplingData = fModel.getSamplingData(request.fThreadId, request.fStart, request.fEnd);
+                if (samplingData.isEmpty()) {
+                    continue;
+                }
+                AggregatedCallSite callsite = fCallsites.get(request.fRoot);
+                for (ICallStackSymbol symbol : request.fPath) {
+                    callsite = getCallee(callsite, symbol);
+                }
+                samplingData.forEach(callsite::addCallee);
             }
-            AggregatedCalledFunction aggregatedChild = createCallSite(CallStackSymbolFactory.createSymbol(nextFunction.getSymbol(), element, nextFunction.getStart()));
-            iterateOverCallstack(element, callstack, nextFunction, nextLevel + 1, aggregatedChild, model, start, end, monitor);
-            aggregatedCall.addChild(nextFunction, aggregatedChild);
-            nextFunction = (AbstractCalledFunction) callstack.getNextFunction(nextFunction.getEnd(), nextLevel, function, model, Math.max(function.getStart(), start), Math.min(function.getEnd(), end));
+            fSamplingRequests.clear();
         }
-        // Get the sampling to the end of the function
-        if (threadId > 0) {
-            Collection<AggregatedCallSite> samplingData = model.getSamplingData(threadId, lastSampleEnd, function.getEnd() - lastSampleEnd);
-            samplingData.forEach(aggregatedCall::addCallee);
+
+        private AggregatedCallSite getCallee(AggregatedCallSite callsite, ICallStackSymbol symbol) {
+            for (AggregatedCallSite callee : callsite.getCallees()) {
+                if (callee.getSymbol().equals(symbol)) {
+                    return callee;
+                }
+            }
+            throw new IllegalStateException("Call Graph Analysis: No callee for symbol " + symbol); //$NON-NLS-1$
         }
     }
 
@@ -267,8 +408,15 @@ public class CallGraphAnalysis extends TmfAbstractAnalysisModule implements ICal
 
     @Override
     public CallGraph getCallGraph(ITmfTimestamp start, ITmfTimestamp end) {
-        CallGraph cg = new CallGraph();
-        executeForRange(cg, new TmfTimeRange(start, end), new NullProgressMonitor());
+        TmfTimeRange range = new TmfTimeRange(start, end);
+        CallGraph cg = fRangeCallGraphs.getIfPresent(range);
+        if (cg != null) {
+            return cg;
+        }
+        cg = new CallGraph();
+        if (executeForRange(cg, range, new NullProgressMonitor())) {
+            fRangeCallGraphs.put(range, cg);
+        }
         return cg;
     }
 
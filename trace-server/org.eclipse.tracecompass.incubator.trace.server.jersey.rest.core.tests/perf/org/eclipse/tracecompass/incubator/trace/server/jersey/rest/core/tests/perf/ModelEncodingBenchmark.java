@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.perf;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.GenericView;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.AbstractModelWriter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarModelWriter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.NdjsonModelWriter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.TmfXyResponseFactory;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.IYModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.internal.tmf.core.model.YModel;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Compares the serialization time and the payload size of the XY and time
+ * graph states responses in JSON, as the server sends them by default, with
+ * the NDJSON and columnar binary encodings. The benchmark fails if an encoding
+ * does not make the payload smaller than the previous one.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class ModelEncodingBenchmark {
+
+    /**
+     * Test ID for trace server benchmarks
+     */
+    public static final String TEST_ID = "org.eclipse.tracecompass.incubator#TraceServer#";
+    private static final String TEST_XY = "XY encoding: %s (%d series x %d samples)";
+    private static final String TEST_STATES = "States encoding: %s (%d rows x %d states)";
+
+    private static final int NB_SERIES = 200;
+    private static final int NB_SAMPLES = 2000;
+    private static final int NB_ROWS = 2000;
+    private static final int NB_STATES = 500;
+
+    private static final int LOOP_COUNT = 10;
+
+    private interface Encoder {
+        void write(GenericView<?> view, OutputStream out) throws IOException;
+    }
+
+    /**
+     * Run the benchmark on an XY response
+     *
+     * @throws IOException
+     *             if the encoding failed
+     */
+    @Test
+    public void runXyBenchmark() throws IOException {
+        long[] xValues = new long[NB_SAMPLES];
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            xValues[i] = 1_000_000_000L + i * 1000L;
+        }
+        Map<String, IYModel> series = new LinkedHashMap<>();
+        for (int s = 0; s < NB_SERIES; s++) {
+            double[] yValues = new double[NB_SAMPLES];
+            for (int i = 0; i < NB_SAMPLES; i++) {
+                yValues[i] = Math.abs(Math.sin(s + i / 100.0)) * 1000.0;
+            }
+            String name = "series" + s;
+            series.put(name, new YModel(name, yValues));
+        }
+        GenericView<?> view = new GenericView<>(null, TmfXyResponseFactory.create("Benchmark", xValues, series, true));
+        runBenchmark(view, TEST_XY, NB_SERIES, NB_SAMPLES);
+    }
+
+    /**
+     * Run the benchmark on a time graph states response
+     *
+     * @throws IOException
+     *             if the encoding failed
+     */
+    @Test
+    public void runStatesBenchmark() throws IOException {
+        List<ITimeGraphRowModel> rows = new ArrayList<>(NB_ROWS);
+        for (int r = 0; r < NB_ROWS; r++) {
+            List<ITimeGraphState> states = new ArrayList<>(NB_STATES);
+            long time = 1_000_000_000L;
+            for (int i = 0; i < NB_STATES; i++) {
+                long duration = 100 + (r * 31 + i * 17) % 1000;
+                String label = (i % 10 == 0) ? "label" + (i % 7) : null;
+                states.add(new TimeGraphState(time, duration, (r + i) % 8, label));
+                time += duration;
+            }
+            rows.add(new TimeGraphRowModel(r, states));
+        }
+        GenericView<?> view = new GenericView<>(null, new TmfModelResponse<>(rows, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED));
+        runBenchmark(view, TEST_STATES, NB_ROWS, NB_STATES);
+    }
+
+    private static void runBenchmark(GenericView<?> view, String testName, int nbRows, int nbColumns) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        JacksonJaxbJsonProvider provider = new JacksonJaxbJsonProvider();
+        provider.setMapper(mapper);
+        Encoder json = (v, out) -> provider.writeTo(v, GenericView.class, GenericView.class, new Annotation[0],
+                MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), out);
+        AbstractModelWriter ndjsonWriter = new NdjsonModelWriter();
+        AbstractModelWriter columnarWriter = new ColumnarModelWriter();
+
+        long jsonSize = measure(view, json, String.format(testName, "JSON", nbRows, nbColumns));
+        long ndjsonSize = measure(view, ndjsonWriter::write, String.format(testName, "NDJSON", nbRows, nbColumns));
+        long columnarSize = measure(view, columnarWriter::write, String.format(testName, "columnar", nbRows, nbColumns));
+
+        assertTrue("NDJSON (" + ndjsonSize + " B) should be smaller than indented JSON (" + jsonSize + " B)", ndjsonSize < jsonSize);
+        assertTrue("Columnar (" + columnarSize + " B) should be smaller than NDJSON (" + ndjsonSize + " B)", columnarSize < ndjsonSize);
+        assertTrue("Columnar (" + columnarSize + " B) should be at most the size of JSON (" + jsonSize + " B)", columnarSize <= jsonSize);
+    }
+
+    private static long measure(GenericView<?> view, Encoder encoder, String name) throws IOException {
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        long size = 0;
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            CountingOutputStream out = new CountingOutputStream(ByteStreams.nullOutputStream());
+            pm.start();
+            encoder.write(view, out);
+            out.flush();
+            pm.stop();
+            size = out.getCount();
+        }
+        pm.commit();
+        return size;
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.junit.Test;
+
+/**
+ * Load test of the trace server: concurrent clients query the traces and the
+ * tree of a data provider, with and without compression, to measure the
+ * effect of the thread pool and compression settings of the server (see
+ * ServerConfiguration).
+ *
+ * @author agent
+ */
+public class RestLoadBenchmark extends RestServerTest {
+
+    private static final String TEST_NAME = "REST load: %d clients%s";
+    private static final String CALL_STACK_DATAPROVIDER_ID = "org.eclipse.tracecompass.internal.tmf.core.callstack.provider.CallStackDataProvider"; //$NON-NLS-1$
+    private static final String PROVIDERS_PATH = "providers"; //$NON-NLS-1$
+    private static final String TREE_PATH = "tree"; //$NON-NLS-1$
+    private static final String GZIP = "gzip"; //$NON-NLS-1$
+
+    private static final int[] NB_CLIENTS = { 1, 8, 32 };
+    private static final int NB_REQUESTS_PER_CLIENT = 50;
+    private static final int LOOP_COUNT = 5;
+
+    /**
+     * Run the load test
+     *
+     * @throws Exception
+     *             if a client failed
+     */
+    @Test
+    public void runLoadTest() throws Exception {
+        WebTarget traces = getApplicationEndpoint().path(TRACES);
+        assertPost(traces, CONTEXT_SWITCHES_UST_STUB);
+
+        for (int nbClients : NB_CLIENTS) {
+            runLoad(nbClients, false);
+            runLoad(nbClients, true);
+        }
+    }
+
+    private static void runLoad(int nbClients, boolean compressed) throws Exception {
+        String name = String.format(TEST_NAME, nbClients, compressed ? " (gzip)" : ""); //$NON-NLS-1$ //$NON-NLS-2$
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(ModelEncodingBenchmark.TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.ELAPSED_PROCESS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(nbClients);
+        try {
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                List<Future<?>> futures = new ArrayList<>(nbClients);
+                pm.start();
+                for (int c = 0; c < nbClients; c++) {
+                    futures.add(clients.submit(() -> runClient(compressed)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                pm.stop();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        pm.commit();
+    }
+
+    private static void runClient(boolean compressed) {
+        /* Each client has its own connections */
+        WebTarget traces = getApplicationEndpoint().path(TRACES);
+        WebTarget trace = traces.path(CONTEXT_SWITCHES_UST_UUID.toString());
+        WebTarget tree = trace.path(PROVIDERS_PATH).path(CALL_STACK_DATAPROVIDER_ID).path(TREE_PATH)
+                .queryParam("start", 0L) //$NON-NLS-1$
+                .queryParam("end", Long.MAX_VALUE) //$NON-NLS-1$
+                .queryParam("nb", 2); //$NON-NLS-1$
+        String encoding = compressed ? GZIP : "identity"; //$NON-NLS-1$
+        for (int i = 0; i < NB_REQUESTS_PER_CLIENT; i++) {
+            for (WebTarget target : new WebTarget[] { traces, trace, tree }) {
+                Response response = target.request(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                        .get();
+                assertEquals(target.getUri().toString(), 200, response.getStatus());
+                /* Read the body, as a client would */
+                response.readEntity(byte[].class);
+                response.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.perf;
+
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.TraceRegistry;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+
+/**
+ * Compares the latency of the lookup of a trace by UUID in the
+ * {@link TraceRegistry} with a linear search of the list of opened traces, as
+ * the number of opened traces grows.
+ *
+ * @author agent
+ */
+public class TraceLookupBenchmark {
+
+    private static final String TEST_REGISTRY = "Trace lookup: registry (%d traces)";
+    private static final String TEST_LINEAR = "Trace lookup: linear search (%d traces)";
+
+    private static final int[] NB_TRACES = { 10, 100, 1000 };
+    private static final int NB_LOOKUPS = 10000;
+    private static final int LOOP_COUNT = 10;
+
+    /**
+     * Run the benchmark
+     */
+    @Test
+    public void runLookupBenchmark() {
+        for (int nbTraces : NB_TRACES) {
+            runBenchmark(nbTraces);
+        }
+    }
+
+    private static void runBenchmark(int nbTraces) {
+        TraceRegistry registry = TraceRegistry.getInstance();
+        String dir = System.getProperty("java.io.tmpdir") + File.separator + "traceLookupBenchmark" + File.separator; //$NON-NLS-1$ //$NON-NLS-2$
+        List<ITmfTrace> traces = new ArrayList<>(nbTraces);
+        List<UUID> uuids = new ArrayList<>(nbTraces);
+        try {
+            for (int i = 0; i < nbTraces; i++) {
+                ITmfTrace trace = new TmfExperiment(ITmfEvent.class, dir + "experiment" + i, new ITmfTrace[0], TmfExperiment.DEFAULT_INDEX_PAGE_SIZE, null); //$NON-NLS-1$
+                traces.add(trace);
+                uuids.add(Objects.requireNonNull(trace.getUUID()));
+                registry.add(trace);
+            }
+
+            /* The same random sequence of lookups for both */
+            UUID[] lookups = new UUID[NB_LOOKUPS];
+            Random random = new Random(nbTraces);
+            for (int i = 0; i < NB_LOOKUPS; i++) {
+                lookups[i] = uuids.get(random.nextInt(nbTraces));
+            }
+
+            measure(String.format(TEST_REGISTRY, nbTraces), lookups, uuid -> registry.get(uuid));
+            measure(String.format(TEST_LINEAR, nbTraces), lookups, uuid -> Iterables.tryFind(traces, t -> uuid.equals(t.getUUID())).orNull());
+
+            assertSame(traces.get(0), registry.get(uuids.get(0)));
+        } finally {
+            for (ITmfTrace trace : traces) {
+                registry.remove(trace);
+                trace.dispose();
+            }
+        }
+    }
+
+    private interface Lookup {
+        ITmfTrace find(UUID uuid);
+    }
+
+    private static void measure(String name, UUID[] lookups, Lookup lookup) {
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(ModelEncodingBenchmark.TEST_ID + name));
+        perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            for (UUID uuid : lookups) {
+                lookup.find(uuid);
+            }
+            pm.stop();
+        }
+        pm.commit();
+    }
+}
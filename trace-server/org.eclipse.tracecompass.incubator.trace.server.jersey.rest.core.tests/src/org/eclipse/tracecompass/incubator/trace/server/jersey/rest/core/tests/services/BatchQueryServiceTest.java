@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.DataProviderQuery;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.BatchQueryService;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test the {@link BatchQueryService}
+ *
+ * @author agent
+ */
+public class BatchQueryServiceTest extends RestServerTest {
+    private static final String BATCH_PATH = "batch";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CALL_STACK_DATAPROVIDER_ID = "org.eclipse.tracecompass.internal.tmf.core.callstack.provider.CallStackDataProvider";
+
+    /**
+     * Run a batch of queries and ensure that there is one result per query
+     *
+     * @throws IOException
+     *             if a result is not valid JSON
+     */
+    @Test
+    public void testBatch() throws IOException {
+        WebTarget traces = getApplicationEndpoint().path(TRACES);
+        RestServerTest.assertPost(traces, CONTEXT_SWITCHES_UST_STUB);
+        WebTarget batch = traces.path(CONTEXT_SWITCHES_UST_UUID.toString()).path(BATCH_PATH);
+
+        DataProviderQuery tree = new DataProviderQuery(CALL_STACK_DATAPROVIDER_ID, "tree", 0L, Long.MAX_VALUE, 2, null);
+        DataProviderQuery arrows = new DataProviderQuery(CALL_STACK_DATAPROVIDER_ID, "arrows", 0L, Long.MAX_VALUE, 2, null);
+        DataProviderQuery unknown = new DataProviderQuery("no.such.provider", "tree", 0L, Long.MAX_VALUE, 2, null);
+        Response response = batch.request(NDJSON).post(Entity.json(Arrays.asList(tree, arrows, unknown)));
+        assertEquals(200, response.getStatus());
+
+        String[] lines = response.readEntity(String.class).split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        Set<Integer> indexes = new HashSet<>();
+        for (String line : lines) {
+            JsonNode result = mapper.readTree(line);
+            int index = result.get("index").asInt();
+            indexes.add(index);
+            if (index == 2) {
+                assertTrue(result.get("response").isNull());
+                assertFalse(result.get("error").isNull());
+            } else {
+                assertEquals(CALL_STACK_DATAPROVIDER_ID, result.get("providerId").asText());
+                assertFalse(result.get("response").isNull());
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), indexes);
+    }
+
+    /**
+     * Ensure that invalid batches are rejected
+     */
+    @Test
+    public void testInvalidBatch() {
+        WebTarget traces = getApplicationEndpoint().path(TRACES);
+        RestServerTest.assertPost(traces, CONTEXT_SWITCHES_UST_STUB);
+        WebTarget batch = traces.path(CONTEXT_SWITCHES_UST_UUID.toString()).path(BATCH_PATH);
+
+        Response empty = batch.request(NDJSON).post(Entity.json(Collections.emptyList()));
+        assertEquals("An empty batch should be rejected", 400, empty.getStatus());
+
+        DataProviderQuery badType = new DataProviderQuery(CALL_STACK_DATAPROVIDER_ID, "pie", 0L, Long.MAX_VALUE, 2, null);
+        Response bad = batch.request(NDJSON).post(Entity.json(Collections.singletonList(badType)));
+        assertEquals("An unknown type of query should be rejected", 400, bad.getStatus());
+
+        DataProviderQuery noIds = new DataProviderQuery(CALL_STACK_DATAPROVIDER_ID, "states", 0L, Long.MAX_VALUE, 2, null);
+        Response missing = batch.request(NDJSON).post(Entity.json(Collections.singletonList(noIds)));
+        assertEquals("A states query without ids should be rejected", 400, missing.getStatus());
+    }
+}
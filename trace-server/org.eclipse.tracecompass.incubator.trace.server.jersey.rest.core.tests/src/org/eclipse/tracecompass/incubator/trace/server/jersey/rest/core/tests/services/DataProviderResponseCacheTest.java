@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache.QueryType;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+/**
+ * Test the {@link DataProviderResponseCache}
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class DataProviderResponseCacheTest {
+    private static final String PROVIDER_ID = "provider";
+
+    private final DataProviderResponseCache fCache = DataProviderResponseCache.getInstance();
+    private final AtomicInteger fFetches = new AtomicInteger();
+
+    /**
+     * Test that the completed responses are cached until their trace is
+     * invalidated
+     */
+    @Test
+    public void testCompleted() {
+        UUID uuid = UUID.randomUUID();
+        Supplier<TmfModelResponse<List<Long>>> fetcher = () -> fetch(ITmfResponse.Status.COMPLETED);
+
+        TmfModelResponse<List<Long>> first = get(uuid, fetcher);
+        assertSame(first, get(uuid, fetcher));
+        assertEquals(1, fFetches.get());
+
+        fCache.invalidate(uuid);
+        get(uuid, fetcher);
+        assertEquals(2, fFetches.get());
+    }
+
+    /**
+     * Test that the running responses are never cached
+     */
+    @Test
+    public void testRunningNotCached() {
+        UUID uuid = UUID.randomUUID();
+        Supplier<TmfModelResponse<List<Long>>> fetcher = () -> fetch(ITmfResponse.Status.RUNNING);
+
+        get(uuid, fetcher);
+        get(uuid, fetcher);
+        assertEquals(2, fFetches.get());
+    }
+
+    /**
+     * Test that a response fetched while its trace is invalidated is not
+     * cached, and that the other traces are not affected
+     */
+    @Test
+    public void testLateInsertAfterInvalidate() {
+        UUID uuid = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        Supplier<TmfModelResponse<List<Long>>> invalidating = () -> {
+            TmfModelResponse<List<Long>> response = fetch(ITmfResponse.Status.COMPLETED);
+            /* The trace is closed while the data provider is queried */
+            fCache.invalidate(uuid);
+            return response;
+        };
+        Supplier<TmfModelResponse<List<Long>>> fetcher = () -> fetch(ITmfResponse.Status.COMPLETED);
+
+        get(uuid, invalidating);
+        get(other, fetcher);
+        assertEquals(2, fFetches.get());
+
+        get(uuid, fetcher);
+        assertEquals(3, fFetches.get());
+        get(other, fetcher);
+        assertEquals(3, fFetches.get());
+
+        /* Once the invalidation is done, the responses are cached again */
+        get(uuid, fetcher);
+        assertEquals(3, fFetches.get());
+    }
+
+    private TmfModelResponse<List<Long>> get(UUID uuid, Supplier<TmfModelResponse<List<Long>>> fetcher) {
+        return fCache.get(uuid, PROVIDER_ID, QueryType.XY, 0, 10, 10, Collections.singleton(1L), fetcher);
+    }
+
+    private TmfModelResponse<List<Long>> fetch(ITmfResponse.Status status) {
+        fFetches.incrementAndGet();
+        return new TmfModelResponse<>(Collections.singletonList(1L), status,
+                status == ITmfResponse.Status.COMPLETED ? CommonStatusMessage.COMPLETED : CommonStatusMessage.RUNNING);
+    }
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Form;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EventTableService;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Test the {@link EventTableService}
+ *
+ * @author agent
+ */
+public class EventTableServiceTest extends RestServerTest {
+    private static final String EVENT_TABLE_PATH = "eventTable";
+    private static final String EVENT_TYPE = "Event type";
+    private static final String LOW = "low";
+    private static final String SIZE = "size";
+    private static final String CURSOR = "cursor";
+    private static final String LINES = "lines";
+    private static final String FILTERED_SIZE = "filteredSize";
+    private static final int PAGE_SIZE = 100;
+    private static final int NB_PAGES = 3;
+    private static final int NB_SAMPLES = 2000;
+    /* Number of filters whose index is kept for a trace */
+    private static final int MAX_FILTERS_PER_TRACE = 16;
+
+    /**
+     * Test that the filtered query without filters returns the same events
+     * as the unfiltered one, with the historical meaning of low: size + 1
+     * events from the (low - 1)th event, or size events from the first one if
+     * low is 0.
+     */
+    @Test
+    public void testLowBackwardCompatibility() {
+        WebTarget table = getEventTable();
+
+        List<JsonNode> first = getLines(get(table, 0, PAGE_SIZE));
+        assertEquals(PAGE_SIZE, first.size());
+        assertEquals(first, getLines(put(table, 0, PAGE_SIZE, null, new Form())));
+
+        List<JsonNode> fromOne = getLines(put(table, 1, PAGE_SIZE, null, new Form()));
+        assertEquals(getLines(get(table, 0, PAGE_SIZE + 1)), fromOne);
+
+        List<JsonNode> fromLow = getLines(put(table, 250, PAGE_SIZE, null, new Form()));
+        assertEquals(getLines(get(table, 249, PAGE_SIZE + 1)), fromLow);
+    }
+
+    /**
+     * Test that the pages read with the cursors are the same as those read
+     * with low, and that the number of matching events does not change
+     */
+    @Test
+    public void testCursorPaging() {
+        WebTarget table = getEventTable();
+        Form filter = getEventTypeFilter(table);
+
+        /* The first query of the filter counts the matching events */
+        JsonNode all = put(table, 0, PAGE_SIZE * NB_PAGES, null, filter);
+        long filteredSize = all.get(FILTERED_SIZE).asLong();
+        List<JsonNode> expected = getLines(all);
+        assertEquals(PAGE_SIZE * NB_PAGES, expected.size());
+        assertTrue(filteredSize >= expected.size());
+
+        List<JsonNode> paged = new ArrayList<>();
+        String cursor = null;
+        for (int i = 0; i < NB_PAGES; i++) {
+            JsonNode page = put(table, 0, PAGE_SIZE, cursor, filter);
+            assertEquals(filteredSize, page.get(FILTERED_SIZE).asLong());
+            paged.addAll(getLines(page));
+            cursor = getCursor(page);
+            assertNotNull(cursor);
+        }
+        assertEquals(expected, paged);
+
+        /* A page from low starts at the (low - 1)th matching event */
+        List<JsonNode> fromLow = getLines(put(table, PAGE_SIZE + 1, PAGE_SIZE - 1, null, filter));
+        assertEquals(expected.subList(PAGE_SIZE, 2 * PAGE_SIZE), fromLow);
+    }
+
+    /**
+     * Test that a cursor sent when the matching events are not counted, here
+     * because the index of its filter was dropped, still returns the right
+     * page, and that the count is then kept
+     */
+    @Test
+    public void testCursorBeforeCount() {
+        WebTarget table = getEventTable();
+        Form filter = getEventTypeFilter(table);
+
+        JsonNode firstPage = put(table, 0, PAGE_SIZE, null, filter);
+        String cursor = getCursor(firstPage);
+        assertNotNull(cursor);
+        long filteredSize = firstPage.get(FILTERED_SIZE).asLong();
+
+        /* Use more filters than the indexes kept per trace */
+        String regex = filter.asMap().getFirst(EVENT_TYPE);
+        for (int i = 0; i < MAX_FILTERS_PER_TRACE; i++) {
+            put(table, 0, 1, null, new Form(EVENT_TYPE, regex + "|other" + i)); //$NON-NLS-1$
+        }
+
+        JsonNode secondPage = put(table, 0, PAGE_SIZE, cursor, filter);
+        assertEquals(filteredSize, secondPage.get(FILTERED_SIZE).asLong());
+        assertEquals(getLines(put(table, PAGE_SIZE + 1, PAGE_SIZE - 1, null, filter)), getLines(secondPage));
+
+        /* The count is kept, the next page is read from the cursor */
+        JsonNode thirdPage = put(table, 0, PAGE_SIZE, getCursor(secondPage), filter);
+        assertEquals(filteredSize, thirdPage.get(FILTERED_SIZE).asLong());
+        assertEquals(getLines(put(table, 2 * PAGE_SIZE + 1, PAGE_SIZE - 1, null, filter)), getLines(thirdPage));
+    }
+
+    /**
+     * Test that the cursors are rejected with another filter or another trace
+     */
+    @Test
+    public void testCursorOfAnotherFilterOrTrace() {
+        WebTarget table = getEventTable();
+        Form filter = getEventTypeFilter(table);
+        String filteredCursor = getCursor(put(table, 0, PAGE_SIZE, null, filter));
+        assertNotNull(filteredCursor);
+        String cursor = getCursor(get(table, 0, PAGE_SIZE));
+        assertNotNull(cursor);
+
+        /* Matches the same events, but it is another filter */
+        String regex = filter.asMap().getFirst(EVENT_TYPE);
+        Form other = new Form(EVENT_TYPE, "(?:" + regex + ')');
+        assertEquals(400, table.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, filteredCursor).request().put(Entity.form(other)).getStatus());
+        assertEquals(400, table.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, filteredCursor).request().get().getStatus());
+        assertEquals(400, table.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, cursor).request().put(Entity.form(filter)).getStatus());
+
+        WebTarget traces = getApplicationEndpoint().path(TRACES);
+        assertPost(traces, CONTEXT_SWITCHES_KERNEL_STUB);
+        WebTarget otherTable = traces.path(CONTEXT_SWITCHES_KERNEL_UUID.toString()).path(EVENT_TABLE_PATH);
+        assertEquals(400, otherTable.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, cursor).request().get().getStatus());
+        assertEquals(200, table.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, cursor).request().get().getStatus());
+    }
+
+    /**
+     * Test the last page and the invalid cursors
+     */
+    @Test
+    public void testLastPageAndInvalidCursor() {
+        WebTarget table = getEventTable();
+        Form filter = getEventTypeFilter(table);
+
+        long filteredSize = put(table, 0, PAGE_SIZE, null, filter).get(FILTERED_SIZE).asLong();
+        JsonNode last = put(table, filteredSize, PAGE_SIZE, null, filter);
+        assertEquals(1, getLines(last).size());
+        assertEquals(null, getCursor(last));
+
+        Response invalid = table.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, "not a cursor").request().get();
+        assertEquals(400, invalid.getStatus());
+        invalid = table.queryParam(LOW, 0).queryParam(SIZE, PAGE_SIZE).queryParam(CURSOR, "not a cursor").request().put(Entity.form(filter));
+        assertEquals(400, invalid.getStatus());
+    }
+
+    private static WebTarget getEventTable() {
+        WebTarget traces = getApplicationEndpoint().path(TRACES);
+        assertPost(traces, CONTEXT_SWITCHES_UST_STUB);
+        return traces.path(CONTEXT_SWITCHES_UST_UUID.toString()).path(EVENT_TABLE_PATH);
+    }
+
+    /**
+     * Filter on the most frequent type of the first events, the regular
+     * expression is anchored so it only matches this type
+     */
+    private static Form getEventTypeFilter(WebTarget table) {
+        JsonNode view = get(table, 0, NB_SAMPLES);
+        List<String> columns = new ArrayList<>();
+        view.get("columns").forEach(column -> columns.add(column.asText()));
+        int column = columns.indexOf(EVENT_TYPE);
+        assertTrue(column >= 0);
+        Map<String, Integer> counts = new HashMap<>();
+        for (JsonNode line : getLines(view)) {
+            counts.merge(line.get(column).asText(), 1, Integer::sum);
+        }
+        String type = Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+        assertFalse(type.isEmpty());
+        return new Form(EVENT_TYPE, '^' + Pattern.quote(type) + '$');
+    }
+
+    private static JsonNode get(WebTarget table, long low, int size) {
+        Response response = table.queryParam(LOW, low).queryParam(SIZE, size).request().get();
+        assertEquals(200, response.getStatus());
+        return response.readEntity(JsonNode.class);
+    }
+
+    private static JsonNode put(WebTarget table, long low, int size, String cursor, Form filter) {
+        WebTarget target = table.queryParam(LOW, low).queryParam(SIZE, size);
+        if (cursor != null) {
+            target = target.queryParam(CURSOR, cursor);
+        }
+        Response response = target.request().put(Entity.form(filter));
+        assertEquals(200, response.getStatus());
+        return response.readEntity(JsonNode.class);
+    }
+
+    private static List<JsonNode> getLines(JsonNode view) {
+        List<JsonNode> lines = new ArrayList<>();
+        view.get(LINES).forEach(lines::add);
+        return lines;
+    }
+
+    private static String getCursor(JsonNode view) {
+        JsonNode cursor = view.get(CURSOR);
+        return (cursor == null || cursor.isNull()) ? null : cursor.asText();
+    }
+}
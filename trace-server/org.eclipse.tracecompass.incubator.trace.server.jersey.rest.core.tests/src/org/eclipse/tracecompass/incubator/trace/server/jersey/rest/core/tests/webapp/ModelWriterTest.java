@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.webapp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.GenericView;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.AbstractModelWriter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarModelWriter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.NdjsonModelWriter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.TmfXyResponseFactory;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.IYModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.internal.tmf.core.model.YModel;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test that the XY and time graph states responses written by the
+ * {@link NdjsonModelWriter} and the {@link ColumnarModelWriter} decode back to
+ * the same models. There are more series and rows than the lines written
+ * between two flushes of the NDJSON stream.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public class ModelWriterTest {
+
+    private static final String TITLE = "Title \u00e9";
+    private static final int NB_SERIES = 300;
+    private static final int NB_SAMPLES = 50;
+    private static final int NB_ROWS = 600;
+
+    private final ObjectMapper fMapper = new ObjectMapper();
+
+    /**
+     * Decoded XY model
+     */
+    private static final class Xy {
+        private final String fTitle;
+        private final long[] fXValues;
+        private final Map<String, double[]> fSeries = new LinkedHashMap<>();
+
+        public Xy(String title, long[] xValues) {
+            fTitle = title;
+            fXValues = xValues;
+        }
+    }
+
+    /**
+     * Test the round trip of an XY response in NDJSON
+     *
+     * @throws IOException
+     *             if the response could not be written
+     */
+    @Test
+    public void testNdjsonXy() throws IOException {
+        TmfModelResponse<ITmfXyModel> response = createXy();
+        List<JsonNode> lines = readNdjson(write(new NdjsonModelWriter(), response));
+        assertEquals(NB_SERIES + 1, lines.size());
+
+        JsonNode header = lines.get(0);
+        assertHeader(header, "xy");
+        long[] xValues = new long[header.get("xValues").size()];
+        for (int i = 0; i < xValues.length; i++) {
+            xValues[i] = header.get("xValues").get(i).asLong();
+        }
+        Xy decoded = new Xy(header.get("title").asText(), xValues);
+        for (JsonNode line : lines.subList(1, lines.size())) {
+            assertEquals("series", line.get("type").asText());
+            JsonNode yNode = line.get("yValues");
+            double[] yValues = new double[yNode.size()];
+            for (int i = 0; i < yValues.length; i++) {
+                yValues[i] = yNode.get(i).asDouble();
+            }
+            decoded.fSeries.put(line.get("name").asText(), yValues);
+        }
+        assertXy(response, decoded);
+    }
+
+    /**
+     * Test the round trip of a time graph states response in NDJSON
+     *
+     * @throws IOException
+     *             if the response could not be written
+     */
+    @Test
+    public void testNdjsonStates() throws IOException {
+        TmfModelResponse<List<ITimeGraphRowModel>> response = createRows();
+        List<JsonNode> lines = readNdjson(write(new NdjsonModelWriter(), response));
+        assertEquals(NB_ROWS + 1, lines.size());
+        assertHeader(lines.get(0), "states");
+
+        List<ITimeGraphRowModel> decoded = new ArrayList<>();
+        for (JsonNode line : lines.subList(1, lines.size())) {
+            assertEquals("row", line.get("type").asText());
+            JsonNode starts = line.get("starts");
+            JsonNode durations = line.get("durations");
+            JsonNode values = line.get("values");
+            JsonNode labels = line.get("labels");
+            List<ITimeGraphState> states = new ArrayList<>();
+            for (int i = 0; i < starts.size(); i++) {
+                String label = (labels == null || labels.get(i).isNull()) ? null : labels.get(i).asText();
+                states.add(new TimeGraphState(starts.get(i).asLong(), durations.get(i).asLong(), values.get(i).asInt(), label));
+            }
+            decoded.add(new TimeGraphRowModel(line.get("entryID").asLong(), states));
+        }
+        assertRows(response.getModel(), decoded);
+    }
+
+    /**
+     * Test the round trip of an XY response in the columnar encoding
+     *
+     * @throws IOException
+     *             if the response could not be written or read
+     */
+    @Test
+    public void testColumnarXy() throws IOException {
+        TmfModelResponse<ITmfXyModel> response = createXy();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(write(new ColumnarModelWriter(), response)));
+        assertColumnarHeader(in, ColumnarModelWriter.KIND_XY);
+
+        String title = readString(in);
+        long[] xValues = new long[in.readInt()];
+        for (int i = 0; i < xValues.length; i++) {
+            xValues[i] = in.readLong();
+        }
+        Xy decoded = new Xy(title, xValues);
+        int nbSeries = in.readInt();
+        for (int s = 0; s < nbSeries; s++) {
+            String name = readString(in);
+            double[] yValues = new double[in.readInt()];
+            for (int i = 0; i < yValues.length; i++) {
+                yValues[i] = in.readDouble();
+            }
+            decoded.fSeries.put(name, yValues);
+        }
+        assertEquals(-1, in.read());
+        assertXy(response, decoded);
+    }
+
+    /**
+     * Test the round trip of a time graph states response in the columnar
+     * encoding
+     *
+     * @throws IOException
+     *             if the response could not be written or read
+     */
+    @Test
+    public void testColumnarStates() throws IOException {
+        TmfModelResponse<List<ITimeGraphRowModel>> response = createRows();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(write(new ColumnarModelWriter(), response)));
+        assertColumnarHeader(in, ColumnarModelWriter.KIND_STATES);
+
+        /* The labels are indexes in the table after the last row */
+        List<Long> entryIds = new ArrayList<>();
+        List<long[][]> columns = new ArrayList<>();
+        while (in.readByte() == 1) {
+            entryIds.add(in.readLong());
+            long[][] row = new long[4][];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = new long[in.readInt()];
+                for (int i = 0; i < row[c].length; i++) {
+                    row[c][i] = (c < 2) ? in.readLong() : in.readInt();
+                }
+            }
+            columns.add(row);
+        }
+        String[] labels = new String[in.readInt()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = readString(in);
+        }
+        assertEquals(-1, in.read());
+
+        List<ITimeGraphRowModel> decoded = new ArrayList<>();
+        for (int r = 0; r < entryIds.size(); r++) {
+            long[][] row = columns.get(r);
+            List<ITimeGraphState> states = new ArrayList<>();
+            for (int i = 0; i < row[0].length; i++) {
+                String label = (row[3][i] < 0) ? null : labels[(int) row[3][i]];
+                states.add(new TimeGraphState(row[0][i], row[1][i], (int) row[2][i], label));
+            }
+            decoded.add(new TimeGraphRowModel(entryIds.get(r), states));
+        }
+        assertRows(response.getModel(), decoded);
+    }
+
+    private static TmfModelResponse<ITmfXyModel> createXy() {
+        long[] xValues = new long[NB_SAMPLES];
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            xValues[i] = 1_000_000_000L + i * 1000L;
+        }
+        Map<String, IYModel> series = new LinkedHashMap<>();
+        for (int s = 0; s < NB_SERIES; s++) {
+            double[] yValues = new double[NB_SAMPLES];
+            for (int i = 0; i < NB_SAMPLES; i++) {
+                yValues[i] = Math.sin(s + i / 10.0) * 1000.0;
+            }
+            String name = "series " + s;
+            series.put(name, new YModel(name, yValues));
+        }
+        return TmfXyResponseFactory.create(TITLE, xValues, series, true);
+    }
+
+    private static TmfModelResponse<List<ITimeGraphRowModel>> createRows() {
+        List<ITimeGraphRowModel> rows = new ArrayList<>(NB_ROWS);
+        for (int r = 0; r < NB_ROWS; r++) {
+            List<ITimeGraphState> states = new ArrayList<>();
+            long time = 1_000_000_000L;
+            /* Every third row has no state, every other row has labels */
+            int nbStates = (r % 3 == 0) ? 0 : 1 + r % 7;
+            for (int i = 0; i < nbStates; i++) {
+                long duration = 100 + (r * 31 + i * 17) % 1000;
+                String label = (r % 2 == 1 && i % 3 != 0) ? "label " + (i % 4) + " \u00fc" : null;
+                states.add(new TimeGraphState(time, duration, (r + i) % 8 - 1, label));
+                time += duration;
+            }
+            rows.add(new TimeGraphRowModel(r, states));
+        }
+        return new TmfModelResponse<>(rows, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+    }
+
+    private static byte[] write(AbstractModelWriter writer, TmfModelResponse<?> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(new GenericView<>(null, response), out);
+        return out.toByteArray();
+    }
+
+    private List<JsonNode> readNdjson(byte[] bytes) throws IOException {
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        assertTrue(text.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            lines.add(fMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static void assertHeader(JsonNode header, String model) {
+        assertEquals("header", header.get("type").asText());
+        assertTrue(header.get("trace").isNull());
+        assertEquals(ITmfResponse.Status.COMPLETED.name(), header.get("status").asText());
+        assertEquals(CommonStatusMessage.COMPLETED, header.get("statusMessage").asText());
+        assertEquals(model, header.get("model").asText());
+    }
+
+    private static void assertColumnarHeader(DataInputStream in, byte kind) throws IOException {
+        assertEquals(ColumnarModelWriter.MAGIC, in.readInt());
+        assertNull(readString(in));
+        assertEquals(ITmfResponse.Status.COMPLETED.name(), readString(in));
+        assertEquals(CommonStatusMessage.COMPLETED, readString(in));
+        assertEquals(kind, in.readByte());
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void assertXy(TmfModelResponse<ITmfXyModel> expected, Xy actual) {
+        ITmfXyModel model = expected.getModel();
+        assertEquals(model.getTitle(), actual.fTitle);
+        assertArrayEquals(model.getXAxis(), actual.fXValues);
+        assertEquals(new ArrayList<>(model.getData().keySet()), new ArrayList<>(actual.fSeries.keySet()));
+        for (Entry<String, IYModel> entry : model.getData().entrySet()) {
+            assertArrayEquals(entry.getKey(), entry.getValue().getData(), actual.fSeries.get(entry.getKey()), 0.0);
+        }
+    }
+
+    private static void assertRows(List<ITimeGraphRowModel> expected, List<ITimeGraphRowModel> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int r = 0; r < expected.size(); r++) {
+            ITimeGraphRowModel expectedRow = expected.get(r);
+            ITimeGraphRowModel actualRow = actual.get(r);
+            assertEquals(expectedRow.getEntryID(), actualRow.getEntryID());
+            assertEquals(toList(expectedRow), toList(actualRow));
+        }
+    }
+
+    private static List<List<Object>> toList(ITimeGraphRowModel row) {
+        List<List<Object>> states = new ArrayList<>();
+        for (ITimeGraphState state : row.getStates()) {
+            states.add(Arrays.asList(state.getStartTime(), state.getDuration(), state.getValue(), state.getLabel()));
+        }
+        return states;
+    }
+}
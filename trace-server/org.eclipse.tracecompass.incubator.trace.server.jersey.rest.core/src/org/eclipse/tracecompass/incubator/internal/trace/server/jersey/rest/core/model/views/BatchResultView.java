@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+
+/**
+ * Result of one query of a batch of data provider queries. The results are
+ * sent in the order in which the queries complete, so each one carries the
+ * index of its query in the batch.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+@XmlRootElement
+public class BatchResultView {
+    private final int fIndex;
+    private final DataProviderQuery fQuery;
+    private final @Nullable TmfModelResponse<?> fResponse;
+    private final @Nullable String fError;
+
+    /**
+     * Constructor
+     *
+     * @param index
+     *            index of the query in the batch
+     * @param query
+     *            the query
+     * @param response
+     *            the response of the data provider, null if the query failed
+     * @param error
+     *            why the query failed, null if it did not
+     */
+    public BatchResultView(int index, DataProviderQuery query, @Nullable TmfModelResponse<?> response, @Nullable String error) {
+        fIndex = index;
+        fQuery = query;
+        fResponse = response;
+        fError = error;
+    }
+
+    /**
+     * Getter for the index of the query in the batch
+     *
+     * @return the index
+     */
+    @XmlElement
+    public int getIndex() {
+        return fIndex;
+    }
+
+    /**
+     * Getter for the data provider ID
+     *
+     * @return the data provider ID
+     */
+    @XmlElement
+    public @Nullable String getProviderId() {
+        return fQuery.getProviderId();
+    }
+
+    /**
+     * Getter for the kind of query
+     *
+     * @return the kind of query
+     */
+    @XmlElement
+    public @Nullable String getType() {
+        return fQuery.getType();
+    }
+
+    /**
+     * Getter for the response of the data provider
+     *
+     * @return the response, null if the query failed
+     */
+    @XmlElement
+    public @Nullable TmfModelResponse<?> getResponse() {
+        return fResponse;
+    }
+
+    /**
+     * Getter for the error
+     *
+     * @return why the query failed, null if it did not
+     */
+    @XmlElement
+    public @Nullable String getError() {
+        return fError;
+    }
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views;
+
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * One query of a batch of data provider queries on a trace, with the same
+ * parameters as the query of the single data provider endpoints
+ *
+ * @author agent
+ */
+@XmlRootElement
+public class DataProviderQuery {
+
+    private @Nullable String fProviderId;
+    private @Nullable String fType;
+    private long fStart;
+    private long fEnd;
+    private int fNb;
+    private @Nullable List<Long> fIds;
+
+    /**
+     * empty constructor for Jackson
+     */
+    public DataProviderQuery() {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param providerId
+     *            Eclipse extension point ID for the data provider to query
+     * @param type
+     *            the kind of query: tree, xy, states or arrows
+     * @param start
+     *            lower bound for the query
+     * @param end
+     *            upper bound for the query
+     * @param nb
+     *            number of data points
+     * @param ids
+     *            ids of the entries to query, for the xy and states queries
+     */
+    public DataProviderQuery(String providerId, String type, long start, long end, int nb, @Nullable List<Long> ids) {
+        fProviderId = providerId;
+        fType = type;
+        fStart = start;
+        fEnd = end;
+        fNb = nb;
+        fIds = ids;
+    }
+
+    /**
+     * Getter for the data provider ID
+     *
+     * @return the data provider ID
+     */
+    @XmlElement
+    public @Nullable String getProviderId() {
+        return fProviderId;
+    }
+
+    /**
+     * Setter for the data provider ID
+     *
+     * @param providerId
+     *            the data provider ID
+     */
+    public void setProviderId(String providerId) {
+        fProviderId = providerId;
+    }
+
+    /**
+     * Getter for the kind of query
+     *
+     * @return tree, xy, states or arrows
+     */
+    @XmlElement
+    public @Nullable String getType() {
+        return fType;
+    }
+
+    /**
+     * Setter for the kind of query
+     *
+     * @param type
+     *            tree, xy, states or arrows
+     */
+    public void setType(String type) {
+        fType = type;
+    }
+
+    /**
+     * Getter for the lower bound of the query
+     *
+     * @return the lower bound
+     */
+    @XmlElement
+    public long getStart() {
+        return fStart;
+    }
+
+    /**
+     * Setter for the lower bound of the query
+     *
+     * @param start
+     *            the lower bound
+     */
+    public void setStart(long start) {
+        fStart = start;
+    }
+
+    /**
+     * Getter for the upper bound of the query
+     *
+     * @return the upper bound
+     */
+    @XmlElement
+    public long getEnd() {
+        return fEnd;
+    }
+
+    /**
+     * Setter for the upper bound of the query
+     *
+     * @param end
+     *            the upper bound
+     */
+    public void setEnd(long end) {
+        fEnd = end;
+    }
+
+    /**
+     * Getter for the number of data points
+     *
+     * @return the number of data points
+     */
+    @XmlElement
+    public int getNb() {
+        return fNb;
+    }
+
+    /**
+     * Setter for the number of data points
+     *
+     * @param nb
+     *            the number of data points
+     */
+    public void setNb(int nb) {
+        fNb = nb;
+    }
+
+    /**
+     * Getter for the ids of the queried entries
+     *
+     * @return the ids of the entries, null for the tree and arrows queries
+     */
+    @XmlElement
+    public @Nullable List<Long> getIds() {
+        return fIds;
+    }
+
+    /**
+     * Setter for the ids of the queried entries
+     *
+     * @param ids
+     *            the ids of the entries
+     */
+    public void setIds(@Nullable List<Long> ids) {
+        fIds = ids;
+    }
+}
@@ -20,6 +20,7 @@ import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
@@ -41,6 +42,7 @@ public class EventView {
     private int fSize;
     private Map<String, String> fFilters;
     private long fFilteredSize;
+    private @Nullable String fCursor;
 
     /**
      * empty constructor for Jackson
@@ -59,8 +61,10 @@ public class EventView {
      *            number of events to return
      * @param lines
      *            the array of event view values to include
+     * @param cursor
+     *            the cursor of the next page, null if this is the last page
      */
-    public EventView(@NonNull ITmfTrace trace, long low, int size, List<List<String>> lines) {
+    public EventView(@NonNull ITmfTrace trace, long low, int size, List<List<String>> lines, @Nullable String cursor) {
         fTrace = trace;
         fColumns = Lists.newArrayList(Iterables.transform(trace.getEventAspects(), ITmfEventAspect::getName));
         fLow = low;
@@ -68,6 +72,7 @@ public class EventView {
         fLines = lines;
         fFilters = Collections.emptyMap();
         fFilteredSize = trace.getNbEvents();
+        fCursor = cursor;
     }
 
     /**
@@ -86,8 +91,11 @@ public class EventView {
      *            the array of event view values to include
      * @param filteredSize
      *            the number of events that match the filters
+     * @param cursor
+     *            the cursor of the next page, null if this is the last page
      */
-    public EventView(@NonNull ITmfTrace trace, long low, int size, MultivaluedMap<String, String> filters, List<List<String>> lines, long filteredSize) {
+    public EventView(@NonNull ITmfTrace trace, long low, int size, MultivaluedMap<String, String> filters, List<List<String>> lines, long filteredSize,
+            @Nullable String cursor) {
         fTrace = trace;
         fColumns = Lists.newArrayList(Iterables.transform(trace.getEventAspects(), ITmfEventAspect::getName));
         fLow = low;
@@ -95,6 +103,7 @@ public class EventView {
         fFilteredSize = filteredSize;
         fLines = lines;
         fFilters = multiValuedMapToMap(filters);
+        fCursor = cursor;
     }
 
     /**
@@ -169,6 +178,17 @@ public class EventView {
         return fFilteredSize;
     }
 
+    /**
+     * Opaque cursor of the next page, to send back with the same filters to
+     * read the next page without reading the trace from its start.
+     *
+     * @return the cursor of the next page, or null if this is the last page
+     */
+    @XmlElement
+    public @Nullable String getCursor() {
+        return fCursor;
+    }
+
     private static Map<String, String> multiValuedMapToMap(MultivaluedMap<String, String> multivaluedMap) {
         Map<String, String> map = new HashMap<>();
         for (String key : multivaluedMap.keySet()) {
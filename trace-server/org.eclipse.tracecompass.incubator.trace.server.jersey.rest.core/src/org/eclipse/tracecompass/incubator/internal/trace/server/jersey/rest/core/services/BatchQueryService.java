@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.BatchResultView;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.DataProviderQuery;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache.QueryType;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.NdjsonModelWriter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.filters.SelectionTimeQueryFilter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.filters.TimeQueryFilter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphEntryModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.ITmfTreeDataModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.tree.ITmfTreeDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.ITmfTreeXYDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.internal.tmf.analysis.xml.core.module.XmlUtils.OutputType;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderManager;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.glassfish.jersey.server.ChunkedOutput;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Service to run several queries of the data providers of a trace in one
+ * request, for example for a dashboard which shows several views. The trace
+ * is resolved once, the queries run in parallel and each result is streamed
+ * back as a line of NDJSON as soon as its query completes.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+@Path("/traces/{uuid}/batch")
+public class BatchQueryService {
+    private static final String NO_PROVIDER = "Analysis cannot run"; //$NON-NLS-1$
+    private static final String NO_SUCH_TRACE = "No Such Trace"; //$NON-NLS-1$
+    private static final String TOO_MANY_REQUESTS = "Too many pending requests"; //$NON-NLS-1$
+
+    /* The lines of NDJSON must not be indented */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final DataProviderManager manager = DataProviderManager.getInstance();
+    private final DataProviderResponseCache fCache = DataProviderResponseCache.getInstance();
+    private final DataProviderRequestExecutor fExecutor = DataProviderRequestExecutor.getInstance();
+
+    /**
+     * Run a batch of queries on the data providers of a trace
+     *
+     * @param uuid
+     *            desired trace UUID
+     * @param queries
+     *            the queries, each with the provider ID, the kind of query
+     *            (tree, xy, states or arrows) and its parameters
+     * @return a stream of {@link BatchResultView}, one per line, in the order
+     *         in which the queries complete
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(NdjsonModelWriter.MEDIA_TYPE)
+    public Response postBatch(@PathParam("uuid") UUID uuid, List<DataProviderQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            return Response.status(Status.BAD_REQUEST).entity("No queries").build(); //$NON-NLS-1$
+        }
+        ITmfTrace trace = TraceManagerService.getTraceByUUID(uuid);
+        if (trace == null) {
+            return Response.status(Status.NOT_FOUND).entity(NO_SUCH_TRACE).build();
+        }
+
+        List<QueryType> types = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            DataProviderQuery query = queries.get(i);
+            QueryType type = getType(query);
+            if (type == null) {
+                return Response.status(Status.BAD_REQUEST).entity("Invalid query " + i).build(); //$NON-NLS-1$
+            }
+            types.add(type);
+        }
+
+        ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+        IProgressMonitor monitor = new NullProgressMonitor();
+        AtomicInteger remaining = new AtomicInteger(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            int index = i;
+            DataProviderQuery query = queries.get(i);
+            QueryType type = types.get(i);
+            try {
+                fExecutor.execute(() -> write(output, monitor, remaining, run(trace, uuid, index, query, type, monitor)));
+            } catch (RejectedExecutionException e) {
+                write(output, monitor, remaining, new BatchResultView(index, query, null, TOO_MANY_REQUESTS));
+            }
+        }
+        return Response.ok(output).build();
+    }
+
+    /**
+     * Get the kind of a query, if the query is complete
+     */
+    private static @Nullable QueryType getType(@Nullable DataProviderQuery query) {
+        if (query == null || query.getProviderId() == null || query.getType() == null) {
+            return null;
+        }
+        QueryType type;
+        try {
+            type = QueryType.valueOf(Objects.requireNonNull(query.getType()).toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if ((type == QueryType.XY || type == QueryType.STATES) && query.getIds() == null) {
+            return null;
+        }
+        return type;
+    }
+
+    private BatchResultView run(ITmfTrace trace, UUID uuid, int index, DataProviderQuery query, QueryType type, IProgressMonitor monitor) {
+        String providerId = Objects.requireNonNull(query.getProviderId());
+        long start = query.getStart();
+        long end = query.getEnd();
+        int nb = query.getNb();
+        List<Long> ids = query.getIds();
+        try {
+            TmfModelResponse<?> response = null;
+            switch (type) {
+            case TREE: {
+                ITmfTreeDataProvider<? extends @NonNull ITmfTreeDataModel> provider = manager.getDataProvider(trace,
+                        providerId, ITmfTreeDataProvider.class);
+                if (provider == null) {
+                    provider = DataProviderService.getXmlProvider(trace, providerId, EnumSet.allOf(OutputType.class));
+                }
+                if (provider != null) {
+                    ITmfTreeDataProvider<? extends @NonNull ITmfTreeDataModel> treeProvider = provider;
+                    response = fCache.get(uuid, providerId, type, start, end, nb, null,
+                            () -> treeProvider.fetchTree(new TimeQueryFilter(start, end, nb), monitor));
+                }
+                break;
+            }
+            case XY: {
+                ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> provider = manager.getDataProvider(trace,
+                        providerId, ITmfTreeXYDataProvider.class);
+                if (provider == null) {
+                    provider = DataProviderService.getXmlProvider(trace, providerId, EnumSet.of(OutputType.XY));
+                }
+                if (provider != null && ids != null) {
+                    ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> xyProvider = provider;
+                    response = fCache.get(uuid, providerId, type, start, end, nb, ids,
+                            () -> xyProvider.fetchXY(new SelectionTimeQueryFilter(start, end, nb, ids), monitor));
+                }
+                break;
+            }
+            case STATES:
+            case ARROWS: {
+                ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> provider = manager.getDataProvider(trace,
+                        providerId, ITimeGraphDataProvider.class);
+                if (provider == null) {
+                    provider = DataProviderService.getXmlProvider(trace, providerId, EnumSet.of(OutputType.TIME_GRAPH));
+                }
+                if (provider != null && type == QueryType.STATES && ids != null) {
+                    ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> statesProvider = provider;
+                    response = fCache.get(uuid, providerId, type, start, end, nb, ids,
+                            () -> statesProvider.fetchRowModel(new SelectionTimeQueryFilter(start, end, nb, ids), monitor));
+                } else if (provider != null) {
+                    ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> arrowsProvider = provider;
+                    response = fCache.get(uuid, providerId, type, start, end, nb, null,
+                            () -> arrowsProvider.fetchArrows(new TimeQueryFilter(start, end, nb), monitor));
+                }
+                break;
+            }
+            default:
+                break;
+            }
+            if (response == null) {
+                // The analysis cannot be run on this trace
+                return new BatchResultView(index, query, null, NO_PROVIDER);
+            }
+            return new BatchResultView(index, query, response, null);
+        } catch (RuntimeException e) {
+            Activator.getInstance().logError("Failed to query the data provider " + providerId, e); //$NON-NLS-1$
+            return new BatchResultView(index, query, null, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * Send the result of a query, and close the stream after the last one
+     */
+    private static void write(ChunkedOutput<String> output, IProgressMonitor monitor, AtomicInteger remaining, BatchResultView result) {
+        try {
+            output.write(MAPPER.writeValueAsString(result) + '\n');
+        } catch (JsonProcessingException e) {
+            Activator.getInstance().logError("Failed to encode the result of query " + result.getIndex(), e); //$NON-NLS-1$
+        } catch (IOException e) {
+            // The client is gone, the other queries are not needed
+            monitor.setCanceled(true);
+        } finally {
+            if (remaining.decrementAndGet() == 0) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    // The client is gone already
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache.QueryType;
+
+/**
+ * Runs the queries of the data providers on a bounded pool of threads instead
+ * of the threads of the web server, each with its own progress monitor. The
+ * monitor is cancelled when the client disconnects, when it cancels its
+ * requests explicitly, or when the same client sends a newer request of the
+ * same type to the same data provider, for example while zooming.
+ *
+ * @author agent
+ */
+final class DataProviderRequestExecutor {
+
+    private static final int NB_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_QUEUED_REQUESTS = 256;
+    private static final String TOO_MANY_REQUESTS = "Too many pending requests"; //$NON-NLS-1$
+
+    private static final DataProviderRequestExecutor INSTANCE = new DataProviderRequestExecutor();
+
+    private final ExecutorService fExecutor;
+    /* Monitor of the latest request of a client, per trace, provider and type */
+    private final Map<String, IProgressMonitor> fInFlight = new ConcurrentHashMap<>();
+
+    private DataProviderRequestExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(NB_THREADS, NB_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_QUEUED_REQUESTS), r -> {
+                    Thread thread = new Thread(r, "Data provider request " + count.incrementAndGet()); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        fExecutor = executor;
+    }
+
+    /**
+     * @return the executor instance
+     */
+    static DataProviderRequestExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run a query of a data provider and resume the suspended response with
+     * its result
+     *
+     * @param asyncResponse
+     *            the suspended response
+     * @param clientId
+     *            the ID of the client, if it wants its previous requests of
+     *            the same type to be cancelled
+     * @param uuid
+     *            the UUID of the queried trace
+     * @param providerId
+     *            the ID of the data provider
+     * @param type
+     *            the kind of query
+     * @param query
+     *            runs the query with a progress monitor and returns the
+     *            response to send
+     */
+    void submit(AsyncResponse asyncResponse, @Nullable String clientId, UUID uuid, String providerId, QueryType type,
+            Function<IProgressMonitor, Response> query) {
+        IProgressMonitor monitor = new NullProgressMonitor();
+        asyncResponse.register((ConnectionCallback) disconnected -> monitor.setCanceled(true));
+
+        String key = (clientId != null) ? getKey(clientId, uuid, providerId) + type : null;
+        if (key != null) {
+            IProgressMonitor previous = fInFlight.put(key, monitor);
+            if (previous != null) {
+                previous.setCanceled(true);
+            }
+        }
+
+        try {
+            fExecutor.execute(() -> {
+                try {
+                    asyncResponse.resume(query.apply(monitor));
+                } catch (RuntimeException e) {
+                    Activator.getInstance().logError("Failed to query the data provider " + providerId, e); //$NON-NLS-1$
+                    asyncResponse.resume(e);
+                } finally {
+                    if (key != null) {
+                        fInFlight.remove(key, monitor);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (key != null) {
+                fInFlight.remove(key, monitor);
+            }
+            asyncResponse.resume(Response.status(Status.SERVICE_UNAVAILABLE).entity(TOO_MANY_REQUESTS).build());
+        }
+    }
+
+    /**
+     * Run a query of a data provider on the pool, when the caller manages its
+     * own response and monitor, as for the batch queries
+     *
+     * @param task
+     *            the query
+     * @throws RejectedExecutionException
+     *             if there are too many pending requests
+     */
+    void execute(Runnable task) {
+        fExecutor.execute(task);
+    }
+
+    /**
+     * Cancel the pending requests of a client to a data provider
+     *
+     * @param clientId
+     *            the ID of the client
+     * @param uuid
+     *            the UUID of the queried trace
+     * @param providerId
+     *            the ID of the data provider
+     * @return the number of cancelled requests
+     */
+    int cancel(String clientId, UUID uuid, String providerId) {
+        String prefix = getKey(clientId, uuid, providerId);
+        int cancelled = 0;
+        for (Map.Entry<String, IProgressMonitor> entry : fInFlight.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && fInFlight.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().setCanceled(true);
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    private static String getKey(String clientId, UUID uuid, String providerId) {
+        return clientId + '\n' + uuid + '\n' + providerId + '\n';
+    }
+}
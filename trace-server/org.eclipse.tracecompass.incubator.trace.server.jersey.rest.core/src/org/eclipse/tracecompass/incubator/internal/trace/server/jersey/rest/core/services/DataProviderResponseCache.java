@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSortedSet;
+
+/**
+ * Cache of the responses of the data providers, shared by all the clients of
+ * the server. Only the {@link ITmfResponse.Status#COMPLETED} responses are
+ * cached, a response which is still running would hide the rest of the
+ * results. The size of the cache is bounded by an estimate of the number of
+ * values in the cached models.
+ * <p>
+ * Each trace has a generation, which is incremented when its responses are
+ * invalidated. A response is only inserted if the generation of its trace did
+ * not change while it was fetched, so a fetch which completes after the trace
+ * was invalidated does not insert a stale response.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public final class DataProviderResponseCache {
+
+    /**
+     * The kinds of queries of the {@link DataProviderService}
+     */
+    public enum QueryType {
+        /** Entry tree */
+        TREE,
+        /** XY series */
+        XY,
+        /** Time graph states */
+        STATES,
+        /** Time graph arrows */
+        ARROWS
+    }
+
+    /* Roughly the number of numbers in the cached models */
+    private static final long MAX_WEIGHT = 16_000_000L;
+
+    private static final DataProviderResponseCache INSTANCE = new DataProviderResponseCache();
+
+    private final Cache<Key, TmfModelResponse<?>> fCache = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_WEIGHT)
+            .weigher((Key key, TmfModelResponse<?> response) -> weigh(response))
+            .build();
+
+    private final Map<UUID, Long> fGenerations = new ConcurrentHashMap<>();
+    private final Object fLock = new Object();
+
+    private DataProviderResponseCache() {
+        // Use getInstance()
+    }
+
+    /**
+     * @return the cache instance
+     */
+    public static DataProviderResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the cached response of a query, or fetch it from the data provider
+     *
+     * @param uuid
+     *            the UUID of the queried trace
+     * @param providerId
+     *            the ID of the data provider
+     * @param type
+     *            the kind of query
+     * @param start
+     *            lower bound for the query
+     * @param end
+     *            upper bound for the query
+     * @param nb
+     *            number of data points
+     * @param ids
+     *            ids of the entries to query, null if the query is not on
+     *            entries
+     * @param fetcher
+     *            queries the data provider if the response is not cached
+     * @return the response
+     */
+    public <R> TmfModelResponse<R> get(UUID uuid, String providerId, QueryType type, long start, long end, int nb,
+            @Nullable Collection<Long> ids, Supplier<TmfModelResponse<R>> fetcher) {
+        Key key = new Key(uuid, providerId, type, start, end, nb, ids);
+        @SuppressWarnings("unchecked")
+        TmfModelResponse<R> cached = (TmfModelResponse<R>) fCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = getGeneration(uuid);
+        TmfModelResponse<R> response = fetcher.get();
+        if (response.getStatus() == ITmfResponse.Status.COMPLETED && response.getModel() != null) {
+            synchronized (fLock) {
+                if (getGeneration(uuid) == generation) {
+                    fCache.put(key, response);
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Drop the responses of a trace
+     *
+     * @param uuid
+     *            the UUID of the trace
+     */
+    public void invalidate(UUID uuid) {
+        synchronized (fLock) {
+            fGenerations.merge(uuid, 1L, Long::sum);
+            fCache.asMap().keySet().removeIf(key -> key.fUuid.equals(uuid));
+        }
+    }
+
+    private long getGeneration(UUID uuid) {
+        return fGenerations.getOrDefault(uuid, 0L);
+    }
+
+    private static int weigh(TmfModelResponse<?> response) {
+        Object model = response.getModel();
+        long weight = 1;
+        if (model instanceof ITmfXyModel) {
+            ITmfXyModel xy = (ITmfXyModel) model;
+            weight += (long) xy.getXAxis().length * (1 + xy.getData().size());
+        } else if (model instanceof Collection<?>) {
+            for (Object element : (Collection<?>) model) {
+                weight += (element instanceof ITimeGraphRowModel) ? 3L * ((ITimeGraphRowModel) element).getStates().size() : 1;
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static final class Key {
+        private final UUID fUuid;
+        private final String fProviderId;
+        private final QueryType fType;
+        private final long fStart;
+        private final long fEnd;
+        private final int fNb;
+        private final Set<Long> fIds;
+
+        public Key(UUID uuid, String providerId, QueryType type, long start, long end, int nb, @Nullable Collection<Long> ids) {
+            fUuid = uuid;
+            fProviderId = providerId;
+            fType = type;
+            fStart = start;
+            fEnd = end;
+            fNb = nb;
+            fIds = (ids == null) ? Collections.emptySet() : ImmutableSortedSet.copyOf(ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fUuid, fProviderId, fType, fStart, fEnd, fNb, fIds);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return fUuid.equals(other.fUuid) && fProviderId.equals(other.fProviderId) && fType == other.fType
+                    && fStart == other.fStart && fEnd == other.fEnd && fNb == other.fNb && fIds.equals(other.fIds);
+        }
+    }
+}
@@ -16,12 +16,15 @@ import java.util.UUID;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -29,6 +32,9 @@ import javax.ws.rs.core.Response.Status;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.GenericView;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache.QueryType;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarModelWriter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.NdjsonModelWriter;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.filters.SelectionTimeQueryFilter;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.filters.TimeQueryFilter;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphArrow;
@@ -62,7 +68,16 @@ public class DataProviderService {
     private static final String NO_PROVIDER = "Analysis cannot run"; //$NON-NLS-1$
     private static final String NO_SUCH_TRACE = "No Such Trace"; //$NON-NLS-1$
 
+    /*
+     * The compact encodings are only sent to the clients which ask for them,
+     * JSON stays the default.
+     */
+    private static final String NDJSON = NdjsonModelWriter.MEDIA_TYPE + ";qs=0.9"; //$NON-NLS-1$
+    private static final String COLUMNAR = ColumnarModelWriter.MEDIA_TYPE + ";qs=0.9"; //$NON-NLS-1$
+
     private final DataProviderManager manager = DataProviderManager.getInstance();
+    private final DataProviderResponseCache fCache = DataProviderResponseCache.getInstance();
+    private final DataProviderRequestExecutor fExecutor = DataProviderRequestExecutor.getInstance();
 
     /**
      * Query the provider for the entry tree
@@ -105,7 +120,9 @@ public class DataProviderService {
             return Response.status(Status.METHOD_NOT_ALLOWED).entity(NO_PROVIDER).build();
         }
 
-        TmfModelResponse<?> treeResponse = provider.fetchTree(new TimeQueryFilter(start, end, nb), null);
+        ITmfTreeDataProvider<? extends @NonNull ITmfTreeDataModel> treeProvider = provider;
+        TmfModelResponse<?> treeResponse = fCache.get(uuid, providerId, QueryType.TREE, start, end, nb, null,
+                () -> treeProvider.fetchTree(new TimeQueryFilter(start, end, nb), null));
         return Response.ok(new GenericView<>(trace, treeResponse)).build();
     }
 
@@ -124,20 +141,29 @@ public class DataProviderService {
      *            nanoseconds between two data points
      * @param ids
      *            ids of the entries to query
-     * @return an {@link GenericView} with the results
+     * @param clientId
+     *            optional ID of the client, a new request from the same client
+     *            cancels its pending request of the same type to this provider
+     * @param asyncResponse
+     *            resumed with an {@link GenericView} of the results, encoded as
+     *            JSON, or streamed as NDJSON or columnar binary if the client
+     *            accepts them
      */
     @GET
     @Path("/xy")
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response getXY(@PathParam("uuid") UUID uuid,
+    @Produces({ MediaType.APPLICATION_JSON, NDJSON, COLUMNAR })
+    public void getXY(@PathParam("uuid") UUID uuid,
             @PathParam("providerId") String providerId,
             @QueryParam("start") long start,
             @QueryParam("end") long end,
             @QueryParam("nb") @Min(1) int nb,
-            @QueryParam("ids") @NotNull Set<Long> ids) {
+            @QueryParam("ids") @NotNull Set<Long> ids,
+            @QueryParam("clientId") String clientId,
+            @Suspended AsyncResponse asyncResponse) {
         ITmfTrace trace = TraceManagerService.getTraceByUUID(uuid);
         if (trace == null) {
-            return Response.status(Status.NOT_FOUND).entity(NO_SUCH_TRACE).build();
+            asyncResponse.resume(Response.status(Status.NOT_FOUND).entity(NO_SUCH_TRACE).build());
+            return;
         }
 
         ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> provider = manager.getDataProvider(trace,
@@ -150,11 +176,16 @@ public class DataProviderService {
 
         if (provider == null) {
             // The analysis cannot be run on this trace
-            return Response.status(Status.METHOD_NOT_ALLOWED).entity(NO_PROVIDER).build();
+            asyncResponse.resume(Response.status(Status.METHOD_NOT_ALLOWED).entity(NO_PROVIDER).build());
+            return;
         }
 
-        TmfModelResponse<@NonNull ITmfXyModel> response = provider.fetchXY(new SelectionTimeQueryFilter(start, end, nb, ids), null);
-        return Response.ok(new GenericView<>(trace, response)).build();
+        ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> xyProvider = provider;
+        fExecutor.submit(asyncResponse, clientId, uuid, providerId, QueryType.XY, monitor -> {
+            TmfModelResponse<@NonNull ITmfXyModel> response = fCache.get(uuid, providerId, QueryType.XY, start, end, nb, ids,
+                    () -> xyProvider.fetchXY(new SelectionTimeQueryFilter(start, end, nb, ids), monitor));
+            return Response.ok(new GenericView<>(trace, response)).build();
+        });
     }
 
     /**
@@ -172,20 +203,29 @@ public class DataProviderService {
      *            nanoseconds between two data points
      * @param ids
      *            ids of the entries to query
-     * @return an {@link GenericView} with the results
+     * @param clientId
+     *            optional ID of the client, a new request from the same client
+     *            cancels its pending request of the same type to this provider
+     * @param asyncResponse
+     *            resumed with an {@link GenericView} of the results, encoded as
+     *            JSON, or streamed as NDJSON or columnar binary if the client
+     *            accepts them
      */
     @GET
     @Path("/states")
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response getStates(@PathParam("uuid") UUID uuid,
+    @Produces({ MediaType.APPLICATION_JSON, NDJSON, COLUMNAR })
+    public void getStates(@PathParam("uuid") UUID uuid,
             @PathParam("providerId") String providerId,
             @QueryParam("start") long start,
             @QueryParam("end") long end,
             @QueryParam("nb") int nb,
-            @QueryParam("ids") @NotNull Set<Long> ids) {
+            @QueryParam("ids") @NotNull Set<Long> ids,
+            @QueryParam("clientId") String clientId,
+            @Suspended AsyncResponse asyncResponse) {
         ITmfTrace trace = TraceManagerService.getTraceByUUID(uuid);
         if (trace == null) {
-            return Response.status(Status.NOT_FOUND).entity(NO_SUCH_TRACE).build();
+            asyncResponse.resume(Response.status(Status.NOT_FOUND).entity(NO_SUCH_TRACE).build());
+            return;
         }
 
         ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> provider = manager.getDataProvider(trace,
@@ -198,11 +238,16 @@ public class DataProviderService {
 
         if (provider == null) {
             // The analysis cannot be run on this trace
-            return Response.status(Status.METHOD_NOT_ALLOWED).entity(NO_PROVIDER).build();
+            asyncResponse.resume(Response.status(Status.METHOD_NOT_ALLOWED).entity(NO_PROVIDER).build());
+            return;
         }
 
-        TmfModelResponse<List<@NonNull ITimeGraphRowModel>> response = provider.fetchRowModel(new SelectionTimeQueryFilter(start, end, nb, ids), null);
-        return Response.ok(new GenericView<>(trace, response)).build();
+        ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> statesProvider = provider;
+        fExecutor.submit(asyncResponse, clientId, uuid, providerId, QueryType.STATES, monitor -> {
+            TmfModelResponse<List<@NonNull ITimeGraphRowModel>> response = fCache.get(uuid, providerId, QueryType.STATES, start, end, nb, ids,
+                    () -> statesProvider.fetchRowModel(new SelectionTimeQueryFilter(start, end, nb, ids), monitor));
+            return Response.ok(new GenericView<>(trace, response)).build();
+        });
     }
 
     /**
@@ -246,10 +291,35 @@ public class DataProviderService {
             return Response.status(Status.METHOD_NOT_ALLOWED).entity(NO_PROVIDER).build();
         }
 
-        TmfModelResponse<List<@NonNull ITimeGraphArrow>> response = provider.fetchArrows(new TimeQueryFilter(start, end, nb), null);
+        ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> arrowsProvider = provider;
+        TmfModelResponse<List<@NonNull ITimeGraphArrow>> response = fCache.get(uuid, providerId, QueryType.ARROWS, start, end, nb, null,
+                () -> arrowsProvider.fetchArrows(new TimeQueryFilter(start, end, nb), null));
         return Response.ok(new GenericView<>(trace, response)).build();
     }
 
+    /**
+     * Cancel the pending XY and states requests of a client to a data provider
+     *
+     * @param uuid
+     *            desired trace UUID
+     * @param providerId
+     *            Eclipse extension point ID for the data provider
+     * @param clientId
+     *            the ID the client sent with its requests
+     * @return the number of cancelled requests
+     */
+    @DELETE
+    @Path("/requests")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response cancelRequests(@PathParam("uuid") UUID uuid,
+            @PathParam("providerId") String providerId,
+            @QueryParam("clientId") @NotNull String clientId) {
+        if (clientId == null) {
+            return Response.status(Status.BAD_REQUEST).entity("Missing clientId").build(); //$NON-NLS-1$
+        }
+        return Response.ok(fExecutor.cancel(clientId, uuid, providerId)).build();
+    }
+
     /**
      * Get the XML data provider for a trace, provider id and XML {@link OutputType}
      *
@@ -262,7 +332,7 @@ public class DataProviderService {
      * @return the provider if an XML containing the ID exists and applies to the
      *         trace, else null
      */
-    private static <@Nullable P extends ITmfTreeDataProvider<? extends @NonNull ITmfTreeDataModel>> P
+    static <@Nullable P extends ITmfTreeDataProvider<? extends @NonNull ITmfTreeDataModel>> P
         getXmlProvider(@NonNull ITmfTrace trace, @NonNull String id, EnumSet<OutputType> types) {
         for (OutputType viewType : types) {
             for (XmlOutputElement element : Iterables.filter(XmlUtils.getXmlOutputElements().values(),
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Opaque position in a (possibly filtered) event table: the index of an event
+ * in the table and the rank of that event in the trace. A client pages
+ * through the table by sending back the cursor of the previous page, so the
+ * query can resume reading the trace where the previous page ended.
+ *
+ * The encoded cursor also holds a checksum of the trace UUID and of the
+ * filter it was read with, so that it is not used with another trace or
+ * filter.
+ *
+ * @author agent
+ */
+final class EventTableCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final long fIndex;
+    private final long fRank;
+
+    /**
+     * Constructor
+     *
+     * @param index
+     *            index of the event in the table
+     * @param rank
+     *            rank of the event in the trace
+     */
+    EventTableCursor(long index, long rank) {
+        fIndex = index;
+        fRank = rank;
+    }
+
+    /**
+     * @return the index of the event in the table
+     */
+    long getIndex() {
+        return fIndex;
+    }
+
+    /**
+     * @return the rank of the event in the trace
+     */
+    long getRank() {
+        return fRank;
+    }
+
+    /**
+     * Get the scope of the cursors of a table, a checksum of the trace and of
+     * the filter
+     *
+     * @param trace
+     *            the UUID of the trace
+     * @param filterKey
+     *            the key of the filter, see
+     *            {@link EventTableFilterIndex#getKey(javax.ws.rs.core.MultivaluedMap)}
+     * @return the scope
+     */
+    static long getScope(UUID trace, String filterKey) {
+        CRC32 crc = new CRC32();
+        crc.update((trace.toString() + SEPARATOR + filterKey).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * @param scope
+     *            the scope of the table, see {@link #getScope(UUID, String)}
+     * @return the cursor, encoded for the client
+     */
+    String encode(long scope) {
+        String cursor = Long.toString(fIndex) + SEPARATOR + Long.toString(fRank) + SEPARATOR + Long.toHexString(scope);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor sent by a client
+     *
+     * @param encoded
+     *            the encoded cursor
+     * @param scope
+     *            the scope of the table, see {@link #getScope(UUID, String)}
+     * @return the cursor, or null if it is not valid or if it was returned for
+     *         another trace or filter
+     */
+    static @Nullable EventTableCursor decode(@Nullable String encoded, long scope) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        try {
+            String cursor = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = cursor.indexOf(SEPARATOR);
+            int scopeSeparator = cursor.indexOf(SEPARATOR, separator + 1);
+            if (separator < 0 || scopeSeparator < 0) {
+                return null;
+            }
+            long index = Long.parseLong(cursor.substring(0, separator));
+            long rank = Long.parseLong(cursor.substring(separator + 1, scopeSeparator));
+            if (index < 0 || rank < 0 || Long.parseLong(cursor.substring(scopeSeparator + 1), 16) != scope) {
+                return null;
+            }
+            return new EventTableCursor(index, rank);
+        } catch (IllegalArgumentException e) {
+            /* Also catches NumberFormatException */
+            return null;
+        }
+    }
+}
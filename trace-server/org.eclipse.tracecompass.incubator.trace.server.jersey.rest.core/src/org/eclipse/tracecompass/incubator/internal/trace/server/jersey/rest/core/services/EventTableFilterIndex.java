@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceClosedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Checkpoint index of the events of a trace that match a filter. It records
+ * the trace rank of every {@link #CHECKPOINT_INTERVAL}th matching event, so
+ * that a page of the filtered event table can be read from the nearest
+ * checkpoint instead of from the start of the trace. Once the whole trace has
+ * been read with the filter, it also knows the number of matching events.
+ *
+ * The indexes are cached per trace and per filter, the least recently used
+ * filters of a trace are dropped. The indexes of a trace are dropped when it
+ * is closed.
+ *
+ * @author agent
+ */
+final class EventTableFilterIndex {
+
+    /**
+     * Number of matching events between two checkpoints
+     */
+    static final int CHECKPOINT_INTERVAL = 1000;
+
+    private static final int MAX_FILTERS_PER_TRACE = 16;
+
+    private static final Map<ITmfTrace, Map<String, EventTableFilterIndex>> INDEXES = new WeakHashMap<>();
+
+    static {
+        TmfSignalManager.register(new TraceClosedListener());
+    }
+
+    /**
+     * Drops the indexes of the traces which are closed
+     */
+    public static final class TraceClosedListener {
+
+        private TraceClosedListener() {
+            // Only the index registers it
+        }
+
+        /**
+         * Handler for the trace closed signal
+         *
+         * @param signal
+         *            the signal
+         */
+        @TmfSignalHandler
+        public void traceClosed(TmfTraceClosedSignal signal) {
+            dispose(signal.getTrace());
+        }
+    }
+
+    /*
+     * fCheckpoints.get(i) is the rank from which to read the trace so that the
+     * next matching event is the (i * CHECKPOINT_INTERVAL)th one.
+     */
+    private final List<Long> fCheckpoints = new ArrayList<>();
+    /* Number of matching events, -1 until the whole trace has been read */
+    private long fNbMatches = -1;
+    /* Number of events in the trace when fNbMatches was counted */
+    private long fNbEvents = -1;
+
+    private EventTableFilterIndex() {
+        fCheckpoints.add(0L);
+    }
+
+    /**
+     * Get the index of a filter on a trace, create it if it does not exist
+     *
+     * @param trace
+     *            the filtered trace
+     * @param filters
+     *            the map of columns to filters
+     * @return the index for this filter
+     */
+    static EventTableFilterIndex get(ITmfTrace trace, MultivaluedMap<String, String> filters) {
+        String key = getKey(filters);
+        synchronized (INDEXES) {
+            Map<String, EventTableFilterIndex> traceIndexes = INDEXES.computeIfAbsent(trace, t -> new LinkedHashMap<String, EventTableFilterIndex>(MAX_FILTERS_PER_TRACE, 0.75f, true) {
+                private static final long serialVersionUID = -4290283466440557305L;
+
+                @Override
+                protected boolean removeEldestEntry(@Nullable Entry<String, EventTableFilterIndex> eldest) {
+                    return size() > MAX_FILTERS_PER_TRACE;
+                }
+            });
+            return traceIndexes.computeIfAbsent(key, k -> new EventTableFilterIndex());
+        }
+    }
+
+    /**
+     * Drop the indexes of a trace
+     *
+     * @param trace
+     *            the trace which is closed
+     */
+    static void dispose(ITmfTrace trace) {
+        synchronized (INDEXES) {
+            INDEXES.remove(trace);
+        }
+    }
+
+    /**
+     * Build a key which does not depend on the order of the columns or of the
+     * filters of a column
+     *
+     * @param filters
+     *            the map of columns to filters
+     * @return the key of the filter
+     */
+    static String getKey(MultivaluedMap<String, String> filters) {
+        SortedMap<String, List<String>> sorted = new TreeMap<>();
+        for (Entry<String, List<String>> entry : filters.entrySet()) {
+            List<String> regexes = entry.getValue();
+            if (regexes != null && !regexes.isEmpty()) {
+                List<String> sortedRegexes = new ArrayList<>(regexes);
+                sortedRegexes.sort(null);
+                sorted.put(entry.getKey(), sortedRegexes);
+            }
+        }
+        return sorted.toString();
+    }
+
+    /**
+     * Get the nearest checkpoint before a matching event
+     *
+     * @param index
+     *            the index of the matching event
+     * @return the cursor of the checkpoint, its index is lower or equal to
+     *         index
+     */
+    synchronized EventTableCursor getCheckpoint(long index) {
+        int checkpoint = (int) Math.min(index / CHECKPOINT_INTERVAL, fCheckpoints.size() - 1);
+        return new EventTableCursor((long) checkpoint * CHECKPOINT_INTERVAL, fCheckpoints.get(checkpoint));
+    }
+
+    /**
+     * Add a checkpoint found while reading the trace from an earlier
+     * checkpoint. Checkpoints must be added in order, the ones which are
+     * already known are ignored.
+     *
+     * @param index
+     *            the index of the matching event, a multiple of
+     *            {@link #CHECKPOINT_INTERVAL}
+     * @param rank
+     *            the rank of the matching event in the trace
+     */
+    synchronized void addCheckpoint(long index, long rank) {
+        if (index == (long) fCheckpoints.size() * CHECKPOINT_INTERVAL) {
+            fCheckpoints.add(rank);
+        }
+    }
+
+    /**
+     * Get the number of matching events
+     *
+     * @param trace
+     *            the filtered trace
+     * @return the number of matching events, or -1 if it is not known, or no
+     *         longer valid as the trace has grown
+     */
+    synchronized long getNbMatches(ITmfTrace trace) {
+        return (fNbEvents == trace.getNbEvents()) ? fNbMatches : -1;
+    }
+
+    /**
+     * Set the number of matching events, after reading the trace to its end
+     *
+     * @param nbMatches
+     *            the number of matching events
+     * @param nbEvents
+     *            the number of events in the trace
+     */
+    synchronized void setNbMatches(long nbMatches, long nbEvents) {
+        fNbMatches = nbMatches;
+        fNbEvents = nbEvents;
+    }
+}
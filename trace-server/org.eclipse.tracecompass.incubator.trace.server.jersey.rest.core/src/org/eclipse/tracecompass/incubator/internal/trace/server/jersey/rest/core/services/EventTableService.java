@@ -25,6 +25,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -63,6 +64,10 @@ public class EventTableService {
      *            rank of the first event to return
      * @param size
      *            total number of events to return
+     * @param cursor
+     *            cursor returned with the previous page of this trace, if set,
+     *            the page starts where the previous one ended and low is
+     *            ignored
      * @return a {@link Response} encapsulating an error code and message, or the
      *         trace model objects and the table of queried events
      */
@@ -70,14 +75,22 @@ public class EventTableService {
     @Produces({ MediaType.APPLICATION_JSON })
     public Response getEvents(@PathParam("uuid") @NotNull UUID uuid,
             @QueryParam("low") @Min(0) long low,
-            @QueryParam("size") @Min(0) int size) {
+            @QueryParam("size") @Min(0) int size,
+            @QueryParam("cursor") String cursor) {
         ITmfTrace trace = TraceManagerService.getTraceByUUID(uuid);
         if (trace == null) {
             return Response.status(Status.NOT_FOUND).entity("No trace with uuid: " + uuid).build(); //$NON-NLS-1$
         }
+        long scope = EventTableCursor.getScope(uuid, EventTableFilterIndex.getKey(new MultivaluedHashMap<>()));
+        EventTableCursor start = EventTableCursor.decode(cursor, scope);
+        if (cursor != null && start == null) {
+            return Response.status(Status.BAD_REQUEST).entity("Invalid cursor for this trace: " + cursor).build(); //$NON-NLS-1$
+        }
+        long first = (start != null) ? start.getRank() : low;
         try {
-            List<List<String>> events = query(trace, low, size);
-            EventView view = new EventView(trace, low, size, events);
+            List<List<String>> events = query(trace, first, size);
+            String next = (events.size() == size && size > 0) ? new EventTableCursor(first + size, first + size).encode(scope) : null;
+            EventView view = new EventView(trace, first, size, events, next);
             return Response.ok().entity(view).build();
         } catch (InterruptedException e) {
             Activator.getInstance().logError("Failed to query the trace", e); //$NON-NLS-1$
@@ -91,9 +104,15 @@ public class EventTableService {
      * @param uuid
      *            The queried trace's {@link UUID}
      * @param low
-     *            rank of the first event to return
+     *            position of the first event to return, in the list of events
+     *            which match the filters, see
+     *            {@link #filteredQuery(ITmfTrace, long, int, MultivaluedMap)}
      * @param size
      *            total number of events to return
+     * @param cursor
+     *            cursor returned with the previous page of this trace for the
+     *            same filters, if set, the page of size events starts where the
+     *            previous one ended and low is ignored
      * @param multivaluedMap
      *            map of columns to filters
      * @return a {@link Response} encapsulating an error code and message, or the
@@ -105,6 +124,7 @@ public class EventTableService {
     public Response getFilteredEvents(@PathParam("uuid") @NotNull UUID uuid,
             @QueryParam("low") @Min(0) long low,
             @QueryParam("size") @Min(0) int size,
+            @QueryParam("cursor") String cursor,
             MultivaluedMap<String, String> multivaluedMap) {
 
         if (multivaluedMap == null) {
@@ -114,9 +134,19 @@ public class EventTableService {
         if (trace == null) {
             return Response.status(Status.NOT_FOUND).entity("No trace with uuid: " + uuid).build(); //$NON-NLS-1$
         }
+        long scope = EventTableCursor.getScope(uuid, EventTableFilterIndex.getKey(multivaluedMap));
+        EventTableCursor start = EventTableCursor.decode(cursor, scope);
+        if (cursor != null && start == null) {
+            return Response.status(Status.BAD_REQUEST).entity("Invalid cursor for this trace and filter: " + cursor).build(); //$NON-NLS-1$
+        }
         try {
-            Pair<List<List<String>>, Integer> events = filteredQuery(trace, low, size, multivaluedMap);
-            EventView view = new EventView(trace, low, size, multivaluedMap, events.getFirst(), events.getSecond());
+            FilteredEventRequest request = (start != null) ? filteredRequest(trace, start.getIndex(), size, multivaluedMap, start)
+                    : filteredRequest(trace, getFirstMatch(low), getNbLines(low, size), multivaluedMap, null);
+            EventTableCursor next = request.getNextCursor();
+            /* For a cursor, the equivalent low of the first event of the page */
+            long viewLow = (start != null) ? start.getIndex() + 1 : low;
+            EventView view = new EventView(trace, viewLow, size, multivaluedMap, request.getLines(), request.getNbMatches(),
+                    next != null ? next.encode(scope) : null);
             return Response.ok().entity(view).build();
         } catch (InterruptedException e) {
             Activator.getInstance().logError("Failed to query the trace", e); //$NON-NLS-1$
@@ -154,51 +184,171 @@ public class EventTableService {
     }
 
     /**
-     * Query the backing trace
+     * Query the backing trace for the events which match the filters. The
+     * events returned are those at 1-based positions low to low + size in the
+     * list of matching events: size + 1 events starting at the (low - 1)th
+     * 0-based index, or the first size events if low is 0.
      *
      * @param trace
      *            the trace to query on
      * @param low
-     *            index of the lowest event in the filtered event list
+     *            position of the lowest event in the filtered event list
      * @param size
      *            number of filtered events to return
      * @param multivaluedMap
      *            HTTP query form from which to extract filters
-     * @return a list of events, where each is represented by a list of its column
-     *         values
+     * @return a list of events, where each is represented by a list of its
+     *         column values, and the number of events which match the filters
      * @throws InterruptedException
      *             if the request was cancelled
      */
     public Pair<List<List<String>>, Integer> filteredQuery(ITmfTrace trace, long low, int size, MultivaluedMap<String, String> multivaluedMap) throws InterruptedException {
-        List<List<String>> events = new ArrayList<>(size);
+        FilteredEventRequest request = filteredRequest(trace, getFirstMatch(low), getNbLines(low, size), multivaluedMap, null);
+        return new Pair<>(request.getLines(), (int) request.getNbMatches());
+    }
+
+    /**
+     * @return the 0-based index of the first matching event for low
+     */
+    private static long getFirstMatch(long low) {
+        return Math.max(low - 1, 0);
+    }
+
+    /**
+     * @return the number of matching events to return for low and size
+     */
+    private static int getNbLines(long low, int size) {
+        return (low > 0) ? size + 1 : size;
+    }
+
+    /**
+     * Read a page of the events which match the filters. The trace is read
+     * from the cursor if it is given, or else from the nearest checkpoint of
+     * the filter's {@link EventTableFilterIndex}. The whole trace is only read
+     * when the number of matching events is not known yet.
+     *
+     * @param trace
+     *            the trace to query on
+     * @param first
+     *            0-based index of the first event to return in the filtered
+     *            event list
+     * @param size
+     *            number of filtered events to return
+     * @param multivaluedMap
+     *            HTTP query form from which to extract filters
+     * @param cursor
+     *            the position of the event at index first, if known
+     * @return the completed request, with the matching events, where each is
+     *         represented by a list of its column values
+     * @throws InterruptedException
+     *             if the request was cancelled
+     */
+    private static FilteredEventRequest filteredRequest(ITmfTrace trace, long first, int size, MultivaluedMap<String, String> multivaluedMap,
+            @Nullable EventTableCursor cursor) throws InterruptedException {
         List<ITmfEventAspect<?>> eventAspects = Lists.newArrayList(trace.getEventAspects());
         List<Predicate<String>> predicates = Lists.transform(eventAspects, c -> compileReqexes(multivaluedMap.get(c.getName())));
-        TmfEventRequest request = new TmfEventRequest(ITmfEvent.class, TmfTimeRange.ETERNITY, 0, ITmfEventRequest.ALL_DATA, ExecutionType.FOREGROUND) {
-            /**
-             * Override number of read events with number of events that match filter
-             */
-            int nbRead = 0;
+        EventTableFilterIndex index = EventTableFilterIndex.get(trace, multivaluedMap);
+        long nbMatches = index.getNbMatches(trace);
+        /*
+         * The cursor is only used once the matching events are counted. To
+         * count them, the trace must be read to its end anyway, so it is read
+         * from a checkpoint of the index, which also records the checkpoints
+         * and the count for the next pages. A cursor comes from the client,
+         * so the positions read from it do not extend the index.
+         */
+        boolean fromCursor = cursor != null && nbMatches >= 0;
+        EventTableCursor start = (cursor != null && fromCursor) ? cursor : index.getCheckpoint(first);
+        FilteredEventRequest request = new FilteredEventRequest(start, first, size, eventAspects, predicates,
+                fromCursor ? null : index, nbMatches < 0);
+        trace.sendRequest(request);
+        request.waitForCompletion();
+        if (!fromCursor && request.isCompleted() && !request.isCancelled() && !request.isFailed()) {
+            index.setNbMatches(request.fMatchIndex, request.fRank);
+        }
+        if (nbMatches >= 0) {
+            request.fTotal = nbMatches;
+        }
+        return request;
+    }
 
-            @Override
-            public void handleData(ITmfEvent event) {
+    /**
+     * Request which reads the events matching the filters from a known
+     * position. It stops as soon as the page is full, unless it must count all
+     * the matching events.
+     */
+    private static final class FilteredEventRequest extends TmfEventRequest {
 
-                List<String> buildLine = buildLine(event, eventAspects, predicates);
-                if (buildLine != null) {
-                    nbRead++;
-                    if (nbRead >= low && nbRead <= low + size) {
-                        events.add(buildLine);
-                    }
-                }
-            }
+        private final long fLow;
+        private final int fSize;
+        private final List<ITmfEventAspect<?>> fAspects;
+        private final List<Predicate<String>> fPredicates;
+        private final @Nullable EventTableFilterIndex fIndex;
+        private final boolean fCountAll;
+        private final List<List<String>> fLines;
 
-            @Override
-            public synchronized int getNbRead() {
-                return nbRead;
+        /* Rank of the next event in the trace */
+        private long fRank;
+        /* Index of the next matching event */
+        private long fMatchIndex;
+        private @Nullable EventTableCursor fNext = null;
+        private long fTotal = -1;
+
+        public FilteredEventRequest(EventTableCursor start, long low, int size, List<ITmfEventAspect<?>> aspects,
+                List<Predicate<String>> predicates, @Nullable EventTableFilterIndex index, boolean countAll) {
+            super(ITmfEvent.class, TmfTimeRange.ETERNITY, start.getRank(), ITmfEventRequest.ALL_DATA, ExecutionType.FOREGROUND);
+            fLow = low;
+            fSize = size;
+            fAspects = aspects;
+            fPredicates = predicates;
+            fIndex = index;
+            fCountAll = countAll;
+            fLines = new ArrayList<>(size);
+            fRank = start.getRank();
+            fMatchIndex = start.getIndex();
+        }
+
+        @Override
+        public void handleData(ITmfEvent event) {
+            long rank = fRank++;
+            List<String> line = buildLine(event, fAspects, fPredicates);
+            if (line == null) {
+                return;
             }
-        };
-        trace.sendRequest(request);
-        request.waitForCompletion();
-        return new Pair<>(events, request.getNbRead());
+            long matchIndex = fMatchIndex++;
+            EventTableFilterIndex index = fIndex;
+            if (index != null && matchIndex % EventTableFilterIndex.CHECKPOINT_INTERVAL == 0) {
+                index.addCheckpoint(matchIndex, rank);
+            }
+            if (matchIndex >= fLow && fLines.size() < fSize) {
+                fLines.add(line);
+                fNext = new EventTableCursor(fMatchIndex, fRank);
+            }
+            if (!fCountAll && fLines.size() >= fSize) {
+                cancel();
+            }
+        }
+
+        /**
+         * @return the matching events of the page
+         */
+        public List<List<String>> getLines() {
+            return fLines;
+        }
+
+        /**
+         * @return the total number of matching events
+         */
+        public long getNbMatches() {
+            return (fTotal >= 0) ? fTotal : fMatchIndex;
+        }
+
+        /**
+         * @return the cursor of the next page, or null if this page is the
+         *         last one
+         */
+        public @Nullable EventTableCursor getNextCursor() {
+            return (fSize > 0 && fLines.size() == fSize) ? fNext : null;
+        }
     }
 
     private static Predicate<String> compileReqexes(List<String> regexes) {
@@ -38,7 +38,6 @@ import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Iterables;
 
 /**
  * Service to manage experiments
@@ -95,6 +94,7 @@ public class ExperimentManagerService {
         ITmfTrace experiment = TraceManagerService.getTraceByUUID(uuid);
         if (experiment instanceof TmfExperiment) {
             TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(this, experiment));
+            DataProviderResponseCache.getInstance().invalidate(uuid);
             experiment.dispose();
             return Response.ok(experiment).build();
         }
@@ -121,7 +121,7 @@ public class ExperimentManagerService {
         IPath ipath = root.getLocation().append(EXPERIMENTS).append(name);
         IResource resource = root.findMember(ipath);
 
-        if (Iterables.any(TmfTraceManager.getInstance().getOpenedTraces(), t -> t.getPath().equals(ipath.toOSString()))) {
+        if (TraceRegistry.getInstance().getByPath(ipath.toOSString()) != null) {
             return Response.status(Status.CONFLICT).entity("There is already an experiment named: " + name).build(); //$NON-NLS-1$
         }
 
@@ -27,7 +27,6 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
-import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
@@ -41,10 +40,8 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 
-import com.google.common.base.Optional;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Iterables;
 
 /**
  * Service to manage traces.
@@ -84,9 +81,9 @@ public class TraceManagerService {
     public Response putTrace(@FormParam("name") @NotNull @Size(min = 1) String name,
             @FormParam("path") String path,
             @FormParam("typeID") String typeID) {
-        Optional<@NonNull ITmfTrace> optional = Iterables.tryFind(TmfTraceManager.getInstance().getOpenedTraces(), t -> t.getPath().equals(path));
-        if (optional.isPresent()) {
-            return Response.status(Status.CONFLICT).entity(optional.get()).build();
+        ITmfTrace existing = TraceRegistry.getInstance().getByPath(path);
+        if (existing != null) {
+            return Response.status(Status.CONFLICT).entity(existing).build();
         }
         if (!Paths.get(path).toFile().exists()) {
             return Response.status(Status.NOT_FOUND).entity("No trace at " + path).build(); //$NON-NLS-1$
@@ -150,19 +147,21 @@ public class TraceManagerService {
             return Response.status(Status.NOT_FOUND).build();
         }
         TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(this, trace));
+        DataProviderResponseCache.getInstance().invalidate(uuid);
         trace.dispose();
         return Response.ok(trace).build();
     }
 
     /**
-     * Try and find a trace with the queried UUID in the {@link TmfTraceManager}.
+     * Try and find an opened trace with the queried UUID in the
+     * {@link TraceRegistry}.
      *
      * @param uuid
      *            queried {@link UUID}
      * @return the trace or null if none match.
      */
     public static @Nullable ITmfTrace getTraceByUUID(UUID uuid) {
-        return Iterables.tryFind(TmfTraceManager.getInstance().getOpenedTraces(), t -> uuid.equals(t.getUUID())).orNull();
+        return TraceRegistry.getInstance().get(uuid);
     }
 
 }
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceClosedSignal;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+
+/**
+ * Index of the opened traces and experiments by {@link UUID} and by path, so
+ * that the services do not search the list of opened traces for every
+ * request. It follows the trace opened and closed signals.
+ *
+ * @author agent
+ */
+public final class TraceRegistry {
+
+    private static final TraceRegistry INSTANCE = new TraceRegistry();
+
+    private final Map<UUID, ITmfTrace> fTraces = new ConcurrentHashMap<>();
+    private final Map<String, ITmfTrace> fPaths = new ConcurrentHashMap<>();
+
+    private TraceRegistry() {
+        TmfSignalManager.register(this);
+        /* In case traces were opened before the first request */
+        for (ITmfTrace trace : TmfTraceManager.getInstance().getOpenedTraces()) {
+            add(trace);
+        }
+    }
+
+    /**
+     * @return the registry instance
+     */
+    public static TraceRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get an opened trace or experiment
+     *
+     * @param uuid
+     *            the UUID of the trace
+     * @return the trace, or null if no opened trace has this UUID
+     */
+    public @Nullable ITmfTrace get(UUID uuid) {
+        return fTraces.get(uuid);
+    }
+
+    /**
+     * Get an opened trace or experiment by its path
+     *
+     * @param path
+     *            the path of the trace
+     * @return the trace, or null if no opened trace has this path
+     */
+    public @Nullable ITmfTrace getByPath(String path) {
+        return fPaths.get(path);
+    }
+
+    /**
+     * Add a trace to the registry
+     *
+     * @param trace
+     *            the opened trace
+     */
+    public void add(ITmfTrace trace) {
+        UUID uuid = trace.getUUID();
+        if (uuid != null) {
+            fTraces.put(uuid, trace);
+        }
+        String path = trace.getPath();
+        if (path != null) {
+            fPaths.put(path, trace);
+        }
+    }
+
+    /**
+     * Remove a trace from the registry
+     *
+     * @param trace
+     *            the closed trace
+     */
+    public void remove(ITmfTrace trace) {
+        UUID uuid = trace.getUUID();
+        if (uuid != null) {
+            fTraces.remove(uuid, trace);
+        }
+        String path = trace.getPath();
+        if (path != null) {
+            fPaths.remove(path, trace);
+        }
+    }
+
+    /**
+     * Handler for the trace opened signal
+     *
+     * @param signal
+     *            the signal
+     */
+    @TmfSignalHandler
+    public void traceOpened(TmfTraceOpenedSignal signal) {
+        add(signal.getTrace());
+    }
+
+    /**
+     * Handler for the trace closed signal
+     *
+     * @param signal
+     *            the signal
+     */
+    @TmfSignalHandler
+    public void traceClosed(TmfTraceClosedSignal signal) {
+        remove(signal.getTrace());
+    }
+}
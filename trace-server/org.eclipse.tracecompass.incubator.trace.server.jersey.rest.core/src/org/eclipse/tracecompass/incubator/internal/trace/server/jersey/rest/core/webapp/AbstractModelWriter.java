@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.GenericView;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Base class of the {@link MessageBodyWriter}s which stream a
+ * {@link GenericView} to the client in a compact encoding, without building an
+ * intermediate representation of the whole response. The XY models and the
+ * time graph rows are written series by series and row by row.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+public abstract class AbstractModelWriter implements MessageBodyWriter<GenericView<?>> {
+
+    @Override
+    public boolean isWriteable(@Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations, @Nullable MediaType mediaType) {
+        return type != null && GenericView.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(@Nullable GenericView<?> view, @Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations, @Nullable MediaType mediaType) {
+        // The size is not known before writing, deprecated since JAX-RS 2.0
+        return -1;
+    }
+
+    @Override
+    public void writeTo(GenericView<?> view, @Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations, @Nullable MediaType mediaType,
+            @Nullable MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+        write(view, entityStream);
+    }
+
+    /**
+     * Write a view to a stream
+     *
+     * @param view
+     *            the view to write
+     * @param out
+     *            the stream to write to, it is not closed
+     * @throws IOException
+     *             if the view could not be written
+     */
+    public void write(GenericView<?> view, OutputStream out) throws IOException {
+        TmfModelResponse<?> response = view.getResponse();
+        ITmfTrace trace = view.getTrace();
+        UUID uuid = (trace != null) ? trace.getUUID() : null;
+        Object model = response.getModel();
+        if (model instanceof ITmfXyModel) {
+            writeXy(uuid, response, (ITmfXyModel) model, out);
+        } else if (model instanceof List<?>) {
+            List<ITimeGraphRowModel> rows = new ArrayList<>();
+            for (Object row : (List<?>) model) {
+                if (!(row instanceof ITimeGraphRowModel)) {
+                    writeOther(uuid, response, out);
+                    return;
+                }
+                rows.add((ITimeGraphRowModel) row);
+            }
+            writeRows(uuid, response, rows, out);
+        } else {
+            writeOther(uuid, response, out);
+        }
+    }
+
+    /**
+     * Write the response of an XY query
+     *
+     * @param uuid
+     *            the UUID of the queried trace, if any
+     * @param response
+     *            the response, for its status
+     * @param model
+     *            the model of the response
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     *             if the view could not be written
+     */
+    protected abstract void writeXy(@Nullable UUID uuid, TmfModelResponse<?> response, ITmfXyModel model, OutputStream out) throws IOException;
+
+    /**
+     * Write the response of a time graph states query
+     *
+     * @param uuid
+     *            the UUID of the queried trace, if any
+     * @param response
+     *            the response, for its status
+     * @param rows
+     *            the rows of the response
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     *             if the view could not be written
+     */
+    protected abstract void writeRows(@Nullable UUID uuid, TmfModelResponse<?> response, List<ITimeGraphRowModel> rows, OutputStream out) throws IOException;
+
+    /**
+     * Write a response without a model, or with a model which is neither XY
+     * nor time graph states
+     *
+     * @param uuid
+     *            the UUID of the queried trace, if any
+     * @param response
+     *            the response
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     *             if the view could not be written
+     */
+    protected abstract void writeOther(@Nullable UUID uuid, TmfModelResponse<?> response, OutputStream out) throws IOException;
+}
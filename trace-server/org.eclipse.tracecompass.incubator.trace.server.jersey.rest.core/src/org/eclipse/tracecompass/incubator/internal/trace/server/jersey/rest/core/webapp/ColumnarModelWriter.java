@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.IYModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+
+/**
+ * Streams a view in a length prefixed, columnar binary encoding. All the
+ * numbers are big endian, a string is its length in bytes as an int followed
+ * by its UTF-8 bytes, or -1 if it is null. An array is its length as an int
+ * followed by its elements.
+ *
+ * <pre>
+ * int    magic, "TCM1"
+ * string trace UUID
+ * string status
+ * string status message
+ * byte   model kind, 0: none, 1: XY, 2: time graph states
+ *
+ * XY:     string title, long[] x values, int number of series,
+ *         then for each series: string name, double[] y values
+ *
+ * states: for each row: byte 1, long entry ID, then its states by column:
+ *         long[] starts, long[] durations, int[] values, int[] label indexes
+ *         (-1 if the state has no label); then byte 0 after the last row
+ *         and string[] labels, the table of the distinct labels
+ * </pre>
+ *
+ * The label table comes last so that the rows can be written as soon as they
+ * are read.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+@Provider
+@Produces(ColumnarModelWriter.MEDIA_TYPE)
+public class ColumnarModelWriter extends AbstractModelWriter {
+
+    /**
+     * Media type of the columnar binary encoding
+     */
+    public static final String MEDIA_TYPE = "application/x-tracecompass-columnar"; //$NON-NLS-1$
+
+    /**
+     * Magic number at the start of the stream, "TCM1"
+     */
+    public static final int MAGIC = 0x54434D31;
+
+    /** The response has no model */
+    public static final byte KIND_NONE = 0;
+    /** The model is an XY model */
+    public static final byte KIND_XY = 1;
+    /** The model is a list of time graph rows */
+    public static final byte KIND_STATES = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    protected void writeXy(@Nullable UUID uuid, TmfModelResponse<?> response, ITmfXyModel model, OutputStream out) throws IOException {
+        DataOutputStream data = createStream(out);
+        writeHeader(data, uuid, response, KIND_XY);
+        writeString(data, model.getTitle());
+        long[] xValues = model.getXAxis();
+        data.writeInt(xValues.length);
+        for (long x : xValues) {
+            data.writeLong(x);
+        }
+        Map<String, IYModel> series = model.getData();
+        data.writeInt(series.size());
+        for (Entry<String, IYModel> entry : series.entrySet()) {
+            writeString(data, entry.getKey());
+            double[] yValues = entry.getValue().getData();
+            data.writeInt(yValues.length);
+            for (double y : yValues) {
+                data.writeDouble(y);
+            }
+        }
+        data.flush();
+    }
+
+    @Override
+    protected void writeRows(@Nullable UUID uuid, TmfModelResponse<?> response, List<ITimeGraphRowModel> rows, OutputStream out) throws IOException {
+        DataOutputStream data = createStream(out);
+        writeHeader(data, uuid, response, KIND_STATES);
+        Map<String, Integer> labelIndexes = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+        for (ITimeGraphRowModel row : rows) {
+            List<ITimeGraphState> states = row.getStates();
+            int nbStates = states.size();
+            data.writeByte(1);
+            data.writeLong(row.getEntryID());
+            data.writeInt(nbStates);
+            for (ITimeGraphState state : states) {
+                data.writeLong(state.getStartTime());
+            }
+            data.writeInt(nbStates);
+            for (ITimeGraphState state : states) {
+                data.writeLong(state.getDuration());
+            }
+            data.writeInt(nbStates);
+            for (ITimeGraphState state : states) {
+                data.writeInt(state.getValue());
+            }
+            data.writeInt(nbStates);
+            for (ITimeGraphState state : states) {
+                String label = state.getLabel();
+                if (label == null) {
+                    data.writeInt(-1);
+                } else {
+                    data.writeInt(labelIndexes.computeIfAbsent(label, l -> {
+                        labels.add(l);
+                        return labels.size() - 1;
+                    }));
+                }
+            }
+        }
+        data.writeByte(0);
+        data.writeInt(labels.size());
+        for (String label : labels) {
+            writeString(data, label);
+        }
+        data.flush();
+    }
+
+    @Override
+    protected void writeOther(@Nullable UUID uuid, TmfModelResponse<?> response, OutputStream out) throws IOException {
+        DataOutputStream data = createStream(out);
+        writeHeader(data, uuid, response, KIND_NONE);
+        data.flush();
+    }
+
+    private static DataOutputStream createStream(OutputStream out) {
+        /* Not closed, the container closes the entity stream */
+        return new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+    }
+
+    private static void writeHeader(DataOutputStream data, @Nullable UUID uuid, TmfModelResponse<?> response, byte kind) throws IOException {
+        data.writeInt(MAGIC);
+        writeString(data, (uuid != null) ? uuid.toString() : null);
+        writeString(data, response.getStatus().name());
+        writeString(data, response.getStatusMessage());
+        data.writeByte((response.getModel() == null) ? KIND_NONE : kind);
+    }
+
+    private static void writeString(DataOutputStream data, @Nullable String string) throws IOException {
+        if (string == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.xy.IYModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.response.TmfModelResponse;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams a view as newline delimited JSON: a header line with the status of
+ * the response, then one line per XY series or per time graph row. A client
+ * can start drawing before the whole response is received, and the server
+ * never holds more than the buffer of the generator. The header is flushed as
+ * soon as it is written, then the lines are flushed every
+ * {@value #FLUSH_INTERVAL} lines, so the stream is not flushed for each small
+ * series or row.
+ *
+ * <pre>
+ * {"type":"header","trace":"...","status":"COMPLETED","statusMessage":"...","model":"xy","title":"...","xValues":[...]}
+ * {"type":"series","name":"...","yValues":[...]}
+ *
+ * {"type":"header","trace":"...","status":"COMPLETED","statusMessage":"...","model":"states"}
+ * {"type":"row","entryID":1,"starts":[...],"durations":[...],"values":[...],"labels":[...]}
+ * </pre>
+ *
+ * The labels of a row are only written if one of its states has a label.
+ *
+ * @author agent
+ */
+@SuppressWarnings("restriction")
+@Provider
+@Produces(NdjsonModelWriter.MEDIA_TYPE)
+public class NdjsonModelWriter extends AbstractModelWriter {
+
+    /**
+     * Media type of newline delimited JSON
+     */
+    public static final String MEDIA_TYPE = "application/x-ndjson"; //$NON-NLS-1$
+
+    private static final String TYPE = "type"; //$NON-NLS-1$
+    private static final String MODEL = "model"; //$NON-NLS-1$
+    /* Number of series or rows written between two flushes */
+    private static final int FLUSH_INTERVAL = 256;
+
+    private final ObjectMapper fMapper = new ObjectMapper();
+
+    @Override
+    protected void writeXy(@Nullable UUID uuid, TmfModelResponse<?> response, ITmfXyModel model, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            writeHeaderStart(gen, uuid, response);
+            gen.writeStringField(MODEL, "xy"); //$NON-NLS-1$
+            gen.writeStringField("title", model.getTitle()); //$NON-NLS-1$
+            gen.writeArrayFieldStart("xValues"); //$NON-NLS-1$
+            for (long x : model.getXAxis()) {
+                gen.writeNumber(x);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.flush();
+
+            int lines = 0;
+            for (Entry<String, IYModel> entry : model.getData().entrySet()) {
+                gen.writeStartObject();
+                gen.writeStringField(TYPE, "series"); //$NON-NLS-1$
+                gen.writeStringField("name", entry.getKey()); //$NON-NLS-1$
+                gen.writeArrayFieldStart("yValues"); //$NON-NLS-1$
+                for (double y : entry.getValue().getData()) {
+                    gen.writeNumber(y);
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+                flushEvery(gen, ++lines);
+            }
+            gen.writeRaw('\n');
+        }
+    }
+
+    @Override
+    protected void writeRows(@Nullable UUID uuid, TmfModelResponse<?> response, List<ITimeGraphRowModel> rows, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            writeHeaderStart(gen, uuid, response);
+            gen.writeStringField(MODEL, "states"); //$NON-NLS-1$
+            gen.writeEndObject();
+            gen.flush();
+
+            int lines = 0;
+            for (ITimeGraphRowModel row : rows) {
+                List<ITimeGraphState> states = row.getStates();
+                gen.writeStartObject();
+                gen.writeStringField(TYPE, "row"); //$NON-NLS-1$
+                gen.writeNumberField("entryID", row.getEntryID()); //$NON-NLS-1$
+                boolean hasLabels = false;
+                gen.writeArrayFieldStart("starts"); //$NON-NLS-1$
+                for (ITimeGraphState state : states) {
+                    gen.writeNumber(state.getStartTime());
+                    hasLabels |= state.getLabel() != null;
+                }
+                gen.writeEndArray();
+                gen.writeArrayFieldStart("durations"); //$NON-NLS-1$
+                for (ITimeGraphState state : states) {
+                    gen.writeNumber(state.getDuration());
+                }
+                gen.writeEndArray();
+                gen.writeArrayFieldStart("values"); //$NON-NLS-1$
+                for (ITimeGraphState state : states) {
+                    gen.writeNumber(state.getValue());
+                }
+                gen.writeEndArray();
+                if (hasLabels) {
+                    gen.writeArrayFieldStart("labels"); //$NON-NLS-1$
+                    for (ITimeGraphState state : states) {
+                        gen.writeString(state.getLabel());
+                    }
+                    gen.writeEndArray();
+                }
+                gen.writeEndObject();
+                flushEvery(gen, ++lines);
+            }
+            gen.writeRaw('\n');
+        }
+    }
+
+    @Override
+    protected void writeOther(@Nullable UUID uuid, TmfModelResponse<?> response, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            writeHeaderStart(gen, uuid, response);
+            gen.writeObjectField(MODEL, response.getModel());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator gen = fMapper.getFactory().createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(new SerializedString("\n")); //$NON-NLS-1$
+        return gen;
+    }
+
+    private static void flushEvery(JsonGenerator gen, int lines) throws IOException {
+        if (lines % FLUSH_INTERVAL == 0) {
+            gen.flush();
+        }
+    }
+
+    private static void writeHeaderStart(JsonGenerator gen, @Nullable UUID uuid, TmfModelResponse<?> response) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField(TYPE, "header"); //$NON-NLS-1$
+        gen.writeStringField("trace", (uuid != null) ? uuid.toString() : null); //$NON-NLS-1$
+        gen.writeStringField("status", response.getStatus().name()); //$NON-NLS-1$
+        gen.writeStringField("statusMessage", response.getStatusMessage()); //$NON-NLS-1$
+    }
+}
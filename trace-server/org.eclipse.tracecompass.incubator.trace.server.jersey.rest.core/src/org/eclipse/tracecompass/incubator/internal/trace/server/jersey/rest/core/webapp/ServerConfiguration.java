@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+/**
+ * Tuning of the Jetty server, read from system properties so that it can be
+ * set in the launch configuration of the trace server product, for example
+ * <code>-Dtraceserver.threads.max=400</code>.
+ *
+ * @author agent
+ */
+public final class ServerConfiguration {
+
+    private static final String PREFIX = "traceserver."; //$NON-NLS-1$
+
+    /** Minimum number of threads of the worker pool */
+    public static final String THREADS_MIN = PREFIX + "threads.min"; //$NON-NLS-1$
+    /** Maximum number of threads of the worker pool */
+    public static final String THREADS_MAX = PREFIX + "threads.max"; //$NON-NLS-1$
+    /** Time in ms before an idle worker thread is stopped */
+    public static final String THREADS_IDLE_TIMEOUT = PREFIX + "threads.idleTimeout"; //$NON-NLS-1$
+    /** Run the requests on virtual threads, if the JVM supports them */
+    public static final String THREADS_VIRTUAL = PREFIX + "threads.virtual"; //$NON-NLS-1$
+    /** Number of acceptor threads, -1 to let Jetty choose */
+    public static final String ACCEPTORS = PREFIX + "acceptors"; //$NON-NLS-1$
+    /** Number of selector threads, -1 to let Jetty choose */
+    public static final String SELECTORS = PREFIX + "selectors"; //$NON-NLS-1$
+    /** Compress the responses with gzip */
+    public static final String GZIP = PREFIX + "gzip"; //$NON-NLS-1$
+    /** Minimum size in bytes of a response to compress it */
+    public static final String GZIP_MIN_SIZE = PREFIX + "gzip.minSize"; //$NON-NLS-1$
+    /** Accept HTTP/2 cleartext connections, if Jetty's HTTP/2 bundle is installed, off by default */
+    public static final String HTTP2C = PREFIX + "http2c"; //$NON-NLS-1$
+
+    private final int fMinThreads = Integer.getInteger(THREADS_MIN, 8);
+    private final int fMaxThreads = Integer.getInteger(THREADS_MAX, 200);
+    private final int fIdleTimeout = Integer.getInteger(THREADS_IDLE_TIMEOUT, 60000);
+    private final boolean fVirtualThreads = Boolean.getBoolean(THREADS_VIRTUAL);
+    private final int fAcceptors = Integer.getInteger(ACCEPTORS, -1);
+    private final int fSelectors = Integer.getInteger(SELECTORS, -1);
+    private final boolean fGzip = Boolean.parseBoolean(System.getProperty(GZIP, Boolean.TRUE.toString()));
+    private final int fGzipMinSize = Integer.getInteger(GZIP_MIN_SIZE, 2048);
+    private final boolean fHttp2c = Boolean.parseBoolean(System.getProperty(HTTP2C, Boolean.FALSE.toString()));
+
+    /**
+     * @return the minimum number of threads of the worker pool
+     */
+    public int getMinThreads() {
+        return fMinThreads;
+    }
+
+    /**
+     * @return the maximum number of threads of the worker pool
+     */
+    public int getMaxThreads() {
+        return Math.max(fMinThreads, fMaxThreads);
+    }
+
+    /**
+     * @return the time in ms before an idle worker thread is stopped
+     */
+    public int getIdleTimeout() {
+        return fIdleTimeout;
+    }
+
+    /**
+     * @return whether the requests should run on virtual threads
+     */
+    public boolean useVirtualThreads() {
+        return fVirtualThreads;
+    }
+
+    /**
+     * @return the number of acceptor threads, -1 for Jetty's default
+     */
+    public int getAcceptors() {
+        return fAcceptors;
+    }
+
+    /**
+     * @return the number of selector threads, -1 for Jetty's default
+     */
+    public int getSelectors() {
+        return fSelectors;
+    }
+
+    /**
+     * @return whether the responses are compressed
+     */
+    public boolean useGzip() {
+        return fGzip;
+    }
+
+    /**
+     * @return the minimum size in bytes of a response to compress it
+     */
+    public int getGzipMinSize() {
+        return fGzipMinSize;
+    }
+
+    /**
+     * @return whether HTTP/2 cleartext connections are accepted
+     */
+    public boolean useHttp2c() {
+        return fHttp2c;
+    }
+}
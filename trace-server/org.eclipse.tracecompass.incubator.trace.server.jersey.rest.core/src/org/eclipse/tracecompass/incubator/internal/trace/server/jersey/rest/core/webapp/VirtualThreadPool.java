@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * Jetty {@link ThreadPool} which runs each task on its own virtual thread. The
+ * bundle targets Java 8, so the executor is created by reflection and the
+ * pool is only available when the server runs on a JVM with virtual threads.
+ *
+ * @author agent
+ */
+final class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+
+    private static final String FACTORY_METHOD = "newVirtualThreadPerTaskExecutor"; //$NON-NLS-1$
+
+    private @Nullable ExecutorService fExecutor = null;
+
+    /**
+     * @return whether the JVM supports virtual threads
+     */
+    static boolean isSupported() {
+        try {
+            Executors.class.getMethod(FACTORY_METHOD);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        fExecutor = (ExecutorService) Executors.class.getMethod(FACTORY_METHOD).invoke(null);
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        ExecutorService executor = fExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void execute(@Nullable Runnable command) {
+        ExecutorService executor = fExecutor;
+        if (executor == null) {
+            throw new IllegalStateException("Thread pool is not started"); //$NON-NLS-1$
+        }
+        executor.execute(Objects.requireNonNull(command));
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        ExecutorService executor = fExecutor;
+        if (executor != null) {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public int getThreads() {
+        // Threads are created on demand
+        return 0;
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+}
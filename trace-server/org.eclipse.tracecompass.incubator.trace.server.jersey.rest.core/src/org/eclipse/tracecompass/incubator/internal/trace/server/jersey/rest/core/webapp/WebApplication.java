@@ -8,9 +8,26 @@
  *******************************************************************************/
 package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.MediaType;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.BatchQueryService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EventTableService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
@@ -42,8 +59,13 @@ public class WebApplication {
      */
     public static final int TEST_PORT = 8378;
 
+    private static final String THREAD_POOL_NAME = "trace-server"; //$NON-NLS-1$
+    private static final String HTTP2C_FACTORY = "org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory"; //$NON-NLS-1$
+
     private int fPort;
 
+    private final ServerConfiguration fConfiguration = new ServerConfiguration();
+
     private Server fServer;
 
     /**
@@ -79,16 +101,21 @@ public class WebApplication {
         rc.register(ExperimentManagerService.class);
         rc.register(EventTableService.class);
         rc.register(DataProviderService.class);
+        rc.register(BatchQueryService.class);
         rc.register(XmlManagerService.class);
         rc.register(CORSFilter.class);
+        rc.register(NdjsonModelWriter.class);
+        rc.register(ColumnarModelWriter.class);
         rc.register(registerCustomMappers());
 
         ServletContainer sc = new ServletContainer(rc);
         ServletHolder holder = new ServletHolder(sc);
+        // The data provider queries are run asynchronously
+        holder.setAsyncSupported(true);
         sch.addServlet(holder, PATH_SPEC);
 
-        fServer = new Server(fPort);
-        fServer.setHandler(sch);
+        fServer = createServer(fConfiguration);
+        fServer.setHandler(createHandler(fConfiguration, sch));
 
         fServer.start();
         if (fPort != TEST_PORT) {
@@ -96,6 +123,62 @@ public class WebApplication {
         }
     }
 
+    private Server createServer(ServerConfiguration configuration) {
+        ThreadPool threadPool;
+        if (configuration.useVirtualThreads() && VirtualThreadPool.isSupported()) {
+            threadPool = new VirtualThreadPool();
+        } else {
+            if (configuration.useVirtualThreads()) {
+                Activator.getInstance().logWarning("Virtual threads are not supported by this JVM, using a thread pool"); //$NON-NLS-1$
+            }
+            QueuedThreadPool queuedThreadPool = new QueuedThreadPool(configuration.getMaxThreads(), configuration.getMinThreads(), configuration.getIdleTimeout());
+            queuedThreadPool.setName(THREAD_POOL_NAME);
+            threadPool = queuedThreadPool;
+        }
+        Server server = new Server(threadPool);
+
+        HttpConfiguration httpConfiguration = new HttpConfiguration();
+        List<ConnectionFactory> factories = new ArrayList<>();
+        factories.add(new HttpConnectionFactory(httpConfiguration));
+        if (configuration.useHttp2c()) {
+            ConnectionFactory http2c = createHttp2cConnectionFactory(httpConfiguration);
+            if (http2c != null) {
+                factories.add(http2c);
+            }
+        }
+        ServerConnector connector = new ServerConnector(server, configuration.getAcceptors(), configuration.getSelectors(),
+                factories.toArray(new ConnectionFactory[factories.size()]));
+        connector.setPort(fPort);
+        server.addConnector(connector);
+        return server;
+    }
+
+    /**
+     * Jetty's HTTP/2 bundles are not part of the Eclipse platform, so HTTP/2
+     * cleartext is only enabled if they are installed with the server.
+     */
+    private static @Nullable ConnectionFactory createHttp2cConnectionFactory(HttpConfiguration httpConfiguration) {
+        try {
+            Class<?> factoryClass = Class.forName(HTTP2C_FACTORY);
+            return (ConnectionFactory) factoryClass.getConstructor(HttpConfiguration.class).newInstance(httpConfiguration);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            Activator.getInstance().logWarning("HTTP/2 is not available, only HTTP/1.1 will be served"); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    private static Handler createHandler(ServerConfiguration configuration, Handler handler) {
+        if (!configuration.useGzip()) {
+            return handler;
+        }
+        GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(configuration.getGzipMinSize());
+        gzipHandler.setIncludedMimeTypes(MediaType.APPLICATION_JSON, NdjsonModelWriter.MEDIA_TYPE, ColumnarModelWriter.MEDIA_TYPE);
+        gzipHandler.setIncludedMethods(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT);
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
+    }
+
     private static JacksonJaxbJsonProvider registerCustomMappers() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.enable(SerializationFeature.INDENT_OUTPUT);
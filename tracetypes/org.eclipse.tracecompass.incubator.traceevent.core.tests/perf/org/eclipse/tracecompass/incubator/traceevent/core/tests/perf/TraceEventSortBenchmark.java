@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests.perf;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.Random;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.junit.Test;
+
+/**
+ * Benchmark of the import of large unsorted trace event files, which sorts
+ * them on disk. The synthetic traces are generated in the temporary
+ * directory, their sizes in GB are set with the
+ * <code>traceevent.benchmark.sizes</code> system property, for example
+ * <code>-Dtraceevent.benchmark.sizes=1,2,5,10</code>.
+ *
+ * @author agent
+ */
+public class TraceEventSortBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator#Trace Event#";
+    private static final String TEST_NAME = "Trace event sort (%d GB)";
+    private static final String SIZES_PROPERTY = "traceevent.benchmark.sizes";
+    private static final long GIGABYTE = 1L << 30;
+    private static final int LOOP_COUNT = 3;
+    /* Events are shuffled within windows of this duration, in us */
+    private static final long DISORDER = 1000000L;
+
+    /**
+     * Run the benchmark
+     *
+     * @throws IOException
+     *             if the synthetic trace could not be written
+     * @throws TmfTraceException
+     *             if the trace could not be sorted
+     */
+    @Test
+    public void runSortBenchmark() throws IOException, TmfTraceException {
+        for (String size : System.getProperty(SIZES_PROPERTY, "1").split(",")) {
+            runBenchmark(Integer.parseInt(size.trim()));
+        }
+    }
+
+    private static void runBenchmark(int gigaBytes) throws IOException, TmfTraceException {
+        File file = File.createTempFile("traceEventSortBenchmark", ".json");
+        try {
+            generate(file, gigaBytes * GIGABYTE);
+
+            String name = String.format(TEST_NAME, gigaBytes);
+            Performance perf = Performance.getDefault();
+            PerformanceMeter pm = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + name));
+            perf.tagAsSummary(pm, name, Dimension.CPU_TIME);
+
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                TraceEventTrace trace = new TraceEventTrace();
+                try {
+                    pm.start();
+                    // The trace is sorted when it is opened for the first time
+                    trace.initTrace(null, file.getAbsolutePath(), ITmfEvent.class);
+                    pm.stop();
+                } finally {
+                    trace.dispose();
+                    TmfTraceManager.deleteSupplementaryFolder(trace);
+                }
+            }
+            pm.commit();
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Write a trace of complete events, in a roughly increasing but shuffled
+     * order, like the traces of several threads which are concatenated
+     */
+    private static void generate(File file, long size) throws IOException {
+        Random random = new Random(size);
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8), 1 << 20)) {
+            writer.write("{\"traceEvents\":[\n");
+            long written = 0;
+            long base = 0;
+            int i = 0;
+            while (written < size) {
+                long ts = base + (long) (random.nextDouble() * DISORDER);
+                String event = String.format("{\"name\":\"function%d\",\"cat\":\"benchmark\",\"ph\":\"X\",\"ts\":%d.%03d,\"dur\":%d,\"pid\":1,\"tid\":%d,\"args\":{\"id\":%d}},\n",
+                        i % 1000, ts, i % 1000, random.nextInt(1000), i % 16, i);
+                writer.write(event);
+                written += event.length();
+                base += 10;
+                i++;
+            }
+            writer.write("{\"name\":\"last\",\"ph\":\"i\",\"ts\":0,\"pid\":1,\"tid\":0}\n],\"displayTimeUnit\":\"ns\"}\n");
+        }
+    }
+}
@@ -13,8 +13,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -146,6 +148,60 @@ public class TraceEventTraceTest {
         testTrace(path, nbEvents, startTime, endTime);
     }
 
+    /**
+     * Test seeking by rank, by timestamp and by ratio in a trace which has
+     * several checkpoints in its index
+     *
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @Test
+    public void testSeek() throws TmfTraceException {
+        String path = "traces/big_trace.json";
+        ITmfTrace trace = new TraceEventTrace();
+        try {
+            trace.initTrace(null, path, ITmfEvent.class);
+            List<Long> timestamps = new ArrayList<>();
+            ITmfContext context = trace.seekEvent(0.0);
+            ITmfEvent event = trace.getNext(context);
+            while (event != null) {
+                timestamps.add(event.getTimestamp().toNanos());
+                event = trace.getNext(context);
+            }
+            assertEquals(1866, timestamps.size());
+
+            for (long rank : new long[] { 0, 1, 999, 1000, 1001, 1500, 1865 }) {
+                context = trace.seekEvent(rank);
+                assertEquals(rank, context.getRank());
+                event = trace.getNext(context);
+                assertNotNull(event);
+                assertEquals(timestamps.get((int) rank).longValue(), event.getTimestamp().toNanos());
+            }
+
+            for (int rank : new int[] { 0, 999, 1000, 1865 }) {
+                long ts = timestamps.get(rank);
+                context = trace.seekEvent(TmfTimestamp.fromNanos(ts));
+                assertEquals(timestamps.indexOf(ts), context.getRank());
+                event = trace.getNext(context);
+                assertNotNull(event);
+                assertEquals(ts, event.getTimestamp().toNanos());
+            }
+
+            for (double ratio : new double[] { 0.25, 0.5, 0.75 }) {
+                context = trace.seekEvent(ratio);
+                long rank = context.getRank();
+                assertTrue("Rank in the middle of the trace", rank > 0 && rank < timestamps.size());
+                double eventRatio = trace.getLocationRatio(context.getLocation());
+                assertEquals(ratio, eventRatio, 0.01);
+                event = trace.getNext(context);
+                assertNotNull(event);
+                assertEquals(timestamps.get((int) rank).longValue(), event.getTimestamp().toNanos());
+            }
+        } finally {
+            trace.dispose();
+        }
+    }
+
     private static void testTrace(String path, int nbEvents, ITmfTimestamp startTime, ITmfTimestamp endTime) throws TmfTraceException {
         ITmfTrace trace = new TraceEventTrace();
         try {
@@ -0,0 +1,548 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Streaming parser of the JSON object of one trace event, read straight from
+ * the bytes of the trace. Only the fields of the trace event format are
+ * converted to Java objects, the other fields are skipped without being
+ * decoded.
+ *
+ * @author agent
+ */
+@NonNullByDefault
+final class JsonEventParser {
+
+    private static final long MICRO_TO_NANO = 1000L;
+    /* Timestamp of the events that have no valid "ts" field */
+    private static final long NO_TIMESTAMP = 0L;
+    private static final int MAX_DIGITS = 15;
+    private static final String ARG_PREFIX = "arg/"; //$NON-NLS-1$
+
+    /**
+     * Thrown when the event is not valid JSON, it has no stack trace as it
+     * only ends the parsing
+     */
+    private static final class InvalidJsonException extends Exception {
+        private static final long serialVersionUID = -3527413573683545431L;
+
+        public InvalidJsonException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final InvalidJsonException INVALID = new InvalidJsonException();
+
+    private final ByteBuffer fBuffer;
+    private final int fEnd;
+    private int fPos;
+
+    private JsonEventParser(ByteBuffer buffer, int start, int end) {
+        fBuffer = buffer;
+        fPos = start;
+        fEnd = end;
+    }
+
+    /**
+     * Parse a trace event
+     *
+     * @param buffer
+     *            the buffer which contains the event, it is read with absolute
+     *            gets only
+     * @param start
+     *            the index of the opening brace of the event
+     * @param end
+     *            the index after the closing brace of the event
+     * @return the event field, or null if the event is not a valid JSON
+     *         object
+     */
+    static @Nullable TraceEventField parse(ByteBuffer buffer, int start, int end) {
+        try {
+            return new JsonEventParser(buffer, start, end).parseEvent();
+        } catch (InvalidJsonException e) {
+            // invalid, return null and it will fail
+            return null;
+        }
+    }
+
+    /**
+     * Read only the timestamp of a trace event, the other fields are skipped
+     *
+     * @param buffer
+     *            the buffer which contains the event, it is read with absolute
+     *            gets only
+     * @param start
+     *            the index of the opening brace of the event
+     * @param end
+     *            the index after the closing brace of the event
+     * @return the timestamp in nanoseconds, or the timestamp given by
+     *         {@link #parse(ByteBuffer, int, int)} to the events without a
+     *         valid one
+     */
+    static long parseTimestamp(ByteBuffer buffer, int start, int end) {
+        try {
+            return new JsonEventParser(buffer, start, end).readTimestamp();
+        } catch (InvalidJsonException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    private long readTimestamp() throws InvalidJsonException {
+        expect('{');
+        if (isNext('}')) {
+            return NO_TIMESTAMP;
+        }
+        do {
+            String key = readString();
+            expect(':');
+            skipWhitespace();
+            if (key.equals(ITraceEventConstants.TIMESTAMP)) {
+                return readNanos(NO_TIMESTAMP);
+            }
+            skipValue();
+        } while (isNext(','));
+        return NO_TIMESTAMP;
+    }
+
+    private TraceEventField parseEvent() throws InvalidJsonException {
+        long ts = NO_TIMESTAMP;
+        String phase = null;
+        String name = null;
+        Integer tid = null;
+        Object pid = null;
+        Double duration = null;
+        String category = null;
+        String id = null;
+        Map<@NonNull String, @NonNull Object> argsMap = new HashMap<>();
+
+        expect('{');
+        if (!isNext('}')) {
+            do {
+                String key = readString();
+                expect(':');
+                skipWhitespace();
+                switch (key) {
+                case ITraceEventConstants.TIMESTAMP:
+                    ts = readNanos(NO_TIMESTAMP);
+                    break;
+                case ITraceEventConstants.DURATION:
+                    long nanos = readNanos(Long.MIN_VALUE);
+                    duration = (nanos == Long.MIN_VALUE) ? null : Double.valueOf(nanos);
+                    break;
+                case ITraceEventConstants.PHASE:
+                    phase = readText();
+                    break;
+                case ITraceEventConstants.NAME:
+                    name = readText();
+                    break;
+                case ITraceEventConstants.TID:
+                    tid = readInt();
+                    break;
+                case ITraceEventConstants.PID:
+                    pid = readValue();
+                    break;
+                case ITraceEventConstants.CATEGORY:
+                    category = readText();
+                    break;
+                case ITraceEventConstants.ID:
+                    id = readText();
+                    break;
+                case ITraceEventConstants.ARGS:
+                    readArgs(argsMap);
+                    break;
+                default:
+                    skipValue();
+                    break;
+                }
+            } while (isNext(','));
+            expect('}');
+        }
+
+        if (phase == null || phase.isEmpty()) {
+            phase = "I"; //$NON-NLS-1$
+        }
+        if (name == null) {
+            name = "E".equals(phase) ? "exit" : "unknown"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        argsMap.put(ITraceEventConstants.TIMESTAMP, ts);
+        argsMap.put(ITraceEventConstants.PHASE, phase);
+        argsMap.put(ITraceEventConstants.NAME, name);
+        if (tid != null) {
+            argsMap.put(ITraceEventConstants.TID, tid);
+        }
+        if (pid != null) {
+            argsMap.put(ITraceEventConstants.PID, pid);
+        }
+        if (duration != null) {
+            argsMap.put(ITraceEventConstants.DURATION, duration);
+        }
+        if (category != null) {
+            argsMap.put(ITraceEventConstants.CATEGORY, category);
+        }
+        if (id != null) {
+            argsMap.put(ITraceEventConstants.ID, id);
+        }
+        return new TraceEventField(name, ts, phase, pid, tid, category, id, duration, argsMap);
+    }
+
+    /**
+     * Read the arguments as strings, the nested objects and arrays are kept as
+     * JSON text
+     */
+    private void readArgs(Map<@NonNull String, @NonNull Object> argsMap) throws InvalidJsonException {
+        if (peek() != '{') {
+            skipValue();
+            return;
+        }
+        fPos++;
+        if (isNext('}')) {
+            return;
+        }
+        do {
+            String key = readString();
+            expect(':');
+            skipWhitespace();
+            String value = readText();
+            argsMap.put(ARG_PREFIX + key, value == null ? "" : value);
+        } while (isNext(','));
+        expect('}');
+    }
+
+    // ------------------------------------------------------------------------
+    // Values
+    // ------------------------------------------------------------------------
+
+    /**
+     * Read a value as text: strings are decoded, other values are kept as
+     * JSON text
+     *
+     * @return the text, or null if the value is null
+     */
+    private @Nullable String readText() throws InvalidJsonException {
+        byte b = peek();
+        if (b == '"') {
+            return readString();
+        }
+        int start = fPos;
+        skipValue();
+        if (b == 'n') {
+            return null;
+        }
+        return decode(start, fPos);
+    }
+
+    /**
+     * Read a value as an object: Integer, Long or Double for numbers, String,
+     * Boolean, or JSON text for objects and arrays
+     */
+    private @Nullable Object readValue() throws InvalidJsonException {
+        byte b = peek();
+        if (b == '"') {
+            return readString();
+        }
+        int start = fPos;
+        skipValue();
+        if (b == 'n') {
+            return null;
+        } else if (b == 't' || b == 'f') {
+            return Boolean.valueOf(b == 't');
+        } else if (b == '-' || (b >= '0' && b <= '9')) {
+            String number = decode(start, fPos);
+            try {
+                long value = Long.parseLong(number);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return Integer.valueOf((int) value);
+                }
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                return Double.valueOf(number);
+            }
+        }
+        return decode(start, fPos);
+    }
+
+    private @Nullable Integer readInt() throws InvalidJsonException {
+        String text = readText();
+        if (text == null) {
+            return 0;
+        }
+        try {
+            return (int) Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Read a time in microseconds, as a number or a string, and convert it to
+     * nanoseconds without going through a double when possible
+     */
+    private long readNanos(long defaultValue) throws InvalidJsonException {
+        boolean quoted = peek() == '"';
+        if (quoted) {
+            fPos++;
+        }
+        int start = fPos;
+        boolean negative = fPos < fEnd && get(fPos) == '-';
+        if (negative) {
+            fPos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (fPos < fEnd && isDigit(get(fPos))) {
+            value = value * 10 + (get(fPos) - '0');
+            digits++;
+            fPos++;
+        }
+        long nanos = value * MICRO_TO_NANO;
+        if (fPos < fEnd && get(fPos) == '.') {
+            fPos++;
+            long scale = MICRO_TO_NANO / 10;
+            while (fPos < fEnd && isDigit(get(fPos))) {
+                nanos += (get(fPos) - '0') * scale;
+                scale /= 10;
+                digits++;
+                fPos++;
+            }
+        }
+        if (digits > 0 && digits <= MAX_DIGITS && (quoted ? peekRaw() == '"' : isEndOfValue())) {
+            if (quoted) {
+                fPos++;
+            }
+            return negative ? -nanos : nanos;
+        }
+        /* Exponents, long numbers and other values are rare, go the slow way */
+        fPos = quoted ? start - 1 : start;
+        String text = readText();
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            double micros = Double.parseDouble(text);
+            return Double.isFinite(micros) ? (long) (micros * MICRO_TO_NANO) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Read a string, the opening quote is the next non blank byte
+     */
+    private String readString() throws InvalidJsonException {
+        expect('"');
+        int start = fPos;
+        boolean ascii = true;
+        boolean escaped = false;
+        while (true) {
+            if (fPos >= fEnd) {
+                throw INVALID;
+            }
+            byte b = get(fPos);
+            if (b == '"') {
+                break;
+            } else if (b == '\\') {
+                escaped = true;
+                fPos++;
+            } else if (b < 0) {
+                ascii = false;
+            }
+            fPos++;
+        }
+        int end = fPos;
+        fPos++;
+        if (ascii && !escaped) {
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) get(start + i);
+            }
+            return new String(chars);
+        }
+        String raw = decode(start, end);
+        return escaped ? unescape(raw) : raw;
+    }
+
+    private static String unescape(String raw) throws InvalidJsonException {
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i >= raw.length()) {
+                throw INVALID;
+            }
+            c = raw.charAt(i);
+            switch (c) {
+            case 'b':
+                sb.append('\b');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'u':
+                if (i + 4 >= raw.length()) {
+                    throw INVALID;
+                }
+                try {
+                    sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                } catch (NumberFormatException e) {
+                    throw INVALID;
+                }
+                i += 4;
+                break;
+            default:
+                sb.append(c);
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Skip a value of any type, checking only that the brackets and quotes are
+     * balanced
+     */
+    private void skipValue() throws InvalidJsonException {
+        byte b = peek();
+        if (b == '"') {
+            skipString();
+            return;
+        }
+        if (b != '{' && b != '[') {
+            /* Number, true, false or null */
+            int start = fPos;
+            while (fPos < fEnd && !isEndOfValue()) {
+                fPos++;
+            }
+            if (fPos == start) {
+                throw INVALID;
+            }
+            return;
+        }
+        int depth = 0;
+        while (fPos < fEnd) {
+            b = get(fPos);
+            if (b == '"') {
+                skipString();
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+                if (depth == 0) {
+                    fPos++;
+                    return;
+                }
+            }
+            fPos++;
+        }
+        throw INVALID;
+    }
+
+    private void skipString() throws InvalidJsonException {
+        fPos++;
+        while (fPos < fEnd) {
+            byte b = get(fPos);
+            if (b == '"') {
+                fPos++;
+                return;
+            }
+            fPos += (b == '\\') ? 2 : 1;
+        }
+        throw INVALID;
+    }
+
+    // ------------------------------------------------------------------------
+    // Bytes
+    // ------------------------------------------------------------------------
+
+    private byte get(int index) {
+        return fBuffer.get(index);
+    }
+
+    /**
+     * Get the next non blank byte, without consuming it
+     */
+    private byte peek() throws InvalidJsonException {
+        skipWhitespace();
+        if (fPos >= fEnd) {
+            throw INVALID;
+        }
+        return get(fPos);
+    }
+
+    private byte peekRaw() {
+        return fPos < fEnd ? get(fPos) : 0;
+    }
+
+    private boolean isNext(char c) throws InvalidJsonException {
+        if (peek() == c) {
+            fPos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) throws InvalidJsonException {
+        if (!isNext(c)) {
+            throw INVALID;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (fPos < fEnd) {
+            byte b = get(fPos);
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return;
+            }
+            fPos++;
+        }
+    }
+
+    private boolean isEndOfValue() {
+        if (fPos >= fEnd) {
+            return true;
+        }
+        byte b = get(fPos);
+        return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -9,8 +9,8 @@
 
 package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -20,8 +20,6 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 /**
  * Trace Event fields. Used as a quick wrapper for Trace Event log data.
@@ -30,8 +28,6 @@ import org.json.JSONObject;
  */
 @NonNullByDefault
 public class TraceEventField {
-    private static final double MICRO_TO_NANO = 1000.0;
-
     private final long fTs;
     private final char fPhase;
     private final String fName;
@@ -51,87 +47,46 @@ public class TraceEventField {
      * @return an event field
      */
     public static @Nullable TraceEventField parseJson(String fieldsString) {
-        // looks like this
-        // {"ts":94824347413117,"phase":"B","tid":39,"name":"TimeGraphView:BuildThread","args"={"trace":"django-httpd"}}
-        JSONObject root;
-        Map<@NonNull String, @NonNull Object> argsMap = new HashMap<>();
-        try {
-            root = new JSONObject(fieldsString);
-            long ts = 0;
-
-            Double tso = optDouble(root, ITraceEventConstants.TIMESTAMP);
-            if (Double.isFinite(tso)) {
-                ts = (long) (tso * MICRO_TO_NANO);
-            }
-            String phase = optString(root, ITraceEventConstants.PHASE, "I"); //$NON-NLS-1$
-            if (phase == null) {
-                // FIXME: Easy way to avoid null warning
-                phase = "I"; //$NON-NLS-1$
-            }
-            String name = String.valueOf(optString(root,ITraceEventConstants.NAME, "E".equals(phase) ? "exit" : "unknown")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-            Integer tid = optInt(root, ITraceEventConstants.TID);
-            if (tid == Integer.MIN_VALUE) {
-                tid = null;
-            }
-            Object pid = root.opt(ITraceEventConstants.PID);
-            Double duration = optDouble(root, ITraceEventConstants.DURATION);
-            if (Double.isFinite(duration)) {
-                duration = (duration * MICRO_TO_NANO);
-            }
-            String category = optString(root, ITraceEventConstants.CATEGORY);
-            String id = optString(root, ITraceEventConstants.ID);
-            JSONObject args = optJSONObject(root, ITraceEventConstants.ARGS);
-            if (args != null) {
-                Iterator<?> keys = args.keys();
-                while (keys.hasNext()) {
-                    String key = String.valueOf(keys.next());
-                    String value = args.optString(key);
-                    argsMap.put("arg/" + key, String.valueOf(value)); //$NON-NLS-1$
-                }
-            }
-            argsMap.put(ITraceEventConstants.TIMESTAMP, ts);
-            argsMap.put(ITraceEventConstants.PHASE, phase);
-            argsMap.put(ITraceEventConstants.NAME, name);
-            if (tid != null) {
-                argsMap.put(ITraceEventConstants.TID, tid);
-            }
-            if (pid != null) {
-                argsMap.put(ITraceEventConstants.PID, pid);
-            }
-            if (Double.isFinite(duration)) {
-                argsMap.put(ITraceEventConstants.DURATION, duration);
-            }
-            if (category != null) {
-                argsMap.put(ITraceEventConstants.CATEGORY, category);
-            }
-            if (id != null) {
-                argsMap.put(ITraceEventConstants.ID, id);
-            }
-            return new TraceEventField(name, ts, phase, pid, tid, category, id, duration, argsMap);
-        } catch (JSONException e1) {
-            // invalid, return null and it will fail
-        }
-        return null;
-    }
-
-    private static double optDouble(JSONObject root, String key) {
-        return root.has(key) ? root.optDouble(key) : Double.NaN;
-    }
-
-    private static int optInt(JSONObject root, String key) {
-        return root.has(key) ? root.optInt(key) : Integer.MIN_VALUE;
-    }
-
-    private static @Nullable JSONObject optJSONObject(JSONObject root, String key){
-        return root.has(key) ? root.optJSONObject(key) : null;
+        byte[] bytes = fieldsString.getBytes(StandardCharsets.UTF_8);
+        return parseJson(ByteBuffer.wrap(bytes), 0, bytes.length);
     }
 
-    private static @Nullable String optString(JSONObject root, String key, @Nullable String defaultValue) {
-        return root.has(key) ? root.optString(key) : defaultValue;
+    /**
+     * Parse the JSON object of an event from the bytes of a trace, without
+     * copying them first. Only the fields of the trace event format are
+     * decoded.
+     *
+     * @param buffer
+     *            the buffer which contains the event, its position and limit
+     *            are not used
+     * @param start
+     *            the index of the opening brace of the event in the buffer
+     * @param end
+     *            the index after the closing brace of the event
+     * @return an event field, or null if the event is not valid JSON
+     */
+    public static @Nullable TraceEventField parseJson(ByteBuffer buffer, int start, int end) {
+        // looks like this
+        // {"ts":94824347413117,"phase":"B","tid":39,"name":"TimeGraphView:BuildThread","args"={"trace":"django-httpd"}}
+        return JsonEventParser.parse(buffer, start, end);
     }
 
-    private static @Nullable String optString(JSONObject root, String key) {
-        return optString(root, key, null);
+    /**
+     * Parse only the timestamp of an event from the bytes of a trace, the
+     * same way as {@link #parseJson(ByteBuffer, int, int)} does
+     *
+     * @param buffer
+     *            the buffer which contains the event, its position and limit
+     *            are not used
+     * @param start
+     *            the index of the opening brace of the event in the buffer
+     * @param end
+     *            the index after the closing brace of the event
+     * @return the timestamp in nanoseconds. An event without a valid timestamp
+     *         gets the same one as its parsed field.
+     */
+    public static long parseTimestamp(ByteBuffer buffer, int start, int end) {
+        return JsonEventParser.parseTimestamp(buffer, start, end);
     }
 
     /**
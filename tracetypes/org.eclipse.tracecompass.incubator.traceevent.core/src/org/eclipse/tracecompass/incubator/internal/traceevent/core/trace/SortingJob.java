@@ -9,15 +9,27 @@
 
 package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
 
-import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,10 +39,10 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.NonNull;
-import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLog;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLogUtils;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 
@@ -39,47 +51,34 @@ import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
  * sorted in ram and written to disk, then the tracelets are merged into a big
  * trace.
  *
+ * The trace is read in large byte buffers and the timestamps are parsed to
+ * nanoseconds as they are found, the same way as when the events are read.
+ * The tracelets are sorted on several threads while the trace is still being
+ * split, and they are written and merged with buffered channels whose total
+ * size does not depend on the size of the trace. The index of the sorted
+ * trace is built while it is merged.
+ *
  * @author Matthew Khouzam
  */
 final class SortingJob extends Job {
 
-    private static final int CHARS_PER_LINE_ESTIMATE = 50;
     private static final @NonNull Logger LOGGER = TraceCompassLog.getLogger(SortingJob.class);
-    private static final int CHUNK_SIZE = 65535;
-
-    private static final class Pair implements Comparable<Pair> {
-        private static final @NonNull BigDecimal MINUS_ONE = BigDecimal.valueOf(-1);
-
-        public Pair(String string, int i) {
-            line = string;
-            String key = "\"ts\":"; //$NON-NLS-1$
-            int indexOf = string.indexOf(key);
-            if (indexOf < 0) {
-                ts = MINUS_ONE;
-            } else {
-                int index = indexOf + key.length();
-                int end = string.indexOf(',', index);
-                if (end == -1) {
-                    end = string.indexOf('}', index);
-                }
-                String number = string.substring(index, end).trim();
-                if (!number.isEmpty()) {
-                    // This may be a bit slow, it can be optimized if need be.
-                    ts = new BigDecimal(number);
-                }
-                pos = i;
-            }
-        }
 
-        BigDecimal ts;
-        String line;
-        int pos;
+    /* Bytes of events of a tracelet, sorted together in memory */
+    private static final int CHUNK_SIZE = 32 * 1024 * 1024;
+    /* Room for the event that fills a chunk, larger events grow it */
+    private static final int CHUNK_SLACK = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 8 * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 4 * 1024 * 1024;
+    /* Read buffers of all the tracelets while they are merged */
+    private static final int MERGE_MEMORY = 64 * 1024 * 1024;
+    private static final int MIN_MERGE_BUFFER_SIZE = 64 * 1024;
+    /* Tracelets sorted at the same time, bounds the memory used */
+    private static final int NB_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
 
-        @Override
-        public int compareTo(Pair o) {
-            return ts.compareTo(o.ts);
-        }
-    }
+    private static final byte[] HEADER = "[\n".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+    private static final byte[] SEPARATOR = ",\n".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+    private static final byte[] FOOTER = "\n]\n".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
 
     private final String fPath;
     private final ITmfTrace fTrace;
@@ -94,136 +93,421 @@ final class SortingJob extends Job {
     @Override
     protected IStatus run(IProgressMonitor monitor) {
         ITmfTrace trace = fTrace;
-        IProgressMonitor subMonitor = SubMonitor.convert(monitor, 3);
         if (trace == null) {
             return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Trace cannot be null"); //$NON-NLS-1$
         }
         String dir = TmfTraceManager.getSupplementaryFileDir(trace);
-        subMonitor.beginTask(Messages.SortingJob_sorting, (int) (new File(fPath).length() / CHARS_PER_LINE_ESTIMATE));
-        subMonitor.subTask(Messages.SortingJob_splitting);
+        /* Progress is in kB, read once to split and written once to merge */
+        long kiloBytes = new File(fPath).length() >> 10;
+        SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.SortingJob_sorting, (int) Math.min(Integer.MAX_VALUE, 2 * kiloBytes + 2));
         File tempDir = new File(dir + ".tmp"); //$NON-NLS-1$
         tempDir.mkdirs();
         List<File> tracelings = new ArrayList<>();
-        try (BufferedInputStream parser = new BufferedInputStream(new FileInputStream(fPath))) {
-            char data = (char) parser.read();
-            while (data != '[') {
-                data = (char) parser.read();
-            }
-            List<Pair> events = new ArrayList<>(CHUNK_SIZE);
-            String eventString = TraceEventTrace.readNextEventString(() -> (char) parser.read());
-            if (eventString == null) {
+        ExecutorService sorters = Executors.newFixedThreadPool(NB_THREADS);
+        try {
+            subMonitor.subTask(Messages.SortingJob_splitting);
+            if (!split(tempDir, tracelings, sorters, subMonitor)) {
+                return Status.CANCEL_STATUS;
+            }
+            if (tracelings.isEmpty()) {
                 return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Empty event in " + fPath); //$NON-NLS-1$
             }
-            Pair line = new Pair(eventString, 0);
-            line.line = data + '"' + line.line;
-            int cnt = 0;
-            int filen = 0;
-            while (eventString != null) {
-                while (cnt < CHUNK_SIZE) {
-                    events.add(line);
-                    subMonitor.worked(1);
-                    if (subMonitor.isCanceled()) {
-                        return Status.CANCEL_STATUS;
+            subMonitor.subTask(Messages.SortingJob_merging);
+            File file = new File(dir + File.separator + new File(trace.getPath()).getName());
+            /*
+             * The trace is only sorted again if the sorted file does not exist,
+             * so it is merged into a temporary file, renamed once complete
+             */
+            File merged = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+            try {
+                TraceEventIndex.Builder index = new TraceEventIndex.Builder();
+                if (!merge(tracelings, merged, index, subMonitor)) {
+                    return Status.CANCEL_STATUS;
+                }
+                index.build(merged.length()).write(file);
+                Files.move(merged.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(merged.toPath());
+            }
+        } catch (IOException e) {
+            TraceCompassLogUtils.traceInstant(LOGGER, Level.WARNING, "IOException in sorting job", "trace", fPath, "exception", e); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Failed to sort " + fPath, e); //$NON-NLS-1$
+        } finally {
+            sorters.shutdownNow();
+            try {
+                sorters.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (File tl : tracelings) {
+                tl.delete();
+            }
+            tempDir.delete();
+
+            subMonitor.done();
+        }
+        return Status.OK_STATUS;
+
+    }
+
+    /**
+     * Split the trace into sorted tracelets. The events are copied into a
+     * chunk until it is full, then the chunk is sorted and written on another
+     * thread while the next one is filled.
+     *
+     * @return false if the job was cancelled
+     */
+    private boolean split(File tempDir, List<File> tracelings, ExecutorService sorters, SubMonitor subMonitor) throws IOException {
+        Semaphore pending = new Semaphore(NB_THREADS);
+        List<Future<?>> sorted = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(new File(fPath).toPath(), StandardOpenOption.READ)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+            int limit = 0;
+            int pos = 0;
+            /* Start of the event being read in the buffer, or -1 */
+            int eventStart = -1;
+            int depth = 0;
+            boolean inArray = false;
+            boolean inString = false;
+            boolean escaped = false;
+            boolean done = false;
+            Chunk chunk = new Chunk();
+            while (!done) {
+                if (pos == limit) {
+                    /* Keep the partial event, read what follows it */
+                    if (eventStart >= 0) {
+                        int partial = limit - eventStart;
+                        if (partial == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                            wrapped = ByteBuffer.wrap(buffer);
+                        } else {
+                            System.arraycopy(buffer, eventStart, buffer, 0, partial);
+                        }
+                        eventStart = 0;
+                        limit = partial;
+                    } else {
+                        limit = 0;
                     }
-                    eventString = TraceEventTrace.readNextEventString(() -> (char) parser.read());
-                    if (eventString == null) {
+                    pos = limit;
+                    int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+                    if (read <= 0) {
                         break;
                     }
-                    line = new Pair(eventString, 0);
-                    cnt++;
-                }
-                events.sort((o1, o2) -> o1.ts.compareTo(o2.ts));
-                cnt = 0;
-                File traceling = new File(tempDir + File.separator + "test" + filen + ".json"); //$NON-NLS-1$ //$NON-NLS-2$
-                tracelings.add(traceling);
-                traceling.createNewFile();
-                try (PrintWriter fs = new PrintWriter(traceling)) {
-                    fs.println('[');
-                    for (Pair sortedEvent : events) {
-                        fs.println(sortedEvent.line + ',');
+                    limit += read;
+                    subMonitor.worked(read >> 10);
+                    if (subMonitor.isCanceled()) {
+                        return false;
                     }
-                    fs.println(']');
                 }
-                events.clear();
-                filen++;
-                subMonitor.worked(1);
-                if (subMonitor.isCanceled()) {
-                    return Status.CANCEL_STATUS;
+                byte b = buffer[pos];
+                if (!inArray) {
+                    /* Skip to the array of events */
+                    inArray = (b == '[');
+                } else if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    if (depth == 0 && b == '{') {
+                        eventStart = pos;
+                    }
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (depth == 0) {
+                        /* End of the array of events */
+                        done = true;
+                    } else if (--depth == 0 && eventStart >= 0) {
+                        int length = pos + 1 - eventStart;
+                        chunk.add(buffer, eventStart, length, TraceEventField.parseTimestamp(wrapped, eventStart, pos + 1));
+                        eventStart = -1;
+                        if (chunk.isFull()) {
+                            sorted.add(sort(chunk, tempDir, tracelings, sorters, pending));
+                            chunk = new Chunk();
+                        }
+                    }
                 }
+                pos++;
+            }
+            if (chunk.size() > 0) {
+                sorted.add(sort(chunk, tempDir, tracelings, sorters, pending));
+            }
+        }
+        for (Future<?> future : sorted) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+        return true;
+    }
 
+    private static Future<?> sort(Chunk chunk, File tempDir, List<File> tracelings, ExecutorService sorters, Semaphore pending) throws IOException {
+        File traceling = new File(tempDir + File.separator + "test" + tracelings.size() + ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+        tracelings.add(traceling);
+        try {
+            /* Wait for a sorter, so that at most NB_THREADS chunks wait in memory */
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        return sorters.submit(() -> {
+            try {
+                chunk.sortAndWrite(traceling);
+            } finally {
+                pending.release();
             }
-            subMonitor.subTask(Messages.SortingJob_merging);
-            PriorityQueue<Pair> evs = new PriorityQueue<>();
-            List<BufferedInputStream> parsers = new ArrayList<>();
-            int i = 0;
-            for (File traceling : tracelings) {
-
-                /*
-                 * This resource is added to a priority queue and then removed
-                 * at the very end.
-                 */
-                @SuppressWarnings("resource")
-                BufferedInputStream createParser = new BufferedInputStream(new FileInputStream(traceling));
-                while (data != '{') {
-                    data = (char) parser.read();
-                    if (data == (char) -1) {
-                        break;
+            return null;
+        });
+    }
+
+    /**
+     * Merge the sorted tracelets into the sorted trace, and add its events to
+     * the index
+     *
+     * @return false if the job was cancelled
+     */
+    private static boolean merge(List<File> tracelings, File file, TraceEventIndex.Builder index, SubMonitor subMonitor) throws IOException {
+        PriorityQueue<ChunkReader> readers = new PriorityQueue<>(tracelings.size(),
+                Comparator.<ChunkReader> comparingLong(reader -> reader.fTimestamp).thenComparingInt(reader -> reader.fIndex));
+        /* The buffers share a fixed budget, so the memory does not grow with the trace */
+        int bufferSize = Math.max(MIN_MERGE_BUFFER_SIZE, MERGE_MEMORY / tracelings.size());
+        try (FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < tracelings.size(); i++) {
+                ChunkReader reader = new ChunkReader(tracelings.get(i), i, bufferSize);
+                if (reader.next()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            buffer.put(HEADER);
+            long position = HEADER.length;
+            boolean first = true;
+            while (!readers.isEmpty()) {
+                ChunkReader reader = readers.poll();
+                if (!first) {
+                    write(out, buffer, SEPARATOR, 0, SEPARATOR.length);
+                    position += SEPARATOR.length;
+                }
+                first = false;
+                index.add(position, reader.fTimestamp);
+                position += reader.fLength;
+                if (buffer.remaining() < reader.fLength) {
+                    subMonitor.worked(buffer.position() >> 10);
+                    flush(out, buffer);
+                    if (subMonitor.isCanceled()) {
+                        return false;
                     }
                 }
-                eventString = TraceEventTrace.readNextEventString(() -> (char) createParser.read());
-                Pair parse = new Pair(eventString, i);
-                evs.add(parse);
-                i++;
-                parsers.add(createParser);
-                subMonitor.worked(1);
-                if (subMonitor.isCanceled()) {
-                    break;
+                write(out, buffer, reader.fLine, 0, reader.fLength);
+                if (reader.next()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
                 }
             }
-            if (subMonitor.isCanceled()) {
-                return Status.CANCEL_STATUS;
+            write(out, buffer, FOOTER, 0, FOOTER.length);
+            flush(out, buffer);
+        } finally {
+            for (ChunkReader reader : readers) {
+                reader.close();
             }
-            File file = new File(dir + File.separator + new File(trace.getPath()).getName());
-            file.createNewFile();
-
-            try (PrintWriter tempWriter = new PrintWriter(file)) {
-                tempWriter.println('[');
-                while (!evs.isEmpty()) {
-                    Pair sortedEvent = evs.poll();
-                    Pair parse = readNextEvent(parsers.get(sortedEvent.pos), sortedEvent.pos);
-                    if (parse != null) {
-                        tempWriter.println(sortedEvent.line.trim() + ',');
-                        evs.add(parse);
-                    } else {
-                        tempWriter.println(sortedEvent.line.trim() + (evs.isEmpty() ? "" : ',')); //$NON-NLS-1$
-                    }
-                    subMonitor.worked(1);
-                    if (subMonitor.isCanceled()) {
-                        return Status.CANCEL_STATUS;
+        }
+        return true;
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer, byte[] src, int offset, int length) throws IOException {
+        if (buffer.remaining() < length) {
+            flush(out, buffer);
+        }
+        if (buffer.remaining() < length) {
+            /* Larger than the buffer, write it directly */
+            ByteBuffer wrapped = ByteBuffer.wrap(src, offset, length);
+            while (wrapped.hasRemaining()) {
+                out.write(wrapped);
+            }
+        } else {
+            buffer.put(src, offset, length);
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Events of a tracelet, copied one after the other in a byte array, with
+     * their timestamps in a primitive array
+     */
+    private static final class Chunk {
+        private byte[] fData = new byte[CHUNK_SIZE + CHUNK_SLACK];
+        private int fDataSize = 0;
+        private long[] fTimestamps = new long[1024];
+        /* Event i is from fOffsets[i] to fOffsets[i + 1] */
+        private int[] fOffsets = new int[1025];
+        private int fSize = 0;
+
+        public void add(byte[] src, int offset, int length, long timestamp) {
+            if (fDataSize + length > fData.length) {
+                fData = Arrays.copyOf(fData, Math.max(fData.length * 2, fDataSize + length));
+            }
+            System.arraycopy(src, offset, fData, fDataSize, length);
+            fDataSize += length;
+            if (fSize == fTimestamps.length) {
+                fTimestamps = Arrays.copyOf(fTimestamps, fSize * 2);
+                fOffsets = Arrays.copyOf(fOffsets, fSize * 2 + 1);
+            }
+            fTimestamps[fSize] = timestamp;
+            fSize++;
+            fOffsets[fSize] = fDataSize;
+        }
+
+        public int size() {
+            return fSize;
+        }
+
+        public boolean isFull() {
+            return fDataSize >= CHUNK_SIZE;
+        }
+
+        /**
+         * Sort the events by timestamp, keeping the order of the events with
+         * the same timestamp, and write them as (timestamp, length, bytes)
+         * records
+         */
+        public void sortAndWrite(File traceling) throws IOException {
+            int[] order = sortByTimestamp();
+            try (FileChannel out = FileChannel.open(traceling.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+                for (int index : order) {
+                    int offset = fOffsets[index];
+                    int length = fOffsets[index + 1] - offset;
+                    if (buffer.remaining() < Long.BYTES + Integer.BYTES) {
+                        flush(out, buffer);
                     }
+                    buffer.putLong(fTimestamps[index]);
+                    buffer.putInt(length);
+                    write(out, buffer, fData, offset, length);
                 }
-                tempWriter.println(']');
+                flush(out, buffer);
             }
-            for (BufferedInputStream tmpParser : parsers) {
-                tmpParser.close();
+        }
+
+        /* Bottom-up merge sort of the indexes, it is stable */
+        private int[] sortByTimestamp() {
+            long[] timestamps = fTimestamps;
+            int[] order = new int[fSize];
+            for (int i = 0; i < fSize; i++) {
+                order[i] = i;
             }
-        } catch (IOException e) {
-            TraceCompassLogUtils.traceInstant(LOGGER, Level.WARNING, "IOException in sorting job", "trace", fPath, "exception", e); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-        } finally {
-            for (File tl : tracelings) {
-                tl.delete();
+            int[] temp = new int[fSize];
+            for (int width = 1; width < fSize; width *= 2) {
+                for (int low = 0; low < fSize - width; low += 2 * width) {
+                    int mid = low + width;
+                    int high = Math.min(low + 2 * width, fSize);
+                    if (timestamps[order[mid - 1]] <= timestamps[order[mid]]) {
+                        /* Already in order */
+                        continue;
+                    }
+                    int left = low;
+                    int right = mid;
+                    for (int k = low; k < high; k++) {
+                        if (right >= high || (left < mid && timestamps[order[left]] <= timestamps[order[right]])) {
+                            temp[k] = order[left++];
+                        } else {
+                            temp[k] = order[right++];
+                        }
+                    }
+                    System.arraycopy(temp, low, order, low, high - low);
+                }
             }
-            tempDir.delete();
+            return order;
+        }
+    }
 
-            subMonitor.done();
+    /**
+     * Reads the records of a sorted tracelet
+     */
+    private static final class ChunkReader implements Closeable {
+        private final FileChannel fChannel;
+        private final ByteBuffer fBuffer;
+        private final int fIndex;
+        private long fTimestamp;
+        private byte[] fLine = new byte[1024];
+        private int fLength;
+
+        public ChunkReader(File traceling, int index, int bufferSize) throws IOException {
+            fChannel = FileChannel.open(traceling.toPath(), StandardOpenOption.READ);
+            fIndex = index;
+            fBuffer = ByteBuffer.allocate(bufferSize);
+            fBuffer.flip();
         }
-        return Status.OK_STATUS;
 
-    }
+        /**
+         * Read the next event
+         *
+         * @return false if there are no more events
+         */
+        public boolean next() throws IOException {
+            if (!ensure(Long.BYTES + Integer.BYTES)) {
+                return false;
+            }
+            fTimestamp = fBuffer.getLong();
+            fLength = fBuffer.getInt();
+            if (fLine.length < fLength) {
+                fLine = new byte[Math.max(fLength, fLine.length * 2)];
+            }
+            int read = 0;
+            while (read < fLength) {
+                if (!fBuffer.hasRemaining() && !fill()) {
+                    throw new EOFException();
+                }
+                int length = Math.min(fBuffer.remaining(), fLength - read);
+                fBuffer.get(fLine, read, length);
+                read += length;
+            }
+            return true;
+        }
 
-    private static @Nullable Pair readNextEvent(BufferedInputStream parser, int i) throws IOException {
-        String event = TraceEventTrace.readNextEventString(() -> (char) parser.read());
-        return event == null ? null : new Pair(event, i);
+        private boolean ensure(int length) throws IOException {
+            while (fBuffer.remaining() < length) {
+                if (!fill()) {
+                    if (fBuffer.hasRemaining()) {
+                        throw new EOFException();
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean fill() throws IOException {
+            fBuffer.compact();
+            int read = fChannel.read(fBuffer);
+            fBuffer.flip();
+            return read > 0;
+        }
 
+        @Override
+        public void close() throws IOException {
+            fChannel.close();
+        }
     }
-}
\ No newline at end of file
+}
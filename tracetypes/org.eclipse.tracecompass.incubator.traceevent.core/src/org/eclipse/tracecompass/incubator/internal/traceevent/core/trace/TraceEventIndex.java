@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
+
+/**
+ * Index of a sorted trace event file. It has a checkpoint every
+ * {@link #INTERVAL} events, with the rank, the offset in the file and the
+ * timestamp of the event, so that an event can be found by rank, by offset or
+ * by timestamp with a binary search followed by a scan of less than
+ * {@link #INTERVAL} events.
+ *
+ * The index is written by the {@link SortingJob} next to the sorted trace in
+ * the supplementary directory, and rebuilt by scanning the sorted trace if it
+ * is missing or does not match it.
+ *
+ * @author agent
+ */
+final class TraceEventIndex {
+
+    /** Number of events between checkpoints */
+    static final int INTERVAL = 1000;
+
+    private static final String SUFFIX = ".idx"; //$NON-NLS-1$
+    private static final int MAGIC = 0x54455849; // "TEXI"
+    private static final int VERSION = 1;
+
+    private final long fFileLength;
+    private final long fNbEvents;
+    private final int fSize;
+    private final long[] fRanks;
+    private final long[] fOffsets;
+    private final long[] fTimestamps;
+
+    private TraceEventIndex(long fileLength, long nbEvents, int size, long[] ranks, long[] offsets, long[] timestamps) {
+        fFileLength = fileLength;
+        fNbEvents = nbEvents;
+        fSize = size;
+        fRanks = ranks;
+        fOffsets = offsets;
+        fTimestamps = timestamps;
+    }
+
+    /**
+     * Get the index file of a sorted trace
+     *
+     * @param sortedTrace
+     *            the sorted trace, in the supplementary directory
+     * @return the index file
+     */
+    static File getIndexFile(File sortedTrace) {
+        return new File(sortedTrace.getPath() + SUFFIX);
+    }
+
+    /**
+     * Read the index of a sorted trace
+     *
+     * @param sortedTrace
+     *            the sorted trace
+     * @return the index, or null if there is none or if it was written for
+     *         another version of the sorted trace
+     */
+    static @Nullable TraceEventIndex load(File sortedTrace) {
+        File file = getIndexFile(sortedTrace);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long fileLength = in.readLong();
+            if (fileLength != sortedTrace.length()) {
+                return null;
+            }
+            long nbEvents = in.readLong();
+            int size = in.readInt();
+            long[] ranks = new long[size];
+            long[] offsets = new long[size];
+            long[] timestamps = new long[size];
+            for (int i = 0; i < size; i++) {
+                ranks[i] = in.readLong();
+                offsets[i] = in.readLong();
+                timestamps[i] = in.readLong();
+            }
+            return new TraceEventIndex(fileLength, nbEvents, size, ranks, offsets, timestamps);
+        } catch (IOException e) {
+            /* Truncated or corrupted, it will be rebuilt */
+            return null;
+        }
+    }
+
+    /**
+     * Build the index of a sorted trace by scanning it, when it was not
+     * written while sorting, and write it
+     *
+     * @param sortedTrace
+     *            the sorted trace
+     * @return the index
+     * @throws IOException
+     *             if the trace cannot be read
+     */
+    static TraceEventIndex build(File sortedTrace) throws IOException {
+        Builder builder = new Builder();
+        try (TraceEventScanner scanner = new TraceEventScanner(sortedTrace)) {
+            if (scanner.skipPast((byte) '[')) {
+                long lastTimestamp = Long.MIN_VALUE;
+                while (scanner.next()) {
+                    if (builder.isCheckpoint()) {
+                        /* The same timestamp as the sort gives the event */
+                        lastTimestamp = TraceEventField.parseTimestamp(scanner.getBuffer(), scanner.getEventStart(), scanner.getEventEnd());
+                    }
+                    builder.add(scanner.getEventOffset(), lastTimestamp);
+                }
+            }
+        }
+        TraceEventIndex index = builder.build(sortedTrace.length());
+        index.write(sortedTrace);
+        return index;
+    }
+
+    /**
+     * Write the index next to the sorted trace
+     *
+     * @param sortedTrace
+     *            the sorted trace
+     * @throws IOException
+     *             if the index cannot be written
+     */
+    void write(File sortedTrace) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getIndexFile(sortedTrace))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fFileLength);
+            out.writeLong(fNbEvents);
+            out.writeInt(fSize);
+            for (int i = 0; i < fSize; i++) {
+                out.writeLong(fRanks[i]);
+                out.writeLong(fOffsets[i]);
+                out.writeLong(fTimestamps[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of events of the trace
+     */
+    long getNbEvents() {
+        return fNbEvents;
+    }
+
+    /**
+     * @return the number of checkpoints
+     */
+    int size() {
+        return fSize;
+    }
+
+    /**
+     * @param checkpoint
+     *            the index of a checkpoint
+     * @return the rank of its event
+     */
+    long getRank(int checkpoint) {
+        return fRanks[checkpoint];
+    }
+
+    /**
+     * @param checkpoint
+     *            the index of a checkpoint
+     * @return the offset in the sorted trace of the opening brace of its event
+     */
+    long getOffset(int checkpoint) {
+        return fOffsets[checkpoint];
+    }
+
+    /**
+     * @param checkpoint
+     *            the index of a checkpoint
+     * @return the timestamp of its event, in nanoseconds
+     */
+    long getTimestamp(int checkpoint) {
+        return fTimestamps[checkpoint];
+    }
+
+    /**
+     * @param rank
+     *            a rank
+     * @return the last checkpoint at or before this rank, or -1 if there is
+     *         none
+     */
+    int floorByRank(long rank) {
+        return floor(fRanks, rank);
+    }
+
+    /**
+     * @param offset
+     *            an offset in the sorted trace
+     * @return the last checkpoint at or before this offset, or -1 if there is
+     *         none
+     */
+    int floorByOffset(long offset) {
+        return floor(fOffsets, offset);
+    }
+
+    /**
+     * @param timestamp
+     *            a timestamp in nanoseconds
+     * @return the last checkpoint strictly before this timestamp, so that the
+     *         events at this timestamp are all after it, or -1 if there is none
+     */
+    int lowerByTimestamp(long timestamp) {
+        if (timestamp == Long.MIN_VALUE) {
+            return -1;
+        }
+        return floor(fTimestamps, timestamp - 1);
+    }
+
+    /**
+     * Find the last element less than or equal to a key in the first fSize
+     * elements of a sorted array, which may have duplicates
+     */
+    private int floor(long[] values, long key) {
+        int low = 0;
+        int high = fSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Builder of the index, given all the events of the sorted trace in order
+     */
+    static final class Builder {
+        private long fRank = 0;
+        private int fSize = 0;
+        private long[] fRanks = new long[64];
+        private long[] fOffsets = new long[64];
+        private long[] fTimestamps = new long[64];
+
+        /**
+         * @return true if the next event added is a checkpoint, so its
+         *         timestamp is needed
+         */
+        boolean isCheckpoint() {
+            return fRank % INTERVAL == 0;
+        }
+
+        /**
+         * Add the next event of the sorted trace
+         *
+         * @param offset
+         *            the offset of the opening brace of the event in the
+         *            sorted trace
+         * @param timestamp
+         *            the timestamp of the event, only used if it is a
+         *            checkpoint
+         */
+        void add(long offset, long timestamp) {
+            if (isCheckpoint()) {
+                if (fSize == fRanks.length) {
+                    int capacity = fSize * 2;
+                    fRanks = Arrays.copyOf(fRanks, capacity);
+                    fOffsets = Arrays.copyOf(fOffsets, capacity);
+                    fTimestamps = Arrays.copyOf(fTimestamps, capacity);
+                }
+                fRanks[fSize] = fRank;
+                fOffsets[fSize] = offset;
+                fTimestamps[fSize] = timestamp;
+                fSize++;
+            }
+            fRank++;
+        }
+
+        /**
+         * @param fileLength
+         *            the length of the sorted trace
+         * @return the index
+         */
+        TraceEventIndex build(long fileLength) {
+            return new TraceEventIndex(fileLength, fRank, fSize, fRanks, fOffsets, fTimestamps);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Finds the JSON objects of the events of a trace event file, directly in a
+ * direct buffer filled from the file. The events are not copied, they are
+ * read in place in the buffer returned by {@link #getBuffer()}, until the
+ * next call to {@link #next()} or {@link #seek(long)}.
+ *
+ * The file is not memory-mapped, so that it can still be deleted with the
+ * supplementary files of the trace while it is opened.
+ *
+ * @author agent
+ */
+final class TraceEventScanner implements Closeable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel fChannel;
+    private ByteBuffer fBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /* Offset in the file of the first byte of the buffer */
+    private long fBufferOffset = 0;
+    /* Index in the buffer of the next byte to scan */
+    private int fPos = 0;
+    private int fEventStart = -1;
+    private int fEventEnd = -1;
+
+    /**
+     * Constructor
+     *
+     * @param file
+     *            the trace event file
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public TraceEventScanner(File file) throws IOException {
+        fChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        fBuffer.limit(0);
+    }
+
+    /**
+     * @return the size of the file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public long length() throws IOException {
+        return fChannel.size();
+    }
+
+    /**
+     * @return the offset in the file of the next byte to scan, after the last
+     *         event which was found
+     */
+    public long getPosition() {
+        return fBufferOffset + fPos;
+    }
+
+    /**
+     * Move to an offset in the file. The bytes already in the buffer are kept
+     * if the offset is in it.
+     *
+     * @param position
+     *            the offset in the file
+     */
+    public void seek(long position) {
+        if (position >= fBufferOffset && position <= fBufferOffset + fBuffer.limit()) {
+            fPos = (int) (position - fBufferOffset);
+        } else {
+            fBufferOffset = position;
+            fPos = 0;
+            fBuffer.limit(0);
+        }
+        fEventStart = -1;
+        fEventEnd = -1;
+    }
+
+    /**
+     * Move after the next occurrence of a byte, for example the opening
+     * bracket of the array of events
+     *
+     * @param target
+     *            the byte to find
+     * @return false if the end of the file was reached first
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public boolean skipPast(byte target) throws IOException {
+        while (true) {
+            if (fPos == fBuffer.limit() && !fill(fPos)) {
+                return false;
+            }
+            if (fBuffer.get(fPos++) == target) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Find the next event, the next JSON object before the end of the array of
+     * events
+     *
+     * @return true if an event was found, false at the end of the array of
+     *         events or of the file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public boolean next() throws IOException {
+        int start = -1;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (true) {
+            if (fPos == fBuffer.limit()) {
+                /* Keep the beginning of the event in the buffer */
+                int keep = (start >= 0) ? start : fPos;
+                int shift = keep;
+                if (!fill(keep)) {
+                    fEventStart = -1;
+                    fEventEnd = -1;
+                    return false;
+                }
+                if (start >= 0) {
+                    start -= shift;
+                }
+            }
+            byte b = fBuffer.get(fPos);
+            if (start < 0) {
+                if (b == '{') {
+                    start = fPos;
+                    depth = 1;
+                } else if (b == ']') {
+                    /* End of the array of events */
+                    fPos++;
+                    fEventStart = -1;
+                    fEventEnd = -1;
+                    return false;
+                }
+            } else if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == '}' || b == ']') && --depth == 0) {
+                fPos++;
+                fEventStart = start;
+                fEventEnd = fPos;
+                return true;
+            }
+            fPos++;
+        }
+    }
+
+    /**
+     * @return the buffer which contains the last event found, to read with
+     *         absolute gets between {@link #getEventStart()} and
+     *         {@link #getEventEnd()}
+     */
+    public ByteBuffer getBuffer() {
+        return fBuffer;
+    }
+
+    /**
+     * @return the index in the buffer of the opening brace of the last event
+     *         found
+     */
+    public int getEventStart() {
+        return fEventStart;
+    }
+
+    /**
+     * @return the index in the buffer after the closing brace of the last
+     *         event found
+     */
+    public int getEventEnd() {
+        return fEventEnd;
+    }
+
+    /**
+     * @return the offset in the file of the last event found
+     */
+    public long getEventOffset() {
+        return fBufferOffset + fEventStart;
+    }
+
+    /**
+     * Discard the bytes of the buffer before an index and read more bytes
+     * after the ones which are kept. The buffer grows if it is full of kept
+     * bytes.
+     */
+    private boolean fill(int keep) throws IOException {
+        ByteBuffer buffer = fBuffer;
+        int kept = buffer.limit() - keep;
+        if (kept == buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+            buffer.position(0);
+            larger.put(buffer);
+            buffer = larger;
+            fBuffer = larger;
+        } else {
+            buffer.position(keep);
+            buffer.compact();
+        }
+        fBufferOffset += keep;
+        fPos -= keep;
+        int read = 0;
+        while (read == 0) {
+            read = fChannel.read(buffer, fBufferOffset + buffer.position());
+        }
+        buffer.flip();
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fChannel.close();
+    }
+}
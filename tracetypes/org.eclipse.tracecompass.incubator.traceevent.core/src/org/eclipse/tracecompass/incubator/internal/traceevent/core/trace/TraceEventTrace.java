@@ -10,9 +10,7 @@
 package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Map;
@@ -31,8 +29,8 @@ import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEv
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
-import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.project.model.ITmfPropertiesProvider;
+import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceKnownSize;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
@@ -53,7 +51,6 @@ import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexable, ITmfPropertiesProvider, ITmfTraceKnownSize {
 
     private static final int CHECKPOINT_SIZE = 10000;
-    private static final int ESTIMATED_EVENT_SIZE = 90;
     private static final TmfLongLocation NULL_LOCATION = new TmfLongLocation(-1L);
     private static final TmfContext INVALID_CONTEXT = new TmfContext(NULL_LOCATION, ITmfContext.UNKNOWN_RANK);
     private static final int MAX_LINES = 100;
@@ -61,7 +58,9 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
 
     private File fFile;
 
-    private RandomAccessFile fFileInput;
+    private TraceEventScanner fScanner;
+
+    private @Nullable TraceEventIndex fIndex;
 
     @Override
     public IStatus validate(IProject project, String path) {
@@ -81,22 +80,23 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
             Activator.getInstance().logError("Error validating file: " + path, e); //$NON-NLS-1$
             return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "IOException validating file: " + path, e); //$NON-NLS-1$
         }
-        try (BufferedRandomAccessFile rafile = new BufferedRandomAccessFile(path, "r")) { //$NON-NLS-1$
+        try (TraceEventScanner scanner = new TraceEventScanner(file)) {
             int lineCount = 0;
             int matches = 0;
-            String line = readNextEventString(() -> (char) rafile.read());
-            while ((line != null) && (lineCount++ < MAX_LINES)) {
-                try {
-                    TraceEventField field = TraceEventField.parseJson(line);
-                    if (field != null) {
-                        matches++;
+            if (scanner.skipPast((byte) '[')) {
+                while ((lineCount < MAX_LINES) && scanner.next()) {
+                    lineCount++;
+                    try {
+                        TraceEventField field = TraceEventField.parseJson(scanner.getBuffer(), scanner.getEventStart(), scanner.getEventEnd());
+                        if (field != null) {
+                            matches++;
+                        }
+                    } catch (RuntimeException e) {
+                        confidence = Integer.MIN_VALUE;
                     }
-                } catch (RuntimeException e) {
-                    confidence = Integer.MIN_VALUE;
-                }
 
-                confidence = MAX_CONFIDENCE * matches / lineCount;
-                line = readNextEventString(() -> (char) rafile.read());
+                    confidence = MAX_CONFIDENCE * matches / lineCount;
+                }
             }
             if (matches == 0) {
                 return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Most assuredly NOT a traceevent trace"); //$NON-NLS-1$
@@ -127,7 +127,12 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
             }
         }
         try {
-            fFileInput = new BufferedRandomAccessFile(fFile, "r"); //$NON-NLS-1$
+            fScanner = new TraceEventScanner(fFile);
+            TraceEventIndex index = TraceEventIndex.load(fFile);
+            if (index == null) {
+                index = TraceEventIndex.build(fFile);
+            }
+            fIndex = index;
         } catch (IOException e) {
             throw new TmfTraceException(e.getMessage(), e);
         }
@@ -135,9 +140,9 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
 
     @Override
     public synchronized void dispose() {
-        if (fFileInput != null) {
+        if (fScanner != null) {
             try {
-                fFileInput.close();
+                fScanner.close();
             } catch (IOException e) {
                 Activator.getInstance().logError("Error disposing trace. File: " + getPath(), e); //$NON-NLS-1$
             }
@@ -148,7 +153,7 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
 
     @Override
     public double getLocationRatio(ITmfLocation location) {
-        return ((Long) getCurrentLocation().getLocationInfo()).doubleValue() / fFile.length();
+        return ((Long) location.getLocationInfo()).doubleValue() / fFile.length();
     }
 
     @Override
@@ -160,33 +165,103 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
         if (NULL_LOCATION.equals(location) || fFile == null) {
             return context;
         }
+        if (location == null) {
+            fScanner.seek(1);
+        } else if (location.getLocationInfo() instanceof Long) {
+            fScanner.seek((Long) location.getLocationInfo());
+        }
+        context.setLocation(new TmfLongLocation(fScanner.getPosition()));
+        context.setRank(0);
+        return context;
+    }
+
+    @Override
+    public synchronized ITmfContext seekEvent(double ratio) {
+        File file = fFile;
+        TraceEventIndex index = fIndex;
+        if (file == null || index == null) {
+            return INVALID_CONTEXT;
+        }
+        if (index.size() == 0) {
+            return seekEvent((ITmfLocation) null);
+        }
+        long filePos = (long) (file.length() * ratio);
+        int checkpoint = Math.max(0, index.floorByOffset(filePos));
+        TraceEventScanner scanner = fScanner;
+        scanner.seek(index.getOffset(checkpoint));
+        long rank = index.getRank(checkpoint);
+        long location;
         try {
-            if (location == null) {
-                fFileInput.seek(1);
-            } else if (location.getLocationInfo() instanceof Long) {
-                fFileInput.seek((Long) location.getLocationInfo());
+            /* Find the first event at or after the position */
+            while (true) {
+                if (!scanner.next()) {
+                    location = scanner.getPosition();
+                    break;
+                }
+                if (scanner.getEventOffset() >= filePos) {
+                    location = scanner.getEventOffset();
+                    break;
+                }
+                rank++;
             }
-            context.setLocation(new TmfLongLocation(fFileInput.getFilePointer()));
-            context.setRank(0);
-            return context;
-        } catch (final FileNotFoundException e) {
-            Activator.getInstance().logError("Error seeking event. File not found: " + getPath(), e); //$NON-NLS-1$
-            return context;
-        } catch (final IOException e) {
+        } catch (IOException e) {
             Activator.getInstance().logError("Error seeking event. File: " + getPath(), e); //$NON-NLS-1$
-            return context;
+            return INVALID_CONTEXT;
         }
+        return new TmfContext(new TmfLongLocation(location), rank);
     }
 
     @Override
-    public ITmfContext seekEvent(double ratio) {
-        File file = fFile;
-        if (file == null) {
+    public synchronized ITmfContext seekEvent(long rank) {
+        TraceEventIndex index = fIndex;
+        int checkpoint = (index == null) ? -1 : index.floorByRank(rank);
+        if (index == null || checkpoint < 0) {
+            return super.seekEvent(rank);
+        }
+        TraceEventScanner scanner = fScanner;
+        long location = index.getOffset(checkpoint);
+        long current = index.getRank(checkpoint);
+        scanner.seek(location);
+        try {
+            /* Skip the events before the rank without parsing them */
+            while (current < rank && scanner.next()) {
+                current++;
+                location = scanner.getPosition();
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error seeking event. File: " + getPath(), e); //$NON-NLS-1$
             return INVALID_CONTEXT;
         }
-        long filePos = (long) (file.length() * ratio);
-        long estimatedRank = filePos / ESTIMATED_EVENT_SIZE;
-        return seekEvent(new TmfLongLocation(estimatedRank));
+        return new TmfContext(new TmfLongLocation(location), current);
+    }
+
+    @Override
+    public synchronized ITmfContext seekEvent(ITmfTimestamp timestamp) {
+        TraceEventIndex index = fIndex;
+        if (timestamp == null || index == null || index.size() == 0) {
+            return super.seekEvent(timestamp);
+        }
+        long target = timestamp.toNanos();
+        int checkpoint = Math.max(0, index.lowerByTimestamp(target));
+        TraceEventScanner scanner = fScanner;
+        long location = index.getOffset(checkpoint);
+        long rank = index.getRank(checkpoint);
+        scanner.seek(location);
+        try {
+            /* The trace is sorted, find the first event at or after the time */
+            while (scanner.next()) {
+                TraceEventField field = TraceEventField.parseJson(scanner.getBuffer(), scanner.getEventStart(), scanner.getEventEnd());
+                if (field != null && field.getTs() >= target) {
+                    return new TmfContext(new TmfLongLocation(location), rank);
+                }
+                location = scanner.getPosition();
+                rank++;
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error seeking event. File: " + getPath(), e); //$NON-NLS-1$
+            return INVALID_CONTEXT;
+        }
+        return new TmfContext(null, ITmfContext.UNKNOWN_RANK);
     }
 
     @Override
@@ -206,12 +281,12 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
             }
             if (locationInfo != null) {
                 try {
-                    if (!locationInfo.equals(fFileInput.getFilePointer())) {
-                        fFileInput.seek(locationInfo);
+                    TraceEventScanner scanner = fScanner;
+                    if (locationInfo != scanner.getPosition()) {
+                        scanner.seek(locationInfo);
                     }
-                    String nextJson = readNextEventString(() -> (char) fFileInput.read());
-                    if (nextJson != null) {
-                        TraceEventField field = TraceEventField.parseJson(nextJson);
+                    if (scanner.next()) {
+                        TraceEventField field = TraceEventField.parseJson(scanner.getBuffer(), scanner.getEventStart(), scanner.getEventEnd());
                         return new TraceEventEvent(this, context.getRank(), field);
                     }
                 } catch (IOException e) {
@@ -224,12 +299,8 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
 
     @Override
     public ITmfLocation getCurrentLocation() {
-        long temp = -1;
-        try {
-            temp = fFileInput.getFilePointer();
-        } catch (IOException e) {
-        }
-        return new TmfLongLocation(temp);
+        TraceEventScanner scanner = fScanner;
+        return new TmfLongLocation(scanner == null ? -1L : scanner.getPosition());
     }
 
     @Override
@@ -247,81 +318,15 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
         return CHECKPOINT_SIZE;
     }
 
-    /**
-     * Wrapper to get a character reader, allows to reconcile between java.nio
-     * and java.io
-     *
-     * @author Matthew Khouzam
-     *
-     */
-    public static interface IReaderWrapper {
-        /**
-         * Read the next character
-         *
-         * @return the next char
-         * @throws IOException
-         *             out of chars to read
-         */
-        char read() throws IOException;
-    }
-
-    /**
-     * Manually parse a string of JSON. High performance to extract one object
-     *
-     * @param parser
-     *            the reader
-     * @return a String with a json object
-     * @throws IOException
-     *             end of file, file not found or such
-     */
-    public static @Nullable String readNextEventString(IReaderWrapper parser) throws IOException {
-        StringBuffer sb = new StringBuffer();
-        int scope = -1;
-        int arrScope = 0;
-        boolean inQuotes = false;
-        char elem = parser.read();
-        while (elem != (char) -1) {
-            if (elem == '"') {
-                inQuotes = !inQuotes;
-            } else {
-                if (inQuotes) {
-                    // do nothing
-                } else if (elem == '[') {
-                    arrScope++;
-                } else if (elem == ']') {
-                    if (arrScope > 0) {
-                        arrScope--;
-                    } else {
-                        return null;
-                    }
-                } else if (elem == '{') {
-                    scope++;
-                } else if (elem == '}') {
-                    if (scope > 0) {
-                        scope--;
-                    } else {
-                        sb.append(elem);
-                        return sb.toString();
-                    }
-                }
-            }
-            if (scope >= 0) {
-                sb.append(elem);
-            }
-            elem = parser.read();
-        }
-        return null;
-    }
-
     @Override
     public int size() {
-        RandomAccessFile fileInput = fFileInput;
-        if (fileInput == null) {
+        TraceEventScanner scanner = fScanner;
+        if (scanner == null) {
             return 0;
         }
         long length = 0;
         try {
-            length = fileInput.length();
+            length = scanner.length();
         } catch (IOException e) {
             // swallow it for now
         }
@@ -330,16 +335,11 @@ public class TraceEventTrace extends TmfTrace implements ITmfPersistentlyIndexab
 
     @Override
     public int progress() {
-        RandomAccessFile fileInput = fFileInput;
-        if (fileInput == null) {
+        TraceEventScanner scanner = fScanner;
+        if (scanner == null) {
             return 0;
         }
-        long length = 0;
-        try {
-            length = fileInput.getFilePointer();
-        } catch (IOException e) {
-            // swallow it for now
-        }
+        long length = scanner.getPosition();
         return length > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) length;
     }
 
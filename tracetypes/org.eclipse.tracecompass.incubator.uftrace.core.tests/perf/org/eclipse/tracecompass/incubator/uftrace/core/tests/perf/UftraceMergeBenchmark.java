@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.uftrace.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatParser;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfContext;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace;
+import org.junit.Test;
+
+/**
+ * Benchmark of the merge of the data files of a uftrace, on synthetic .dat
+ * files. The total number of records is set with the
+ * <code>uftrace.benchmark.records</code> system property, for example
+ * <code>-Duftrace.benchmark.records=20000000</code>, and they are split
+ * between 1, 16 and 256 files.
+ *
+ * The merge is measured when only skipping the records, as when seeking, and
+ * when creating the events, as when reading the trace.
+ *
+ * @author agent
+ */
+public class UftraceMergeBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator#UFTrace#";
+    private static final String SKIP_NAME = "Uftrace merge, skip (%d files)";
+    private static final String READ_NAME = "Uftrace merge, read (%d files)";
+    private static final String RECORDS_PROPERTY = "uftrace.benchmark.records";
+    private static final int[] NB_FILES = { 1, 16, 256 };
+    private static final int LOOP_COUNT = 5;
+    private static final int RECORD_SIZE = Long.BYTES * 2;
+    /* Type entry or exit, magic number 0b101, depth and address */
+    private static final long MAGIC = 5L << 3;
+
+    /**
+     * Run the benchmark
+     *
+     * @throws IOException
+     *             if the synthetic trace could not be written
+     */
+    @Test
+    public void runMergeBenchmark() throws IOException {
+        long nbRecords = Long.parseLong(System.getProperty(RECORDS_PROPERTY, "4000000"));
+        for (int nbFiles : NB_FILES) {
+            runBenchmark(nbFiles, nbRecords);
+        }
+    }
+
+    private static void runBenchmark(int nbFiles, long nbRecords) throws IOException {
+        File dir = Files.createTempDirectory("uftraceMergeBenchmark").toFile();
+        try {
+            List<DatParser> dats = generate(dir, nbFiles, nbRecords / nbFiles);
+            long expected = nbRecords / nbFiles * nbFiles;
+            Uftrace trace = new Uftrace();
+
+            Performance perf = Performance.getDefault();
+            PerformanceMeter skipMeter = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + String.format(SKIP_NAME, nbFiles)));
+            perf.tagAsSummary(skipMeter, String.format(SKIP_NAME, nbFiles), Dimension.CPU_TIME);
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                skipMeter.start();
+                UfContext context = new UfContext(dats, trace);
+                long count = 0;
+                while (context.skip()) {
+                    count++;
+                }
+                skipMeter.stop();
+                assertEquals(expected, count);
+            }
+            skipMeter.commit();
+
+            PerformanceMeter readMeter = Objects.requireNonNull(perf.createPerformanceMeter(TEST_ID + String.format(READ_NAME, nbFiles)));
+            perf.tagAsSummary(readMeter, String.format(READ_NAME, nbFiles), Dimension.CPU_TIME);
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                readMeter.start();
+                UfContext context = new UfContext(dats, trace);
+                long count = 0;
+                while (context.getNext() != null) {
+                    count++;
+                }
+                readMeter.stop();
+                assertEquals(expected, count);
+            }
+            readMeter.commit();
+            trace.dispose();
+        } finally {
+            /* The files may still be mapped, do not fail if they cannot be deleted */
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    /**
+     * Write data files of function entries and exits, with interleaved times
+     */
+    private static List<DatParser> generate(File dir, int nbFiles, long recordsPerFile) throws IOException {
+        Random random = new Random(nbFiles);
+        List<DatParser> dats = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 65536).order(ByteOrder.LITTLE_ENDIAN);
+        for (int tid = 1000; tid < 1000 + nbFiles; tid++) {
+            File file = new File(dir, tid + ".dat");
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long time = random.nextInt(1000);
+                for (long i = 0; i < recordsPerFile; i++) {
+                    time += random.nextInt(100);
+                    long depth = (i / 2) % 16;
+                    long address = 0x400000L + (i % 4096);
+                    buffer.putLong(time);
+                    buffer.putLong((i % 2) | MAGIC | (depth << 6) | (address << 16));
+                    if (!buffer.hasRemaining()) {
+                        write(channel, buffer);
+                    }
+                }
+                write(channel, buffer);
+            }
+            dats.add(new DatParser(file));
+        }
+        return dats;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -10,11 +10,19 @@
 package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.symbols.ISymbolProvider;
+import org.eclipse.tracecompass.tmf.core.symbols.TmfResolvedSymbol;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 import org.junit.Test;
 
 /**
@@ -39,7 +47,86 @@ public class IntegrationTest {
         while (uft.getNext(ctx) != null) {
             cnt++;
         }
-        assertEquals("event count", 113751, cnt);
+        assertEquals("event count", 113752, cnt);
     }
 
+    /**
+     * Seek events by location and by ratio, and check that they are the same
+     * as when the trace is read from the start
+     *
+     * @throws TmfTraceException
+     *             something went wrong
+     */
+    @Test
+    public void seekTrace() throws TmfTraceException {
+        Uftrace uft = new Uftrace();
+        try {
+            uft.initTrace(null, "res/uftrace-ls", TmfEvent.class);
+            List<Long> timestamps = new ArrayList<>();
+            ITmfContext ctx = uft.seekEvent(0);
+            ITmfEvent event = uft.getNext(ctx);
+            while (event != null) {
+                timestamps.add(event.getTimestamp().toNanos());
+                event = uft.getNext(ctx);
+            }
+
+            for (long rank : new long[] { 0, 1, 1023, 1024, 1025, 50000, 113750, 113751 }) {
+                ctx = uft.seekEvent(new TmfLongLocation(rank * Long.BYTES * 2));
+                assertEquals(rank, ctx.getRank());
+                event = uft.getNext(ctx);
+                assertNotNull(event);
+                assertEquals(timestamps.get((int) rank).longValue(), event.getTimestamp().toNanos());
+            }
+
+            ctx = uft.seekEvent(0.5);
+            long rank = ctx.getRank();
+            assertEquals(0.5, uft.getLocationRatio(ctx.getLocation()), 0.01);
+            event = uft.getNext(ctx);
+            assertNotNull(event);
+            assertEquals(timestamps.get((int) rank).longValue(), event.getTimestamp().toNanos());
+        } finally {
+            uft.dispose();
+        }
+    }
+
+    /**
+     * Resolve symbols, then open the trace again so that the symbols are read
+     * from the supplementary files, and check that they resolve the same way
+     *
+     * @throws TmfTraceException
+     *             something went wrong
+     */
+    @Test
+    public void resolveSymbols() throws TmfTraceException {
+        int tid = 26228;
+        long[] addresses = { 0x400000L, 0x402270L, 0x402275L, 0x404000L, 0x62a500L, 0x7fffffffL };
+        List<String> names = new ArrayList<>();
+        Uftrace uft = new Uftrace();
+        try {
+            uft.initTrace(null, "res/uftrace-ls", TmfEvent.class);
+            ISymbolProvider provider = uft.getSymbolProvider();
+            TmfResolvedSymbol symbol = provider.getSymbol(tid, 0, 0x402270L);
+            assertNotNull(symbol);
+            assertEquals("getenv", symbol.getSymbolName());
+            for (long address : addresses) {
+                symbol = provider.getSymbol(tid, 0, address);
+                assertNotNull(symbol);
+                names.add(symbol.getSymbolName());
+            }
+        } finally {
+            uft.dispose();
+        }
+        uft = new Uftrace();
+        try {
+            uft.initTrace(null, "res/uftrace-ls", TmfEvent.class);
+            ISymbolProvider provider = uft.getSymbolProvider();
+            for (int i = 0; i < addresses.length; i++) {
+                TmfResolvedSymbol symbol = provider.getSymbol(tid, 0, addresses[i]);
+                assertNotNull(symbol);
+                assertEquals(names.get(i), symbol.getSymbolName());
+            }
+        } finally {
+            uft.dispose();
+        }
+    }
 }
@@ -129,6 +129,18 @@ public class DatEvent {
         return new DatEvent(nanoseconds, type, depth, address, tid);
     }
 
+    /**
+     * Check the magic number of the payload of a record, without creating an
+     * event
+     *
+     * @param payload
+     *            the data of the event
+     * @return true if the record is valid
+     */
+    static boolean hasMagic(long payload) {
+        return (int) ((payload & MAGIC_MASK) >>> 3) == UFTRACE_MAGIC_NUMBER;
+    }
+
     private DatEvent(long nanoseconds, String type, int depth, long address, int tid) {
         fTime = nanoseconds;
         fType = type;
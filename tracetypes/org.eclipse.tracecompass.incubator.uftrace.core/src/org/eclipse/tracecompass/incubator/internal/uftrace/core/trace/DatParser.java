@@ -11,12 +11,14 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.MappedByteBuffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.util.NoSuchElementException;
 
 import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.common.collect.PeekingIterator;
 
@@ -45,6 +47,8 @@ public class DatParser implements Iterable<DatEvent> {
 
     private final File fFile;
     private final long fStart;
+    private final int fTid;
+    private @Nullable ByteBuffer fBuffer = null;
 
     /**
      * Data event parser
@@ -67,50 +71,122 @@ public class DatParser implements Iterable<DatEvent> {
     public DatParser(File file, long start) {
         fFile = file;
         fStart = start;
+        fTid = NumberUtils.toInt(file.getName().substring(0, file.getName().length() - 4));
     }
 
-    @Override
-    public PeekingIterator<DatEvent> iterator() {
+    /**
+     * Get the data file
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return fFile;
+    }
 
-        try (FileChannel fc = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
-            MappedByteBuffer bb = fc.map(FileChannel.MapMode.READ_ONLY, fStart, fc.size());
-            if (bb == null) {
-                throw new IllegalStateException("cannot create a byte buffer!"); //$NON-NLS-1$
-            }
-            return new PeekingIterator<DatEvent>() {
-
-                DatEvent fCurrent = null;
-
-                @Override
-                public DatEvent next() {
-                    if (!hasNext()) {
-                        throw new NoSuchElementException("no more data"); //$NON-NLS-1$
-                    }
-                    fCurrent = DatEvent.create(bb,
-                            NumberUtils.toInt(fFile.getName().substring(0, fFile.getName().length() - 4)));
-                    return fCurrent;
-                }
+    /**
+     * Get the task id, which is the name of the file
+     *
+     * @return the TID
+     */
+    public int getTid() {
+        return fTid;
+    }
 
-                @Override
-                public boolean hasNext() {
-                    return bb.remaining() > Long.BYTES * 2;
+    /**
+     * Get the records of the file. The file is mapped once and the buffer is
+     * shared, so it must only be read with absolute gets, or through a
+     * duplicate.
+     *
+     * @return the little endian buffer of the whole file
+     */
+    public synchronized ByteBuffer getBuffer() {
+        ByteBuffer buffer = fBuffer;
+        if (buffer == null) {
+            try (FileChannel fc = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+                buffer = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+                if (buffer == null) {
+                    throw new IllegalStateException("cannot create a byte buffer!"); //$NON-NLS-1$
                 }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            fBuffer = buffer;
+        }
+        return buffer;
+    }
 
-                @Override
-                public DatEvent peek() {
-                    if (fCurrent == null && hasNext()) {
-                        return next();
-                    }
-                    return fCurrent;
-                }
+    @Override
+    public DatIterator iterator() {
+        return iterator(fStart);
+    }
 
-                @Override
-                public void remove() {
-                    throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
+    /**
+     * Get an iterator starting at a given record of the file
+     *
+     * @param offset
+     *            offset of the record in the file, as returned by
+     *            {@link DatIterator#getOffset()}
+     * @return the iterator
+     */
+    public DatIterator iterator(long offset) {
+        ByteBuffer bb = getBuffer().duplicate();
+        bb.position((int) Math.min(offset, bb.limit()));
+        return new DatIterator(bb);
+    }
+
+    /**
+     * Iterator on the records of a data file, which knows the offset of the
+     * next record, so that it can be restarted from there later
+     */
+    public final class DatIterator implements PeekingIterator<DatEvent> {
+
+        private final ByteBuffer fBuffer;
+        private @Nullable DatEvent fNext = null;
+        private long fNextOffset;
+
+        private DatIterator(ByteBuffer bb) {
+            fBuffer = bb;
+            fNextOffset = bb.position();
+        }
+
+        @Override
+        public DatEvent next() {
+            DatEvent next = peek();
+            fNext = null;
+            fNextOffset = fBuffer.position();
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return fNext != null || fBuffer.remaining() >= Long.BYTES * 2;
+        }
+
+        @Override
+        public DatEvent peek() {
+            if (fNext == null) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("no more data"); //$NON-NLS-1$
                 }
-            };
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
+                fNext = DatEvent.create(fBuffer, fTid);
+            }
+            return fNext;
+        }
+
+        /**
+         * Get the offset of the next record in the file
+         *
+         * @return the offset of the record returned by the next call to
+         *         {@link #next()}
+         */
+        public long getOffset() {
+            return fNextOffset;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
         }
     }
 }
@@ -11,13 +11,15 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.LineIterator;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * The session id a random 16-character string (or 8-byte hex number) and it's
@@ -26,7 +28,8 @@ import org.apache.commons.io.LineIterator;
  * module (library or executable). It's actually a copy of a /proc/<TID>/maps
  * file.
  *
- * TODO: put in an in memory ht
+ * Only the address ranges and the path names are kept, in arrays sorted by
+ * start address which are searched with a binary search.
  *
  * @author Matthew Khouzam
  *
@@ -34,10 +37,11 @@ import org.apache.commons.io.LineIterator;
 public class MapParser {
     private static final String SESSION_PATTERN_STRING = "sid\\-([a-fA-F0-9]+)\\.map"; //$NON-NLS-1$
     private static final Pattern SESSION_PATTERN = Pattern.compile(SESSION_PATTERN_STRING);
-    private static final Pattern MAPFILE_PATTERN = Pattern.compile(
-            "^\\s*([a-fA-F0-9]+)\\-([a-fA-F0-9]+)\\s+([rxwps-]+)\\s+([a-fA-F0-9]+)\\s+([a-fA-F0-9]+)\\:([a-fA-F0-9]+)\\s+([a-fA-F0-9]+)\\s*(\\S+)?$"); //$NON-NLS-1$
     private final long fSessionId;
-    private final NavigableMap<Long, MapEntry> fData;
+    private final long[] fAddrLows;
+    private final long[] fAddrHighs;
+    private final @Nullable String[] fPathNames;
+    private final @Nullable SymParser[] fSyms;
 
     /**
      * Map parser builder
@@ -49,45 +53,234 @@ public class MapParser {
      *             error reading the file
      */
     public static MapParser create(File file) throws IOException {
-        String name = file.getName();
-        Matcher sessionName = SESSION_PATTERN.matcher(name);
+        return create(file, new HashMap<>());
+    }
+
+    /**
+     * Map parser builder
+     *
+     * @param file
+     *            the file to read
+     * @param names
+     *            the path names already read, to share the strings of the
+     *            libraries which are in several sessions, must be thread safe
+     *            if it is shared between threads
+     * @return the map parser
+     * @throws IOException
+     *             error reading the file
+     */
+    public static MapParser create(File file, Map<String, String> names) throws IOException {
+        Long sessionId = getSessionId(file);
+        if (sessionId == null) {
+            return null;
+        }
+        byte[] data = Files.readAllBytes(file.toPath());
+        int size = 0;
+        long[] addrLows = new long[64];
+        long[] addrHighs = new long[64];
+        String[] pathNames = new String[64];
+        int lineStart = 0;
+        while (lineStart < data.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < data.length && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd;
+            while (end > lineStart && Character.isWhitespace(data[end - 1])) {
+                end--;
+            }
+            int pos = skipWhitespace(data, lineStart, end);
+            if (pos < end) {
+                /* low-high perms offset device inode [path] */
+                long[] value = new long[1];
+                pos = parseHex(data, pos, end, value);
+                long addrLow = value[0];
+                if (pos >= end || data[pos] != '-') {
+                    throw invalid(data, lineStart, end);
+                }
+                pos = parseHex(data, pos + 1, end, value);
+                long addrHigh = value[0];
+                /* Skip the permissions, the offset, the device and the inode */
+                for (int field = 0; field < 4; field++) {
+                    int fieldStart = skipWhitespace(data, pos, end);
+                    if (fieldStart == pos || fieldStart == end) {
+                        throw invalid(data, lineStart, end);
+                    }
+                    pos = fieldStart;
+                    while (pos < end && !Character.isWhitespace(data[pos])) {
+                        pos++;
+                    }
+                }
+                int pathStart = skipWhitespace(data, pos, end);
+                String pathName = (pathStart < end) ? SymParser.intern(names, new String(data, pathStart, end - pathStart, StandardCharsets.UTF_8)) : null;
+                if (size == addrLows.length) {
+                    addrLows = Arrays.copyOf(addrLows, size * 2);
+                    addrHighs = Arrays.copyOf(addrHighs, size * 2);
+                    pathNames = Arrays.copyOf(pathNames, size * 2);
+                }
+                addrLows[size] = addrLow;
+                addrHighs[size] = addrHigh;
+                pathNames[size] = pathName;
+                size++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new MapParser(sessionId, Arrays.copyOf(addrLows, size), Arrays.copyOf(addrHighs, size), Arrays.copyOf(pathNames, size));
+    }
+
+    /**
+     * Get the session ID of a map file from its name
+     *
+     * @param file
+     *            the map file
+     * @return the session ID, or null if the file is not a map file
+     */
+    static @Nullable Long getSessionId(File file) {
+        Matcher sessionName = SESSION_PATTERN.matcher(file.getName());
         if (!sessionName.matches()) {
             return null;
         }
-        long sessionId = Long.parseUnsignedLong(sessionName.group(1), 16);
-        LineIterator iter = FileUtils.lineIterator(file);
-        NavigableMap<Long, MapEntry> entries = new TreeMap<>();
-        while (iter.hasNext()) {
-            String line = iter.next();
-            Matcher matcher = MAPFILE_PATTERN.matcher(line);
-            matcher.matches();
-            long addrLow = Long.parseUnsignedLong(matcher.group(1), 16);
-            long addrHigh = Long.parseUnsignedLong(matcher.group(2), 16);
-            Perms perms = Perms.create(matcher.group(3));
-            long offset = Long.parseLong(matcher.group(4), 16);
-            char deviceHigh = (char) Integer.parseInt(matcher.group(5), 16);
-            char deviceLow = (char) Integer.parseInt(matcher.group(6), 16);
-            long iNode = Long.parseLong(matcher.group(7), 16);
-            String pathName = matcher.group(8);
-
-            entries.put(addrLow,
-                    new MapEntry(addrLow, addrHigh, perms, offset, deviceLow, deviceHigh, iNode, pathName));
+        return Long.parseUnsignedLong(sessionName.group(1), 16);
+    }
+
+    private static int skipWhitespace(byte[] data, int start, int end) {
+        int pos = start;
+        while (pos < end && Character.isWhitespace(data[pos])) {
+            pos++;
         }
-        return new MapParser(sessionId, entries);
+        return pos;
     }
 
-    private MapParser(long sessionId, NavigableMap<Long, MapEntry> data) {
+    private static int parseHex(byte[] data, int start, int end, long[] value) {
+        int pos = start;
+        long result = 0;
+        while (pos < end && Character.digit(data[pos], 16) >= 0) {
+            result = (result << 4) | Character.digit(data[pos], 16);
+            pos++;
+        }
+        if (pos == start) {
+            throw invalid(data, start, end);
+        }
+        value[0] = result;
+        return pos;
+    }
+
+    private static IllegalArgumentException invalid(byte[] data, int start, int end) {
+        return new IllegalArgumentException("invalid " + new String(data, start, end - start, StandardCharsets.UTF_8)); //$NON-NLS-1$
+    }
+
+    /**
+     * Constructor, the entries are sorted by start address
+     *
+     * @param sessionId
+     *            the session ID
+     * @param addrLows
+     *            the start addresses of the mappings
+     * @param addrHighs
+     *            the end addresses of the mappings
+     * @param pathNames
+     *            the path names of the mappings, null for anonymous mappings
+     */
+    MapParser(long sessionId, long[] addrLows, long[] addrHighs, @Nullable String[] pathNames) {
+        int size = addrLows.length;
+        boolean sorted = true;
+        for (int i = 1; i < size; i++) {
+            sorted &= Long.compareUnsigned(addrLows[i - 1], addrLows[i]) <= 0;
+        }
+        if (!sorted) {
+            /* Stable, the last mapping at an address is found, as before */
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compareUnsigned(addrLows[a], addrLows[b]));
+            fAddrLows = new long[size];
+            fAddrHighs = new long[size];
+            fPathNames = new String[size];
+            for (int i = 0; i < size; i++) {
+                fAddrLows[i] = addrLows[order[i]];
+                fAddrHighs[i] = addrHighs[order[i]];
+                fPathNames[i] = pathNames[order[i]];
+            }
+        } else {
+            fAddrLows = addrLows;
+            fAddrHighs = addrHighs;
+            fPathNames = pathNames;
+        }
         fSessionId = sessionId;
-        fData = data;
+        fSyms = new SymParser[size];
     }
 
     /**
-     * Get the map data
+     * Find the symbol tables of the mappings, by the file names of the
+     * mappings
      *
-     * @return the map data
+     * @param syms
+     *            the symbol tables, by file name without extension
+     */
+    void linkSymbols(Map<String, SymParser> syms) {
+        for (int i = 0; i < fPathNames.length; i++) {
+            String pathName = fPathNames[i];
+            if (pathName != null) {
+                fSyms[i] = syms.get(pathName.substring(pathName.lastIndexOf('/') + 1));
+            }
+        }
+    }
+
+    /**
+     * Find the mapping which contains an address
+     *
+     * @param address
+     *            the address
+     * @return the index of the last mapping starting at or before the address,
+     *         or -1 if there is none
+     */
+    public int floorIndex(long address) {
+        return SymParser.floor(fAddrLows, address);
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    public int size() {
+        return fAddrLows.length;
+    }
+
+    /**
+     * @param index
+     *            the index of the mapping
+     * @return the start address of the mapping
+     */
+    public long getAddrLow(int index) {
+        return fAddrLows[index];
+    }
+
+    /**
+     * @param index
+     *            the index of the mapping
+     * @return the end address of the mapping
+     */
+    public long getAddrHigh(int index) {
+        return fAddrHighs[index];
+    }
+
+    /**
+     * @param index
+     *            the index of the mapping
+     * @return the path name of the mapping, or null for an anonymous mapping
+     */
+    public @Nullable String getPathName(int index) {
+        return fPathNames[index];
+    }
+
+    /**
+     * @param index
+     *            the index of the mapping
+     * @return the symbol table of the file of the mapping, or null if it is not
+     *         known
      */
-    public NavigableMap<Long, MapEntry> getData() {
-        return fData;
+    public @Nullable SymParser getSymbols(int index) {
+        return fSyms[index];
     }
 
     /**
@@ -11,13 +11,13 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.NavigableMap;
-import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.LineIterator;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  *
@@ -27,79 +27,213 @@ import org.apache.commons.io.LineIterator;
  * command. The difference is that it also saves PLT entries which is used to
  * call library functions and it has 'P' type.
  *
+ * The symbols are kept in arrays sorted by address, and found with a binary
+ * search.
  *
  * @author Matthew Khouzam
  *
  */
 public class SymParser {
-    private static final Pattern REGEX = Pattern.compile("^([a-fA-F\\d]+)\\s+([PTptw])\\s*(.*)$"); //$NON-NLS-1$
+
+    private final long[] fAddresses;
+    private final char[] fTypes;
+    private final String[] fNames;
 
     /**
-     * Symbol for
+     * Constructor, the arrays must be sorted by address
      *
-     * @author Matthew Khouzam
+     * @param addresses
+     *            the addresses of the symbols
+     * @param types
+     *            the types of the symbols
+     * @param names
+     *            the names of the symbols
+     */
+    SymParser(long[] addresses, char[] types, String[] names) {
+        fAddresses = addresses;
+        fTypes = types;
+        fNames = names;
+    }
+
+    /**
+     * Parse a file to get a symbol
      *
+     * @param file
+     *            the symbol file
+     * @return the parser
+     * @throws IOException
+     *             the file is not able to be read.
      */
-    public static final class Symbol {
-        private final char fType;
-        private final String fName;
+    public static SymParser parse(File file) throws IOException {
+        return parse(file, new HashMap<>());
+    }
 
-        private Symbol(char c, String name) {
-            fType = c;
-            fName = name;
+    /**
+     * Parse a file to get a symbol
+     *
+     * @param file
+     *            the symbol file
+     * @param names
+     *            the names already read, to share the strings of the names
+     *            which are in several files, must be thread safe if it is
+     *            shared between threads
+     * @return the parser
+     * @throws IOException
+     *             the file is not able to be read.
+     */
+    public static SymParser parse(File file, Map<String, String> names) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        int size = 0;
+        long[] addresses = new long[256];
+        char[] types = new char[256];
+        String[] symbolNames = new String[256];
+        boolean sorted = true;
+        int lineStart = 0;
+        while (lineStart < data.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < data.length && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int end = (lineEnd > lineStart && data[lineEnd - 1] == '\r') ? lineEnd - 1 : lineEnd;
+            if (end > lineStart) {
+                /* address, whitespace, type, optional whitespace, name */
+                int pos = lineStart;
+                long address = 0;
+                while (pos < end && Character.digit(data[pos], 16) >= 0) {
+                    address = (address << 4) | Character.digit(data[pos], 16);
+                    pos++;
+                }
+                int typePos = skipWhitespace(data, pos, end);
+                if (pos == lineStart || typePos == pos || typePos == end || "PTptw".indexOf(data[typePos]) < 0) { //$NON-NLS-1$
+                    throw new IllegalArgumentException("invalid " + new String(data, lineStart, end - lineStart, StandardCharsets.UTF_8)); //$NON-NLS-1$
+                }
+                int nameStart = skipWhitespace(data, typePos + 1, end);
+                String name = new String(data, nameStart, end - nameStart, StandardCharsets.UTF_8);
+                if (size == addresses.length) {
+                    addresses = Arrays.copyOf(addresses, size * 2);
+                    types = Arrays.copyOf(types, size * 2);
+                    symbolNames = Arrays.copyOf(symbolNames, size * 2);
+                }
+                sorted &= (size == 0 || Long.compareUnsigned(addresses[size - 1], address) <= 0);
+                addresses[size] = address;
+                types[size] = (char) data[typePos];
+                symbolNames[size] = intern(names, name);
+                size++;
+            }
+            lineStart = lineEnd + 1;
         }
-
-        /**
-         * @return the type
-         */
-        public char getType() {
-            return fType;
+        if (!sorted) {
+            return sort(addresses, types, symbolNames, size);
         }
+        return new SymParser(Arrays.copyOf(addresses, size), Arrays.copyOf(types, size), Arrays.copyOf(symbolNames, size));
+    }
 
-        /**
-         * @return the name
-         */
-        public String getName() {
-            return fName;
+    private static int skipWhitespace(byte[] data, int start, int end) {
+        int pos = start;
+        while (pos < end && Character.isWhitespace(data[pos])) {
+            pos++;
         }
+        return pos;
+    }
 
+    /**
+     * Share a string with the other files
+     */
+    static String intern(Map<String, String> names, String name) {
+        String previous = names.putIfAbsent(name, name);
+        return (previous != null) ? previous : name;
     }
 
-    private final NavigableMap<Long, Symbol> fMap = new TreeMap<>();
+    /**
+     * Stable sort, so that the last symbol at an address is found, as the
+     * symbols were in a map before
+     */
+    private static SymParser sort(long[] addresses, char[] types, String[] names, int size) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(addresses[a], addresses[b]));
+        long[] sortedAddresses = new long[size];
+        char[] sortedTypes = new char[size];
+        String[] sortedNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            sortedAddresses[i] = addresses[order[i]];
+            sortedTypes[i] = types[order[i]];
+            sortedNames[i] = names[order[i]];
+        }
+        return new SymParser(sortedAddresses, sortedTypes, sortedNames);
+    }
 
     /**
-     * Parse a file to get a symbol
+     * Find the last element less than or equal to a key in a sorted array,
+     * the elements are addresses so they are compared as unsigned values
      *
-     * @param file
-     *            the symbol file
-     * @return the parser
-     * @throws IOException
-     *             the file is not able to be read.
+     * @param values
+     *            the sorted array
+     * @param key
+     *            the key
+     * @return the index of the element, or -1 if all the elements are
+     *         greater than the key
      */
-    public static SymParser parse(File file) throws IOException {
-        LineIterator iter = FileUtils.lineIterator(file);
-        SymParser sp = new SymParser();
-        while (iter.hasNext()) {
-            String line = iter.next();
-            Matcher match = REGEX.matcher(line);
-            if (!match.matches()) {
-                throw new IllegalArgumentException("invalid " + line); //$NON-NLS-1$
+    static int floor(long[] values, long key) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(values[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
-            long range = Long.parseUnsignedLong(match.group(1), 16);
-            char c = match.group(2).charAt(0);
-            String name = (match.groupCount() < 3) ? "Anonymous" : match.group(3);
-            Symbol sym = new Symbol(c, name);
-            sp.fMap.put(range, sym);
         }
-        return sp;
+        return high;
     }
 
     /**
-     * Get the map of symbols for addresses.
+     * Get the name of the symbol which contains an address
      *
-     * @return the symbol for an address
+     * @param address
+     *            the address, relative to the start of the file
+     * @return the name of the last symbol at or before the address, or null
+     *         if there is none
+     */
+    public @Nullable String getSymbolName(long address) {
+        int index = floor(fAddresses, address);
+        return (index < 0) ? null : fNames[index];
+    }
+
+    /**
+     * @return the number of symbols
+     */
+    public int size() {
+        return fAddresses.length;
+    }
+
+    /**
+     * @param index
+     *            the index of a symbol, in the order of the addresses
+     * @return the address of the symbol
+     */
+    long getAddress(int index) {
+        return fAddresses[index];
+    }
+
+    /**
+     * @param index
+     *            the index of a symbol, in the order of the addresses
+     * @return the type of the symbol
+     */
+    char getType(int index) {
+        return fTypes[index];
+    }
+
+    /**
+     * @param index
+     *            the index of a symbol, in the order of the addresses
+     * @return the name of the symbol
      */
-    public NavigableMap<Long, Symbol> getMap() {
-        return fMap;
+    String getName(int index) {
+        return fNames[index];
     }
 }
@@ -9,7 +9,10 @@
 
 package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
-import java.util.PriorityQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -19,21 +22,51 @@ import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
-import com.google.common.collect.PeekingIterator;
-
 /**
- * Naive context
+ * Context which merges the records of the data files by time.
+ *
+ * The next record of each data file is kept in primitive arrays and the files
+ * are merged with a tournament tree, so finding the next record takes log(n)
+ * comparisons of longs for n files. The records are read directly in the
+ * mapped files, and the event of a record is only created by
+ * {@link #getNext()}, so {@link #skip()} does not allocate anything.
  *
  * @author Matthew Khouzam
  *
  */
 public class UfContext extends TmfContext {
 
-    private PriorityQueue<PeekingIterator<DatEvent>> fQueue = new PriorityQueue<>(
-            (o1, o2) -> Long.compare(o1.peek().getTime(), o2.peek().getTime()));
-    private ITmfTrace fTrace;
+    /**
+     * Size of a record, the location of a context is the number of bytes of
+     * records read before it
+     */
+    static final long RECORD_SIZE = Long.BYTES * 2;
+
+    private final ITmfTrace fTrace;
+    private final int fSize;
+    private final ByteBuffer[] fBuffers;
+    private final int[] fTids;
+    /* Offset, time and payload of the next record of each file */
+    private final long[] fOffsets;
+    private final long[] fTimes;
+    private final long[] fPayloads;
+    private final boolean[] fDone;
+    /*
+     * Winner tree: the leaves are at fSize + i for file i, each node has the
+     * index of the file with the earliest next record below it
+     */
+    private final int[] fTree;
+
+    /* The last record read */
+    private long fTime;
+    private long fPayload;
+    private int fTid;
+
+    private long fRecords;
+    private @Nullable TmfLongLocation fLocation;
 
     /**
      * Constructor
@@ -44,15 +77,82 @@ public class UfContext extends TmfContext {
      *            trace
      */
     public UfContext(Iterable<DatParser> dats, ITmfTrace trace) {
+        this(toList(dats), null, 0L, trace);
+    }
+
+    /**
+     * Constructor, to restore a context from a checkpoint
+     *
+     * @param dats
+     *            data streams
+     * @param offsets
+     *            offset of the next record in each data stream, as returned
+     *            by {@link #getOffsets()}, or null to start at the beginning
+     * @param rank
+     *            rank of the next event
+     * @param trace
+     *            trace
+     */
+    public UfContext(List<DatParser> dats, long @Nullable [] offsets, long rank, ITmfTrace trace) {
         fTrace = trace;
-        for (DatParser dp : dats) {
-            fQueue.add(dp.iterator());
+        fSize = dats.size();
+        fBuffers = new ByteBuffer[fSize];
+        fTids = new int[fSize];
+        fOffsets = new long[fSize];
+        fTimes = new long[fSize];
+        fPayloads = new long[fSize];
+        fDone = new boolean[fSize];
+        fTree = new int[Math.max(2, 2 * fSize)];
+        for (int i = 0; i < fSize; i++) {
+            DatParser dat = dats.get(i);
+            fBuffers[i] = dat.getBuffer();
+            fTids[i] = dat.getTid();
+            fOffsets[i] = (offsets != null) ? offsets[i] : 0L;
+            load(i);
+            fTree[fSize + i] = i;
+        }
+        for (int node = fSize - 1; node > 0; node--) {
+            fTree[node] = winner(fTree[2 * node], fTree[2 * node + 1]);
         }
+        fRecords = rank;
+        setRank(rank);
+    }
+
+    private static List<DatParser> toList(Iterable<DatParser> dats) {
+        List<DatParser> list = new ArrayList<>();
+        dats.forEach(list::add);
+        return list;
+    }
+
+    /**
+     * Get the offsets of the next records of the data streams, to restore this
+     * context later
+     *
+     * @return the offset of the next record in each data stream, in the order
+     *         of the streams given to the constructor
+     */
+    public long[] getOffsets() {
+        return fOffsets.clone();
     }
 
     @Override
     public @Nullable TmfLongLocation getLocation() {
-        return (@Nullable TmfLongLocation) super.getLocation();
+        TmfLongLocation location = fLocation;
+        long bytes = fRecords * RECORD_SIZE;
+        if (location == null || location.getLocationInfo() != bytes) {
+            location = new TmfLongLocation(bytes);
+            fLocation = location;
+        }
+        return location;
+    }
+
+    @Override
+    public void setLocation(@Nullable ITmfLocation location) {
+        super.setLocation(location);
+        if (location instanceof TmfLongLocation) {
+            fLocation = (TmfLongLocation) location;
+            fRecords = ((TmfLongLocation) location).getLocationInfo() / RECORD_SIZE;
+        }
     }
 
     /**
@@ -61,24 +161,88 @@ public class UfContext extends TmfContext {
      * @return the next event or null
      */
     public ITmfEvent getNext() {
-        PeekingIterator<DatEvent> eventSource = fQueue.poll();
-        if (eventSource != null) {
-            DatEvent event = eventSource.next();
-            if (eventSource.hasNext()) {
-                fQueue.add(eventSource);
-            }
-            TmfEvent tmfEvent = new TmfEvent(fTrace, getRank(), TmfTimestamp.fromNanos(event.getTime()),
-                    UfEventType.lookup(event.getType()),
-                    new TmfEventField(ITmfEventField.ROOT_FIELD_ID, event, null));
-            TmfLongLocation location = getLocation();
-            if (location != null) {
-                setLocation(new TmfLongLocation(location.getLocationInfo() + Long.BYTES * 2));
-            } else {
-                setLocation(new TmfLongLocation(Long.BYTES * 2));
+        if (!advance()) {
+            return null;
+        }
+        /* The magic number was checked when the record was loaded */
+        DatEvent event = Objects.requireNonNull(DatEvent.create(fTime, fPayload, fTid));
+        return new TmfEvent(fTrace, getRank(), TmfTimestamp.fromNanos(fTime),
+                UfEventType.lookup(event.getType()),
+                new TmfEventField(ITmfEventField.ROOT_FIELD_ID, event, null));
+    }
+
+    /**
+     * Skip the next event without creating it, to seek
+     *
+     * @return false if there are no more events
+     */
+    public boolean skip() {
+        if (!advance()) {
+            return false;
+        }
+        increaseRank();
+        return true;
+    }
+
+    /**
+     * Move to the next record, which becomes the last record read
+     */
+    private boolean advance() {
+        if (fSize == 0) {
+            return false;
+        }
+        int file = fTree[1];
+        if (fDone[file]) {
+            return false;
+        }
+        fTime = fTimes[file];
+        fPayload = fPayloads[file];
+        fTid = fTids[file];
+        fOffsets[file] += RECORD_SIZE;
+        load(file);
+        for (int node = (fSize + file) >>> 1; node > 0; node >>>= 1) {
+            fTree[node] = winner(fTree[2 * node], fTree[2 * node + 1]);
+        }
+        fRecords++;
+        return true;
+    }
+
+    /**
+     * Read the next valid record of a file, at or after its offset
+     */
+    private void load(int file) {
+        ByteBuffer buffer = fBuffers[file];
+        long offset = fOffsets[file];
+        while (offset + RECORD_SIZE <= buffer.limit()) {
+            long payload = buffer.getLong((int) offset + Long.BYTES);
+            if (DatEvent.hasMagic(payload)) {
+                fTimes[file] = buffer.getLong((int) offset);
+                fPayloads[file] = payload;
+                fOffsets[file] = offset;
+                fDone[file] = false;
+                return;
             }
-            return tmfEvent;
+            offset += RECORD_SIZE;
+        }
+        fOffsets[file] = offset;
+        fDone[file] = true;
+    }
+
+    /**
+     * The file with the earliest next record, events at the same time are
+     * sorted by TID so the order is repeatable
+     */
+    private int winner(int a, int b) {
+        if (fDone[a]) {
+            return b;
+        }
+        if (fDone[b]) {
+            return a;
+        }
+        if (fTimes[a] != fTimes[b]) {
+            return fTimes[a] < fTimes[b] ? a : b;
         }
-        return null;
+        return fTids[a] <= fTids[b] ? a : b;
     }
 
 }
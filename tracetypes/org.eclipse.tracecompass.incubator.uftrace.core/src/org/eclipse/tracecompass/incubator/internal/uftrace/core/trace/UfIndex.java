@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.Activator;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Checkpoint index of a uftrace. Every {@link #getInterval()} merged events,
+ * it has the offset of the next record of each data (.dat) file, so that a
+ * {@link UfContext} can be rebuilt at any checkpoint instead of merging the
+ * data files from the start.
+ *
+ * The index is built by merging the data files once without creating events,
+ * and saved in the supplementary directory of the trace. The number of events
+ * between checkpoints grows with the number of data files, so that the index
+ * stays small compared to the trace.
+ *
+ * @author agent
+ */
+final class UfIndex {
+
+    private static final String FILE_NAME = "uftrace.idx"; //$NON-NLS-1$
+    private static final int MAGIC = 0x55464958; // "UFIX"
+    private static final int VERSION = 2;
+    private static final int MIN_INTERVAL = 1024;
+    /* Events between checkpoints for each data file */
+    private static final int INTERVAL_PER_FILE = 128;
+
+    private final int fInterval;
+    private final List<long[]> fCheckpoints;
+
+    private UfIndex(int interval, List<long[]> checkpoints) {
+        fInterval = interval;
+        fCheckpoints = checkpoints;
+    }
+
+    /**
+     * Read the index from the supplementary directory, or build it and save it
+     * there if it is missing or does not match the data files
+     *
+     * @param directory
+     *            the supplementary directory of the trace
+     * @param dats
+     *            the data files, in the order of the trace
+     * @param trace
+     *            the trace
+     * @return the index
+     */
+    static UfIndex loadOrBuild(File directory, List<DatParser> dats, ITmfTrace trace) {
+        File file = new File(directory, FILE_NAME);
+        UfIndex index = load(file, dats);
+        if (index == null) {
+            index = build(dats, trace);
+            try {
+                directory.mkdirs();
+                index.write(file, dats);
+            } catch (IOException e) {
+                /* The index will be built again next time */
+                Activator.getInstance().logWarning("Cannot save the index in " + file, e); //$NON-NLS-1$
+            }
+        }
+        return index;
+    }
+
+    private static @Nullable UfIndex load(File file, List<DatParser> dats) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != dats.size()) {
+                return null;
+            }
+            for (DatParser dat : dats) {
+                if (!in.readUTF().equals(dat.getFile().getName()) || in.readLong() != dat.getFile().length()) {
+                    return null;
+                }
+            }
+            int interval = in.readInt();
+            int size = in.readInt();
+            List<long[]> checkpoints = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long[] offsets = new long[dats.size()];
+                for (int j = 0; j < offsets.length; j++) {
+                    offsets[j] = in.readLong();
+                }
+                checkpoints.add(offsets);
+            }
+            return new UfIndex(interval, checkpoints);
+        } catch (IOException e) {
+            /* Truncated or corrupted, it will be rebuilt */
+            return null;
+        }
+    }
+
+    private static UfIndex build(List<DatParser> dats, ITmfTrace trace) {
+        int interval = Math.max(MIN_INTERVAL, INTERVAL_PER_FILE * dats.size());
+        List<long[]> checkpoints = new ArrayList<>();
+        UfContext context = new UfContext(dats, trace);
+        long rank = 0;
+        do {
+            if (rank % interval == 0) {
+                checkpoints.add(context.getOffsets());
+            }
+            rank++;
+        } while (context.skip());
+        return new UfIndex(interval, checkpoints);
+    }
+
+    private void write(File file, List<DatParser> dats) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dats.size());
+            for (DatParser dat : dats) {
+                out.writeUTF(dat.getFile().getName());
+                out.writeLong(dat.getFile().length());
+            }
+            out.writeInt(fInterval);
+            out.writeInt(fCheckpoints.size());
+            for (long[] offsets : fCheckpoints) {
+                for (long offset : offsets) {
+                    out.writeLong(offset);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of events between checkpoints
+     */
+    int getInterval() {
+        return fInterval;
+    }
+
+    /**
+     * Get a context at the last checkpoint at or before a rank
+     *
+     * @param rank
+     *            the rank of the event to seek
+     * @param dats
+     *            the data files, in the order of the trace
+     * @param trace
+     *            the trace
+     * @return a context at the rank of the checkpoint, the caller skips the
+     *         remaining events
+     */
+    UfContext seek(long rank, List<DatParser> dats, ITmfTrace trace) {
+        int checkpoint = (int) Math.min(Math.max(rank, 0) / fInterval, fCheckpoints.size() - 1);
+        if (checkpoint < 0) {
+            return new UfContext(dats, trace);
+        }
+        return new UfContext(dats, fCheckpoints.get(checkpoint), (long) checkpoint * fInterval, trace);
+    }
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.Activator;
+
+/**
+ * Symbol tables of a uftrace: the memory maps of the sessions (.map files) and
+ * the symbols of the executables and libraries (.sym files).
+ *
+ * The files are parsed in parallel the first time the trace is opened, and the
+ * tables are saved in a binary file in the supplementary directory of the
+ * trace, where the names are written once in a string table. When the trace is
+ * opened again, the tables are read from that file if the .map and .sym files
+ * did not change.
+ *
+ * @author agent
+ */
+final class UfSymbols {
+
+    private static final String FILE_NAME = "uftrace.sym"; //$NON-NLS-1$
+    private static final int MAGIC = 0x55465359; // "UFSY"
+    private static final int VERSION = 1;
+    private static final String SYM_EXTENSION = ".sym"; //$NON-NLS-1$
+
+    private final Map<Long, MapParser> fMaps;
+    private final Map<String, SymParser> fSyms;
+
+    private UfSymbols(Map<Long, MapParser> maps, Map<String, SymParser> syms) {
+        fMaps = maps;
+        fSyms = syms;
+        for (MapParser map : maps.values()) {
+            map.linkSymbols(syms);
+        }
+    }
+
+    /**
+     * Read the symbol tables from the supplementary directory, or parse the
+     * files and save the tables there if they are missing or out of date
+     *
+     * @param directory
+     *            the supplementary directory of the trace
+     * @param mapFiles
+     *            the .map files of the trace
+     * @param symFiles
+     *            the .sym files of the trace
+     * @return the symbol tables
+     * @throws IOException
+     *             if a .map or .sym file could not be read
+     */
+    static UfSymbols loadOrParse(File directory, List<File> mapFiles, List<File> symFiles) throws IOException {
+        List<File> files = new ArrayList<>(mapFiles);
+        files.addAll(symFiles);
+        File file = new File(directory, FILE_NAME);
+        UfSymbols symbols = load(file, files);
+        if (symbols == null) {
+            symbols = parse(mapFiles, symFiles);
+            try {
+                directory.mkdirs();
+                symbols.write(file, files);
+            } catch (IOException e) {
+                /* The files will be parsed again next time */
+                Activator.getInstance().logWarning("Cannot save the symbols in " + file, e); //$NON-NLS-1$
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Parse the files in parallel, the names are shared between the files
+     */
+    private static UfSymbols parse(List<File> mapFiles, List<File> symFiles) throws IOException {
+        Map<String, String> names = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<MapParser>> maps = new ArrayList<>();
+            for (File mapFile : mapFiles) {
+                maps.add(executor.submit(() -> MapParser.create(mapFile, names)));
+            }
+            List<Future<SymParser>> syms = new ArrayList<>();
+            for (File symFile : symFiles) {
+                syms.add(executor.submit(() -> SymParser.parse(symFile, names)));
+            }
+            Map<Long, MapParser> mapResults = new HashMap<>();
+            for (Future<MapParser> map : maps) {
+                MapParser parser = get(map);
+                if (parser != null) {
+                    mapResults.put(parser.getSessionId(), parser);
+                }
+            }
+            Map<String, SymParser> symResults = new HashMap<>();
+            for (int i = 0; i < symFiles.size(); i++) {
+                symResults.put(getExecName(symFiles.get(i)), get(syms.get(i)));
+            }
+            return new UfSymbols(mapResults, symResults);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static String getExecName(File symFile) {
+        String name = symFile.getName();
+        return name.substring(0, name.length() - SYM_EXTENSION.length());
+    }
+
+    private static @Nullable UfSymbols load(File file, List<File> files) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != files.size()) {
+                return null;
+            }
+            for (File source : files) {
+                if (!in.readUTF().equals(source.getName()) || in.readLong() != source.length() || in.readLong() != source.lastModified()) {
+                    return null;
+                }
+            }
+            /* The string table, index 0 is null */
+            String[] names = new String[in.readInt() + 1];
+            for (int i = 1; i < names.length; i++) {
+                names[i] = in.readUTF();
+            }
+            int nbMaps = in.readInt();
+            Map<Long, MapParser> maps = new HashMap<>();
+            for (int i = 0; i < nbMaps; i++) {
+                long sessionId = in.readLong();
+                int size = in.readInt();
+                long[] addrLows = new long[size];
+                long[] addrHighs = new long[size];
+                String[] pathNames = new String[size];
+                for (int j = 0; j < size; j++) {
+                    addrLows[j] = in.readLong();
+                    addrHighs[j] = in.readLong();
+                    pathNames[j] = names[in.readInt()];
+                }
+                maps.put(sessionId, new MapParser(sessionId, addrLows, addrHighs, pathNames));
+            }
+            int nbSyms = in.readInt();
+            Map<String, SymParser> syms = new HashMap<>();
+            for (int i = 0; i < nbSyms; i++) {
+                String execName = names[in.readInt()];
+                int size = in.readInt();
+                long[] addresses = new long[size];
+                char[] types = new char[size];
+                String[] symbolNames = new String[size];
+                for (int j = 0; j < size; j++) {
+                    addresses[j] = in.readLong();
+                    types[j] = in.readChar();
+                    symbolNames[j] = names[in.readInt()];
+                }
+                syms.put(execName, new SymParser(addresses, types, symbolNames));
+            }
+            return new UfSymbols(maps, syms);
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            /* Truncated or corrupted, the files will be parsed again */
+            return null;
+        }
+    }
+
+    private void write(File file, List<File> files) throws IOException {
+        Map<String, Integer> names = new LinkedHashMap<>();
+        for (MapParser map : fMaps.values()) {
+            for (int i = 0; i < map.size(); i++) {
+                String pathName = map.getPathName(i);
+                if (pathName != null) {
+                    names.putIfAbsent(pathName, names.size() + 1);
+                }
+            }
+        }
+        for (Map.Entry<String, SymParser> entry : fSyms.entrySet()) {
+            names.putIfAbsent(entry.getKey(), names.size() + 1);
+            SymParser sym = entry.getValue();
+            for (int i = 0; i < sym.size(); i++) {
+                names.putIfAbsent(sym.getName(i), names.size() + 1);
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(files.size());
+            for (File source : files) {
+                out.writeUTF(source.getName());
+                out.writeLong(source.length());
+                out.writeLong(source.lastModified());
+            }
+            out.writeInt(names.size());
+            for (String name : names.keySet()) {
+                out.writeUTF(name);
+            }
+            out.writeInt(fMaps.size());
+            for (MapParser map : fMaps.values()) {
+                out.writeLong(map.getSessionId());
+                out.writeInt(map.size());
+                for (int i = 0; i < map.size(); i++) {
+                    out.writeLong(map.getAddrLow(i));
+                    out.writeLong(map.getAddrHigh(i));
+                    String pathName = map.getPathName(i);
+                    out.writeInt(pathName != null ? names.get(pathName) : 0);
+                }
+            }
+            out.writeInt(fSyms.size());
+            for (Map.Entry<String, SymParser> entry : fSyms.entrySet()) {
+                out.writeInt(names.get(entry.getKey()));
+                SymParser sym = entry.getValue();
+                out.writeInt(sym.size());
+                for (int i = 0; i < sym.size(); i++) {
+                    out.writeLong(sym.getAddress(i));
+                    out.writeChar(sym.getType(i));
+                    out.writeInt(names.get(sym.getName(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the memory map of a session
+     *
+     * @param sessionId
+     *            the session ID
+     * @return the memory map, or null if there is none for the session
+     */
+    @Nullable MapParser getMap(long sessionId) {
+        return fMaps.get(sessionId);
+    }
+}
@@ -13,13 +13,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 
@@ -33,7 +31,6 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.event.aspect.LinuxTidAspect;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.Activator;
-import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.SymParser.Symbol;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventType;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
@@ -48,6 +45,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceKnownSize;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceWithPreDefinedEvents;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
@@ -74,12 +72,12 @@ import com.google.common.collect.Iterables;
 public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         ITmfTraceKnownSize, ITmfTraceWithPreDefinedEvents {
 
-    private Collection<DatParser> fDats = new ArrayList<>();
-    private Map<Long, MapParser> fMap = new HashMap<>();
-    private Map<String, SymParser> fSyms = new HashMap<>();
+    private List<DatParser> fDats = new ArrayList<>();
+    private @Nullable UfSymbols fSymbols;
     private TaskParser fTasks;
     private TmfLongLocation fCurrentLoc = new TmfLongLocation(0L);
     private InfoParser fInfo;
+    private @Nullable UfIndex fIndex;
 
     private long fSize;
 
@@ -185,6 +183,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
             throw new TmfTraceException("trace is not a directory"); //$NON-NLS-1$
         }
         super.initTrace(resource, path, type);
+        List<File> mapFiles = new ArrayList<>();
+        List<File> symFiles = new ArrayList<>();
         for (File child : dir.listFiles()) {
             String name = child.getName();
             try {
@@ -192,12 +192,11 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
                     fSize += child.length();
                     fDats.add(new DatParser(child));
                 } else if (name.endsWith(".map")) { //$NON-NLS-1$
-                    MapParser create = MapParser.create(child);
-                    if (create != null) {
-                        fMap.put(create.getSessionId(), create);
+                    if (MapParser.getSessionId(child) != null) {
+                        mapFiles.add(child);
                     }
                 } else if (name.endsWith(".sym")) { //$NON-NLS-1$
-                    fSyms.put(name.substring(0, name.length() - 4), SymParser.parse(child));
+                    symFiles.add(child);
                 } else if (name.equals("task.txt")) { //$NON-NLS-1$
                     fTasks = new TaskParser(child);
                 } else if (name.equals("info")) { //$NON-NLS-1$
@@ -207,6 +206,17 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
                 throw new TmfTraceException(e.getMessage(), e);
             }
         }
+        /* Sort the files so that the supplementary files match them */
+        fDats.sort(Comparator.comparing(dat -> dat.getFile().getName()));
+        mapFiles.sort(Comparator.comparing(File::getName));
+        symFiles.sort(Comparator.comparing(File::getName));
+        File supplementaryDir = new File(TmfTraceManager.getSupplementaryFileDir(this));
+        try {
+            fSymbols = UfSymbols.loadOrParse(supplementaryDir, mapFiles, symFiles);
+        } catch (IOException e) {
+            throw new TmfTraceException(e.getMessage(), e);
+        }
+        fIndex = UfIndex.loadOrBuild(supplementaryDir, fDats, this);
     }
 
     @Override
@@ -216,30 +226,20 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     @Override
     public double getLocationRatio(ITmfLocation location) {
-        return (long) location.getLocationInfo() / fSize;
+        return (double) (long) location.getLocationInfo() / fSize;
     }
 
     @Override
     public ITmfContext seekEvent(ITmfLocation location) {
-        UfContext context = new UfContext(fDats, this);
-        if (location == null) {
-            return context;
+        if (!(location instanceof TmfLongLocation)) {
+            return new UfContext(fDats, this);
         }
-        if (location instanceof TmfLongLocation) {
-            TmfLongLocation longLocation = (TmfLongLocation) location;
-            if (longLocation.getLocationInfo().longValue() == 0) {
-                return context;
-            }
-            while (context.getLocation() != null && Long.compare(longLocation.getLocationInfo(), Objects.requireNonNull(context.getLocation()).getLocationInfo()) >= 0) {
-                ITmfEvent next = context.getNext();
-                if (next == null) {
-                    break;
-                }
-                updateAttributes(context, next);
-                if (context.getLocation() == null) {
-                    return context;
-                }
-            }
+        /* The location is the number of bytes of records read before */
+        long rank = ((TmfLongLocation) location).getLocationInfo() / UfContext.RECORD_SIZE;
+        UfIndex index = fIndex;
+        UfContext context = (index != null) ? index.seek(rank, fDats, this) : new UfContext(fDats, this);
+        while (context.getRank() < rank && context.skip()) {
+            // skip to the event
         }
         return context;
     }
@@ -259,8 +259,7 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
             UfContext ufContext = (UfContext) ctx;
             ITmfEvent tmfEvent = ufContext.getNext();
             if (tmfEvent != null) {
-                fCurrentLoc = new TmfLongLocation(fCurrentLoc.getLocationInfo() + Long.BYTES * 2);
-                ctx.setLocation(fCurrentLoc);
+                fCurrentLoc = Objects.requireNonNull(ufContext.getLocation());
                 updateAttributes(context, tmfEvent);
                 return tmfEvent;
             }
@@ -431,7 +430,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
     }
 
     /**
-     * overly complicated, should clean up
+     * Symbol provider, resolves the addresses with the memory map of the
+     * session of the thread and the symbol table of the mapped file
      *
      * @author Matthew Khouzam
      *
@@ -447,28 +447,23 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
             if (session == null) {
                 return new TmfResolvedSymbol(address, "0x" + Long.toHexString(address)); //$NON-NLS-1$
             }
-            MapParser mapParser = fMap.get(session);
+            UfSymbols symbols = fSymbols;
+            MapParser mapParser = (symbols != null) ? symbols.getMap(session) : null;
             if (mapParser == null) {
                 return new TmfResolvedSymbol(address, "0x" + Long.toHexString(address)); //$NON-NLS-1$
             }
-            Entry<Long, MapEntry> key = mapParser.getData().floorEntry(address);
-            if (key == null) {
+            int index = mapParser.floorIndex(address);
+            String pathName = (index >= 0) ? mapParser.getPathName(index) : null;
+            if (pathName == null) {
                 return new TmfResolvedSymbol(address, "0x" + Long.toHexString(address)); //$NON-NLS-1$
             }
-            long offset = address - key.getValue().getAddrLow();
-            String pathName = key.getValue().getPathName();
-            String substring = pathName.substring(pathName.lastIndexOf(File.separator) + 1);
-            SymParser sym = fSyms.get(substring);
+            SymParser sym = mapParser.getSymbols(index);
             if (sym == null) {
                 return new TmfResolvedSymbol(address, pathName + ":0x" + Long.toHexString(address)); //$NON-NLS-1$
             }
-            Entry<Long, Symbol> floorEntry = sym.getMap().floorEntry(offset);
-            if (floorEntry != null) {
-                Symbol value = floorEntry.getValue();
-                if (value != null) {
-                    String name = String.valueOf(value.getName());
-                    return new TmfResolvedSymbol(address, name);
-                }
+            String name = sym.getSymbolName(address - mapParser.getAddrLow(index));
+            if (name != null) {
+                return new TmfResolvedSymbol(address, name);
             }
             return new TmfResolvedSymbol(address, "0x" + Long.toHexString(address)); //$NON-NLS-1$
         }